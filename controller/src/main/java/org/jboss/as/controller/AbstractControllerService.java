@@ -205,6 +205,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
     private ConfigurationPersister configurationPersister;
     private final ManagedAuditLogger auditLogger;
     private final BootErrorCollector bootErrorCollector;
+    private volatile BootTimeline bootTimeline;
     private final CapabilityRegistry capabilityRegistry;
     private final ConfigurationExtension configExtension;
     private final RuntimeCapability<ResolverExtensionRegistry> extensionRegistryCapability;
@@ -314,6 +315,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
         final ExecutorService executorService = this.executorService != null ? this.executorService.get() : null;
 
         final NotificationSupport notificationSupport = NotificationSupport.Factory.create(executorService);
+        final BootTimeline bootTimeline = this.bootTimeline = new BootTimeline();
         WritableAuthorizerConfiguration authorizerConfig = authorizer.getWritableAuthorizerConfiguration();
         authorizerConfig.reset();
         ManagementResourceRegistration rootResourceRegistration = ManagementResourceRegistration.Factory.forProcessType(processType).createRegistration(rootResourceDefinition, authorizerConfig, capabilityRegistry);
@@ -322,7 +324,7 @@ public abstract class AbstractControllerService implements Service<ModelControll
                 new ContainerStateMonitor(container),
                 configurationPersister, processType, runningModeControl, prepareStep,
                 processState, executorService, expressionResolver, authorizer, securityIdentitySupplier, auditLogger, notificationSupport,
-                bootErrorCollector, createExtraValidationStepHandler(), capabilityRegistry, getPartialModelIndicator(),
+                bootErrorCollector, bootTimeline, createExtraValidationStepHandler(), capabilityRegistry, getPartialModelIndicator(),
                 instabilityListener != null ? instabilityListener.get() : null);
 
         // Initialize the model
@@ -410,7 +412,9 @@ public abstract class AbstractControllerService implements Service<ModelControll
      *          if the configuration failed to be loaded
      */
     protected void boot(final BootContext context) throws ConfigurationPersistenceException {
+        final long start = System.nanoTime();
         List<ModelNode> bootOps = configurationPersister.load();
+        bootTimeline.recordPhase(BootTimeline.CONFIGURATION_PARSE, start, System.nanoTime(), null);
         ModelNode op = registerModelControllerServiceInitializationBootStep(context);
         if (op != null) {
             bootOps.add(op);
@@ -608,6 +612,15 @@ public abstract class AbstractControllerService implements Service<ModelControll
         return bootErrorCollector;
     }
 
+    /**
+     * Gets the timeline recording the current boot of the controller.
+     *
+     * @return the timeline, or {@code null} if the service has not been started
+     */
+    protected BootTimeline getBootTimeline() {
+        return bootTimeline;
+    }
+
     protected OperationStepHandler createExtraValidationStepHandler() {
         return null;
     }
@@ -175,6 +175,8 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
 
     /** Operations that were added by the controller, before execution started */
     private final List<ModelNode> controllerOperations = new ArrayList<ModelNode>(2);
+    /** Flight recorder event for the current execution, if the event is enabled */
+    private ManagementOperationEvent operationEvent;
     private boolean auditLogged;
     private final AuditLogger auditLogger;
     private final ModelControllerImpl controller;
@@ -470,6 +472,13 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
     ResultAction executeOperation() {
 
         assert isControllingThread();
+        final ManagementOperationEvent event = new ManagementOperationEvent();
+        final boolean recordEvent = event.isEnabled();
+        if (recordEvent) {
+            this.operationEvent = event;
+            event.begin();
+            event.enterStage(currentStage);
+        }
         try {
             /** Execution has begun */
             executing = true;
@@ -502,12 +511,30 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
                     }
                 }
             }
+            if (recordEvent) {
+                commitOperationEvent(event);
+            }
         }
 
 
         return resultAction;
     }
 
+    private void commitOperationEvent(final ManagementOperationEvent event) {
+        this.operationEvent = null;
+        event.enterStage(null);
+        event.end();
+        if (event.shouldCommit()) {
+            final OperationId operationId = controllerOperations.isEmpty() ? null : new OperationId(controllerOperations.get(0));
+            if (operationId != null) {
+                event.operation = operationId.name;
+                event.address = operationId.address.toCLIStyleString();
+            }
+            event.outcome = resultAction == null ? null : resultAction.toString();
+            event.commit();
+        }
+    }
+
     /** Opportunity to do required cleanup after an exception propagated all the way to {@link #executeOperation()}.*/
     void handleUncaughtException(RuntimeException e) {
     }
@@ -750,6 +777,9 @@ abstract class AbstractOperationContext implements OperationContext, AutoCloseab
                 // Proceed to the next stage
                 if (currentStage.hasNext()) {
                     currentStage = currentStage.next();
+                    if (operationEvent != null) {
+                        operationEvent.enterStage(currentStage);
+                    }
                     if (currentStage == Stage.VERIFY) {
                         // a change was made to the runtime. Thus, we must wait
                         // for stability before resuming in to verify.
@@ -0,0 +1,278 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.descriptions.common.ControllerResolver;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.LifecycleEvent;
+import org.jboss.msc.service.LifecycleListener;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Records where the time goes during boot of a process: named boot phases (configuration parsing, extension
+ * initialization, subsystem boot operations, service start etc.) and the time each MSC service came up. Once the
+ * service container is stable, the service start times are reduced to the critical path, i.e. the chain of
+ * dependent services that gated the last service to start, and a start time range per deployment.
+ * <p>
+ * Recording a phase is a couple of {@link System#nanoTime()} calls, and the service listener does a single map
+ * insert per service, so this is always enabled.
+ *
+ * @see ReadBootTimelineHandler
+ */
+public class BootTimeline {
+
+    public static final String CONFIGURATION_PARSE = "configuration-parse";
+    public static final String INITIAL_BOOT_OPERATIONS = "initial-boot-operations";
+    public static final String EXTENSION_INITIALIZATION = "extension-initialization";
+    public static final String POST_EXTENSION_BOOT_OPERATIONS = "post-extension-boot-operations";
+    public static final String SUBSYSTEM_MODEL = "subsystem-model";
+    public static final String SUBSYSTEM_RUNTIME = "subsystem-runtime";
+    public static final String SERVICE_START = "service-start";
+
+    private static final String DETAILS = "details";
+    private static final String DURATION = "duration";
+    private static final String START = "start";
+    private static final String END = "end";
+    private static final ServiceName DEPLOYMENT_UNIT = ServiceName.JBOSS.append("deployment", "unit");
+    private static final ServiceName DEPLOYMENT_SUBUNIT = ServiceName.JBOSS.append("deployment", "subunit");
+
+    private final long originNanos = System.nanoTime();
+    private final long originUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+    private final List<ModelNode> phases = new ArrayList<>();
+    private final Map<ServiceName, Long> serviceUpTimes = new ConcurrentHashMap<>();
+    // Removing the listener from the service target does not remove it from the services already installed with it
+    private volatile boolean recording = true;
+    private final LifecycleListener serviceListener = new LifecycleListener() {
+        @Override
+        public void handleEvent(ServiceController<?> controller, LifecycleEvent event) {
+            if (recording && event == LifecycleEvent.UP) {
+                serviceUpTimes.putIfAbsent(controller.getName(), System.nanoTime());
+            }
+        }
+    };
+    private final OperationStepHandler readBootTimelineHandler = new ReadBootTimelineHandler(this);
+    private ModelNode criticalPath;
+    private ModelNode deployments;
+    private int servicesStarted;
+
+    /**
+     * Records a completed boot phase.
+     *
+     * @param name the name of the phase
+     * @param startNanos the {@link System#nanoTime()} at which the phase started
+     * @param endNanos the {@link System#nanoTime()} at which the phase ended
+     * @param details additional information about the phase, or {@code null}
+     */
+    public void recordPhase(String name, long startNanos, long endNanos, ModelNode details) {
+        ModelNode phase = new ModelNode();
+        phase.get(NAME).set(name);
+        phase.get(START).set(toOffsetMillis(startNanos));
+        phase.get(DURATION).set(TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos));
+        if (details != null && details.isDefined()) {
+            phase.get(DETAILS).set(details);
+        }
+        synchronized (phases) {
+            phases.add(phase);
+        }
+    }
+
+    /**
+     * Gets the listener to add to the service target used for boot, in order to record when services come up.
+     *
+     * @return the listener. Will not be {@code null}
+     */
+    public LifecycleListener getServiceListener() {
+        return serviceListener;
+    }
+
+    /**
+     * Records that the service container became stable at the end of boot, calculating the service critical path
+     * and the deployment start times and discarding the individual service start times.
+     *
+     * @param registry the registry to use to find service dependencies
+     * @param startNanos the {@link System#nanoTime()} at which service start began to be awaited
+     */
+    public void servicesStable(ServiceRegistry registry, long startNanos) {
+        final long end = System.nanoTime();
+        recording = false;
+        final Map<ServiceName, Long> upTimes = new LinkedHashMap<>(serviceUpTimes);
+        serviceUpTimes.clear();
+        final ModelNode path = calculateCriticalPath(registry, upTimes);
+        final ModelNode deploymentTimes = calculateDeploymentTimes(upTimes);
+        synchronized (this) {
+            servicesStarted = upTimes.size();
+            criticalPath = path;
+            deployments = deploymentTimes;
+        }
+        recordPhase(SERVICE_START, startNanos, end, null);
+    }
+
+    /**
+     * Stops recording when services come up and discards the start times recorded so far. This is implied by
+     * {@link #servicesStable(ServiceRegistry, long)}, but needs to be called if the container never became stable.
+     */
+    public void stopRecording() {
+        recording = false;
+        serviceUpTimes.clear();
+    }
+
+    int getRecordedServiceCount() {
+        return serviceUpTimes.size();
+    }
+
+    public OperationStepHandler getReadBootTimelineHandler() {
+        return readBootTimelineHandler;
+    }
+
+    private ModelNode calculateCriticalPath(ServiceRegistry registry, Map<ServiceName, Long> upTimes) {
+        ServiceName current = null;
+        long latest = Long.MIN_VALUE;
+        for (Map.Entry<ServiceName, Long> entry : upTimes.entrySet()) {
+            if (entry.getValue() > latest) {
+                latest = entry.getValue();
+                current = entry.getKey();
+            }
+        }
+        // Walk back from the last service to come up, always following the dependency that came up last
+        final LinkedList<ServiceName> chain = new LinkedList<>();
+        final Set<ServiceName> visited = new HashSet<>();
+        while (current != null && visited.add(current)) {
+            chain.addFirst(current);
+            final ServiceController<?> controller = registry.getService(current);
+            ServiceName gating = null;
+            if (controller != null) {
+                long gatingTime = Long.MIN_VALUE;
+                for (ServiceName dependency : controller.requires()) {
+                    final Long time = upTimes.get(dependency);
+                    if (time != null && time > gatingTime) {
+                        gatingTime = time;
+                        gating = dependency;
+                    }
+                }
+            }
+            current = gating;
+        }
+        final ModelNode result = new ModelNode().setEmptyList();
+        Long previous = null;
+        for (ServiceName name : chain) {
+            final long up = upTimes.get(name);
+            final ModelNode entry = new ModelNode();
+            entry.get(NAME).set(name.getCanonicalName());
+            entry.get(END).set(toOffsetMillis(up));
+            entry.get(DURATION).set(previous == null ? 0 : TimeUnit.NANOSECONDS.toMillis(up - previous));
+            result.add(entry);
+            previous = up;
+        }
+        return result;
+    }
+
+    private ModelNode calculateDeploymentTimes(Map<ServiceName, Long> upTimes) {
+        final Map<String, long[]> ranges = new LinkedHashMap<>();
+        for (Map.Entry<ServiceName, Long> entry : upTimes.entrySet()) {
+            final ServiceName name = entry.getKey();
+            if (DEPLOYMENT_UNIT.isParentOf(name) || DEPLOYMENT_SUBUNIT.isParentOf(name)) {
+                // jboss.deployment.unit."name".xxx or jboss.deployment.subunit."parent"."name".xxx
+                final String deployment = name.toArray()[3];
+                final long time = entry.getValue();
+                final long[] range = ranges.computeIfAbsent(deployment, k -> new long[] {Long.MAX_VALUE, Long.MIN_VALUE});
+                range[0] = Math.min(range[0], time);
+                range[1] = Math.max(range[1], time);
+            }
+        }
+        final ModelNode result = new ModelNode().setEmptyObject();
+        for (Map.Entry<String, long[]> entry : ranges.entrySet()) {
+            final ModelNode deployment = result.get(entry.getKey());
+            deployment.get(START).set(toOffsetMillis(entry.getValue()[0]));
+            deployment.get(DURATION).set(TimeUnit.NANOSECONDS.toMillis(entry.getValue()[1] - entry.getValue()[0]));
+        }
+        return result;
+    }
+
+    private long toOffsetMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos - originNanos);
+    }
+
+    ModelNode toModelNode() {
+        final ModelNode result = new ModelNode();
+        result.get("jvm-uptime-at-start").set(originUptime);
+        synchronized (phases) {
+            final ModelNode phaseList = result.get("phases").setEmptyList();
+            for (ModelNode phase : phases) {
+                phaseList.add(phase.clone());
+            }
+        }
+        synchronized (this) {
+            if (criticalPath != null) {
+                result.get("services-started").set(servicesStarted);
+                result.get("service-critical-path").set(criticalPath.clone());
+                result.get("deployments").set(deployments.clone());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Handler for the {@code read-boot-timeline} operation, which returns the recorded {@link BootTimeline}.
+     * All times are in milliseconds, and phase start times are relative to the creation of the timeline,
+     * which occurs {@code jvm-uptime-at-start} ms after the JVM started.
+     */
+    public static class ReadBootTimelineHandler implements OperationStepHandler {
+
+        private static final String OPERATION_NAME = "read-boot-timeline";
+
+        public static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(OPERATION_NAME,
+                ControllerResolver.getResolver("boot-timeline"))
+                .setReadOnly()
+                .setRuntimeOnly()
+                .setReplyType(ModelType.OBJECT)
+                .build();
+
+        private final BootTimeline timeline;
+
+        ReadBootTimelineHandler(final BootTimeline timeline) {
+            this.timeline = timeline;
+        }
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+                    context.getResult().set(timeline.toModelNode());
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event for the execution of a management operation, with the time spent in each
+ * {@link OperationContext.Stage stage}. When the event is not enabled in a recording none of the timings are taken.
+ */
+@Name("org.wildfly.ManagementOperation")
+@Label("Management Operation")
+@Description("Execution of a management operation")
+@Category({"WildFly", "Management"})
+@StackTrace(false)
+final class ManagementOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Address")
+    String address;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Model Stage Time")
+    @Timespan
+    long modelStageTime;
+
+    @Label("Runtime Stage Time")
+    @Timespan
+    long runtimeStageTime;
+
+    @Label("Verify Stage Time")
+    @Timespan
+    long verifyStageTime;
+
+    @Label("Domain Stage Time")
+    @Timespan
+    long domainStageTime;
+
+    @Label("Done Stage Time")
+    @Timespan
+    long doneStageTime;
+
+    // not recorded; used to attribute time to the stage being executed
+    private transient OperationContext.Stage stage;
+    private transient long stageStart;
+
+    /**
+     * Starts timing the given stage, adding the time since the previous call to the stage that was being executed.
+     *
+     * @param next the stage now being executed, or {@code null} if execution has finished
+     */
+    void enterStage(final OperationContext.Stage next) {
+        final long now = System.nanoTime();
+        if (stage != null) {
+            final long elapsed = now - stageStart;
+            switch (stage) {
+                case MODEL:
+                    modelStageTime += elapsed;
+                    break;
+                case RUNTIME:
+                    runtimeStageTime += elapsed;
+                    break;
+                case VERIFY:
+                    verifyStageTime += elapsed;
+                    break;
+                case DOMAIN:
+                    domainStageTime += elapsed;
+                    break;
+                case DONE:
+                    doneStageTime += elapsed;
+                    break;
+            }
+        }
+        stage = next;
+        stageStart = now;
+    }
+}
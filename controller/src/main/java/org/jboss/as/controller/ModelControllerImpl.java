@@ -139,6 +139,7 @@ class ModelControllerImpl implements ModelController {
     private final Random random = new Random();
     private final ManagedAuditLogger auditLogger;
     private final BootErrorCollector bootErrorCollector;
+    private final BootTimeline bootTimeline;
 
     private final NotificationSupport notificationSupport;
 
@@ -161,7 +162,8 @@ class ModelControllerImpl implements ModelController {
                         final OperationStepHandler prepareStep, final ControlledProcessState processState, final ExecutorService executorService,
                         final ExpressionResolver expressionResolver, final Authorizer authorizer, final Supplier<SecurityIdentity> securityIdentitySupplier,
                         final ManagedAuditLogger auditLogger, NotificationSupport notificationSupport,
-                        final BootErrorCollector bootErrorCollector, final OperationStepHandler extraValidationStepHandler,
+                        final BootErrorCollector bootErrorCollector, final BootTimeline bootTimeline,
+                        final OperationStepHandler extraValidationStepHandler,
                         final CapabilityRegistry capabilityRegistry,
                         final AbstractControllerService.PartialModelIndicator partialModelIndicator,
                         final AbstractControllerService.ControllerInstabilityListener instabilityListener) {
@@ -201,6 +203,8 @@ class ModelControllerImpl implements ModelController {
         this.auditLogger = auditLogger;
         assert bootErrorCollector != null;
         this.bootErrorCollector = bootErrorCollector;
+        assert bootTimeline != null;
+        this.bootTimeline = bootTimeline;
         this.hostServerGroupTracker = processType.isManagedDomain() ? new HostServerGroupTracker() : null;
         this.modelControllerResource = new ModelControllerResource();
         this.extraValidationStepHandler = extraValidationStepHandler;
@@ -519,9 +523,11 @@ class ModelControllerImpl implements ModelController {
             for (ParsedBootOp initialOp : bootOperations.initialOps) {
                 context.addBootStep(initialOp);
             }
+            final long start = System.nanoTime();
             try (context) {
                 resultAction = context.executeOperation();
             }
+            bootTimeline.recordPhase(BootTimeline.INITIAL_BOOT_OPERATIONS, start, System.nanoTime(), null);
         }
         //here the meta-model is available
         if (resultAction == OperationContext.ResultAction.KEEP && bootOperations.postExtensionOps != null) {
@@ -558,9 +564,11 @@ class ModelControllerImpl implements ModelController {
                     }
                 }
             }
+            final long start = System.nanoTime();
             try (postExtContext) {
                 resultAction = postExtContext.executeOperation();
             }
+            bootTimeline.recordPhase(BootTimeline.POST_EXTENSION_BOOT_OPERATIONS, start, System.nanoTime(), null);
 
             if (!skipModelValidation && resultAction == OperationContext.ResultAction.KEEP && bootOperations.postExtensionOps != null) {
                 //Get the modified resources from the initial operations and add to the resources to be validated by the post operations
@@ -642,7 +650,7 @@ class ModelControllerImpl implements ModelController {
         final ManagementResourceRegistration rootRegistration = managementModel.get().getRootResourceRegistration();
         final MutableRootResourceRegistrationProvider parallellBRRRProvider = parallelBootRootResourceRegistrationProvider != null ?
                 parallelBootRootResourceRegistrationProvider : getMutableRootResourceRegistrationProvider();
-        ParallelExtensionAddHandler parallelExtensionAddHandler = executorService == null ? null : new ParallelExtensionAddHandler(executorService, parallellBRRRProvider);
+        ParallelExtensionAddHandler parallelExtensionAddHandler = executorService == null ? null : new ParallelExtensionAddHandler(executorService, parallellBRRRProvider, bootTimeline);
         ParallelBootOperationStepHandler parallelSubsystemHandler = (executorService != null && processType.isServer() && runningModeControl.getRunningMode() == RunningMode.NORMAL)
                 ? new ParallelBootOperationStepHandler(executorService, rootRegistration, processState, this, lockPermit, extraValidationStepHandler) : null;
         boolean registeredParallelSubsystemHandler = false;
@@ -711,6 +719,10 @@ class ModelControllerImpl implements ModelController {
         return new BootOperations(initialOps, postExtensionOps, invalid);
     }
 
+    BootTimeline getBootTimeline() {
+        return bootTimeline;
+    }
+
     void finishBoot() {
         // Notify the audit logger that we're done booting
         auditLogger.bootDone();
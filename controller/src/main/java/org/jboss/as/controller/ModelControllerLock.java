@@ -49,7 +49,10 @@ class ModelControllerLock {
      */
     void lock(final Integer permit) {
         checkNotNullParam("permit", permit);
+        final ModelControllerLockWaitEvent event = new ModelControllerLockWaitEvent(true, permit);
+        event.begin();
         sync.acquire(permit);
+        event.complete(true);
     }
 
     /**
@@ -61,7 +64,10 @@ class ModelControllerLock {
      */
     void lockShared(final Integer permit) {
         checkNotNullParam("permit", permit);
+        final ModelControllerLockWaitEvent event = new ModelControllerLockWaitEvent(false, permit);
+        event.begin();
         sync.acquireShared(permit);
+        event.complete(true);
     }
 
     /** Attempts exclusive acquisition with a max wait time.
@@ -104,7 +110,15 @@ class ModelControllerLock {
      */
     void lockInterruptibly(final Integer permit) throws InterruptedException {
         checkNotNullParam("permit", permit);
-        sync.acquireInterruptibly(permit);
+        final ModelControllerLockWaitEvent event = new ModelControllerLockWaitEvent(true, permit);
+        event.begin();
+        boolean acquired = false;
+        try {
+            sync.acquireInterruptibly(permit);
+            acquired = true;
+        } finally {
+            event.complete(acquired);
+        }
     }
 
     /**
@@ -115,7 +129,15 @@ class ModelControllerLock {
      */
     void lockSharedInterruptibly(final Integer permit) throws InterruptedException {
         checkNotNullParam("permit", permit);
-        sync.acquireSharedInterruptibly(permit);
+        final ModelControllerLockWaitEvent event = new ModelControllerLockWaitEvent(false, permit);
+        event.begin();
+        boolean acquired = false;
+        try {
+            sync.acquireSharedInterruptibly(permit);
+            acquired = true;
+        } finally {
+            event.complete(acquired);
+        }
     }
 
     /**
@@ -130,7 +152,15 @@ class ModelControllerLock {
     boolean lockInterruptibly(final Integer permit, final long timeout, final TimeUnit unit) throws InterruptedException {
         checkNotNullParam("permit", permit);
         checkNotNullParam("unit", unit);
-        return sync.tryAcquireNanos(permit, unit.toNanos(timeout));
+        final ModelControllerLockWaitEvent event = new ModelControllerLockWaitEvent(true, permit);
+        event.begin();
+        boolean acquired = false;
+        try {
+            acquired = sync.tryAcquireNanos(permit, unit.toNanos(timeout));
+            return acquired;
+        } finally {
+            event.complete(acquired);
+        }
     }
 
     /**
@@ -145,7 +175,15 @@ class ModelControllerLock {
     boolean lockSharedInterruptibly(final Integer permit, final long timeout, final TimeUnit unit) throws InterruptedException {
         checkNotNullParam("permit", permit);
         checkNotNullParam("unit", unit);
-        return sync.tryAcquireSharedNanos(permit, unit.toNanos(timeout));
+        final ModelControllerLockWaitEvent event = new ModelControllerLockWaitEvent(false, permit);
+        event.begin();
+        boolean acquired = false;
+        try {
+            acquired = sync.tryAcquireSharedNanos(permit, unit.toNanos(timeout));
+            return acquired;
+        } finally {
+            event.complete(acquired);
+        }
     }
 
     /**
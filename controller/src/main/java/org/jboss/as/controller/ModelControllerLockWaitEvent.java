@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for the time spent waiting to acquire the {@link ModelControllerLock}.
+ */
+@Name("org.wildfly.ModelControllerLockWait")
+@Label("Model Controller Lock Wait")
+@Description("Time spent waiting to acquire the management model controller lock")
+@Category({"WildFly", "Management"})
+@StackTrace(false)
+final class ModelControllerLockWaitEvent extends Event {
+
+    @Label("Exclusive")
+    boolean exclusive;
+
+    @Label("Operation ID")
+    int operationId;
+
+    @Label("Acquired")
+    boolean acquired;
+
+    ModelControllerLockWaitEvent(final boolean exclusive, final int operationId) {
+        this.exclusive = exclusive;
+        this.operationId = operationId;
+    }
+
+    /**
+     * Records the end of the wait if the event is enabled and the wait was long enough to be of interest.
+     */
+    void complete(final boolean acquired) {
+        end();
+        if (shouldCommit()) {
+            this.acquired = acquired;
+            commit();
+        }
+    }
+}
@@ -25,12 +25,14 @@ package org.jboss.as.controller;
 import static org.jboss.as.controller.logging.ControllerLogger.MGMT_OP_LOGGER;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.client.OperationResponse;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
@@ -41,14 +43,29 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.dmr.ModelNode;
 import org.wildfly.security.auth.server.SecurityDomain;
 import org.wildfly.security.auth.server.SecurityRealm;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Special handler that executes subsystem boot operations in parallel.
+ * <p>
+ * If the {@value #RUNTIME_CHUNK_SIZE_PROPERTY} system property is set, the {@link OperationContext.Stage#RUNTIME}
+ * ops of a subsystem with more ops than that are additionally split into chunks that are executed concurrently.
+ * Ops addressed to the subsystem root run first, then each chunk runs the ops for a set of whole child subtrees
+ * (e.g. all ops for {@code subsystem=elytron/key-store=foo} and its children), preserving their relative order.
+ * This assumes the runtime steps of sibling resources only interact through services and capabilities, so
+ * it is opt-in.
+ * <p>
+ * The time spent by each subsystem in each stage is logged as a boot report, at {@code INFO} if the
+ * {@value #BOOT_REPORT_PROPERTY} system property is {@code true} and at {@code DEBUG} otherwise.
  *
  * @author Brian Stansberry (c) 2011 Red Hat Inc.
  */
 public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
+    static final String RUNTIME_CHUNK_SIZE_PROPERTY = "org.wildfly.boot.parallel.runtime-chunk-size";
+    static final String BOOT_REPORT_PROPERTY = "org.wildfly.boot.parallel.report";
+    private static final String CHUNK_SEPARATOR = "#";
+
     private final Executor executor;
     private final ImmutableManagementResourceRegistration rootRegistration;
     private final ControlledProcessState processState;
@@ -59,6 +76,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
     private final Map<String, List<ParsedBootOp>> opsBySubsystem = new LinkedHashMap<String, List<ParsedBootOp>>();
     private ParsedBootOp ourOp;
+    private volatile long runtimeStart;
 
     ParallelBootOperationStepHandler(final ExecutorService executorService, final ImmutableManagementResourceRegistration rootRegistration,
                                      final ControlledProcessState processState, final ModelControllerImpl controller,
@@ -113,7 +131,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             throw ControllerLogger.ROOT_LOGGER.operationContextIsNotAbstractOperationContext();
         }
 
-        long start = System.currentTimeMillis();
+        final long start = System.nanoTime();
 
         final OperationContextImpl primaryContext = (OperationContextImpl) context;
 
@@ -124,6 +142,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
         final Map<String, List<ParsedBootOp>> runtimeOpsBySubsystem = new LinkedHashMap<String, List<ParsedBootOp>>();
         final Map<String, ParallelBootTransactionControl> transactionControls = new LinkedHashMap<String, ParallelBootTransactionControl>();
+        final Map<String, SubsystemBootTimes> bootTimes = new LinkedHashMap<String, SubsystemBootTimes>();
 
         final CountDownLatch preparedLatch = new CountDownLatch(opsBySubsystem.size());
         final CountDownLatch committedLatch = new CountDownLatch(1);
@@ -142,13 +161,15 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
             final ParallelBootTransactionControl txControl = new ParallelBootTransactionControl(preparedLatch, committedLatch, completeLatch);
             transactionControls.put(entry.getKey(), txControl);
+            final SubsystemBootTimes subsystemBootTimes = new SubsystemBootTimes();
+            bootTimes.put(subsystemName, subsystemBootTimes);
 
             // Execute the subsystem's ops in another thread
             List<ParsedBootOp> bootOps = entry.getValue();
             ParallelBootOperationContext pboc = bootOps.isEmpty()
                     ? null
                     : createOperationContext(primaryContext, bootSecurityDomain, txControl, subsystemRuntimeOps);
-            ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.MODEL, txControl, pboc);
+            ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.MODEL, txControl, pboc, subsystemBootTimes);
             executor.execute(subsystemTask);
         }
 
@@ -158,6 +179,8 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
 
             // See if all subsystems succeeded; if not report a failure to context
             checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.MODEL);
+            controller.getBootTimeline().recordPhase(BootTimeline.SUBSYSTEM_MODEL, start, System.nanoTime(),
+                    getBootTimesDetails(bootTimes, OperationContext.Stage.MODEL));
 
             // Add any logging subsystem steps so we get logging early in the boot
             List<ParsedBootOp> loggingOps = runtimeOpsBySubsystem.remove("logging");
@@ -181,8 +204,12 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                 rootResource.registerChild(PathElement.pathElement(ModelDescriptionConstants.SUBSYSTEM, entry.getKey()), entry.getValue());
             }
 
-            // Add step to execute all the runtime ops recorded by the other subsystem tasks
-            context.addStep(getRuntimeStep(runtimeOpsBySubsystem, bootSecurityDomain), OperationContext.Stage.RUNTIME);
+            // Add steps to execute all the runtime ops recorded by the other subsystem tasks
+            final List<Map<String, List<ParsedBootOp>>> runtimeWaves = splitRuntimeOps(runtimeOpsBySubsystem, getRuntimeChunkSize());
+            for (int i = 0; i < runtimeWaves.size(); i++) {
+                final boolean last = i == runtimeWaves.size() - 1;
+                context.addStep(getRuntimeStep(runtimeWaves.get(i), bootSecurityDomain, bootTimes, i == 0, last), OperationContext.Stage.RUNTIME);
+            }
 
         } catch (InterruptedException e) {
             context.getFailureDescription().set(new ModelNode().set(ControllerLogger.ROOT_LOGGER.subsystemBootInterrupted()));
@@ -190,7 +217,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         }
 
         if (MGMT_OP_LOGGER.isDebugEnabled()) {
-            long elapsed = System.currentTimeMillis() - start;
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
             MGMT_OP_LOGGER.debugf("Ran subsystem model operations in [%d] ms", elapsed);
         }
 
@@ -267,13 +294,134 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         committedLatch.countDown();
     }
 
-    private OperationStepHandler getRuntimeStep(final Map<String, List<ParsedBootOp>> runtimeOpsBySubsystem, final SecurityDomain bootSecurityDomain) {
+    /**
+     * Organizes the runtime ops into the waves of parallel tasks to execute. The first wave has a task per subsystem
+     * (for subsystems that are split, only executing the ops addressed to the subsystem root); the optional
+     * second wave has a task per chunk of the remaining ops of the split subsystems.
+     */
+    static List<Map<String, List<ParsedBootOp>>> splitRuntimeOps(final Map<String, List<ParsedBootOp>> runtimeOpsBySubsystem,
+                                                                final int chunkSize) {
+        if (chunkSize <= 0) {
+            return Collections.singletonList(runtimeOpsBySubsystem);
+        }
+        final Map<String, List<ParsedBootOp>> firstWave = new LinkedHashMap<String, List<ParsedBootOp>>();
+        final Map<String, List<ParsedBootOp>> secondWave = new LinkedHashMap<String, List<ParsedBootOp>>();
+        final int maxChunks = Math.max(2, Runtime.getRuntime().availableProcessors());
+        for (Map.Entry<String, List<ParsedBootOp>> entry : runtimeOpsBySubsystem.entrySet()) {
+            final String subsystemName = entry.getKey();
+            final List<ParsedBootOp> ops = entry.getValue();
+            final List<ParsedBootOp> rootOps = new ArrayList<ParsedBootOp>();
+            final Map<PathElement, List<ParsedBootOp>> subtrees = ops.size() > chunkSize ? groupBySubtree(ops, rootOps) : null;
+            if (subtrees == null || subtrees.size() < 2) {
+                firstWave.put(subsystemName, ops);
+                continue;
+            }
+            firstWave.put(subsystemName, rootOps);
+            final int chunkCount = Math.min(maxChunks, Math.min(subtrees.size(), (ops.size() - rootOps.size() + chunkSize - 1) / chunkSize));
+            final List<List<ParsedBootOp>> chunks = new ArrayList<List<ParsedBootOp>>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                chunks.add(new ArrayList<ParsedBootOp>());
+            }
+            // Largest subtrees first, each to the least loaded chunk, so the chunks end up roughly balanced
+            final List<List<ParsedBootOp>> sortedSubtrees = new ArrayList<List<ParsedBootOp>>(subtrees.values());
+            sortedSubtrees.sort((a, b) -> Integer.compare(b.size(), a.size()));
+            for (List<ParsedBootOp> subtree : sortedSubtrees) {
+                List<ParsedBootOp> target = chunks.get(0);
+                for (List<ParsedBootOp> chunk : chunks) {
+                    if (chunk.size() < target.size()) {
+                        target = chunk;
+                    }
+                }
+                target.addAll(subtree);
+            }
+            for (int i = 0; i < chunkCount; i++) {
+                secondWave.put(subsystemName + CHUNK_SEPARATOR + (i + 1), chunks.get(i));
+            }
+            MGMT_OP_LOGGER.debugf("Split runtime boot operations for subsystem %s into %d chunks (%d operations)", subsystemName, chunkCount, ops.size());
+        }
+        if (secondWave.isEmpty()) {
+            return Collections.singletonList(firstWave);
+        }
+        List<Map<String, List<ParsedBootOp>>> result = new ArrayList<Map<String, List<ParsedBootOp>>>(2);
+        result.add(firstWave);
+        result.add(secondWave);
+        return result;
+    }
+
+    /**
+     * Groups the ops by the child of the subsystem resource they address, adding ops addressed to the subsystem
+     * itself to {@code rootOps}.
+     *
+     * @return the grouped ops, or {@code null} if an op addressed to the subsystem root follows an op addressed to
+     *         a child, in which case the ops cannot be reordered
+     */
+    private static Map<PathElement, List<ParsedBootOp>> groupBySubtree(final List<ParsedBootOp> ops, final List<ParsedBootOp> rootOps) {
+        final Map<PathElement, List<ParsedBootOp>> result = new LinkedHashMap<PathElement, List<ParsedBootOp>>();
+        for (ParsedBootOp op : ops) {
+            if (op.address.size() < 2) {
+                if (!result.isEmpty()) {
+                    return null;
+                }
+                rootOps.add(op);
+            } else {
+                result.computeIfAbsent(op.address.getElement(1), k -> new ArrayList<ParsedBootOp>()).add(op);
+            }
+        }
+        return result;
+    }
+
+    private static int getRuntimeChunkSize() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(RUNTIME_CHUNK_SIZE_PROPERTY, null);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                MGMT_OP_LOGGER.debugf("Ignoring invalid value %s for %s", value, RUNTIME_CHUNK_SIZE_PROPERTY);
+            }
+        }
+        return 0;
+    }
+
+    private static String getSubsystemForTask(final String taskName) {
+        final int idx = taskName.lastIndexOf(CHUNK_SEPARATOR);
+        return idx < 0 ? taskName : taskName.substring(0, idx);
+    }
+
+    private static ModelNode getBootTimesDetails(final Map<String, SubsystemBootTimes> bootTimes, final OperationContext.Stage stage) {
+        final ModelNode result = new ModelNode().setEmptyObject();
+        for (Map.Entry<String, SubsystemBootTimes> entry : bootTimes.entrySet()) {
+            result.get(entry.getKey()).set(entry.getValue().toModelNode(stage));
+        }
+        return result;
+    }
+
+    private static void reportBootTimes(final Map<String, SubsystemBootTimes> bootTimes) {
+        final boolean info = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(BOOT_REPORT_PROPERTY, "false"));
+        if (!info && !MGMT_OP_LOGGER.isDebugEnabled()) {
+            return;
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, SubsystemBootTimes> entry : bootTimes.entrySet()) {
+            sb.append(System.lineSeparator()).append(entry.getKey()).append(": ").append(entry.getValue());
+        }
+        if (info) {
+            MGMT_OP_LOGGER.parallelBootReport(sb.toString());
+        } else {
+            MGMT_OP_LOGGER.debugf("Subsystem boot times:%s", sb);
+        }
+    }
+
+    private OperationStepHandler getRuntimeStep(final Map<String, List<ParsedBootOp>> runtimeOpsBySubsystem, final SecurityDomain bootSecurityDomain,
+                                                final Map<String, SubsystemBootTimes> bootTimes, final boolean firstWave, final boolean lastWave) {
 
         return new OperationStepHandler() {
             @Override
             public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
 
-                long start = System.currentTimeMillis();
+                final long start = System.nanoTime();
+                if (firstWave) {
+                    runtimeStart = start;
+                }
 
                 if (!(context instanceof OperationContextImpl)) {
                     throw ControllerLogger.ROOT_LOGGER.operationContextIsNotAbstractOperationContext();
@@ -299,7 +447,8 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                     ParallelBootOperationContext pboc = bootOps.isEmpty()
                         ? null
                         : createOperationContext(primaryContext, bootSecurityDomain, txControl, null);
-                    ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc);
+                    ParallelBootTask subsystemTask = new ParallelBootTask(subsystemName, bootOps, OperationContext.Stage.RUNTIME, txControl, pboc,
+                            bootTimes.get(getSubsystemForTask(subsystemName)));
                     executor.execute(subsystemTask);
                 }
 
@@ -310,13 +459,18 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
                     // See if all subsystems succeeded; if not report a failure to context
                     checkForSubsystemFailures(context, transactionControls, OperationContext.Stage.RUNTIME);
 
+                    if (lastWave) {
+                        controller.getBootTimeline().recordPhase(BootTimeline.SUBSYSTEM_RUNTIME, runtimeStart, System.nanoTime(),
+                                getBootTimesDetails(bootTimes, OperationContext.Stage.RUNTIME));
+                        reportBootTimes(bootTimes);
+                    }
                 } catch (InterruptedException e) {
                     context.getFailureDescription().set(new ModelNode().set(ControllerLogger.ROOT_LOGGER.subsystemBootInterrupted()));
                     Thread.currentThread().interrupt();
                 }
 
                 if (MGMT_OP_LOGGER.isDebugEnabled()) {
-                    long elapsed = System.currentTimeMillis() - start;
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
                     MGMT_OP_LOGGER.debugf("Ran subsystem runtime operations in [%d] ms", elapsed);
                 }
 
@@ -348,22 +502,26 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         private final OperationContext.Stage executionStage;
         private final ParallelBootTransactionControl transactionControl;
         private final ParallelBootOperationContext pboc;
+        private final SubsystemBootTimes bootTimes;
 
         ParallelBootTask(final String subsystemName,
                          final List<ParsedBootOp> bootOperations,
                          final OperationContext.Stage executionStage,
                          final ParallelBootTransactionControl transactionControl,
-                         final ParallelBootOperationContext pboc) {
+                         final ParallelBootOperationContext pboc,
+                         final SubsystemBootTimes bootTimes) {
             assert bootOperations != null || pboc != null;
             this.subsystemName = subsystemName;
             this.bootOperations = bootOperations;
             this.executionStage = executionStage;
             this.transactionControl = transactionControl;
             this.pboc = pboc;
+            this.bootTimes = bootTimes;
         }
 
         @Override
         public void run() {
+            transactionControl.started(bootTimes, executionStage, bootOperations == null ? 0 : bootOperations.size());
             try {
 
                 if (pboc == null) {
@@ -424,6 +582,10 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         private OperationResponse response;
         private ModelController.OperationTransaction transaction;
         private boolean signalled;
+        private SubsystemBootTimes bootTimes;
+        private OperationContext.Stage stage;
+        private int opCount;
+        private long start;
 
         ParallelBootTransactionControl(CountDownLatch preparedLatch, CountDownLatch committedLatch, CountDownLatch completeLatch) {
             this.preparedLatch = preparedLatch;
@@ -431,10 +593,25 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             this.completeLatch = completeLatch;
         }
 
+        void started(SubsystemBootTimes bootTimes, OperationContext.Stage stage, int opCount) {
+            this.bootTimes = bootTimes;
+            this.stage = stage;
+            this.opCount = opCount;
+            this.start = System.nanoTime();
+        }
+
+        private void recordTime() {
+            // Must be called before preparedLatch is counted down so the times are visible to the waiting thread
+            if (bootTimes != null) {
+                bootTimes.record(stage, opCount, start, System.nanoTime());
+            }
+        }
+
         @Override
         public void operationFailed(ModelNode response) {
             if (!signalled) {
                 this.response = OperationResponse.Factory.createSimple(response);
+                recordTime();
                 preparedLatch.countDown();
                 completeLatch.countDown();
                 signalled = true;
@@ -445,6 +622,7 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
         public void operationPrepared(ModelController.OperationTransaction transaction, ModelNode result) {
             if (!signalled) {
                 this.transaction = transaction;
+                recordTime();
                 preparedLatch.countDown();
                 signalled = true;
 
@@ -463,4 +641,57 @@ public class ParallelBootOperationStepHandler implements OperationStepHandler {
             completeLatch.countDown();
         }
     }
+
+    /**
+     * Time spent executing a subsystem's boot ops, per stage. The runtime time is wall clock time from the start of
+     * the first of the subsystem's runtime tasks to the end of the last one.
+     */
+    static final class SubsystemBootTimes {
+
+        private int modelOps;
+        private long modelNanos;
+        private int runtimeOps;
+        private int runtimeTasks;
+        private long runtimeStart = Long.MAX_VALUE;
+        private long runtimeEnd = Long.MIN_VALUE;
+
+        synchronized void record(OperationContext.Stage stage, int ops, long start, long end) {
+            if (stage == OperationContext.Stage.MODEL) {
+                modelOps += ops;
+                modelNanos += end - start;
+            } else {
+                runtimeOps += ops;
+                runtimeTasks++;
+                runtimeStart = Math.min(runtimeStart, start);
+                runtimeEnd = Math.max(runtimeEnd, end);
+            }
+        }
+
+        synchronized long getModelMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(modelNanos);
+        }
+
+        synchronized long getRuntimeMillis() {
+            return runtimeTasks == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(runtimeEnd - runtimeStart);
+        }
+
+        synchronized ModelNode toModelNode(OperationContext.Stage stage) {
+            final ModelNode result = new ModelNode();
+            if (stage == OperationContext.Stage.MODEL) {
+                result.get("operations").set(modelOps);
+                result.get("duration").set(getModelMillis());
+            } else {
+                result.get("operations").set(runtimeOps);
+                result.get("duration").set(getRuntimeMillis());
+                result.get("tasks").set(runtimeTasks);
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("model %d ops in %d ms, runtime %d ops in %d ms (%d tasks)",
+                    modelOps, getModelMillis(), runtimeOps, getRuntimeMillis(), runtimeTasks);
+        }
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Support for running management operation execution on virtual threads instead of a bounded platform thread pool.
+ * <p>
+ * Virtual threads are only used if the {@value #VIRTUAL_THREADS_PROPERTY} system property is set to {@code true}
+ * and the running JVM provides them. Since the code base is compiled for an older release than the one introducing
+ * virtual threads, the relevant JDK API is looked up reflectively once.
+ * <p>
+ * When enabled, setting {@value #TRACE_PINNED_PROPERTY} to {@code short} or {@code full} propagates the value to the
+ * JDK's {@code jdk.tracePinnedThreads} diagnostic, which prints a stack trace whenever a virtual thread blocks while
+ * pinned to its carrier thread (e.g. inside a {@code synchronized} block), which is the main thing that defeats the
+ * purpose of using virtual threads for blocking management work.
+ */
+public final class VirtualThreadSupport {
+
+    /** System property used to enable virtual threads for management operation execution. */
+    public static final String VIRTUAL_THREADS_PROPERTY = "org.wildfly.management.executor.virtual-threads";
+    /** System property used to enable tracing of virtual threads that block while pinned to their carrier. */
+    public static final String TRACE_PINNED_PROPERTY = "org.wildfly.management.executor.virtual-threads.trace-pinned";
+
+    private static final String JDK_TRACE_PINNED_PROPERTY = "jdk.tracePinnedThreads";
+
+    private static final MethodHandle NEW_THREAD_FACTORY;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle factory = null;
+        MethodHandle executor = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            final MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+            final MethodHandle name = lookup.findVirtual(virtualBuilderClass, "name", MethodType.methodType(virtualBuilderClass, String.class, long.class));
+            final MethodHandle toFactory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            // (String prefix, long start) -> Thread.ofVirtual().name(prefix, start).factory()
+            factory = MethodHandles.filterReturnValue(
+                    MethodHandles.foldArguments(name, 0, ofVirtual),
+                    toFactory.asType(MethodType.methodType(ThreadFactory.class, virtualBuilderClass)));
+            executor = lookup.findStatic(java.util.concurrent.Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Virtual threads are not available in this JVM
+            factory = null;
+            executor = null;
+        }
+        NEW_THREAD_FACTORY = factory;
+        NEW_THREAD_PER_TASK_EXECUTOR = executor;
+    }
+
+    private VirtualThreadSupport() {
+    }
+
+    /**
+     * Gets whether the running JVM supports virtual threads.
+     *
+     * @return {@code true} if virtual threads can be created
+     */
+    public static boolean isSupported() {
+        return NEW_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Gets whether management operations should be executed on virtual threads. Logs a warning if the
+     * {@value #VIRTUAL_THREADS_PROPERTY} property is set but the JVM does not support virtual threads.
+     *
+     * @return {@code true} if virtual threads were requested and are supported
+     */
+    public static boolean isEnabled() {
+        if (!Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(VIRTUAL_THREADS_PROPERTY, "false"))) {
+            return false;
+        }
+        if (!isSupported()) {
+            ControllerLogger.ROOT_LOGGER.virtualThreadsNotSupported(VIRTUAL_THREADS_PROPERTY, Runtime.version().toString());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Creates an executor that runs each submitted task in a new virtual thread.
+     *
+     * @param namePrefix the prefix of the names of the created threads. Cannot be {@code null}
+     * @return the executor. Will not be {@code null}
+     * @throws IllegalStateException if the JVM does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadExecutor(final String namePrefix) {
+        if (!isSupported()) {
+            throw ControllerLogger.ROOT_LOGGER.virtualThreadsUnavailable(Runtime.version().toString());
+        }
+        configurePinnedThreadTracing();
+        try {
+            final ThreadFactory threadFactory = (ThreadFactory) NEW_THREAD_FACTORY.invoke(namePrefix, 1L);
+            final ExecutorService executor = (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+            ControllerLogger.ROOT_LOGGER.usingVirtualThreads(namePrefix);
+            return executor;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    /**
+     * Creates a virtual thread executor if {@link #isEnabled() enabled}, otherwise returns {@code null} so the
+     * caller can create its regular platform thread pool.
+     *
+     * @param namePrefix the prefix of the names of the created threads. Cannot be {@code null}
+     * @return the executor, or {@code null} if virtual threads are not enabled
+     */
+    public static ExecutorService newVirtualThreadExecutorIfEnabled(final String namePrefix) {
+        return isEnabled() ? newVirtualThreadExecutor(namePrefix) : null;
+    }
+
+    private static void configurePinnedThreadTracing() {
+        final String trace = WildFlySecurityManager.getPropertyPrivileged(TRACE_PINNED_PROPERTY, null);
+        if (trace != null && !trace.isEmpty() && !"false".equalsIgnoreCase(trace)
+                && WildFlySecurityManager.getPropertyPrivileged(JDK_TRACE_PINNED_PROPERTY, null) == null) {
+            // The JDK reads this when the first virtual thread is created, so it must be set before then
+            final String value = "full".equalsIgnoreCase(trace) ? "full" : "short";
+            WildFlySecurityManager.setPropertyPrivileged(JDK_TRACE_PINNED_PROPERTY, value);
+            ControllerLogger.ROOT_LOGGER.tracingPinnedVirtualThreads(value);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Delivers the formatted records of an {@link AuditLogHandler} on a background thread, so a slow disk or syslog server
+ * does not add to the time taken by management operations.
+ * <p>
+ * Records are formatted on the thread logging them, since the formatters are shared and cache the formatted
+ * record, and are then put in a bounded queue. Each handler has its own writer thread, which takes the queued records
+ * and writes them with one {@link AuditLogHandler#writeLogItems(List)} call, so a slow handler does not hold up the
+ * others. When the queue is full the logging thread either writes the queued records and its own itself, or the record
+ * is discarded and counted, depending on the {@link OverflowPolicy}. The logging thread holds the audit lock, so it
+ * never waits for room in the queue.
+ * <p>
+ * Asynchronous delivery is off by default. It is enabled for all handlers with the
+ * {@value #QUEUE_LENGTH_PROPERTY} system property, or for a single handler by appending {@code .<handler-name>}
+ * to the property name. The {@value #OVERFLOW_POLICY_PROPERTY} property, which can also be suffixed with the
+ * handler name, selects the overflow policy.
+ */
+final class AsyncAuditLogDelivery {
+
+    static final String QUEUE_LENGTH_PROPERTY = "org.jboss.as.controller.audit.async-queue-length";
+    static final String OVERFLOW_POLICY_PROPERTY = "org.jboss.as.controller.audit.async-overflow-policy";
+
+    private static final int MAX_BATCH_SIZE = 256;
+
+    enum OverflowPolicy {
+        /** The queued records and the record are written on the logging thread, as without asynchronous delivery */
+        SYNCHRONOUS,
+        /** The record is discarded */
+        DISCARD,
+    }
+
+    private final AuditLogHandler handler;
+    private final Executor writer;
+    private final BlockingQueue<String> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder writtenRecords = new LongAdder();
+
+    AsyncAuditLogDelivery(final AuditLogHandler handler, final int queueLength, final OverflowPolicy overflowPolicy) {
+        this.handler = handler;
+        // A single thread which stops when idle; the scheduled flag keeps at most one task queued
+        this.writer = new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            final Thread thread = new Thread(r, "management-audit-log-writer-" + handler.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queue = new ArrayBlockingQueue<>(queueLength);
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Creates the delivery for a handler if asynchronous delivery is configured for it.
+     *
+     * @param handler the handler
+     * @return the delivery, or {@code null} if the handler should write records on the logging thread
+     */
+    static AsyncAuditLogDelivery create(final AuditLogHandler handler) {
+        final String queueLength = getProperty(QUEUE_LENGTH_PROPERTY, handler.getName());
+        if (queueLength == null) {
+            return null;
+        }
+        final int length;
+        try {
+            length = Integer.parseInt(queueLength.trim());
+        } catch (NumberFormatException e) {
+            ControllerLogger.MGMT_OP_LOGGER.debugf(e, "Invalid audit log queue length %s for handler %s", queueLength, handler.getName());
+            return null;
+        }
+        if (length <= 0) {
+            return null;
+        }
+        OverflowPolicy policy = OverflowPolicy.SYNCHRONOUS;
+        final String policyName = getProperty(OVERFLOW_POLICY_PROPERTY, handler.getName());
+        if (policyName != null) {
+            try {
+                policy = OverflowPolicy.valueOf(policyName.trim().toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                ControllerLogger.MGMT_OP_LOGGER.debugf(e, "Invalid audit log overflow policy %s for handler %s", policyName, handler.getName());
+            }
+        }
+        return new AsyncAuditLogDelivery(handler, length, policy);
+    }
+
+    private static String getProperty(final String name, final String handlerName) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name + "." + handlerName, null);
+        return value != null ? value : WildFlySecurityManager.getPropertyPrivileged(name, null);
+    }
+
+    /**
+     * Queues a formatted record to be written.
+     *
+     * @param formattedItem the formatted record
+     */
+    void offer(final String formattedItem) {
+        if (!queue.offer(formattedItem)) {
+            if (overflowPolicy == OverflowPolicy.DISCARD) {
+                dropped.increment();
+            } else {
+                // Records are only offered with the audit lock held, so nothing is queued behind this one meanwhile
+                writeQueued(true, formattedItem);
+                return;
+            }
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            writer.execute(this::run);
+        }
+    }
+
+    private void run() {
+        try {
+            writeQueued(false, null);
+        } finally {
+            scheduled.set(false);
+            // check for records added after the queue was drained
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Writes everything in the queue on the calling thread, for example before the handler is stopped.
+     */
+    void flush() {
+        writeQueued(true, null);
+    }
+
+    private void writeQueued(final boolean all, final String last) {
+        final List<String> batch = new ArrayList<>();
+        // Taking the records and writing them under the handler lock keeps the batches in order
+        synchronized (handler) {
+            while (queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+                write(batch);
+                if (!all) {
+                    break;
+                }
+            }
+            if (last != null) {
+                batch.add(last);
+                write(batch);
+            }
+        }
+    }
+
+    private void write(final List<String> batch) {
+        if (handler.hasTooManyFailures()) {
+            dropped.add(batch.size());
+        } else {
+            final long start = System.nanoTime();
+            handler.deliver(batch);
+            writeNanos.add(System.nanoTime() - start);
+            writtenRecords.add(batch.size());
+        }
+        batch.clear();
+    }
+
+    /**
+     * @return the number of records waiting to be written
+     */
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * @return the number of records discarded because the queue was full or the handler was disabled
+     */
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the average time in microseconds taken to write a record
+     */
+    long getAverageWriteTime() {
+        final long records = writtenRecords.sum();
+        return records == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(writeNanos.sum() / records);
+    }
+}
@@ -32,7 +32,10 @@ import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
 
 /**
- *  All methods on this class should be called with {@link ManagedAuditLoggerImpl}'s lock taken.
+ *  All methods on this class should be called with {@link ManagedAuditLoggerImpl}'s lock taken. With
+ *  {@linkplain AsyncAuditLogDelivery asynchronous delivery} the records are written on another thread holding this
+ *  handler's monitor, so writing, initializing and stopping the handler, and the updates applied to a running handler,
+ *  also happen with the monitor held.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  */
@@ -42,18 +45,24 @@ abstract class AuditLogHandler {
     private volatile int maxFailureCount = 10;
 
     /** The number of consecutive failures writing to the log */
-    private int failureCount;
+    private volatile int failureCount;
 
 
     protected final String name;
     private volatile String formatterName;
     private final Set<PathAddress> references = new HashSet<PathAddress>();
     private AuditLogItemFormatter formatter;
+    private final AsyncAuditLogDelivery delivery;
 
     AuditLogHandler(String name, String formatterName, int maxFailureCount){
+        this(name, formatterName, maxFailureCount, true);
+    }
+
+    AuditLogHandler(String name, String formatterName, int maxFailureCount, boolean supportsAsyncDelivery){
         this.name = name;
         this.formatterName = formatterName;
         this.maxFailureCount = maxFailureCount;
+        this.delivery = supportsAsyncDelivery ? AsyncAuditLogDelivery.create(this) : null;
     }
 
     String getName() {
@@ -77,11 +86,40 @@ abstract class AuditLogHandler {
     }
 
     void writeLogItem(AuditLogItem item) {
+        if (delivery != null) {
+            final String formattedItem;
+            try {
+                formattedItem = item.format(formatter);
+            } catch (Throwable t) {
+                getFailureCountHandler().failure(t);
+                return;
+            }
+            delivery.offer(formattedItem);
+            return;
+        }
+        synchronized (this) {
+            FailureCountHandler fch = getFailureCountHandler();
+            try {
+                initialize();
+                String formattedItem = item.format(formatter);
+                writeLogItem(formattedItem);
+                fch.success();
+            } catch (Throwable t) {
+                fch.failure(t);
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of records queued by the asynchronous delivery. Called with this handler's monitor held.
+     *
+     * @param formattedItems the formatted records
+     */
+    void deliver(List<String> formattedItems) {
         FailureCountHandler fch = getFailureCountHandler();
         try {
             initialize();
-            String formattedItem = item.format(formatter);
-            writeLogItem(formattedItem);
+            writeLogItems(formattedItems);
             fch.success();
         } catch (Throwable t) {
             fch.failure(t);
@@ -90,7 +128,19 @@ abstract class AuditLogHandler {
 
     void recycle() {
         this.failureCount = 0;
-        stop();
+        shutdown();
+    }
+
+    /**
+     * Writes any records waiting for asynchronous delivery and stops the handler.
+     */
+    void shutdown() {
+        if (delivery != null) {
+            delivery.flush();
+        }
+        synchronized (this) {
+            stop();
+        }
     }
 
     boolean isActive() {
@@ -112,7 +162,7 @@ abstract class AuditLogHandler {
     void removeReference(PathAddress address){
         references.remove(address);
         if (references.isEmpty()){
-            stop();
+            shutdown();
         }
     }
 
@@ -124,6 +174,18 @@ abstract class AuditLogHandler {
         return failureCount;
     }
 
+    int getQueueSize() {
+        return delivery == null ? 0 : delivery.getQueueSize();
+    }
+
+    long getDroppedCount() {
+        return delivery == null ? 0L : delivery.getDroppedCount();
+    }
+
+    long getAverageWriteTime() {
+        return delivery == null ? 0L : delivery.getAverageWriteTime();
+    }
+
     FailureCountHandler getFailureCountHandler() {
         return new StandardFailureCountHandler();
     }
@@ -133,6 +195,18 @@ abstract class AuditLogHandler {
     abstract void stop();
     abstract void writeLogItem(String formattedItem) throws IOException;
 
+    /**
+     * Writes a batch of formatted records. Handlers which can write several records at once should override this.
+     *
+     * @param formattedItems the formatted records
+     * @throws IOException if the records could not be written
+     */
+    void writeLogItems(List<String> formattedItems) throws IOException {
+        for (String formattedItem : formattedItems) {
+            writeLogItem(formattedItem);
+        }
+    }
+
     List<ModelNode> listLastEntries() {
         return Collections.emptyList();
     }
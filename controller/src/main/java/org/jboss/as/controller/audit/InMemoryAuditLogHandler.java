@@ -62,7 +62,7 @@ public final class InMemoryAuditLogHandler extends AuditLogHandler {
 
 
     public InMemoryAuditLogHandler(String name, int maxHistory) {
-        super(name, IN_MEMORY_FORMATTER_NAME, maxHistory);
+        super(name, IN_MEMORY_FORMATTER_NAME, maxHistory, false);
         this.items = new ArrayList<>(maxHistory);
         this.maxHistory = maxHistory;
         setFormatter(myFormatter);
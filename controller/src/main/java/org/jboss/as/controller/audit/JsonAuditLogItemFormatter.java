@@ -21,22 +21,30 @@
  */
 package org.jboss.as.controller.audit;
 
+import java.util.Base64;
+import java.util.List;
+
 import org.jboss.as.controller.OperationContext.ResultAction;
 import org.jboss.as.controller.audit.AuditLogItem.JmxAccessAuditLogItem;
 import org.jboss.as.controller.audit.AuditLogItem.ModelControllerAuditLogItem;
+import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * All methods on this class should be called with {@link ManagedAuditLoggerImpl}'s lock taken.
+ * <p>
+ * The record is written as JSON straight from the fields of the {@link AuditLogItem} and the operations, in the same
+ * layout as {@link ModelNode#toJSONString(boolean)}, into a buffer which is reused for the next record. String and
+ * bytes values longer than the {@value #MAX_VALUE_LENGTH_PROPERTY} system property are truncated, so that for example
+ * the content of a deployment does not end up in the audit log.
  *
  * @author <a href="kabir.khan@jboss.com">Kabir Khan</a>
  */
 public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
 
-    private static final ModelNode UNDEFINED = new ModelNode();
-    static {
-        UNDEFINED.protect();
-    }
     public static final String TYPE = "type";
     public static final String READ_ONLY = "r/o";
     public static final String BOOTING = "booting";
@@ -52,10 +60,20 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
     public static final String METHOD_PARAMETERS = "params";
     public static final String ERROR = "error";
 
+    static final String MAX_VALUE_LENGTH_PROPERTY = "org.jboss.as.controller.audit.json-max-value-length";
+    private static final int MAX_VALUE_LENGTH = getMaxValueLength();
+    private static final String TRUNCATED = "...";
+    /** Buffers which have grown past this size are not kept for the next record */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final String INDENT = "    ";
+
     private volatile boolean compactJson;
     private volatile boolean escapeNewLine;
     private volatile boolean escapeControlCharacters;
 
+    /** Only used with the lock taken, see the class javadoc */
+    private StringBuilder buffer = new StringBuilder(1024);
+
     public JsonAuditLogItemFormatter(String name, boolean includeDate, String dateSeparator, String dateFormat,
             boolean compactJson, boolean escapeNewLine, boolean escapeControlCharacters) {
         super(name, includeDate, dateSeparator, dateFormat);
@@ -64,6 +82,18 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
         this.escapeControlCharacters = escapeControlCharacters;
     }
 
+    private static int getMaxValueLength() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(MAX_VALUE_LENGTH_PROPERTY, null);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                ControllerLogger.MGMT_OP_LOGGER.debugf(e, "Invalid value %s for %s", value, MAX_VALUE_LENGTH_PROPERTY);
+            }
+        }
+        return 0;
+    }
+
     public boolean isCompactJson() {
         return compactJson;
     }
@@ -87,13 +117,24 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
             return formattedString;
         }
 
-        ModelNode formatted = new ModelNode();
-        formatted.get(TYPE).set(TYPE_CORE);
-        addCommonFields(item, formatted);
-        formatted.get(SUCCESS).set(item.getResultAction() == ResultAction.KEEP);
-        formatted.get(OPERATIONS).set(item.getOperations());
+        final boolean multiLine = !compactJson;
+        final StringBuilder sb = startRecord(item);
+        startField(sb, TYPE, true, multiLine);
+        appendString(sb, TYPE_CORE);
+        addCommonFields(sb, item, multiLine);
+        startField(sb, SUCCESS, false, multiLine);
+        sb.append(item.getResultAction() == ResultAction.KEEP);
+        startField(sb, OPERATIONS, false, multiLine);
+        final List<ModelNode> operations = item.getOperations();
+        sb.append('[');
+        for (int i = 0; i < operations.size(); i++) {
+            startElement(sb, i == 0, 2, multiLine);
+            appendNode(sb, operations.get(i), 2, multiLine);
+        }
+        endContainer(sb, ']', operations.isEmpty(), 1, multiLine);
+        endContainer(sb, '}', false, 0, multiLine);
 
-        return cacheString(createRecordText(item, formatted));
+        return cacheString(createRecordText(sb));
     }
 
     @Override
@@ -102,51 +143,95 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
         if (formattedString != null) {
             return formattedString;
         }
-        ModelNode formatted = new ModelNode();
-        formatted.get(TYPE).set(TYPE_JMX);
-        addCommonFields(item, formatted);
 
-        formatted.get(METHOD_NAME).set(item.getMethodName());
+        final boolean multiLine = !compactJson;
+        final StringBuilder sb = startRecord(item);
+        startField(sb, TYPE, true, multiLine);
+        appendString(sb, TYPE_JMX);
+        addCommonFields(sb, item, multiLine);
+
+        startField(sb, METHOD_NAME, false, multiLine);
+        appendNullableString(sb, item.getMethodName());
 
-        formatted.get(METHOD_SIGNATURE);
-        for (String sig : item.getMethodSignature()) {
-            formatted.get(METHOD_SIGNATURE).add(sig);
+        startField(sb, METHOD_SIGNATURE, false, multiLine);
+        final String[] signature = item.getMethodSignature();
+        if (signature.length == 0) {
+            // an empty list was never created, so it stays undefined
+            sb.append("null");
+        } else {
+            sb.append('[');
+            for (int i = 0; i < signature.length; i++) {
+                startElement(sb, i == 0, 2, multiLine);
+                appendNullableString(sb, signature[i]);
+            }
+            endContainer(sb, ']', false, 1, multiLine);
         }
 
-        formatted.get(METHOD_PARAMETERS);
+        startField(sb, METHOD_PARAMETERS, false, multiLine);
+        boolean first = true;
         for (Object param : item.getMethodParams()) {
             if (param != null && param.getClass().isArray()) {
-                Object[] arrayParams = (Object[]) param;
-                for (Object arrayParam : arrayParams) {
-                    formatted.get(METHOD_PARAMETERS).add(arrayParam == null ? UNDEFINED : new ModelNode(arrayParam.toString()));
+                for (Object arrayParam : (Object[]) param) {
+                    first = appendParameter(sb, arrayParam, first, multiLine);
                 }
             } else {
-                formatted.get(METHOD_PARAMETERS).add(param == null ? UNDEFINED : new ModelNode(param.toString()));
+                first = appendParameter(sb, param, first, multiLine);
             }
         }
+        if (first) {
+            sb.append("null");
+        } else {
+            endContainer(sb, ']', false, 1, multiLine);
+        }
 
         final Throwable throwable = item.getError();
         if (throwable != null) {
             //TODO include stack trace?
-            formatted.get(ERROR).set(throwable.getMessage());
+            startField(sb, ERROR, false, multiLine);
+            appendNullableString(sb, throwable.getMessage());
         }
+        endContainer(sb, '}', false, 0, multiLine);
 
-        return cacheString(createRecordText(item, formatted));
+        return cacheString(createRecordText(sb));
     }
 
-    private String createRecordText(AuditLogItem item, ModelNode formatted) {
-        StringBuilder sb = new StringBuilder();
+    private boolean appendParameter(StringBuilder sb, Object param, boolean first, boolean multiLine) {
+        if (first) {
+            sb.append('[');
+        }
+        startElement(sb, first, 2, multiLine);
+        appendNullableString(sb, param == null ? null : param.toString());
+        return false;
+    }
 
+    private StringBuilder startRecord(AuditLogItem item) {
+        StringBuilder sb = buffer;
+        if (sb.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            sb = buffer = new StringBuilder(1024);
+        } else {
+            sb.setLength(0);
+        }
         appendDate(sb, item);
+        sb.append('{');
+        return sb;
+    }
 
-        sb.append(formatted.toJSONString(compactJson));
-
+    private String createRecordText(StringBuilder sb) {
         String formattedString;
         if (escapeNewLine && !escapeControlCharacters) {
             //Escape all instances of "\n" with "#012"
-            formattedString = sb.toString().replace("\n", "#012");
+            StringBuilder escaped = new StringBuilder(sb.length() + 64);
+            for (int i = 0 ; i < sb.length() ; i++) {
+                char c = sb.charAt(i);
+                if (c == '\n') {
+                    escaped.append("#012");
+                } else {
+                    escaped.append(c);
+                }
+            }
+            formattedString = escaped.toString();
         } else if (escapeControlCharacters) {
-            StringBuilder escaped = new StringBuilder();
+            StringBuilder escaped = new StringBuilder(sb.length() + 64);
             for (int i = 0 ; i < sb.length() ; i++) {
                 char c = sb.charAt(i);
                 if (c >= 0 && c < 32) {
@@ -168,26 +253,193 @@ public class JsonAuditLogItemFormatter extends AuditLogItemFormatter {
         return formattedString;
     }
 
-    private void addCommonFields(AuditLogItem item, ModelNode formatted) {
-        formatted.get(READ_ONLY).set(item.isReadOnly());
-        formatted.get(BOOTING).set(item.isBooting());
-        formatted.get(AS_VERSION).set(item.getAsVersion());
-        formatted.get(USER_ID);
-        if (item.getUserId() != null) {
-            formatted.get(USER_ID).set(item.getUserId());
+    private void addCommonFields(StringBuilder sb, AuditLogItem item, boolean multiLine) {
+        startField(sb, READ_ONLY, false, multiLine);
+        sb.append(item.isReadOnly());
+        startField(sb, BOOTING, false, multiLine);
+        sb.append(item.isBooting());
+        startField(sb, AS_VERSION, false, multiLine);
+        appendNullableString(sb, item.getAsVersion());
+        startField(sb, USER_ID, false, multiLine);
+        appendNullableString(sb, item.getUserId());
+        startField(sb, DOMAIN_UUID, false, multiLine);
+        appendNullableString(sb, item.getDomainUUID());
+        startField(sb, ACCESS_MECHANISM, false, multiLine);
+        appendNullableString(sb, item.getAccessMechanism() == null ? null : item.getAccessMechanism().toString());
+        startField(sb, REMOTE_ADDRESS, false, multiLine);
+        appendNullableString(sb, item.getRemoteAddress() == null ? null : item.getRemoteAddress().toString());
+    }
+
+    private static void startField(StringBuilder sb, String key, boolean first, boolean multiLine) {
+        startElement(sb, first, 1, multiLine);
+        appendKey(sb, key);
+        sb.append(" : ");
+    }
+
+    private static void startElement(StringBuilder sb, boolean first, int indent, boolean multiLine) {
+        if (!first) {
+            sb.append(',');
+        }
+        if (multiLine) {
+            newLine(sb, indent);
+        }
+    }
+
+    private static void endContainer(StringBuilder sb, char end, boolean empty, int indent, boolean multiLine) {
+        if (multiLine && !empty) {
+            newLine(sb, indent);
+        }
+        sb.append(end);
+    }
+
+    private static void newLine(StringBuilder sb, int indent) {
+        sb.append('\n');
+        for (int i = 0; i < indent; i++) {
+            sb.append(INDENT);
+        }
+    }
+
+    /**
+     * Appends the node as JSON, in the same way {@link ModelNode#toJSONString(boolean)} does.
+     */
+    private static void appendNode(StringBuilder sb, ModelNode node, int indent, boolean multiLine) {
+        final ModelType type = node.getType();
+        switch (type) {
+            case OBJECT: {
+                sb.append('{');
+                boolean first = true;
+                for (String key : node.keys()) {
+                    startElement(sb, first, indent + 1, multiLine);
+                    appendKey(sb, key);
+                    sb.append(" : ");
+                    appendNode(sb, node.get(key), indent + 1, multiLine);
+                    first = false;
+                }
+                endContainer(sb, '}', first, indent, multiLine);
+                break;
+            }
+            case LIST: {
+                sb.append('[');
+                boolean first = true;
+                for (ModelNode element : node.asList()) {
+                    startElement(sb, first, indent + 1, multiLine);
+                    appendNode(sb, element, indent + 1, multiLine);
+                    first = false;
+                }
+                endContainer(sb, ']', first, indent, multiLine);
+                break;
+            }
+            case PROPERTY: {
+                final Property property = node.asProperty();
+                sb.append('{');
+                startElement(sb, true, indent + 1, multiLine);
+                appendKey(sb, property.getName());
+                sb.append(" : ");
+                appendNode(sb, property.getValue(), indent + 1, multiLine);
+                endContainer(sb, '}', false, indent, multiLine);
+                break;
+            }
+            case STRING:
+                appendString(sb, node.asString());
+                break;
+            case BYTES:
+                appendWrapped(sb, "BYTES_VALUE", encodeBytes(node.asBytes()), indent, multiLine);
+                break;
+            case EXPRESSION:
+                appendWrapped(sb, "EXPRESSION_VALUE", node.asExpression().getExpressionString(), indent, multiLine);
+                break;
+            case TYPE:
+                appendWrapped(sb, "TYPE_MODEL_VALUE", node.asType().toString(), indent, multiLine);
+                break;
+            case UNDEFINED:
+                sb.append("null");
+                break;
+            default:
+                // BOOLEAN, INT, LONG, DOUBLE, BIG_DECIMAL and BIG_INTEGER
+                sb.append(node.asString());
+                break;
+        }
+    }
+
+    private static void appendWrapped(StringBuilder sb, String key, String value, int indent, boolean multiLine) {
+        sb.append('{');
+        startElement(sb, true, indent + 1, multiLine);
+        appendKey(sb, key);
+        sb.append(" : ");
+        appendString(sb, value);
+        endContainer(sb, '}', false, indent, multiLine);
+    }
+
+    private static String encodeBytes(byte[] bytes) {
+        if (MAX_VALUE_LENGTH > 0) {
+            // Only encode what will be kept once the encoded value is truncated
+            final int keep = (MAX_VALUE_LENGTH / 4 + 1) * 3;
+            if (bytes.length > keep) {
+                final byte[] kept = new byte[keep];
+                System.arraycopy(bytes, 0, kept, 0, keep);
+                return Base64.getEncoder().encodeToString(kept) + TRUNCATED;
+            }
         }
-        formatted.get(DOMAIN_UUID);
-        if (item.getDomainUUID() != null) {
-            formatted.get(DOMAIN_UUID).set(item.getDomainUUID());
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static void appendNullableString(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+        } else {
+            appendString(sb, value);
         }
-        formatted.get(ACCESS_MECHANISM);
-        if (item.getAccessMechanism() != null) {
-            formatted.get(ACCESS_MECHANISM).set(item.getAccessMechanism().toString());
+    }
+
+    private static void appendString(StringBuilder sb, String value) {
+        appendString(sb, value, MAX_VALUE_LENGTH);
+    }
+
+    private static void appendKey(StringBuilder sb, String key) {
+        appendString(sb, key, 0);
+    }
+
+    private static void appendString(StringBuilder sb, String value, int maxLength) {
+        final boolean truncate = maxLength > 0 && value.length() > maxLength + TRUNCATED.length();
+        final int end = truncate ? maxLength : value.length();
+        sb.append('"');
+        for (int i = 0; i < end; i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\b':
+                    sb.append("\\b");
+                    break;
+                case '\f':
+                    sb.append("\\f");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                    break;
+            }
         }
-        formatted.get(REMOTE_ADDRESS);
-        if (item.getRemoteAddress() != null) {
-            formatted.get(REMOTE_ADDRESS).set(item.getRemoteAddress().toString());
+        if (truncate) {
+            sb.append(TRUNCATED);
         }
+        sb.append('"');
     }
 
     public static void getJsonFormatter(String nameFromAddress) {
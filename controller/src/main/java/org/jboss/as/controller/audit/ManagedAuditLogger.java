@@ -182,6 +182,36 @@ public interface ManagedAuditLogger extends AuditLogger {
      */
     boolean getHandlerDisabledDueToFailure(String name);
 
+    /**
+     * Get the number of records waiting to be written by a handler using asynchronous delivery
+     *
+     * @param name the name of the handler
+     * @return the number of queued records
+     */
+    default int getHandlerQueueSize(String name) {
+        return 0;
+    }
+
+    /**
+     * Get the number of records a handler using asynchronous delivery has discarded
+     *
+     * @param name the name of the handler
+     * @return the number of discarded records
+     */
+    default long getHandlerDroppedCount(String name) {
+        return 0L;
+    }
+
+    /**
+     * Get the average time in microseconds a handler using asynchronous delivery took to write a record
+     *
+     * @param name the name of the handler
+     * @return the average write time
+     */
+    default long getHandlerAverageWriteTime(String name) {
+        return 0L;
+    }
+
     /**
      * Gets a formatter by its name
      *
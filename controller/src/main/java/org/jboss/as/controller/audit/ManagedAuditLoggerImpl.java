@@ -486,6 +486,36 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
     }
     // Immediate updates
 
+    @Override
+    public int getHandlerQueueSize(String name) {
+        config.lock();
+        try {
+            return config.getConfiguredHandler(name).getQueueSize();
+        } finally {
+            config.unlock();
+        }
+    }
+
+    @Override
+    public long getHandlerDroppedCount(String name) {
+        config.lock();
+        try {
+            return config.getConfiguredHandler(name).getDroppedCount();
+        } finally {
+            config.unlock();
+        }
+    }
+
+    @Override
+    public long getHandlerAverageWriteTime(String name) {
+        config.lock();
+        try {
+            return config.getConfiguredHandler(name).getAverageWriteTime();
+        } finally {
+            config.unlock();
+        }
+    }
+
     @Override
     public boolean getHandlerDisabledDueToFailure(String name) {
         config.lock();
@@ -939,7 +969,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
                 for (String name : removedHandlers) {
                     AuditLogHandler handler = config.removeConfiguredHandler(name);
                     if (handler != null){
-                        handler.stop();
+                        handler.shutdown();
                     }
                 }
             }
@@ -947,7 +977,7 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
                 for (AuditLogHandler handler : replacedHandlers.values()) {
                     AuditLogHandler existing = config.removeConfiguredHandler(handler.getName());
                     if (existing != null) {
-                        existing.stop();
+                        existing.shutdown();
                         // Update the references for the replaced one
                         for (PathAddress referenceAddress : existing.getReferences()) {
                             if (removedReferences != null && !removedReferences.contains(referenceAddress)) {
@@ -27,6 +27,7 @@ import org.jboss.as.controller.services.path.PathManagerService;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  *  All methods on this class should be called with {@link org.jboss.as.controller.audit.ManagedAuditLoggerImpl}'s lock taken.
@@ -90,6 +91,16 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
         currentSize += LINE_TERMINATOR.length;
     }
 
+    @Override
+    void writeLogItems(List<String> formattedItems) throws IOException {
+        // The batch is written to the current file, the size is checked again when the next batch is written
+        super.writeLogItems(formattedItems);
+        for (String formattedItem : formattedItems) {
+            currentSize += formattedItem.getBytes(StandardCharsets.UTF_8).length;
+            currentSize += LINE_TERMINATOR.length;
+        }
+    }
+
     @Override
     boolean isDifferent(AuditLogHandler other){
         if (other instanceof SizeRotatingFileAuditLogHandler == false){
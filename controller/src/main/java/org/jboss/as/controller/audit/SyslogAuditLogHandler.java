@@ -98,7 +98,7 @@ public class SyslogAuditLogHandler extends AuditLogHandler {
         this.hostName = hostName;
     }
 
-    public void setAppName(String appName) {
+    public synchronized void setAppName(String appName) {
         assert appName != null;
         // filter any non-printing characters, or ascii spaces to -
         this.appName = appName.replaceAll(APPNAME_FILTER, APPNAME_REPLACE_VALUE);
@@ -108,7 +108,7 @@ public class SyslogAuditLogHandler extends AuditLogHandler {
         }
     }
 
-    public void setFacility(Facility facility) {
+    public synchronized void setFacility(Facility facility) {
         assert facility != null;
         this.facility = facility;
         //This gets updated immediately
@@ -177,7 +177,7 @@ public class SyslogAuditLogHandler extends AuditLogHandler {
         this.tlsClientCertStoreKeyPassword = tlsClientCertStoreKeyPassword;
     }
 
-    public void setReconnectTimeout(int reconnectTimeout) {
+    public synchronized void setReconnectTimeout(int reconnectTimeout) {
         this.reconnectTimeout = reconnectTimeout;
     }
 
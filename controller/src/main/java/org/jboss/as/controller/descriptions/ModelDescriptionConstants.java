@@ -81,6 +81,7 @@ public class ModelDescriptionConstants {
     public static final String AUTHENTICATION_CONTEXT = "authentication-context";
     public static final String AUTHORIZATION = "authorization";
     public static final String AUTO_START = "auto-start";
+    public static final String AVERAGE_WRITE_TIME = "average-write-time";
     public static final String BASE_DN = "base-dn";
     public static final String BASE_ROLE = "base-role";
     public static final String BLOCKING = "blocking";
@@ -169,6 +170,7 @@ public class ModelDescriptionConstants {
     public static final String DOMAIN_RESULTS = "domain-results";
     public static final String DOMAIN_ROLLOUT = "domain-rollout";
     public static final String DOMAIN_UUID = "domain-uuid";
+    public static final String DROPPED_COUNT = "dropped-count";
     public static final String DYNAMIC = "dynamic";
     public static final String DYNAMIC_ELEMENTS = "dynamic-elements";
     public static final String DUMP_SERVICES = "dump-services";
@@ -403,6 +405,7 @@ public class ModelDescriptionConstants {
     public static final String PROVIDES = "provides";
     public static final String PROXIES = "proxies";
     public static final String QUERY = "query";
+    public static final String QUEUE_SIZE = "queue-size";
     public static final String READ = "read";
     public static final String READ_ATTRIBUTE_OPERATION = "read-attribute";
     public static final String READ_ATTRIBUTE_GROUP_OPERATION = "read-attribute-group";
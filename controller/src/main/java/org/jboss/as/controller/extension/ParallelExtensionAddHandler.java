@@ -27,10 +27,13 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.jboss.as.controller.BootTimeline;
 import org.jboss.as.controller._private.OperationFailedRuntimeException;
 import org.jboss.as.controller.logging.ControllerLogger;
 import org.jboss.as.controller.OperationContext;
@@ -54,11 +57,19 @@ public class ParallelExtensionAddHandler implements OperationStepHandler {
     private final List<ParsedBootOp> extensionAdds = new ArrayList<ParsedBootOp>();
     private ParsedBootOp ourOp;
     private final MutableRootResourceRegistrationProvider rootResourceRegistrationProvider;
+    private final BootTimeline bootTimeline;
 
     public ParallelExtensionAddHandler(ExecutorService executorService,
                                        MutableRootResourceRegistrationProvider rootResourceRegistrationProvider) {
+        this(executorService, rootResourceRegistrationProvider, null);
+    }
+
+    public ParallelExtensionAddHandler(ExecutorService executorService,
+                                       MutableRootResourceRegistrationProvider rootResourceRegistrationProvider,
+                                       BootTimeline bootTimeline) {
         this.executor = executorService;
         this.rootResourceRegistrationProvider = rootResourceRegistrationProvider;
+        this.bootTimeline = bootTimeline;
     }
 
     public void addParsedOp(final ParsedBootOp op, final ExtensionAddHandler handler) {
@@ -92,13 +103,14 @@ public class ParallelExtensionAddHandler implements OperationStepHandler {
             @Override
             public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
 
-                long start = System.currentTimeMillis();
+                long start = System.nanoTime();
                 final Map<String, Future<OperationFailedRuntimeException>> futures = new LinkedHashMap<String, Future<OperationFailedRuntimeException>>();
                 final ManagementResourceRegistration rootResourceRegistration = rootResourceRegistrationProvider.getRootResourceRegistrationForUpdate(context);
+                final Map<String, Long> moduleTimes = new ConcurrentHashMap<String, Long>();
                 for (ParsedBootOp op : extensionAdds) {
                     String module = op.address.getLastElement().getValue();
                     ExtensionAddHandler addHandler = ExtensionAddHandler.class.cast(op.handler);
-                    Future<OperationFailedRuntimeException> future = executor.submit(new ExtensionInitializeTask(module, addHandler, rootResourceRegistration));
+                    Future<OperationFailedRuntimeException> future = executor.submit(new ExtensionInitializeTask(module, addHandler, rootResourceRegistration, moduleTimes));
                     futures.put(module, future);
                 }
 
@@ -116,8 +128,17 @@ public class ParallelExtensionAddHandler implements OperationStepHandler {
                     }
                 }
 
+                final long end = System.nanoTime();
+                if (bootTimeline != null) {
+                    final ModelNode details = new ModelNode().setEmptyObject();
+                    for (String module : futures.keySet()) {
+                        details.get(module).set(moduleTimes.get(module));
+                    }
+                    bootTimeline.recordPhase(BootTimeline.EXTENSION_INITIALIZATION, start, end, details);
+                }
+
                 if (MGMT_OP_LOGGER.isDebugEnabled()) {
-                    long elapsed = System.currentTimeMillis() - start;
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(end - start);
                     MGMT_OP_LOGGER.debugf("Initialized extensions in [%d] ms", elapsed);
                 }
             }
@@ -129,21 +150,27 @@ public class ParallelExtensionAddHandler implements OperationStepHandler {
         private final String module;
         private final ExtensionAddHandler addHandler;
         private final ManagementResourceRegistration rootResourceRegistration;
+        private final Map<String, Long> moduleTimes;
 
         public ExtensionInitializeTask(String module, ExtensionAddHandler addHandler,
-                                       ManagementResourceRegistration rootResourceRegistration) {
+                                       ManagementResourceRegistration rootResourceRegistration,
+                                       Map<String, Long> moduleTimes) {
             this.module = module;
             this.addHandler = addHandler;
             this.rootResourceRegistration = rootResourceRegistration;
+            this.moduleTimes = moduleTimes;
         }
 
         @Override
         public OperationFailedRuntimeException call() {
             OperationFailedRuntimeException failure = null;
+            final long start = System.nanoTime();
             try {
                 addHandler.initializeExtension(module, rootResourceRegistration);
             } catch (OperationFailedRuntimeException e) {
                 failure = e;
+            } finally {
+                moduleTimes.put(module, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
             }
             return failure;
         }
@@ -3769,4 +3769,23 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 504, value = "The operation %s is not defined for resource %s.")
     UnsupportedOperationException missingOperationForResource(String op, String address);
+
+    @LogMessage(level = WARN)
+    @Message(id = 505, value = "System property %s is set but virtual threads are not supported by this JVM (version %s); a platform thread pool will be used")
+    void virtualThreadsNotSupported(String property, String version);
+
+    @Message(id = 506, value = "Virtual threads are not supported by this JVM (version %s)")
+    IllegalStateException virtualThreadsUnavailable(String version);
+
+    @LogMessage(level = INFO)
+    @Message(id = 507, value = "Management tasks for '%s' will be executed on virtual threads")
+    void usingVirtualThreads(String name);
+
+    @LogMessage(level = INFO)
+    @Message(id = 508, value = "Tracing of virtual threads blocking while pinned to their carrier thread is enabled (jdk.tracePinnedThreads=%s)")
+    void tracingPinnedVirtualThreads(String mode);
+
+    @LogMessage(level = INFO)
+    @Message(id = 509, value = "Subsystem boot times:%s")
+    void parallelBootReport(String report);
 }
@@ -36,6 +36,7 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.jboss.as.controller.ModelController;
+import org.jboss.as.controller.VirtualThreadSupport;
 import org.jboss.as.protocol.mgmt.support.ManagementChannelInitialization;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceName;
@@ -91,7 +92,11 @@ public abstract class AbstractModelControllerOperationHandlerFactoryService impl
                 return new JBossThreadFactory(new ThreadGroup("management-handler-thread"), Boolean.FALSE, null, "%G - %t", null, null);
             }
         });
-        if (EnhancedQueueExecutor.DISABLE_HINT) {
+        final ExecutorService virtualThreadExecutor = VirtualThreadSupport.newVirtualThreadExecutorIfEnabled("management-handler-thread - ");
+        if (virtualThreadExecutor != null) {
+            // Virtual threads are cheap, so client requests are not bounded by the pool size or the work queue
+            this.clientRequestExecutor = virtualThreadExecutor;
+        } else if (EnhancedQueueExecutor.DISABLE_HINT) {
             ThreadPoolExecutor executor = new ThreadPoolExecutor(POOL_CORE_SIZE, POOL_MAX_SIZE,
                 600L, TimeUnit.SECONDS, new LinkedBlockingDeque<>(WORK_QUEUE_SIZE),
                 threadFactory);
@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceBuilder;
+import org.jboss.msc.service.ServiceContainer;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StabilityMonitor;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StopContext;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link BootTimeline}.
+ */
+public class BootTimelineTestCase {
+
+    private static final ServiceName A = ServiceName.of("a");
+    private static final ServiceName B = ServiceName.of("b");
+    private static final ServiceName C = ServiceName.of("c");
+    private static final ServiceName QUICK = ServiceName.of("quick");
+    private static final ServiceName DEPLOYMENT = ServiceName.JBOSS.append("deployment", "unit", "test.war");
+
+    private ServiceContainer container;
+
+    @Before
+    public void setup() {
+        container = ServiceContainer.Factory.create("test");
+    }
+
+    @After
+    public void shutdown() {
+        container.shutdown();
+    }
+
+    @Test
+    public void testPhases() {
+        BootTimeline timeline = new BootTimeline();
+        long start = System.nanoTime();
+        timeline.recordPhase(BootTimeline.CONFIGURATION_PARSE, start, start + 5_000_000L, null);
+        ModelNode details = new ModelNode();
+        details.get("logging", "duration").set(3);
+        timeline.recordPhase(BootTimeline.SUBSYSTEM_MODEL, start, start + 10_000_000L, details);
+
+        ModelNode result = timeline.toModelNode();
+        List<ModelNode> phases = result.get("phases").asList();
+        Assert.assertEquals(2, phases.size());
+        Assert.assertEquals(BootTimeline.CONFIGURATION_PARSE, phases.get(0).get(NAME).asString());
+        Assert.assertEquals(5, phases.get(0).get("duration").asLong());
+        Assert.assertFalse(phases.get(0).hasDefined("details"));
+        Assert.assertEquals(3, phases.get(1).get("details", "logging", "duration").asInt());
+        Assert.assertFalse(result.hasDefined("service-critical-path"));
+    }
+
+    @Test
+    public void testCriticalPath() throws Exception {
+        BootTimeline timeline = new BootTimeline();
+        ServiceTarget target = container.subTarget();
+        target.addListener(timeline.getServiceListener());
+        StabilityMonitor monitor = new StabilityMonitor();
+        target.addMonitor(monitor);
+
+        long start = System.nanoTime();
+        install(target, A, 50);
+        install(target, QUICK, 0);
+        install(target, B, 50, A, QUICK);
+        install(target, C, 50, B);
+        install(target, DEPLOYMENT.append("INSTALL"), 0);
+        monitor.awaitStability();
+        timeline.servicesStable(container, start);
+
+        ModelNode result = timeline.toModelNode();
+        Assert.assertEquals(5, result.get("services-started").asInt());
+        List<ModelNode> path = result.get("service-critical-path").asList();
+        Assert.assertEquals(3, path.size());
+        Assert.assertEquals(A.getCanonicalName(), path.get(0).get(NAME).asString());
+        Assert.assertEquals(B.getCanonicalName(), path.get(1).get(NAME).asString());
+        Assert.assertEquals(C.getCanonicalName(), path.get(2).get(NAME).asString());
+        Assert.assertTrue(path.get(2).get("duration").asLong() >= 40);
+        Assert.assertTrue(result.get("deployments").hasDefined("test.war"));
+        List<ModelNode> phases = result.get("phases").asList();
+        Assert.assertEquals(BootTimeline.SERVICE_START, phases.get(phases.size() - 1).get(NAME).asString());
+    }
+
+    @Test
+    public void testNoRecordingAfterStable() throws Exception {
+        BootTimeline timeline = new BootTimeline();
+        ServiceTarget target = container.subTarget();
+        target.addListener(timeline.getServiceListener());
+        StabilityMonitor monitor = new StabilityMonitor();
+        target.addMonitor(monitor);
+
+        install(target, A, 0);
+        monitor.awaitStability();
+        Assert.assertEquals(1, timeline.getRecordedServiceCount());
+        timeline.servicesStable(container, System.nanoTime());
+        Assert.assertEquals(0, timeline.getRecordedServiceCount());
+
+        // Services installed during boot keep the listener after boot
+        ServiceController<?> controller = container.getRequiredService(A);
+        controller.setMode(ServiceController.Mode.NEVER);
+        monitor.awaitStability();
+        controller.setMode(ServiceController.Mode.ACTIVE);
+        install(target, B, 0);
+        monitor.awaitStability();
+        Assert.assertEquals(0, timeline.getRecordedServiceCount());
+        Assert.assertEquals(1, timeline.toModelNode().get("services-started").asInt());
+    }
+
+    private static void install(ServiceTarget target, ServiceName name, long sleep, ServiceName... dependencies) {
+        ServiceBuilder<?> builder = target.addService(name);
+        for (ServiceName dependency : dependencies) {
+            builder.requires(dependency);
+        }
+        builder.setInstance(new Service() {
+            @Override
+            public void start(StartContext context) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void stop(StopContext context) {
+            }
+        });
+        builder.install();
+    }
+}
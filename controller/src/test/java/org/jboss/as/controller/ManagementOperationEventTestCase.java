@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.operations.global.GlobalNotifications;
+import org.jboss.as.controller.operations.global.GlobalOperationHandlers;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.test.AbstractControllerTestBase;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link ManagementOperationEvent} flight recorder event.
+ */
+public class ManagementOperationEventTestCase extends AbstractControllerTestBase {
+
+    private static final String EVENT_NAME = "org.wildfly.ManagementOperation";
+    private static final PathAddress TEST_ADDRESS = PathAddress.pathAddress("subsystem", "test");
+
+    @Override
+    protected void initModel(ManagementModel managementModel) {
+        ManagementResourceRegistration rootRegistration = managementModel.getRootResourceRegistration();
+        GlobalOperationHandlers.registerGlobalOperations(rootRegistration, processType);
+        GlobalNotifications.registerGlobalNotifications(rootRegistration, processType);
+        rootRegistration.registerSubModel(ResourceBuilder.Factory.create(TEST_ADDRESS.getLastElement(), NonResolvingResourceDescriptionResolver.INSTANCE)
+                .setAddOperation(new ModelOnlyAddStepHandler())
+                .setRemoveOperation(ModelOnlyRemoveStepHandler.INSTANCE)
+                .build());
+    }
+
+    @Test
+    public void testOperationEvent() throws Exception {
+        List<RecordedEvent> events = record(() -> {
+            executeCheckNoFailure(createOperation(ADD, TEST_ADDRESS));
+            // Adding the resource again fails and is rolled back
+            executeCheckForFailure(createOperation(ADD, TEST_ADDRESS));
+        });
+        Assert.assertEquals(2, events.size());
+
+        RecordedEvent added = events.get(0);
+        Assert.assertEquals(TEST_ADDRESS.toCLIStyleString(), added.getString("address"));
+        Assert.assertEquals("KEEP", added.getString("outcome"));
+        for (String stage : new String[] {"runtimeStageTime", "verifyStageTime", "domainStageTime", "doneStageTime"}) {
+            Assert.assertFalse(stage, added.getDuration(stage).isNegative());
+        }
+        // The add handler runs in the model stage
+        Assert.assertFalse(added.getDuration("modelStageTime").isZero());
+        Assert.assertFalse(added.getDuration("modelStageTime").isNegative());
+
+        Assert.assertEquals("ROLLBACK", events.get(1).getString("outcome"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        // Nothing is recorded unless the event is enabled in a recording
+        Path file = Files.createTempFile("operation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.start();
+            executeCheckNoFailure(createOperation(ADD, TEST_ADDRESS));
+            recording.stop();
+            recording.dump(file);
+            Assert.assertTrue(addEvents(file).isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private List<RecordedEvent> record(Task task) throws Exception {
+        Path file = Files.createTempFile("operation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            task.run();
+            recording.stop();
+            recording.dump(file);
+            return addEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> addEvents(Path file) throws Exception {
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> EVENT_NAME.equals(event.getEventType().getName()) && ADD.equals(event.getString("operation")))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+
+    private interface Task {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.as.controller.operations.common.Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of splitting subsystem runtime boot ops into chunks by {@link ParallelBootOperationStepHandler}.
+ */
+public class ParallelBootRuntimeSplitTestCase {
+
+    private static final PathAddress ROOT = PathAddress.pathAddress(SUBSYSTEM, "test");
+
+    @Test
+    public void testNoSplitByDefault() {
+        Map<String, List<ParsedBootOp>> ops = createOps(100);
+        List<Map<String, List<ParsedBootOp>>> waves = ParallelBootOperationStepHandler.splitRuntimeOps(ops, 0);
+        Assert.assertEquals(1, waves.size());
+        Assert.assertSame(ops, waves.get(0));
+    }
+
+    @Test
+    public void testSmallSubsystemNotSplit() {
+        Map<String, List<ParsedBootOp>> ops = createOps(10);
+        List<Map<String, List<ParsedBootOp>>> waves = ParallelBootOperationStepHandler.splitRuntimeOps(ops, 20);
+        Assert.assertEquals(1, waves.size());
+        Assert.assertEquals(ops.get("test"), waves.get(0).get("test"));
+    }
+
+    @Test
+    public void testSplit() {
+        Map<String, List<ParsedBootOp>> ops = createOps(100);
+        List<Map<String, List<ParsedBootOp>>> waves = ParallelBootOperationStepHandler.splitRuntimeOps(ops, 20);
+        Assert.assertEquals(2, waves.size());
+
+        List<ParsedBootOp> rootOps = waves.get(0).get("test");
+        Assert.assertEquals(1, rootOps.size());
+        Assert.assertEquals(ROOT, rootOps.get(0).address);
+
+        int total = 0;
+        for (List<ParsedBootOp> chunk : waves.get(1).values()) {
+            // All the ops for a given child resource must be in the same chunk, in their original order
+            Map<PathElement, String> lastOp = new LinkedHashMap<>();
+            for (ParsedBootOp op : chunk) {
+                PathElement child = op.address.getElement(1);
+                String previous = lastOp.put(child, op.operationName);
+                if (previous != null) {
+                    Assert.assertEquals(ADD, previous);
+                    Assert.assertEquals(WRITE_ATTRIBUTE_OPERATION, op.operationName);
+                }
+                for (List<ParsedBootOp> other : waves.get(1).values()) {
+                    if (other != chunk) {
+                        for (ParsedBootOp otherOp : other) {
+                            Assert.assertNotEquals(child, otherOp.address.getElement(1));
+                        }
+                    }
+                }
+            }
+            total += chunk.size();
+        }
+        Assert.assertEquals(100, total);
+    }
+
+    @Test
+    public void testNoSplitIfRootOpFollowsChild() {
+        Map<String, List<ParsedBootOp>> ops = createOps(100);
+        ops.get("test").add(new ParsedBootOp(Util.getWriteAttributeOperation(ROOT, "foo", "bar")));
+        List<Map<String, List<ParsedBootOp>>> waves = ParallelBootOperationStepHandler.splitRuntimeOps(ops, 20);
+        Assert.assertEquals(1, waves.size());
+        Assert.assertEquals(102, waves.get(0).get("test").size());
+    }
+
+    /** Creates a subsystem add op followed by an add and write-attribute op for count / 2 child resources */
+    private static Map<String, List<ParsedBootOp>> createOps(int count) {
+        List<ParsedBootOp> list = new ArrayList<>();
+        list.add(new ParsedBootOp(Util.createAddOperation(ROOT)));
+        for (int i = 0; i < count / 2; i++) {
+            PathAddress child = ROOT.append("child", String.valueOf(i));
+            list.add(new ParsedBootOp(Util.createAddOperation(child)));
+            list.add(new ParsedBootOp(Util.getWriteAttributeOperation(child, "foo", "bar")));
+        }
+        Map<String, List<ParsedBootOp>> result = new LinkedHashMap<>();
+        result.put("test", list);
+        return result;
+    }
+}
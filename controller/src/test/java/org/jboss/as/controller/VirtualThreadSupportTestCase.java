@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Tests of {@link VirtualThreadSupport}.
+ */
+public class VirtualThreadSupportTestCase {
+
+    /** Far more blocked operations than the default platform pools allow to be in progress at once */
+    private static final int BLOCKING_TASKS = 5000;
+    private static final int NON_BLOCKING_TASKS = 1000;
+
+    @After
+    public void clearProperty() {
+        System.clearProperty(VirtualThreadSupport.VIRTUAL_THREADS_PROPERTY);
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assert.assertFalse(VirtualThreadSupport.isEnabled());
+        Assert.assertNull(VirtualThreadSupport.newVirtualThreadExecutorIfEnabled("test"));
+    }
+
+    @Test
+    public void testEnabledOnlyIfSupported() {
+        System.setProperty(VirtualThreadSupport.VIRTUAL_THREADS_PROPERTY, "true");
+        Assert.assertEquals(VirtualThreadSupport.isSupported(), VirtualThreadSupport.isEnabled());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUnsupportedExecutor() {
+        Assume.assumeFalse(VirtualThreadSupport.isSupported());
+        VirtualThreadSupport.newVirtualThreadExecutor("test");
+    }
+
+    /**
+     * Simulates a mix of long-running (e.g. proxied {@code read-resource}) and quick management operations,
+     * checking that the quick ones are not starved while all the long-running ones are blocked.
+     */
+    @Test
+    public void testMixedBlockingAndNonBlockingTasks() throws Exception {
+        Assume.assumeTrue(VirtualThreadSupport.isSupported());
+        final ExecutorService executor = VirtualThreadSupport.newVirtualThreadExecutor("test-");
+        try {
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch blocked = new CountDownLatch(BLOCKING_TASKS);
+            final CountDownLatch quick = new CountDownLatch(NON_BLOCKING_TASKS);
+            final AtomicInteger completed = new AtomicInteger();
+            for (int i = 0; i < BLOCKING_TASKS; i++) {
+                executor.execute(() -> {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                        completed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            for (int i = 0; i < NON_BLOCKING_TASKS; i++) {
+                executor.execute(quick::countDown);
+            }
+            Assert.assertTrue("Blocking tasks were not all running concurrently", blocked.await(30, TimeUnit.SECONDS));
+            Assert.assertTrue("Non-blocking tasks were starved", quick.await(30, TimeUnit.SECONDS));
+            release.countDown();
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            Assert.assertEquals(BLOCKING_TASKS, completed.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
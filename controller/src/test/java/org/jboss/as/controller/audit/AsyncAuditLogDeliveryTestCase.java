@@ -0,0 +1,142 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link AsyncAuditLogDelivery}.
+ */
+public class AsyncAuditLogDeliveryTestCase {
+
+    @Test
+    public void testRecordsWrittenInOrder() {
+        final TestHandler handler = new TestHandler(null, null);
+        final AsyncAuditLogDelivery delivery = new AsyncAuditLogDelivery(handler, 100, AsyncAuditLogDelivery.OverflowPolicy.SYNCHRONOUS);
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add("record-" + i);
+            delivery.offer("record-" + i);
+        }
+        delivery.flush();
+        Assert.assertEquals(expected, handler.getWritten());
+        Assert.assertEquals(0, delivery.getQueueSize());
+        Assert.assertEquals(0L, delivery.getDroppedCount());
+    }
+
+    @Test
+    public void testDiscardWhenFull() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final TestHandler handler = new TestHandler(writing, release);
+        final AsyncAuditLogDelivery delivery = new AsyncAuditLogDelivery(handler, 2, AsyncAuditLogDelivery.OverflowPolicy.DISCARD);
+
+        delivery.offer("a");
+        Assert.assertTrue("The record was not written", writing.await(5, TimeUnit.SECONDS));
+        // The writer is busy with the first record, so the queue fills up
+        delivery.offer("b");
+        delivery.offer("c");
+        delivery.offer("d");
+        Assert.assertEquals(2, delivery.getQueueSize());
+        Assert.assertEquals(1L, delivery.getDroppedCount());
+
+        release.countDown();
+        delivery.flush();
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), handler.getWritten());
+    }
+
+    @Test
+    public void testWriteOnLoggingThreadWhenFull() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final TestHandler handler = new TestHandler(writing, release);
+        final AsyncAuditLogDelivery delivery = new AsyncAuditLogDelivery(handler, 2, AsyncAuditLogDelivery.OverflowPolicy.SYNCHRONOUS);
+
+        delivery.offer("a");
+        Assert.assertTrue("The record was not written", writing.await(5, TimeUnit.SECONDS));
+        delivery.offer("b");
+        delivery.offer("c");
+        // The queue is full, so the logging thread writes the queued records and its own once the writer is done
+        final Thread logging = new Thread(() -> delivery.offer("d"));
+        logging.start();
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (logging.getState() != Thread.State.BLOCKED && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(Thread.State.BLOCKED, logging.getState());
+        release.countDown();
+        logging.join(TimeUnit.SECONDS.toMillis(5));
+        Assert.assertFalse("The logging thread did not write the records", logging.isAlive());
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d"), handler.getWritten());
+        Assert.assertEquals(0, delivery.getQueueSize());
+        Assert.assertEquals(0L, delivery.getDroppedCount());
+    }
+
+    private static class TestHandler extends AuditLogHandler {
+        private final CountDownLatch writing;
+        private final CountDownLatch release;
+        private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+
+        TestHandler(CountDownLatch writing, CountDownLatch release) {
+            super("test", "test-formatter", 0, false);
+            this.writing = writing;
+            this.release = release;
+        }
+
+        List<String> getWritten() {
+            synchronized (written) {
+                return new ArrayList<>(written);
+            }
+        }
+
+        @Override
+        boolean isDifferent(AuditLogHandler other) {
+            return other != this;
+        }
+
+        @Override
+        void initialize() {
+        }
+
+        @Override
+        void stop() {
+        }
+
+        @Override
+        void writeLogItem(String formattedItem) {
+            if (writing != null) {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            written.add(formattedItem);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.net.InetAddress;
+import java.util.Collections;
+
+import org.jboss.as.controller.OperationContext.ResultAction;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link JsonAuditLogItemFormatter}.
+ */
+public class JsonAuditLogItemFormatterTestCase {
+
+    @Test
+    public void testModelControllerItem() {
+        final ModelNode op = new ModelNode();
+        op.get("operation").set("add");
+        op.get("address").add("deployment", "test.war");
+        op.get("content").add().get("bytes").set(new byte[] {1, 2, 3});
+        op.get("name").set("a \"quoted\"\nvalue");
+        op.get("long").set(Long.MAX_VALUE);
+        op.get("double").set(1.5d);
+        op.get("expression").set(new ValueExpression("${test:1}"));
+        op.get("type").set(ModelType.STRING);
+        op.get("undefined");
+
+        for (boolean compact : new boolean[] {true, false}) {
+            final JsonAuditLogItemFormatter formatter = createFormatter(compact);
+            final AuditLogItem item = AuditLogItem.createModelControllerItem("1.0", false, true, ResultAction.KEEP, "user", null,
+                    AccessMechanism.NATIVE, InetAddress.getLoopbackAddress(), null, Collections.singletonList(op));
+            final String formatted = item.format(formatter);
+            Assert.assertEquals(compact, formatted.indexOf('\n') < 0);
+
+            final ModelNode expected = new ModelNode();
+            expected.get(JsonAuditLogItemFormatter.TYPE).set(AuditLogItemFormatter.TYPE_CORE);
+            expected.get(JsonAuditLogItemFormatter.READ_ONLY).set(false);
+            expected.get(JsonAuditLogItemFormatter.BOOTING).set(true);
+            expected.get(JsonAuditLogItemFormatter.AS_VERSION).set("1.0");
+            expected.get(JsonAuditLogItemFormatter.USER_ID).set("user");
+            expected.get(JsonAuditLogItemFormatter.DOMAIN_UUID);
+            expected.get(JsonAuditLogItemFormatter.ACCESS_MECHANISM).set(AccessMechanism.NATIVE.toString());
+            expected.get(JsonAuditLogItemFormatter.REMOTE_ADDRESS).set(InetAddress.getLoopbackAddress().toString());
+            expected.get(JsonAuditLogItemFormatter.SUCCESS).set(true);
+            expected.get(JsonAuditLogItemFormatter.OPERATIONS).add(op);
+            Assert.assertEquals(ModelNode.fromJSONString(expected.toJSONString(compact)), ModelNode.fromJSONString(formatted));
+
+            // The formatted record is shared until the item has been logged by all handlers
+            Assert.assertSame(formatted, item.format(formatter));
+            formatter.clear();
+        }
+    }
+
+    @Test
+    public void testJmxItem() {
+        final JsonAuditLogItemFormatter formatter = createFormatter(true);
+        final AuditLogItem item = AuditLogItem.createMethodAccessItem("1.0", true, false, null, null, null, null, "invoke",
+                new String[] {"java.lang.String"}, new Object[] {new Object[] {1, null}, "x"}, new IllegalStateException("failed"));
+        final ModelNode formatted = ModelNode.fromJSONString(item.format(formatter));
+
+        Assert.assertEquals(AuditLogItemFormatter.TYPE_JMX, formatted.get(JsonAuditLogItemFormatter.TYPE).asString());
+        Assert.assertEquals("invoke", formatted.get(JsonAuditLogItemFormatter.METHOD_NAME).asString());
+        Assert.assertEquals(1, formatted.get(JsonAuditLogItemFormatter.METHOD_SIGNATURE).asList().size());
+        final ModelNode params = formatted.get(JsonAuditLogItemFormatter.METHOD_PARAMETERS);
+        Assert.assertEquals(3, params.asList().size());
+        Assert.assertEquals("1", params.get(0).asString());
+        Assert.assertFalse(params.get(1).isDefined());
+        Assert.assertEquals("x", params.get(2).asString());
+        Assert.assertEquals("failed", formatted.get(JsonAuditLogItemFormatter.ERROR).asString());
+        Assert.assertFalse(formatted.get(JsonAuditLogItemFormatter.USER_ID).isDefined());
+    }
+
+    @Test
+    public void testEscapeNewLine() {
+        final JsonAuditLogItemFormatter formatter = new JsonAuditLogItemFormatter("test", false, " - ", "yyyy-MM-dd",
+                false, true, false);
+        final AuditLogItem item = AuditLogItem.createMethodAccessItem("1.0", true, false, null, null, null, null, "invoke",
+                new String[0], new Object[0], null);
+        final String formatted = item.format(formatter);
+        Assert.assertTrue(formatted, formatted.startsWith("{#012    \"type\""));
+        Assert.assertEquals(-1, formatted.indexOf('\n'));
+    }
+
+    private static JsonAuditLogItemFormatter createFormatter(boolean compact) {
+        return new JsonAuditLogItemFormatter("test", false, " - ", "yyyy-MM-dd", compact, false, false);
+    }
+}
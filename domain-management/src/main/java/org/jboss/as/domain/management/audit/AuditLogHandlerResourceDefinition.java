@@ -42,6 +42,7 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.common.Util;
@@ -84,8 +85,29 @@ public class AuditLogHandlerResourceDefinition extends SimpleResourceDefinition
         .build();
 
 
+    public static final SimpleAttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.QUEUE_SIZE, ModelType.INT)
+        .setRequired(true)
+        .setStorageRuntime()
+        .setRuntimeServiceNotRequired()
+        .build();
+
+    public static final SimpleAttributeDefinition DROPPED_COUNT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.DROPPED_COUNT, ModelType.LONG)
+        .setRequired(true)
+        .setStorageRuntime()
+        .setRuntimeServiceNotRequired()
+        .build();
+
+    public static final SimpleAttributeDefinition AVERAGE_WRITE_TIME = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.AVERAGE_WRITE_TIME, ModelType.LONG)
+        .setRequired(true)
+        .setStorageRuntime()
+        .setRuntimeServiceNotRequired()
+        .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+        .build();
+
     private static final AttributeDefinition[] RUNTIME_ATTRIBUTES = new AttributeDefinition[] {FAILURE_COUNT, DISABLED_DUE_TO_FAILURE};
 
+    private static final AttributeDefinition[] METRICS = new AttributeDefinition[] {QUEUE_SIZE, DROPPED_COUNT, AVERAGE_WRITE_TIME};
+
     static final String[] HANDLER_TYPES = new String[] {FILE_HANDLER, SYSLOG_HANDLER, PERIODIC_ROTATING_FILE_HANDLER, SIZE_ROTATING_FILE_HANDLER, IN_MEMORY_HANDLER};
 
     protected final ManagedAuditLogger auditLogger;
@@ -110,6 +132,9 @@ public class AuditLogHandlerResourceDefinition extends SimpleResourceDefinition
         for (AttributeDefinition def : RUNTIME_ATTRIBUTES) {
             resourceRegistration.registerReadOnlyAttribute(def, new HandlerRuntimeAttributeHandler(auditLogger));
         }
+        for (AttributeDefinition def : METRICS) {
+            resourceRegistration.registerMetric(def, new HandlerRuntimeAttributeHandler(auditLogger));
+        }
     }
 
     @Override
@@ -143,6 +168,12 @@ public class AuditLogHandlerResourceDefinition extends SimpleResourceDefinition
                 context.getResult().set(auditLogger.getHandlerFailureCount(handlerName));
             } else if (attr.equals(DISABLED_DUE_TO_FAILURE.getName())) {
                 context.getResult().set(auditLogger.getHandlerDisabledDueToFailure(handlerName));
+            } else if (attr.equals(QUEUE_SIZE.getName())) {
+                context.getResult().set(auditLogger.getHandlerQueueSize(handlerName));
+            } else if (attr.equals(DROPPED_COUNT.getName())) {
+                context.getResult().set(auditLogger.getHandlerDroppedCount(handlerName));
+            } else if (attr.equals(AVERAGE_WRITE_TIME.getName())) {
+                context.getResult().set(auditLogger.getHandlerAverageWriteTime(handlerName));
             }
         }
     }
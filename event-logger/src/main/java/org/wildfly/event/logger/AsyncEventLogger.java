@@ -20,17 +20,31 @@
 package org.wildfly.event.logger;
 
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
+ * An event logger which hands events to the writer in batches on a thread from an executor.
+ * <p>
+ * Events are buffered in an unbounded queue, or if a capacity is given in a bounded
+ * {@linkplain EventRingBuffer ring buffer}. When a bounded buffer is full the {@linkplain OverflowPolicy overflow policy}
+ * decides whether the logging thread waits or an event is dropped.
+ * </p>
+ *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 class AsyncEventLogger extends AbstractEventLogger implements EventLogger, Runnable {
 
+    // Only write at most this many events at a time
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+
     //0 = not running
     //1 = queued
     //2 = running
@@ -41,18 +55,79 @@ class AsyncEventLogger extends AbstractEventLogger implements EventLogger, Runna
 
     private final EventWriter writer;
     private final Executor executor;
-    private final Deque<Event> pendingMessages;
+    // Only one of these is used, depending on whether the logger was created with a capacity
+    private final EventRingBuffer pendingMessages;
+    private final Queue<Event> unboundedMessages;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder droppedEvents = new LongAdder();
+    // Only accessed while the state is running
+    private final List<Event> batch;
+    // The thread writing a batch, which cannot wait for room in the buffer as only it would make room
+    private volatile Thread drainThread;
 
     AsyncEventLogger(final String id, final EventWriter writer, final Executor executor) {
         super(id);
         this.writer = writer;
         this.executor = executor;
-        pendingMessages = new ConcurrentLinkedDeque<>();
+        this.overflowPolicy = null;
+        pendingMessages = null;
+        unboundedMessages = new ConcurrentLinkedQueue<>();
+        batch = new ArrayList<>();
+    }
+
+    AsyncEventLogger(final String id, final EventWriter writer, final Executor executor, final int capacity,
+                     final OverflowPolicy overflowPolicy) {
+        super(id);
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("The overflow policy cannot be null");
+        }
+        this.writer = writer;
+        this.executor = executor;
+        this.overflowPolicy = overflowPolicy;
+        pendingMessages = new EventRingBuffer(capacity);
+        unboundedMessages = null;
+        batch = new ArrayList<>(Math.min(MAX_BATCH_SIZE, pendingMessages.capacity()));
     }
 
     @Override
     void log(final Event event) {
-        pendingMessages.add(event);
+        if (pendingMessages == null) {
+            unboundedMessages.add(event);
+        } else if (!pendingMessages.offer(event)) {
+            switch (overflowPolicy) {
+                case DROP_NEWEST:
+                    droppedEvents.increment();
+                    break;
+                case DROP_OLDEST:
+                    do {
+                        if (pendingMessages.poll() != null) {
+                            droppedEvents.increment();
+                        }
+                    } while (!pendingMessages.offer(event));
+                    break;
+                default:
+                    if (Thread.currentThread() == drainThread) {
+                        // Logged while writing, waiting would never end
+                        droppedEvents.increment();
+                        break;
+                    }
+                    do {
+                        // Make sure the writer is running before waiting for it to make room
+                        schedule();
+                        LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                    } while (!pendingMessages.offer(event));
+                    break;
+            }
+        }
+        schedule();
+    }
+
+    @Override
+    public long getDroppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    private void schedule() {
         int state = stateUpdater.get(this);
         if (state == 0) {
             if (stateUpdater.compareAndSet(this, 0, 1)) {
@@ -66,34 +141,37 @@ class AsyncEventLogger extends AbstractEventLogger implements EventLogger, Runna
         if (!stateUpdater.compareAndSet(this, 1, 2)) {
             return;
         }
-        List<Event> events = new ArrayList<>();
-        Event event;
-        // Only grab at most 1000 messages at a time
-        for (int i = 0; i < 1000; ++i) {
-            event = pendingMessages.poll();
-            if (event == null) {
-                break;
-            }
-            events.add(event);
-        }
+        final List<Event> events = batch;
+        drainThread = Thread.currentThread();
         try {
-            if (!events.isEmpty()) {
-                writeMessage(events);
+            if (drainTo(events) > 0) {
+                writer.write(events);
             }
         } finally {
+            events.clear();
+            drainThread = null;
             stateUpdater.set(this, 0);
-            // Check to see if there is still more messages and run again if there are
-            if (!events.isEmpty()) {
-                if (stateUpdater.compareAndSet(this, 0, 1)) {
-                    executor.execute(this);
-                }
+            // Check to see if there is still more messages, including any added while running, and run again if there are
+            if (!isEmpty()) {
+                schedule();
             }
         }
     }
 
-    private void writeMessage(final List<Event> events) {
-        for (Event event : events) {
-            writer.write(event);
+    private int drainTo(final List<Event> events) {
+        if (pendingMessages != null) {
+            return pendingMessages.drainTo(events, MAX_BATCH_SIZE);
+        }
+        int count = 0;
+        Event event;
+        while (count < MAX_BATCH_SIZE && (event = unboundedMessages.poll()) != null) {
+            events.add(event);
+            count++;
         }
+        return count;
+    }
+
+    private boolean isEmpty() {
+        return pendingMessages == null ? unboundedMessages.isEmpty() : pendingMessages.isEmpty();
     }
 }
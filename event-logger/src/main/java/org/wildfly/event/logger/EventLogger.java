@@ -73,7 +73,7 @@ public interface EventLogger {
     }
 
     /**
-     * Creates a new asynchronous event logger.
+     * Creates a new asynchronous event logger with an unbounded buffer. Logging never waits for the writer.
      *
      * @param eventSource the identifier for the source of the event this logger is used for
      * @param writer      the writer this logger will write to
@@ -85,6 +85,22 @@ public interface EventLogger {
         return new AsyncEventLogger(eventSource, writer, executor);
     }
 
+    /**
+     * Creates a new asynchronous event logger with a bounded buffer.
+     *
+     * @param eventSource    the identifier for the source of the event this logger is used for
+     * @param writer         the writer this logger will write to
+     * @param executor       the executor to execute the threads in
+     * @param capacity       the number of events which can be buffered, rounded up to a power of two of at least two
+     * @param overflowPolicy what to do with an event when the buffer is full
+     *
+     * @return a new event logger
+     */
+    static EventLogger createAsyncLogger(final String eventSource, final EventWriter writer, final Executor executor,
+                                         final int capacity, final OverflowPolicy overflowPolicy) {
+        return new AsyncEventLogger(eventSource, writer, executor, capacity, overflowPolicy);
+    }
+
     /**
      * Logs the event.
      *
@@ -114,4 +130,15 @@ public interface EventLogger {
      * @return the event source
      */
     String getEventSource();
+
+    /**
+     * Returns the number of events which were discarded because the logger could not keep up. Only an
+     * {@linkplain #createAsyncLogger(String, EventWriter, Executor, int, OverflowPolicy) asynchronous logger} with a
+     * bounded buffer discards events, as its {@linkplain OverflowPolicy overflow policy} describes.
+     *
+     * @return the number of dropped events
+     */
+    default long getDroppedEventCount() {
+        return 0L;
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue of events backed by arrays allocated up front.
+ * <p>
+ * Each slot has a sequence number which tells producers and consumers whether the slot is free for the current lap of
+ * the buffer or holds an event ready to be taken. A position is claimed by a CAS on the tail or head counter and the
+ * slot is published by updating its sequence, so neither offering nor polling allocates.
+ * </p>
+ */
+final class EventRingBuffer {
+
+    private final AtomicReferenceArray<Event> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a new buffer.
+     *
+     * @param capacity the minimum number of events the buffer can hold, rounded up to a power of two of at least two
+     */
+    EventRingBuffer(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1: " + capacity);
+        }
+        // With a single slot the sequence of a free slot would equal the sequence of a published one
+        final int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        if (size <= 0) {
+            throw new IllegalArgumentException("The capacity is too large: " + capacity);
+        }
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Adds the event to the buffer if there is room for it.
+     *
+     * @param event the event to add
+     *
+     * @return {@code true} if the event was added, {@code false} if the buffer is full
+     */
+    boolean offer(final Event event) {
+        long pos = tail.get();
+        for (;;) {
+            final int index = (int) (pos & mask);
+            final long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // The slot still holds the event from the previous lap
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest event from the buffer.
+     *
+     * @return the oldest event or {@code null} if there is no event ready to be taken
+     */
+    Event poll() {
+        long pos = head.get();
+        for (;;) {
+            final int index = (int) (pos & mask);
+            final long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    final Event event = slots.get(index);
+                    slots.lazySet(index, null);
+                    sequences.set(index, pos + mask + 1);
+                    return event;
+                }
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to {@code max} events from the buffer to the list.
+     *
+     * @param events the list to add the events to
+     * @param max    the maximum number of events to move
+     *
+     * @return the number of events moved
+     */
+    int drainTo(final List<Event> events, final int max) {
+        int count = 0;
+        Event event;
+        while (count < max && (event = poll()) != null) {
+            events.add(event);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks if the buffer is empty. Note an event which has been claimed by a producer, but not yet published, counts
+     * as being in the buffer.
+     *
+     * @return {@code true} if the buffer is empty
+     */
+    boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    /**
+     * Returns the number of slots in the buffer.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -19,6 +19,8 @@
 
 package org.wildfly.event.logger;
 
+import java.util.List;
+
 /**
  * A writer used to write events.
  *
@@ -32,4 +34,20 @@ public interface EventWriter extends AutoCloseable {
      * @param event the event to write
      */
     void write(Event event);
+
+    /**
+     * Writes the events in the order of the list.
+     * <p>
+     * Asynchronous loggers hand events to the writer in batches. Writers should override this to write the batch at
+     * once, for example with a single flush, rather than once per event. The list must not be retained after this
+     * method returns.
+     * </p>
+     *
+     * @param events the events to write
+     */
+    default void write(final List<Event> events) {
+        for (Event event : events) {
+            write(event);
+        }
+    }
 }
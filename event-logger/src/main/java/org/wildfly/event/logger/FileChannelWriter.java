@@ -0,0 +1,467 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.WeekFields;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Writes text to a file through a {@link FileChannel}.
+ * <p>
+ * Text is encoded into a direct buffer, which is written to the file with a single write when the writer is
+ * {@linkplain #commit() committed}. By default every commit writes the buffer. With a
+ * {@linkplain #setFlushInterval(long) flush interval} the buffer is only written once the interval has passed or it
+ * holds more than the {@linkplain #setFlushThreshold(int) flush threshold}, and a background thread writes what is
+ * left once the interval has passed without further commits.
+ * </p>
+ * <p>
+ * The file can be rotated when it reaches a {@linkplain #setRotateSize(long, int) size}, at the start of each
+ * {@linkplain #setRotatePeriod(ChronoUnit, Function, ZoneId) period}, or both. The methods of the writer are
+ * thread-safe.
+ * </p>
+ */
+public class FileChannelWriter implements Closeable {
+
+    private static final ScheduledExecutorService FLUSHER;
+
+    static {
+        final ScheduledThreadPoolExecutor flusher = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, "file-channel-writer-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.setRemoveOnCancelPolicy(true);
+        FLUSHER = flusher;
+    }
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final Clock clock;
+
+    private CharsetEncoder encoder = newEncoder(StandardCharsets.UTF_8);
+    private long flushIntervalMillis;
+    private int flushThreshold;
+    private long maxSize;
+    private int maxBackupIndex;
+    private ChronoUnit rotatePeriod;
+    private Function<ZonedDateTime, String> suffixFormatter;
+    private ZoneId zoneId;
+    private Supplier<String> header;
+    private Supplier<String> footer;
+
+    private FileChannel channel;
+    // Bytes written to the file, not including what is still in the buffer
+    private long size;
+    private long lastFlush;
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean flushFailed;
+    private long nextRotation;
+    private String periodSuffix;
+    private boolean closed;
+
+    private volatile long bytesWritten;
+    private volatile long writeCount;
+
+    /**
+     * Creates a writer for the file. The file is not opened until {@link #open(boolean)} is invoked.
+     *
+     * @param file       the file to write to
+     * @param bufferSize the size in bytes of the buffer text is encoded into
+     * @param clock      the clock used for the flush interval and rotation periods
+     */
+    public FileChannelWriter(final Path file, final int bufferSize, final Clock clock) {
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("The buffer size must be at least 16 bytes: " + bufferSize);
+        }
+        this.file = file.toAbsolutePath();
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.clock = clock;
+        this.flushThreshold = bufferSize / 2;
+    }
+
+    /**
+     * Sets the character set text is encoded with. The default is UTF-8.
+     *
+     * @param charset the character set
+     */
+    public synchronized void setEncoding(final Charset charset) {
+        encoder = newEncoder(charset);
+    }
+
+    /**
+     * Sets the longest time in milliseconds text may stay in the buffer before it is written to the file. The default
+     * is {@code 0}, which writes the buffer on each {@linkplain #commit() commit}.
+     *
+     * @param flushInterval the interval in milliseconds
+     */
+    public synchronized void setFlushInterval(final long flushInterval) {
+        flushIntervalMillis = Math.max(0L, flushInterval);
+    }
+
+    /**
+     * Sets the number of buffered bytes after which the buffer is written to the file even if the
+     * {@linkplain #setFlushInterval(long) flush interval} has not passed. The default is half of the buffer size.
+     *
+     * @param flushThreshold the threshold in bytes, or a negative value to revert to the default
+     */
+    public synchronized void setFlushThreshold(final int flushThreshold) {
+        this.flushThreshold = flushThreshold < 0 ? buffer.capacity() / 2 : flushThreshold;
+    }
+
+    /**
+     * Rotates the file when appending text would make it larger than the maximum size. The rotated files are named
+     * after the file with a {@code .1} to {@code .maxBackupIndex} suffix, {@code .1} being the newest.
+     *
+     * @param maxSize        the maximum size of the file in bytes, or {@code 0} to not rotate by size
+     * @param maxBackupIndex the number of rotated files to keep
+     */
+    public synchronized void setRotateSize(final long maxSize, final int maxBackupIndex) {
+        if (maxBackupIndex < 1) {
+            throw new IllegalArgumentException("The maximum backup index must be at least 1: " + maxBackupIndex);
+        }
+        this.maxSize = Math.max(0L, maxSize);
+        this.maxBackupIndex = maxBackupIndex;
+    }
+
+    /**
+     * Rotates the file at the start of each period. The rotated file is named after the file with the start of its
+     * period, formatted by the suffix formatter, appended. If the file is already open, a file which was last written
+     * to in an earlier period is rotated when text is next appended.
+     *
+     * @param period          the rotation period or {@code null} to not rotate periodically
+     * @param suffixFormatter formats the start of a period as the suffix of the file rotated at its end
+     * @param zoneId          the zone which determines the start of a period
+     */
+    public synchronized void setRotatePeriod(final ChronoUnit period, final Function<ZonedDateTime, String> suffixFormatter, final ZoneId zoneId) {
+        this.rotatePeriod = period;
+        this.suffixFormatter = suffixFormatter;
+        this.zoneId = zoneId;
+        if (period != null && channel != null) {
+            startPeriod(lastWritten());
+        }
+    }
+
+    /**
+     * Sets the text written at the start of each file when it is opened, and at the end of each file before it is
+     * closed or rotated.
+     *
+     * @param header supplies the header, or {@code null} for no header
+     * @param footer supplies the footer, or {@code null} for no footer
+     */
+    public synchronized void setHeaderAndFooter(final Supplier<String> header, final Supplier<String> footer) {
+        this.header = header;
+        this.footer = footer;
+    }
+
+    /**
+     * Opens the file, creating it and its parent directories if they do not exist.
+     *
+     * @param append {@code true} to append to an existing file or {@code false} to truncate it
+     *
+     * @throws IOException if the file could not be opened
+     */
+    public synchronized void open(final boolean append) throws IOException {
+        if (closed || channel != null) {
+            throw new IllegalStateException("The writer for " + file + " has already been opened");
+        }
+        final Path parent = file.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        openChannel(append);
+        if (rotatePeriod != null) {
+            startPeriod(lastWritten());
+        }
+        lastFlush = clock.millis();
+    }
+
+    /**
+     * Encodes text into the buffer, first rotating the file if a rotation is due. The text is written to the file
+     * once the writer is {@linkplain #commit() committed}, or sooner if the buffer is full.
+     *
+     * @param text the text to append
+     *
+     * @throws IOException if the file could not be written or rotated
+     */
+    public synchronized void append(final CharSequence text) throws IOException {
+        if (channel == null) {
+            throw new IOException("The writer for " + file + " is not open");
+        }
+        if (rotatePeriod != null && clock.millis() >= nextRotation) {
+            rotateByPeriod();
+        }
+        final long current = size + buffer.position();
+        // The exact encoded length is not known, but for the usual encodings a char is at least one byte
+        if (maxSize > 0L && current > 0L && current + text.length() > maxSize) {
+            rotateBySize();
+        }
+        encode(text);
+    }
+
+    /**
+     * Writes the buffer to the file if the flush policy requires it, otherwise makes sure it is written once the
+     * {@linkplain #setFlushInterval(long) flush interval} has passed.
+     *
+     * @throws IOException if the buffer could not be written
+     */
+    public synchronized void commit() throws IOException {
+        if (channel == null) {
+            throw new IOException("The writer for " + file + " is not open");
+        }
+        if (flushFailed) {
+            // The text of the failed flush is still buffered, write it now so a lasting failure is reported
+            flushFailed = false;
+            flushBuffer();
+        } else if (flushIntervalMillis <= 0L || buffer.position() >= flushThreshold || clock.millis() - lastFlush >= flushIntervalMillis) {
+            flushBuffer();
+        } else if (scheduledFlush == null && buffer.position() > 0) {
+            scheduledFlush = FLUSHER.schedule(this::scheduledFlush, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the buffer to the file.
+     *
+     * @throws IOException if the buffer could not be written
+     */
+    public synchronized void flush() throws IOException {
+        if (channel != null) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Writes the footer and the buffer to the file and closes it. Closing a closed writer has no effect.
+     *
+     * @throws IOException if the buffer could not be written or the file could not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (channel != null) {
+            try {
+                writeFooter();
+                drain();
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes written to the file, including rotated files
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return the number of writes to the file
+     */
+    public long getWriteCount() {
+        return writeCount;
+    }
+
+    private void scheduledFlush() {
+        synchronized (this) {
+            scheduledFlush = null;
+            if (channel == null || buffer.position() == 0) {
+                return;
+            }
+            try {
+                flushBuffer();
+            } catch (IOException e) {
+                // Nothing is waiting for this flush, so retry it on the next commit which reports it if it fails again
+                flushFailed = true;
+            }
+        }
+    }
+
+    private void encode(final CharSequence text) throws IOException {
+        final ByteBuffer buffer = this.buffer;
+        final CharsetEncoder encoder = this.encoder;
+        final CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        CoderResult result;
+        do {
+            result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                drain();
+            }
+        } while (result.isOverflow());
+        while (encoder.flush(buffer).isOverflow()) {
+            drain();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        drain();
+        lastFlush = clock.millis();
+    }
+
+    private void drain() throws IOException {
+        final ByteBuffer buffer = this.buffer;
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        long written = 0L;
+        try {
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        } finally {
+            // Keep anything which could not be written so the next flush writes it, rather than losing it
+            buffer.compact();
+            size += written;
+            if (written > 0L) {
+                bytesWritten += written;
+                writeCount++;
+            }
+        }
+    }
+
+    private void rotateBySize() throws IOException {
+        closeChannel();
+        for (int i = maxBackupIndex - 1; i >= 1; i--) {
+            final Path source = backup(i);
+            if (Files.exists(source)) {
+                Files.move(source, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        openChannel(false);
+    }
+
+    private void rotateByPeriod() throws IOException {
+        final String suffix = periodSuffix;
+        closeChannel();
+        Files.move(file, file.resolveSibling(file.getFileName() + suffix), StandardCopyOption.REPLACE_EXISTING);
+        startPeriod(clock.instant());
+        openChannel(false);
+    }
+
+    private Path backup(final int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void openChannel(final boolean append) throws IOException {
+        channel = append
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        size = channel.size();
+        if (header != null) {
+            final String text = header.get();
+            if (text != null && !text.isEmpty()) {
+                encode(text);
+            }
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        writeFooter();
+        drain();
+        channel.close();
+    }
+
+    private void writeFooter() throws IOException {
+        if (footer != null) {
+            final String text = footer.get();
+            if (text != null && !text.isEmpty()) {
+                encode(text);
+            }
+        }
+    }
+
+    private Instant lastWritten() {
+        // An existing file belongs to the period it was last written in
+        try {
+            if (size > 0L) {
+                return Files.getLastModifiedTime(file).toInstant();
+            }
+        } catch (IOException ignore) {
+            // Treat the file as new
+        }
+        return clock.instant();
+    }
+
+    private void startPeriod(final Instant instant) {
+        final ZonedDateTime time = instant.atZone(zoneId);
+        final ZonedDateTime start;
+        switch (rotatePeriod) {
+            case YEARS:
+                start = time.withDayOfYear(1).truncatedTo(ChronoUnit.DAYS);
+                break;
+            case MONTHS:
+                start = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+                break;
+            case WEEKS:
+                start = time.with(WeekFields.of(Locale.getDefault()).dayOfWeek(), 1L).truncatedTo(ChronoUnit.DAYS);
+                break;
+            default:
+                start = time.truncatedTo(rotatePeriod);
+        }
+        periodSuffix = suffixFormatter.apply(start);
+        nextRotation = start.plus(1L, rotatePeriod).toInstant().toEpochMilli();
+    }
+
+    private static CharsetEncoder newEncoder(final Charset charset) {
+        return charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[file=" + file + "]";
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An event writer which writes events, one per line, to a file.
+ * <p>
+ * Formatted events are written through a {@link FileChannelWriter}. By default the buffer is committed at the end of
+ * each {@linkplain #write(Event) write}, so a batch from an
+ * {@linkplain EventLogger#createAsyncLogger(String, EventWriter, java.util.concurrent.Executor) asynchronous logger}
+ * costs one write. With a {@linkplain Builder#setFlushInterval(long, TimeUnit) flush interval} the buffer is only
+ * written once the interval has passed or it holds more than the
+ * {@linkplain Builder#setFlushThreshold(int) flush threshold}, which groups several batches into one write.
+ * </p>
+ * <p>
+ * The file can be rotated when it reaches a {@linkplain Builder#setRotateSize(long, int) size}, at the start of each
+ * {@linkplain Builder#setRotatePeriod(ChronoUnit, String) period}, or both.
+ * </p>
+ */
+public class FileEventWriter implements EventWriter {
+
+    private final EventFormatter formatter;
+    private final FileChannelWriter writer;
+    private final StringBuilder sb = new StringBuilder(256);
+
+    private FileEventWriter(final Builder builder) throws IOException {
+        formatter = builder.formatter == null ? JsonEventFormatter.builder().build() : builder.formatter;
+        writer = new FileChannelWriter(builder.file, builder.bufferSize, builder.clock);
+        writer.setFlushInterval(builder.flushIntervalMillis);
+        writer.setFlushThreshold(builder.flushThreshold);
+        if (builder.maxSize > 0L) {
+            writer.setRotateSize(builder.maxSize, builder.maxBackupIndex);
+        }
+        if (builder.rotatePeriod != null) {
+            writer.setRotatePeriod(builder.rotatePeriod, DateTimeFormatter.ofPattern(builder.suffixPattern)::format,
+                    builder.zoneId == null ? ZoneId.systemDefault() : builder.zoneId);
+        }
+        writer.open(builder.append);
+    }
+
+    /**
+     * Creates a new builder for a writer which writes to the file.
+     *
+     * @param file the file to write to
+     *
+     * @return a new builder
+     */
+    public static Builder builder(final Path file) {
+        return new Builder(file);
+    }
+
+    @Override
+    public void write(final Event event) {
+        synchronized (this) {
+            try {
+                append(event);
+                writer.commit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void write(final List<Event> events) {
+        synchronized (this) {
+            try {
+                for (Event event : events) {
+                    append(event);
+                }
+                writer.commit();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes any buffered events to the file.
+     *
+     * @throws IOException if the events could not be written
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void append(final Event event) throws IOException {
+        final StringBuilder sb = this.sb;
+        sb.setLength(0);
+        formatter.format(event, sb);
+        sb.append('\n');
+        writer.append(sb);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[writer=" + writer + "]";
+    }
+
+    /**
+     * Builder used to create the {@link FileEventWriter}.
+     */
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public static class Builder {
+        private final Path file;
+        private EventFormatter formatter;
+        private boolean append = true;
+        private int bufferSize = 65536;
+        private long flushIntervalMillis;
+        private int flushThreshold = -1;
+        private long maxSize;
+        private int maxBackupIndex;
+        private ChronoUnit rotatePeriod;
+        private String suffixPattern;
+        private ZoneId zoneId;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(final Path file) {
+            if (file == null) {
+                throw new IllegalArgumentException("The file cannot be null");
+            }
+            this.file = file;
+        }
+
+        /**
+         * Sets the formatter used to format the events. The default is a {@linkplain JsonEventFormatter JSON}
+         * formatter.
+         *
+         * @param formatter the formatter to use or {@code null} to revert to the default
+         *
+         * @return this builder
+         */
+        public Builder setFormatter(final EventFormatter formatter) {
+            this.formatter = formatter;
+            return this;
+        }
+
+        /**
+         * Sets whether events are appended to an existing file. The default is {@code true}.
+         *
+         * @param append {@code true} to append to the file or {@code false} to truncate it
+         *
+         * @return this builder
+         */
+        public Builder setAppend(final boolean append) {
+            this.append = append;
+            return this;
+        }
+
+        /**
+         * Sets the size of the buffer events are encoded into before they are written to the file. The default is
+         * 64 KiB.
+         *
+         * @param bufferSize the buffer size in bytes
+         *
+         * @return this builder
+         */
+        public Builder setBufferSize(final int bufferSize) {
+            if (bufferSize < 16) {
+                throw new IllegalArgumentException("The buffer size must be at least 16 bytes: " + bufferSize);
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the longest time events may stay in the buffer before they are written to the file. The default is
+         * {@code 0}, which writes the buffer at the end of each write.
+         *
+         * @param interval the interval
+         * @param unit     the unit of the interval
+         *
+         * @return this builder
+         */
+        public Builder setFlushInterval(final long interval, final TimeUnit unit) {
+            this.flushIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Sets the number of buffered bytes after which the buffer is written to the file even if the
+         * {@linkplain #setFlushInterval(long, TimeUnit) flush interval} has not passed. The default is half of the
+         * {@linkplain #setBufferSize(int) buffer size}.
+         *
+         * @param flushThreshold the threshold in bytes
+         *
+         * @return this builder
+         */
+        public Builder setFlushThreshold(final int flushThreshold) {
+            this.flushThreshold = flushThreshold;
+            return this;
+        }
+
+        /**
+         * Rotates the file when writing an event would make it larger than the maximum size. The rotated files are
+         * named after the file with a {@code .1} to {@code .maxBackupIndex} suffix, {@code .1} being the newest.
+         *
+         * @param maxSize        the maximum size of the file in bytes
+         * @param maxBackupIndex the number of rotated files to keep
+         *
+         * @return this builder
+         */
+        public Builder setRotateSize(final long maxSize, final int maxBackupIndex) {
+            if (maxSize <= 0L) {
+                throw new IllegalArgumentException("The maximum size must be greater than 0: " + maxSize);
+            }
+            if (maxBackupIndex < 1) {
+                throw new IllegalArgumentException("The maximum backup index must be at least 1: " + maxBackupIndex);
+            }
+            this.maxSize = maxSize;
+            this.maxBackupIndex = maxBackupIndex;
+            return this;
+        }
+
+        /**
+         * Rotates the file at the start of each period. The rotated file is named after the file with the start of its
+         * period, formatted with the suffix pattern, appended.
+         *
+         * @param period        the rotation period, which must divide a day, for example {@link ChronoUnit#HOURS} or
+         *                      {@link ChronoUnit#DAYS}
+         * @param suffixPattern the {@linkplain DateTimeFormatter#ofPattern(String) pattern} of the suffix, for example
+         *                      {@code .yyyy-MM-dd}
+         *
+         * @return this builder
+         */
+        public Builder setRotatePeriod(final ChronoUnit period, final String suffixPattern) {
+            if (period == null || suffixPattern == null) {
+                throw new IllegalArgumentException("The period and suffix pattern are required");
+            }
+            if (!period.isTimeBased() && period != ChronoUnit.DAYS) {
+                throw new IllegalArgumentException("The period must divide a day: " + period);
+            }
+            // Validate the pattern now rather than when the writer is built
+            DateTimeFormatter.ofPattern(suffixPattern);
+            this.rotatePeriod = period;
+            this.suffixPattern = suffixPattern;
+            return this;
+        }
+
+        /**
+         * Sets the zone used to determine the start of a rotation period. The default is
+         * {@link ZoneId#systemDefault()}.
+         *
+         * @param zoneId the zone id to use or {@code null} to revert to the default
+         *
+         * @return this builder
+         */
+        public Builder setZoneId(final ZoneId zoneId) {
+            this.zoneId = zoneId;
+            return this;
+        }
+
+        Builder setClock(final Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Creates the {@link FileEventWriter} and opens the file.
+         *
+         * @return the newly created writer
+         *
+         * @throws IOException if the file could not be opened
+         */
+        public FileEventWriter build() throws IOException {
+            return new FileEventWriter(this);
+        }
+    }
+}
@@ -28,24 +28,36 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import javax.json.Json;
 import javax.json.JsonArrayBuilder;
-import javax.json.JsonBuilderFactory;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonValue;
 
 /**
  * A formatter which transforms the event into a JSON string.
+ * <p>
+ * The JSON is written directly into a reused per-thread buffer rather than building a JSON object model for each
+ * event. The keys and the meta-data are the same for every event, so they are escaped once when the formatter is
+ * created.
+ * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 public class JsonEventFormatter implements EventFormatter {
 
-    private final JsonBuilderFactory factory;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    // Buffers which have grown past this size are not kept for reuse
+    private static final int MAX_CACHED_BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
     private final Map<String, Object> metaData;
     private final String timestampKey;
     private final DateTimeFormatter formatter;
     private final boolean includeTimestamp;
+    private final String eventSourcePrefix;
+    private final String timestampPrefix;
+    private final String metaDataFragment;
 
     private JsonEventFormatter(final Map<String, Object> metaData, final String timestampKey,
                                final DateTimeFormatter formatter, final boolean includeTimestamp) {
@@ -53,7 +65,14 @@ public class JsonEventFormatter implements EventFormatter {
         this.timestampKey = timestampKey;
         this.formatter = formatter;
         this.includeTimestamp = includeTimestamp;
-        factory = Json.createBuilderFactory(Collections.emptyMap());
+        eventSourcePrefix = "{" + key("eventSource");
+        timestampPrefix = "," + key(timestampKey);
+        final StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Object> entry : metaData.entrySet()) {
+            sb.append(',');
+            appendEntry(sb, entry.getKey(), entry.getValue());
+        }
+        metaDataFragment = sb.toString();
     }
 
     /**
@@ -68,67 +87,207 @@ public class JsonEventFormatter implements EventFormatter {
 
     @Override
     public String format(final Event event) {
-        final JsonObjectBuilder builder = factory.createObjectBuilder();
-        builder.add("eventSource", event.getSource());
-        if (includeTimestamp) {
-            builder.add(timestampKey, formatter.format(event.getInstant()));
+        final StringBuilder sb = BUFFER.get();
+        try {
+            format(event, sb);
+            return sb.toString();
+        } finally {
+            if (sb.capacity() > MAX_CACHED_BUFFER_SIZE) {
+                BUFFER.remove();
+            } else {
+                sb.setLength(0);
+            }
         }
-        add(builder, metaData);
-        add(builder, event.getData());
-        return builder.build().toString();
     }
 
-    private void add(final JsonObjectBuilder builder, final Map<String, Object> data) {
+    @Override
+    public void format(final Event event, final StringBuilder sb) {
+        final Map<String, Object> data = event.getData();
+        if (hasReservedKey(data)) {
+            // Values in the event replace the values of the same keys, as they would in a JSON object builder
+            formatMerged(event, data, sb);
+            return;
+        }
+        sb.append(eventSourcePrefix);
+        appendString(sb, event.getSource());
+        if (includeTimestamp) {
+            sb.append(timestampPrefix);
+            appendTimestamp(sb, event);
+        }
+        sb.append(metaDataFragment);
         for (Map.Entry<String, Object> entry : data.entrySet()) {
-            final String key = entry.getKey();
-            final Object value = entry.getValue();
-            if (value == null) {
-                builder.addNull(key);
-            } else if (value instanceof Boolean) {
-                builder.add(key, (Boolean) value);
-            } else if (value instanceof Double) {
-                builder.add(key, (Double) value);
-            } else if (value instanceof Integer) {
-                builder.add(key, (Integer) value);
-            } else if (value instanceof Long) {
-                builder.add(key, (Long) value);
-            } else if (value instanceof String) {
-                builder.add(key, (String) value);
-            } else if (value instanceof BigDecimal) {
-                builder.add(key, (BigDecimal) value);
-            } else if (value instanceof BigInteger) {
-                builder.add(key, (BigInteger) value);
-            } else if (value instanceof Collection) {
-                builder.add(key, factory.createArrayBuilder((Collection<?>) value));
-            } else if (value instanceof Map) {
-                final Map<?, ?> mapValue = (Map<?, ?>) value;
-                final JsonObjectBuilder valueBuilder = factory.createObjectBuilder();
-                // Convert the map to a string/object map
-                final Map<String, Object> map = new LinkedHashMap<>();
-                for (Map.Entry<?, ?> valueEntry : mapValue.entrySet()) {
-                    final Object valueKey = valueEntry.getKey();
-                    final Object valueValue = valueEntry.getValue();
-                    if (valueKey instanceof String) {
-                        map.put((String) valueKey, valueValue);
-                    } else {
-                        map.put(String.valueOf(valueKey), valueValue);
-                    }
+            sb.append(',');
+            appendEntry(sb, entry.getKey(), entry.getValue());
+        }
+        sb.append('}');
+    }
+
+    private boolean hasReservedKey(final Map<String, Object> data) {
+        if (data.containsKey("eventSource") || (includeTimestamp && data.containsKey(timestampKey))) {
+            return true;
+        }
+        if (!metaData.isEmpty()) {
+            for (String key : metaData.keySet()) {
+                if (data.containsKey(key)) {
+                    return true;
                 }
-                add(valueBuilder, map);
-                builder.add(key, valueBuilder);
-            } else if (value instanceof JsonArrayBuilder) {
-                builder.add(key, (JsonArrayBuilder) value);
-            } else if (value instanceof JsonObjectBuilder) {
-                builder.add(key, (JsonObjectBuilder) value);
-            } else if (value instanceof JsonValue) {
-                builder.add(key, (JsonValue) value);
-            } else if (value.getClass().isArray()) {
-                // We'll rely on the array builder to convert to the correct object type
-                builder.add(key, factory.createArrayBuilder(Arrays.asList((Object[]) value)));
+            }
+        }
+        return false;
+    }
+
+    private void formatMerged(final Event event, final Map<String, Object> data, final StringBuilder sb) {
+        final Map<String, Object> merged = new LinkedHashMap<>();
+        merged.put("eventSource", event.getSource());
+        if (includeTimestamp) {
+            final StringBuilder timestamp = new StringBuilder();
+            formatter.formatTo(event.getInstant(), timestamp);
+            merged.put(timestampKey, timestamp.toString());
+        }
+        merged.putAll(metaData);
+        merged.putAll(data);
+        appendObject(sb, merged);
+    }
+
+    private void appendTimestamp(final StringBuilder sb, final Event event) {
+        sb.append('"');
+        final int start = sb.length();
+        formatter.formatTo(event.getInstant(), sb);
+        for (int i = start; i < sb.length(); i++) {
+            final char c = sb.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                // Only a custom pattern with quoted literals could get here
+                final String value = sb.substring(start);
+                sb.setLength(start);
+                appendEscaped(sb, value);
+                break;
+            }
+        }
+        sb.append('"');
+    }
+
+    private static String key(final String key) {
+        final StringBuilder sb = new StringBuilder();
+        appendString(sb, key);
+        return sb.append(':').toString();
+    }
+
+    private static void appendEntry(final StringBuilder sb, final String key, final Object value) {
+        appendString(sb, key);
+        sb.append(':');
+        appendValue(sb, value);
+    }
+
+    private static void appendObject(final StringBuilder sb, final Map<?, ?> map) {
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendEntry(sb, String.valueOf(entry.getKey()), entry.getValue());
+        }
+        sb.append('}');
+    }
+
+    private static void appendArray(final StringBuilder sb, final Collection<?> values) {
+        sb.append('[');
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendValue(sb, value);
+        }
+        sb.append(']');
+    }
+
+    private static void appendValue(final StringBuilder sb, final Object value) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof String) {
+            appendString(sb, (String) value);
+        } else if (value instanceof Boolean) {
+            sb.append(((Boolean) value).booleanValue());
+        } else if (value instanceof Integer) {
+            sb.append(((Integer) value).intValue());
+        } else if (value instanceof Long) {
+            sb.append(((Long) value).longValue());
+        } else if (value instanceof Double) {
+            final double d = (Double) value;
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                // Not valid as a JSON number
+                appendString(sb, value.toString());
             } else {
-                builder.add(key, String.valueOf(value));
+                // Written the same way as the JSON API writes a double
+                sb.append(BigDecimal.valueOf(d));
+            }
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            sb.append(value);
+        } else if (value instanceof Collection) {
+            appendArray(sb, (Collection<?>) value);
+        } else if (value instanceof Map) {
+            appendObject(sb, (Map<?, ?>) value);
+        } else if (value instanceof JsonArrayBuilder) {
+            sb.append(((JsonArrayBuilder) value).build());
+        } else if (value instanceof JsonObjectBuilder) {
+            sb.append(((JsonObjectBuilder) value).build());
+        } else if (value instanceof JsonValue) {
+            sb.append(value);
+        } else if (value instanceof Object[]) {
+            appendArray(sb, Arrays.asList((Object[]) value));
+        } else {
+            appendString(sb, String.valueOf(value));
+        }
+    }
+
+    private static void appendString(final StringBuilder sb, final String value) {
+        sb.append('"');
+        appendEscaped(sb, value);
+        sb.append('"');
+    }
+
+    private static void appendEscaped(final StringBuilder sb, final String value) {
+        final int len = value.length();
+        int start = 0;
+        for (int i = 0; i < len; i++) {
+            final char c = value.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            // Copy the run of characters which did not need escaping in one go
+            sb.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\b':
+                    sb.append("\\b");
+                    break;
+                case '\f':
+                    sb.append("\\f");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    break;
             }
         }
+        sb.append(value, start, len);
     }
 
     /**
@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+/**
+ * Defines what an {@linkplain EventLogger#createAsyncLogger(String, EventWriter, java.util.concurrent.Executor, int, OverflowPolicy)
+ * asynchronous logger} does with a new event when its buffer is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The logging thread waits until the writer has made room for the event. No events are lost, except for an event
+     * logged by the writer itself while it is writing, as the writer cannot make room while it waits.
+     */
+    BLOCK,
+
+    /**
+     * The oldest buffered event is discarded to make room for the new event.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new event is discarded.
+     */
+    DROP_NEWEST,
+}
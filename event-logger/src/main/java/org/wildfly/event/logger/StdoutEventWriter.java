@@ -22,6 +22,7 @@ package org.wildfly.event.logger;
 import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.util.List;
 
 /**
  * An event writer which writes directly to {@code stdout}.
@@ -55,6 +56,18 @@ public class StdoutEventWriter implements EventWriter {
         STDOUT.println(formatter.format(event));
     }
 
+    @Override
+    public void write(final List<Event> events) {
+        final EventFormatter formatter = this.formatter;
+        final StringBuilder sb = new StringBuilder();
+        for (Event event : events) {
+            formatter.format(event, sb);
+            sb.append(System.lineSeparator());
+        }
+        STDOUT.print(sb);
+        STDOUT.flush();
+    }
+
     @Override
     public void close() {
         // Don't actually close, just flush
@@ -20,9 +20,15 @@
 package org.wildfly.event.logger;
 
 import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -81,6 +87,103 @@ public class AsyncEventLoggerTestCase extends AbstractEventLoggerTestCase {
         }
     }
 
+    @Test
+    public void testDropNewest() throws Exception {
+        final ManualExecutor executor = new ManualExecutor();
+        final QueuedJsonWriter writer = new QueuedJsonWriter();
+        final EventLogger logger = EventLogger.createAsyncLogger("test-drop-newest", writer, executor, 4, OverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 6; i++) {
+            logger.log(Collections.singletonMap("count", i));
+        }
+        Assert.assertEquals(2L, logger.getDroppedEventCount());
+        executor.runAll();
+        assertCounts(writer, 0, 1, 2, 3);
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        final ManualExecutor executor = new ManualExecutor();
+        final QueuedJsonWriter writer = new QueuedJsonWriter();
+        final EventLogger logger = EventLogger.createAsyncLogger("test-drop-oldest", writer, executor, 4, OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 6; i++) {
+            logger.log(Collections.singletonMap("count", i));
+        }
+        Assert.assertEquals(2L, logger.getDroppedEventCount());
+        executor.runAll();
+        assertCounts(writer, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void testBatchWrite() throws Exception {
+        final ManualExecutor executor = new ManualExecutor();
+        final List<Integer> batchSizes = new ArrayList<>();
+        final QueuedJsonWriter writer = new QueuedJsonWriter() {
+            @Override
+            public void write(final List<Event> events) {
+                batchSizes.add(events.size());
+                super.write(events);
+            }
+        };
+        final EventLogger logger = EventLogger.createAsyncLogger("test-batch", writer, executor);
+        for (int i = 0; i < 10; i++) {
+            logger.log(Collections.singletonMap("count", i));
+        }
+        executor.runAll();
+        Assert.assertEquals(Collections.singletonList(10), batchSizes);
+        assertCounts(writer, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void testUnboundedByDefault() throws Exception {
+        final ManualExecutor executor = new ManualExecutor();
+        final QueuedJsonWriter writer = new QueuedJsonWriter();
+        final EventLogger logger = EventLogger.createAsyncLogger("test-unbounded", writer, executor);
+        // Nothing is written until the executor runs, so a bounded buffer would have to block or drop
+        for (int i = 0; i < 20000; i++) {
+            logger.log(Collections.singletonMap("count", i));
+        }
+        Assert.assertEquals(0L, logger.getDroppedEventCount());
+        executor.runAll();
+        Assert.assertEquals(20000, writer.events.size());
+    }
+
+    @Test
+    public void testBlockFromWriter() throws Exception {
+        final ManualExecutor executor = new ManualExecutor();
+        final EventLogger[] logger = new EventLogger[1];
+        final QueuedJsonWriter writer = new QueuedJsonWriter() {
+            private boolean logged;
+
+            @Override
+            public void write(final List<Event> events) {
+                super.write(events);
+                if (!logged) {
+                    logged = true;
+                    // The third event does not fit, and waiting for room would never end
+                    logger[0].log(Collections.singletonMap("count", 1));
+                    logger[0].log(Collections.singletonMap("count", 2));
+                    logger[0].log(Collections.singletonMap("count", 3));
+                }
+            }
+        };
+        logger[0] = EventLogger.createAsyncLogger("test-block-from-writer", writer, executor, 2, OverflowPolicy.BLOCK);
+        logger[0].log(Collections.singletonMap("count", 0));
+        executor.runAll();
+        Assert.assertEquals(1L, logger[0].getDroppedEventCount());
+        assertCounts(writer, 0, 1, 2);
+    }
+
+    private static void assertCounts(final QueuedJsonWriter writer, final int... expected) {
+        for (int count : expected) {
+            final String jsonString = writer.events.poll();
+            Assert.assertNotNull("Expected event " + count + " to be written", jsonString);
+            try (JsonReader reader = Json.createReader(new StringReader(jsonString))) {
+                Assert.assertEquals(count, reader.readObject().getInt("count"));
+            }
+        }
+        Assert.assertTrue("Expected no more events: " + writer.events, writer.events.isEmpty());
+    }
+
     private static void testMultiLogger(final EventLogger logger, final QueuedJsonWriter writer, final int logCount,
                                         final boolean sleep) throws Exception {
         final Random r = new Random();
@@ -132,4 +235,23 @@ public class AsyncEventLoggerTestCase extends AbstractEventLoggerTestCase {
                     executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
         }
     }
+
+    /**
+     * Runs the submitted tasks only when asked to, which lets the buffer fill up.
+     */
+    private static class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
 }
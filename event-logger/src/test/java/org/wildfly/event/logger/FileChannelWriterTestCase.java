@@ -0,0 +1,189 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link FileChannelWriter}.
+ */
+public class FileChannelWriterTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testHeaderAndFooter() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("logs").resolve("test.log");
+        final FileChannelWriter writer = new FileChannelWriter(file, 1024, new MutableClock());
+        writer.setHeaderAndFooter(() -> "head\n", () -> "tail\n");
+        writer.open(true);
+        write(writer, "1");
+        write(writer, "2");
+        writer.close();
+        Assert.assertEquals(Arrays.asList("head", "1", "2", "tail"), Files.readAllLines(file));
+        Assert.assertEquals(Files.size(file), writer.getBytesWritten());
+        Assert.assertEquals(3L, writer.getWriteCount());
+    }
+
+    @Test
+    public void testGroupCommit() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("test.log");
+        final MutableClock clock = new MutableClock();
+        final FileChannelWriter writer = new FileChannelWriter(file, 1024, clock);
+        writer.setFlushThreshold(4);
+        writer.setFlushInterval(3600000L);
+        try {
+            writer.open(true);
+            write(writer, "1");
+            Assert.assertEquals(0L, Files.size(file));
+            // Passing the threshold writes the buffered text together
+            write(writer, "2");
+            Assert.assertEquals(Arrays.asList("1", "2"), Files.readAllLines(file));
+            Assert.assertEquals(1L, writer.getWriteCount());
+
+            write(writer, "3");
+            clock.advance(1, ChronoUnit.HOURS);
+            writer.append("4\n");
+            writer.commit();
+            Assert.assertEquals(Arrays.asList("1", "2", "3", "4"), Files.readAllLines(file));
+
+            write(writer, "5");
+            writer.flush();
+            Assert.assertEquals(Arrays.asList("1", "2", "3", "4", "5"), Files.readAllLines(file));
+            write(writer, "6");
+        } finally {
+            writer.close();
+        }
+        // Closing writes what is left in the buffer
+        Assert.assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void testScheduledFlush() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("test.log");
+        final FileChannelWriter writer = new FileChannelWriter(file, 1024, Clock.systemUTC());
+        writer.setFlushInterval(10L);
+        try {
+            writer.open(true);
+            writer.append("1\n");
+            writer.commit();
+            final long end = System.currentTimeMillis() + 10000L;
+            while (Files.size(file) == 0L && System.currentTimeMillis() < end) {
+                Thread.sleep(10L);
+            }
+            Assert.assertEquals(Collections.singletonList("1"), Files.readAllLines(file));
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testSizeRotation() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("test.log");
+        final FileChannelWriter writer = new FileChannelWriter(file, 1024, new MutableClock());
+        writer.setRotateSize(4L, 2);
+        writer.open(true);
+        for (int i = 10; i < 15; i++) {
+            write(writer, Integer.toString(i));
+        }
+        writer.close();
+        Assert.assertEquals(Collections.singletonList("14"), Files.readAllLines(file));
+        Assert.assertEquals(Collections.singletonList("13"), Files.readAllLines(sibling(file, ".1")));
+        Assert.assertEquals(Collections.singletonList("12"), Files.readAllLines(sibling(file, ".2")));
+        Assert.assertFalse(Files.exists(sibling(file, ".3")));
+    }
+
+    @Test
+    public void testPeriodicRotation() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("test.log");
+        final MutableClock clock = new MutableClock();
+        final FileChannelWriter writer = new FileChannelWriter(file, 1024, clock);
+        writer.setRotatePeriod(ChronoUnit.MONTHS, DateTimeFormatter.ofPattern(".yyyy-MM-dd")::format, ZoneOffset.UTC);
+        writer.open(false);
+        write(writer, "1");
+        clock.advance(31, ChronoUnit.DAYS);
+        write(writer, "2");
+        write(writer, "3");
+        writer.close();
+        Assert.assertEquals(Arrays.asList("2", "3"), Files.readAllLines(file));
+        // The suffix is the start of the period
+        Assert.assertEquals(Collections.singletonList("1"), Files.readAllLines(sibling(file, ".2023-01-01")));
+    }
+
+    @Test
+    public void testClosed() throws Exception {
+        final FileChannelWriter writer = new FileChannelWriter(folder.getRoot().toPath().resolve("test.log"), 1024, new MutableClock());
+        writer.open(true);
+        writer.close();
+        try {
+            writer.append("1\n");
+            Assert.fail("Expected appending to a closed writer to fail");
+        } catch (IOException expected) {
+            // expected
+        }
+    }
+
+    private static void write(final FileChannelWriter writer, final String line) throws IOException {
+        writer.append(line + "\n");
+        writer.commit();
+    }
+
+    private static Path sibling(final Path file, final String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2023-01-10T10:00:00Z");
+
+        void advance(final long amount, final ChronoUnit unit) {
+            instant = instant.plus(amount, unit);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
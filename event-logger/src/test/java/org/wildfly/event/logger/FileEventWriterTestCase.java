@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link FileEventWriter}.
+ */
+public class FileEventWriterTestCase {
+
+    private static final EventFormatter FORMATTER = event -> String.valueOf(event.getData().get("count"));
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWrite() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("logs").resolve("events.log");
+        try (FileEventWriter writer = FileEventWriter.builder(file).setFormatter(FORMATTER).build()) {
+            writer.write(event(0));
+            Assert.assertEquals(Collections.singletonList("0"), Files.readAllLines(file));
+            writer.write(Arrays.asList(event(1), event(2)));
+            Assert.assertEquals(Arrays.asList("0", "1", "2"), Files.readAllLines(file));
+        }
+        // Appends by default
+        try (FileEventWriter writer = FileEventWriter.builder(file).setFormatter(FORMATTER).build()) {
+            writer.write(event(3));
+        }
+        Assert.assertEquals(Arrays.asList("0", "1", "2", "3"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void testClosed() throws Exception {
+        final FileEventWriter writer = FileEventWriter.builder(folder.getRoot().toPath().resolve("events.log")).build();
+        writer.close();
+        try {
+            writer.write(event(1));
+            Assert.fail("Expected writing to a closed writer to fail");
+        } catch (UncheckedIOException expected) {
+            // expected
+        }
+    }
+
+    private static Event event(final int count) {
+        return new StandardEvent("test-file", Collections.singletonMap("count", count));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link JsonEventFormatter}.
+ */
+public class JsonEventFormatterTestCase {
+
+    @Test
+    public void testValues() {
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("string", "Test \"quoted\" \\ \n\t\u0001 string");
+        data.put("boolean", true);
+        data.put("int", 33);
+        data.put("long", 138L);
+        data.put("double", 6.5d);
+        data.put("decimal", new BigDecimal("33.50"));
+        data.put("bigInt", new BigInteger("8675309"));
+        data.put("null", null);
+        data.put("list", Arrays.asList("a", 1, null));
+        data.put("array", new Object[] {"b", 2L});
+        data.put("map", Collections.singletonMap(1, "one"));
+        data.put("builder", Json.createObjectBuilder().add("nested", true));
+        data.put("other", ZoneOffset.UTC);
+
+        final JsonEventFormatter formatter = JsonEventFormatter.builder()
+                .setIncludeTimestamp(false)
+                .build();
+        final JsonObject json = read(formatter.format(new StandardEvent("test-values", data)));
+
+        Assert.assertEquals("test-values", json.getString("eventSource"));
+        Assert.assertEquals(data.get("string"), json.getString("string"));
+        Assert.assertTrue(json.getBoolean("boolean"));
+        Assert.assertEquals(33, json.getInt("int"));
+        Assert.assertEquals(138L, json.getJsonNumber("long").longValue());
+        Assert.assertEquals(6.5d, json.getJsonNumber("double").doubleValue(), 0d);
+        Assert.assertEquals(new BigDecimal("33.50"), json.getJsonNumber("decimal").bigDecimalValue());
+        Assert.assertEquals(new BigInteger("8675309"), json.getJsonNumber("bigInt").bigIntegerValue());
+        Assert.assertTrue(json.isNull("null"));
+        Assert.assertEquals("[\"a\",1,null]", json.getJsonArray("list").toString());
+        Assert.assertEquals("[\"b\",2]", json.getJsonArray("array").toString());
+        Assert.assertEquals("one", json.getJsonObject("map").getString("1"));
+        Assert.assertTrue(json.getJsonObject("builder").getBoolean("nested"));
+        Assert.assertEquals("Z", json.getString("other"));
+        Assert.assertFalse(json.containsKey("timestamp"));
+    }
+
+    @Test
+    public void testMetaDataAndTimestamp() {
+        final JsonEventFormatter formatter = JsonEventFormatter.builder()
+                .addMetaData("host", "localhost")
+                .addMetaData("replaced", "meta")
+                .setTimestampKey("@timestamp")
+                .setZoneId(ZoneOffset.UTC)
+                .build();
+        final StandardEvent event = new StandardEvent("test-meta", Collections.singletonMap("key", "value"));
+        final String expected = "{\"eventSource\":\"test-meta\",\"@timestamp\":\""
+                + DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(event.getInstant().atOffset(ZoneOffset.UTC))
+                + "\",\"host\":\"localhost\",\"replaced\":\"meta\",\"key\":\"value\"}";
+        Assert.assertEquals(read(expected), read(formatter.format(event)));
+
+        // The same key in the event replaces the meta-data value in its position
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("replaced", "event");
+        data.put("key", "value");
+        final String json = formatter.format(new StandardEvent("test-meta", data));
+        final JsonObject jsonObject = read(json);
+        Assert.assertEquals("event", jsonObject.getString("replaced"));
+        Assert.assertEquals(5, jsonObject.size());
+        Assert.assertTrue(json, json.indexOf("\"replaced\"") < json.indexOf("\"key\""));
+    }
+
+    @Test
+    public void testFormatToBuilder() {
+        final JsonEventFormatter formatter = JsonEventFormatter.builder()
+                .setIncludeTimestamp(false)
+                .build();
+        final StandardEvent event = new StandardEvent("test-append", Collections.singletonMap("count", 1));
+        final StringBuilder sb = new StringBuilder("prefix ");
+        formatter.format(event, sb);
+        Assert.assertEquals("prefix " + formatter.format(event), sb.toString());
+        Assert.assertEquals("{\"eventSource\":\"test-append\",\"count\":1}", formatter.format(event));
+    }
+
+    private static JsonObject read(final String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
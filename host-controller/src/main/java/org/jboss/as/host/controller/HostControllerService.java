@@ -48,6 +48,7 @@ import java.util.regex.Pattern;
 import org.jboss.as.controller.CapabilityRegistry;
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.VirtualThreadSupport;
 import org.jboss.as.domain.http.server.ConsoleAvailabilityService;
 import org.jboss.as.host.controller.logging.HostControllerLogger;
 import org.jboss.as.remoting.HttpListenerRegistryService;
@@ -256,7 +257,10 @@ public class HostControllerService implements Service<AsyncFuture<ServiceContain
 
         @Override
         public synchronized void start(final StartContext context) throws StartException {
-            if (EnhancedQueueExecutor.DISABLE_HINT) {
+            final ExecutorService virtualThreadExecutor = VirtualThreadSupport.newVirtualThreadExecutorIfEnabled("Host Controller Service Virtual Thread -- ");
+            if (virtualThreadExecutor != null) {
+                executorService = virtualThreadExecutor;
+            } else if (EnhancedQueueExecutor.DISABLE_HINT) {
                 executorService = new ThreadPoolExecutor(1, Integer.MAX_VALUE,
                     5L, TimeUnit.SECONDS,
                     new SynchronousQueue<Runnable>(),
@@ -84,6 +84,7 @@ public class ServerInventoryImpl implements ServerInventory {
 
     /** The managed servers. */
     private final ConcurrentMap<String, ManagedServer> servers = new ConcurrentHashMap<String, ManagedServer>();
+    private volatile ServerPortIndex portIndex;
 
     private final HostControllerEnvironment environment;
     private final ProcessControllerClient processControllerClient;
@@ -191,6 +192,7 @@ public class ServerInventoryImpl implements ServerInventory {
                 server = newServer;
             }
         }
+        checkPortConflicts(serverName, domainModel);
         // Start the server
         server.start(createBootFactory(serverName, domainModel, suspend));
         synchronized (shutdownCondition) {
@@ -775,6 +777,36 @@ public class ServerInventoryImpl implements ServerInventory {
         return false;
     }
 
+    /**
+     * Warns about ports the server would bind that a running server on this host already binds, as the server would
+     * only fail to bind them late in its boot.
+     */
+    private void checkPortConflicts(final String serverName, final ModelNode domainModel) {
+        try {
+            ServerPortIndex index = portIndex;
+            if (index == null || !index.isFor(domainModel)) {
+                final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
+                index = new ServerPortIndex(domainModel, domainModel.require(HOST).require(hostControllerName));
+                portIndex = index;
+            }
+            for (ServerPortIndex.Conflict conflict : index.getConflicts(serverName, this::isActive)) {
+                ROOT_LOGGER.serverPortConflict(serverName, conflict.socketBinding, conflict.address, conflict.otherServer, conflict.otherSocketBinding);
+            }
+        } catch (RuntimeException e) {
+            // only a diagnostic; the server reports any actual bind failure itself
+            ROOT_LOGGER.debugf(e, "Failed to check the ports of server %s", serverName);
+        }
+    }
+
+    private boolean isActive(final String serverName) {
+        final ManagedServer server = servers.get(serverName);
+        if (server == null) {
+            return false;
+        }
+        final ServerStatus status = server.getState();
+        return status == ServerStatus.STARTED || status == ServerStatus.STARTING;
+    }
+
     private ManagedServerBootCmdFactory createBootFactory(final String serverName, final ModelNode domainModel, boolean suspend) {
         final String hostControllerName = domainController.getLocalHostInfo().getLocalHostName();
         final ModelNode hostModel = domainModel.require(HOST).require(hostControllerName);
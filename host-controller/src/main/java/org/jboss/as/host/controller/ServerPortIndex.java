@@ -0,0 +1,278 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.host.controller;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEFAULT_INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FIXED_PORT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PORT;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_CONFIG;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVER_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_DEFAULT_INTERFACE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_GROUP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SOCKET_BINDING_PORT_OFFSET;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ExpressionResolver;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.interfaces.ParsedInterfaceCriteria;
+import org.jboss.as.controller.resource.InterfaceDefinition;
+import org.jboss.as.network.NetworkInterfaceBinding;
+import org.jboss.as.network.NetworkUtils;
+import org.jboss.as.server.services.net.NetworkInterfaceService;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.Property;
+
+/**
+ * Index of the addresses the servers of this host will bind, computed once from the domain and host model by applying
+ * the socket binding group, its includes, the port offset and the interfaces of each server, so the servers being
+ * started can be checked against each other without each of them having to fail to bind at boot.
+ * <p>
+ * Ports are compared by the address their interface resolves to on this host, so two interfaces with the same address
+ * overlap, and an interface bound to the wildcard address overlaps every other interface.
+ * <p>
+ * Only conflicts that are certain from the model are reported: bindings whose port or offset is an expression are
+ * left out, as these are resolved by each server, and so are bindings to an interface whose criteria use expressions
+ * or do not resolve to a single address on this host.
+ */
+final class ServerPortIndex {
+
+    /** Interface criteria are only resolved if they do not depend on the properties of the server */
+    private static final ExpressionResolver NO_EXPRESSIONS = node -> {
+        if (node.getType() == ModelType.EXPRESSION) {
+            throw new OperationFailedException(node.asString());
+        }
+        return node;
+    };
+
+    private final ModelNode domainModel;
+    private final ModelNode hostModel;
+    private final Function<ModelNode, InetAddress> interfaceResolver;
+    /** interface criteria -> the address they resolve to, shared by the servers using the same interface */
+    private final Map<ModelNode, Optional<InetAddress>> resolvedInterfaces = new HashMap<>();
+    /** server name -> (address -> socket binding name) */
+    private final Map<String, Map<InetSocketAddress, String>> serverPorts = new HashMap<>();
+    /** port -> names of the servers that bind it on any address */
+    private final Map<Integer, Set<String>> portServers = new HashMap<>();
+
+    /**
+     * @param domainModel the full model, which is used to tell whether the index is still current
+     * @param hostModel the model of this host
+     */
+    ServerPortIndex(final ModelNode domainModel, final ModelNode hostModel) {
+        this(domainModel, hostModel, ServerPortIndex::resolveInterface);
+    }
+
+    /**
+     * @param domainModel the full model, which is used to tell whether the index is still current
+     * @param hostModel the model of this host
+     * @param interfaceResolver resolves the criteria of an interface to its address, or {@code null} if they cannot
+     *                          be resolved
+     */
+    ServerPortIndex(final ModelNode domainModel, final ModelNode hostModel, final Function<ModelNode, InetAddress> interfaceResolver) {
+        this.domainModel = domainModel;
+        this.hostModel = hostModel;
+        this.interfaceResolver = interfaceResolver;
+        if (hostModel.hasDefined(SERVER_CONFIG)) {
+            for (Property server : hostModel.get(SERVER_CONFIG).asPropertyList()) {
+                final Map<InetSocketAddress, String> ports = computePorts(server.getValue());
+                serverPorts.put(server.getName(), ports);
+                for (InetSocketAddress address : ports.keySet()) {
+                    portServers.computeIfAbsent(address.getPort(), k -> new HashSet<>()).add(server.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets whether this index was computed from the given model. Operations that start many servers read the model
+     * once, so the index is only computed once for all of them.
+     */
+    boolean isFor(final ModelNode domainModel) {
+        return this.domainModel == domainModel;
+    }
+
+    /**
+     * Finds the addresses a server would bind that other servers also bind.
+     *
+     * @param serverName the server about to be started
+     * @param active which of the other servers to check against, usually those that are running
+     * @return a description of each conflict
+     */
+    List<Conflict> getConflicts(final String serverName, final Predicate<String> active) {
+        final Map<InetSocketAddress, String> ports = serverPorts.get(serverName);
+        if (ports == null) {
+            return Collections.emptyList();
+        }
+        final List<Conflict> conflicts = new ArrayList<>();
+        for (Map.Entry<InetSocketAddress, String> entry : ports.entrySet()) {
+            final InetSocketAddress address = entry.getKey();
+            for (String other : portServers.get(address.getPort())) {
+                if (other.equals(serverName) || !active.test(other)) {
+                    continue;
+                }
+                for (Map.Entry<InetSocketAddress, String> otherEntry : serverPorts.get(other).entrySet()) {
+                    if (overlaps(address, otherEntry.getKey())) {
+                        conflicts.add(new Conflict(entry.getValue(), NetworkUtils.formatAddress(address), other, otherEntry.getValue()));
+                    }
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private static boolean overlaps(final InetSocketAddress address, final InetSocketAddress other) {
+        return address.getPort() == other.getPort() && (address.getAddress().equals(other.getAddress())
+                || address.getAddress().isAnyLocalAddress() || other.getAddress().isAnyLocalAddress());
+    }
+
+    private Map<InetSocketAddress, String> computePorts(final ModelNode serverModel) {
+        final Map<InetSocketAddress, String> result = new LinkedHashMap<>();
+        final ModelNode serverGroup = child(domainModel, SERVER_GROUP, child(serverModel, GROUP).asString(""));
+        final ModelNode groupName = select(serverModel, serverGroup, SOCKET_BINDING_GROUP);
+        final ModelNode offset = select(serverModel, serverGroup, SOCKET_BINDING_PORT_OFFSET);
+        if (groupName.getType() != ModelType.STRING || (offset.isDefined() && offset.getType() != ModelType.INT)) {
+            return result;
+        }
+        final ModelNode bindingGroup = child(domainModel, SOCKET_BINDING_GROUP, groupName.asString());
+        final ModelNode defaultInterface = select(serverModel, serverGroup, SOCKET_BINDING_DEFAULT_INTERFACE);
+        addPorts(serverModel, bindingGroup, defaultInterface.isDefined() ? defaultInterface : child(bindingGroup, DEFAULT_INTERFACE),
+                offset.asInt(0), new HashSet<>(Collections.singleton(groupName.asString())), result);
+        return result;
+    }
+
+    private void addPorts(final ModelNode serverModel, final ModelNode bindingGroup, final ModelNode defaultInterface,
+                          final int offset, final Set<String> processed, final Map<InetSocketAddress, String> result) {
+        if (bindingGroup.hasDefined(SOCKET_BINDING)) {
+            for (Property binding : bindingGroup.get(SOCKET_BINDING).asPropertyList()) {
+                final ModelNode model = binding.getValue();
+                final ModelNode port = child(model, PORT);
+                final ModelNode fixed = child(model, FIXED_PORT);
+                final ModelNode iface = model.hasDefined(INTERFACE) ? model.get(INTERFACE) : defaultInterface;
+                if (port.getType() != ModelType.INT || port.asInt() == 0
+                        || (fixed.isDefined() && fixed.getType() != ModelType.BOOLEAN)
+                        || iface.getType() != ModelType.STRING) {
+                    continue;
+                }
+                final InetAddress address = resolve(serverModel, iface.asString());
+                if (address != null) {
+                    final int effectivePort = fixed.asBoolean(false) ? port.asInt() : port.asInt() + offset;
+                    result.putIfAbsent(new InetSocketAddress(address, effectivePort), binding.getName());
+                }
+            }
+        }
+        if (bindingGroup.hasDefined(INCLUDES)) {
+            for (ModelNode include : bindingGroup.get(INCLUDES).asList()) {
+                final String name = include.asString();
+                if (processed.add(name) && domainModel.hasDefined(SOCKET_BINDING_GROUP, name)) {
+                    // as at server boot, included bindings use the default interface of their own group
+                    final ModelNode included = domainModel.get(SOCKET_BINDING_GROUP, name);
+                    addPorts(serverModel, included, child(included, DEFAULT_INTERFACE), offset, processed, result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves an interface of a server, which as at server boot is defined by the server, the host or the domain.
+     */
+    private InetAddress resolve(final ModelNode serverModel, final String interfaceName) {
+        final ModelNode model;
+        if (serverModel.hasDefined(INTERFACE, interfaceName)) {
+            model = serverModel.get(INTERFACE, interfaceName);
+        } else if (hostModel.hasDefined(INTERFACE, interfaceName)) {
+            model = hostModel.get(INTERFACE, interfaceName);
+        } else if (domainModel.hasDefined(INTERFACE, interfaceName)) {
+            model = domainModel.get(INTERFACE, interfaceName);
+        } else {
+            return null;
+        }
+        final ModelNode criteria = new ModelNode().setEmptyObject();
+        for (AttributeDefinition attribute : InterfaceDefinition.ROOT_ATTRIBUTES) {
+            if (model.hasDefined(attribute.getName())) {
+                criteria.get(attribute.getName()).set(model.get(attribute.getName()));
+            }
+        }
+        return resolvedInterfaces.computeIfAbsent(criteria, c -> Optional.ofNullable(interfaceResolver.apply(c))).orElse(null);
+    }
+
+    /**
+     * Resolves interface criteria the way the server will, as long as they are certain from the model.
+     */
+    static InetAddress resolveInterface(final ModelNode criteria) {
+        final ParsedInterfaceCriteria parsed = ParsedInterfaceCriteria.parse(criteria, true, NO_EXPRESSIONS);
+        if (parsed.getFailureMessage() != null) {
+            return null;
+        }
+        try {
+            final NetworkInterfaceBinding binding = NetworkInterfaceService.createBinding(parsed);
+            return binding == null ? null : binding.getAddress();
+        } catch (SocketException | UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private static ModelNode select(final ModelNode serverModel, final ModelNode serverGroup, final String attribute) {
+        return serverModel.hasDefined(attribute) ? serverModel.get(attribute) : child(serverGroup, attribute);
+    }
+
+    /**
+     * Reads a child of a node without adding it if it is not there, as the model is shared with the server boot.
+     */
+    private static ModelNode child(final ModelNode node, final String... path) {
+        return node.hasDefined(path) ? node.get(path) : new ModelNode();
+    }
+
+    /**
+     * A port that a server about to be started and another server both bind.
+     */
+    static final class Conflict {
+        final String socketBinding;
+        final String address;
+        final String otherServer;
+        final String otherSocketBinding;
+
+        private Conflict(final String socketBinding, final String address, final String otherServer, final String otherSocketBinding) {
+            this.socketBinding = socketBinding;
+            this.address = address;
+            this.otherServer = otherServer;
+            this.otherSocketBinding = otherSocketBinding;
+        }
+    }
+}
@@ -1474,6 +1474,10 @@ public interface HostControllerLogger extends BasicLogger {
     @Message(id = 220, value = "Failed to synchronize server status upon a Host Controller registration. There is no handler registered to manage the operation %s for the server %s.")
     IllegalStateException failedToSyncServerStatus(String opName, String serverAddress);
 
+    @LogMessage(level = WARN)
+    @Message(id = 221, value = "Server %s is configured to bind socket binding %s to %s, which running server %s also binds with socket binding %s. Check the socket binding groups and port offsets of these servers.")
+    void serverPortConflict(String serverName, String socketBinding, String address, String otherServer, String otherSocketBinding);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
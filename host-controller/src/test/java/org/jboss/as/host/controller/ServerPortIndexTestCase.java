@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.host.controller;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.dmr.ValueExpression;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ServerPortIndex}.
+ */
+public class ServerPortIndexTestCase {
+
+    @Test
+    public void testPortOffsets() {
+        ModelNode domain = createDomainModel();
+        ModelNode host = new ModelNode();
+        addServer(host, "one", 0);
+        addServer(host, "two", 100);
+        addServer(host, "three", 0);
+        ServerPortIndex index = new ServerPortIndex(domain, host, ServerPortIndexTestCase::resolve);
+
+        Assert.assertTrue(index.getConflicts("two", server -> true).isEmpty());
+
+        List<ServerPortIndex.Conflict> conflicts = index.getConflicts("three", "one"::equals);
+        Assert.assertEquals(2, conflicts.size());
+        for (ServerPortIndex.Conflict conflict : conflicts) {
+            Assert.assertEquals("one", conflict.otherServer);
+            Assert.assertEquals(conflict.socketBinding, conflict.otherSocketBinding);
+        }
+        // servers that are not running are ignored
+        Assert.assertTrue(index.getConflicts("three", "two"::equals).isEmpty());
+    }
+
+    @Test
+    public void testFixedPortAndIncludes() {
+        ModelNode domain = createDomainModel();
+        domain.get("socket-binding-group", "standard", "socket-binding", "jmx", "port").set(9999);
+        domain.get("socket-binding-group", "standard", "socket-binding", "jmx", "fixed-port").set(true);
+        domain.get("socket-binding-group", "extra", "default-interface").set("public");
+        domain.get("socket-binding-group", "extra", "socket-binding", "txn", "port").set(4712);
+        domain.get("socket-binding-group", "standard", "includes").add("extra");
+        ModelNode host = new ModelNode();
+        addServer(host, "one", 0);
+        addServer(host, "two", 100);
+        ServerPortIndex index = new ServerPortIndex(domain, host, ServerPortIndexTestCase::resolve);
+
+        List<ServerPortIndex.Conflict> conflicts = index.getConflicts("two", server -> true);
+        Assert.assertEquals(1, conflicts.size());
+        Assert.assertEquals("jmx", conflicts.get(0).socketBinding);
+        Assert.assertEquals("127.0.0.1:9999", conflicts.get(0).address);
+    }
+
+    @Test
+    public void testUnresolvedValuesAreIgnored() {
+        ModelNode domain = createDomainModel();
+        domain.get("socket-binding-group", "standard", "socket-binding", "http", "port").set(new ValueExpression("${jboss.http.port:8080}"));
+        ModelNode host = new ModelNode();
+        addServer(host, "one", 0);
+        addServer(host, "two", 0);
+        // the server defines its own address for the interface of the https binding
+        host.get("server-config", "two", "interface", "public", "inet-address").set("10.0.0.2");
+        // and the address of this interface depends on the properties of the server
+        domain.get("interface", "expression", "inet-address").set(new ValueExpression("${jboss.bind.address:127.0.0.1}"));
+        domain.get("socket-binding-group", "standard", "socket-binding", "ajp", "port").set(8009);
+        domain.get("socket-binding-group", "standard", "socket-binding", "ajp", "interface").set("expression");
+        ServerPortIndex index = new ServerPortIndex(domain, host, ServerPortIndexTestCase::resolve);
+
+        Assert.assertTrue(index.getConflicts("two", server -> true).isEmpty());
+        Assert.assertTrue(index.isFor(domain));
+        Assert.assertFalse(index.isFor(domain.clone()));
+    }
+
+    @Test
+    public void testSameAddressOnOtherInterface() {
+        ModelNode domain = createDomainModel();
+        domain.get("interface", "other", "inet-address").set("127.0.0.1");
+        domain.get("interface", "private", "inet-address").set("127.0.0.2");
+        ModelNode host = new ModelNode();
+        addServer(host, "one", 0);
+        addServer(host, "two", 0);
+        addServer(host, "three", 0);
+        host.get("server-config", "two", "socket-binding-default-interface").set("other");
+        host.get("server-config", "three", "socket-binding-default-interface").set("private");
+        ServerPortIndex index = new ServerPortIndex(domain, host, ServerPortIndexTestCase::resolve);
+
+        List<ServerPortIndex.Conflict> conflicts = index.getConflicts("two", "one"::equals);
+        Assert.assertEquals(2, conflicts.size());
+        Assert.assertEquals("127.0.0.1:8080", conflicts.get(0).address);
+        Assert.assertTrue(index.getConflicts("three", server -> true).isEmpty());
+    }
+
+    @Test
+    public void testWildcardAddress() {
+        ModelNode domain = createDomainModel();
+        domain.get("interface", "any", "any-address").set(true);
+        domain.get("interface", "private", "inet-address").set("127.0.0.2");
+        ModelNode host = new ModelNode();
+        addServer(host, "one", 0);
+        addServer(host, "two", 0);
+        addServer(host, "three", 0);
+        host.get("server-config", "two", "socket-binding-default-interface").set("any");
+        host.get("server-config", "three", "socket-binding-default-interface").set("private");
+        ServerPortIndex index = new ServerPortIndex(domain, host, ServerPortIndexTestCase::resolve);
+
+        // the wildcard address overlaps every address, in either direction
+        Assert.assertEquals(2, index.getConflicts("two", "one"::equals).size());
+        Assert.assertEquals(2, index.getConflicts("two", "three"::equals).size());
+        List<ServerPortIndex.Conflict> conflicts = index.getConflicts("three", server -> true);
+        Assert.assertEquals(2, conflicts.size());
+        for (ServerPortIndex.Conflict conflict : conflicts) {
+            Assert.assertEquals("two", conflict.otherServer);
+        }
+    }
+
+    @Test
+    public void testResolveInterface() {
+        ModelNode criteria = new ModelNode();
+        criteria.get("any-address").set(true);
+        Assert.assertTrue(ServerPortIndex.resolveInterface(criteria).isAnyLocalAddress());
+
+        criteria = new ModelNode();
+        criteria.get("inet-address").set(new ValueExpression("${jboss.bind.address:127.0.0.1}"));
+        Assert.assertNull(ServerPortIndex.resolveInterface(criteria));
+    }
+
+    /**
+     * Resolves the interfaces of the tests without depending on the network interfaces of the machine.
+     */
+    private static InetAddress resolve(ModelNode criteria) {
+        try {
+            if (criteria.hasDefined("any-address")) {
+                return InetAddress.getByName("0.0.0.0");
+            }
+            if (criteria.hasDefined("inet-address") && criteria.get("inet-address").getType() == ModelType.STRING) {
+                return InetAddress.getByName(criteria.get("inet-address").asString());
+            }
+            return null;
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ModelNode createDomainModel() {
+        ModelNode domain = new ModelNode();
+        domain.get("interface", "public", "inet-address").set("127.0.0.1");
+        domain.get("server-group", "main", "socket-binding-group").set("standard");
+        domain.get("socket-binding-group", "standard", "default-interface").set("public");
+        domain.get("socket-binding-group", "standard", "socket-binding", "http", "port").set(8080);
+        domain.get("socket-binding-group", "standard", "socket-binding", "https", "port").set(8443);
+        domain.get("socket-binding-group", "standard", "socket-binding", "ephemeral", "port").set(0);
+        return domain;
+    }
+
+    private static void addServer(ModelNode host, String name, int offset) {
+        host.get("server-config", name, "group").set("main");
+        if (offset != 0) {
+            host.get("server-config", name, "socket-binding-port-offset").set(offset);
+        }
+    }
+}
@@ -24,6 +24,7 @@
 package org.wildfly.extension.io;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -40,21 +41,29 @@ import org.jboss.as.controller.CapabilityServiceBuilder;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.extension.io.logging.IOLogger;
 import org.xnio.Pool;
 
 /**
@@ -111,6 +120,25 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             .build();
 
 
+    private static final AttributeDefinition ALLOCATION_COUNT = new SimpleAttributeDefinitionBuilder("allocation-count", ModelType.LONG).setStorageRuntime().build();
+    private static final AttributeDefinition IN_USE_COUNT = new SimpleAttributeDefinitionBuilder("in-use-count", ModelType.INT).setStorageRuntime().build();
+    private static final AttributeDefinition PEAK_IN_USE_COUNT = new SimpleAttributeDefinitionBuilder("peak-in-use-count", ModelType.INT).setStorageRuntime().build();
+    private static final AttributeDefinition ALLOCATED_MEMORY = new SimpleAttributeDefinitionBuilder("allocated-memory", ModelType.LONG).setStorageRuntime().build();
+    private static final AttributeDefinition ALLOCATION_RATE = new SimpleAttributeDefinitionBuilder("allocation-rate", ModelType.DOUBLE).setStorageRuntime().build();
+    private static final AttributeDefinition LEAKED_COUNT = new SimpleAttributeDefinitionBuilder("leaked-count", ModelType.LONG).setStorageRuntime().build();
+
+    private static final SimpleAttributeDefinition MIN_AGE = new SimpleAttributeDefinitionBuilder("min-age", ModelType.LONG, true)
+            .setDefaultValue(new ModelNode(0L))
+            .setValidator(new LongRangeValidator(0, true))
+            .build();
+    static final SimpleOperationDefinition READ_OUTSTANDING_ALLOCATIONS = new SimpleOperationDefinitionBuilder("read-outstanding-allocations", IOExtension.getResolver(Constants.BUFFER_POOL))
+            .setParameters(MIN_AGE)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .build();
+
     /*<buffer-pool name="default" buffer-size="1024" buffers-per-slice="1024"/>*/
 
     static List<SimpleAttributeDefinition> ATTRIBUTES = Arrays.asList(
@@ -140,6 +168,94 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         return (Collection) ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        // Don't register on a domain profile, as there is no pool to back the metrics
+        if (isProfile(resourceRegistration)) {
+            return;
+        }
+        final BufferPoolMetricsHandler metricsHandler = new BufferPoolMetricsHandler();
+        resourceRegistration.registerMetric(ALLOCATION_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(IN_USE_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(PEAK_IN_USE_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(ALLOCATED_MEMORY, metricsHandler);
+        resourceRegistration.registerMetric(ALLOCATION_RATE, metricsHandler);
+        resourceRegistration.registerMetric(LEAKED_COUNT, metricsHandler);
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        if (!isProfile(resourceRegistration)) {
+            resourceRegistration.registerOperationHandler(READ_OUTSTANDING_ALLOCATIONS, new ReadOutstandingAllocationsHandler());
+        }
+    }
+
+    private static boolean isProfile(ManagementResourceRegistration resourceRegistration) {
+        return PROFILE.equals(resourceRegistration.getPathAddress().getElement(0).getKey());
+    }
+
+    private static MonitoredBufferPool getBufferPool(OperationContext context) {
+        ServiceName serviceName = IO_POOL_RUNTIME_CAPABILITY.getCapabilityServiceName(context.getCurrentAddressValue());
+        ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            // the pool is on demand, so it is not started until something uses it
+            return null;
+        }
+        Object pool = controller.getValue();
+        return pool instanceof MonitoredBufferPool ? (MonitoredBufferPool) pool : null;
+    }
+
+    private static class BufferPoolMetricsHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            MonitoredBufferPool pool = getBufferPool(context);
+            if (pool == null) {
+                context.getResult().set(IOExtension.NO_METRICS);
+                return;
+            }
+            String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (ALLOCATION_COUNT.getName().equals(attributeName)) {
+                context.getResult().set(pool.getAllocationCount());
+            } else if (IN_USE_COUNT.getName().equals(attributeName)) {
+                context.getResult().set(pool.getInUseCount());
+            } else if (PEAK_IN_USE_COUNT.getName().equals(attributeName)) {
+                context.getResult().set(pool.getPeakInUseCount());
+            } else if (ALLOCATED_MEMORY.getName().equals(attributeName)) {
+                context.getResult().set(pool.getAllocatedMemory());
+            } else if (ALLOCATION_RATE.getName().equals(attributeName)) {
+                context.getResult().set(pool.getAllocationRate());
+            } else if (LEAKED_COUNT.getName().equals(attributeName)) {
+                context.getResult().set(pool.getLeakedCount());
+            } else {
+                throw new OperationFailedException(IOLogger.ROOT_LOGGER.noMetrics());
+            }
+        }
+    }
+
+    private static class ReadOutstandingAllocationsHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final long minAge = MIN_AGE.resolveModelAttribute(context, operation).asLong();
+            context.addStep((ctx, op) -> {
+                final ModelNode result = ctx.getResult().setEmptyList();
+                final MonitoredBufferPool pool = getBufferPool(ctx);
+                if (pool != null) {
+                    for (MonitoredBufferPool.OutstandingAllocation allocation : pool.getOutstandingAllocations(minAge)) {
+                        final ModelNode entry = new ModelNode();
+                        entry.get("count").set(allocation.count);
+                        entry.get("max-age").set(allocation.maxAge);
+                        entry.get("stack-trace").set(allocation.stackTrace);
+                        result.add(entry);
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+
     private static class BufferPoolAdd extends AbstractAddStepHandler {
 
         private BufferPoolAdd() {
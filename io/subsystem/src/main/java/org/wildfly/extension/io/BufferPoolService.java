@@ -30,8 +30,8 @@ import java.util.function.Consumer;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.security.manager.WildFlySecurityManager;
 import org.xnio.BufferAllocator;
-import org.xnio.ByteBufferSlicePool;
 import org.xnio.Pool;
 
 /**
@@ -40,8 +40,14 @@ import org.xnio.Pool;
  * @author Flavia Rainone
  */
 public class BufferPoolService implements Service<Pool<ByteBuffer>> {
+    /**
+     * System property used to enable recording the allocation stack trace of each buffer, to find buffers that are
+     * never returned to their pool.
+     */
+    static final String LEAK_DETECTION_PROPERTY = "org.wildfly.io.buffer-pool.leak-detection";
+
     private final Consumer<Pool<ByteBuffer>> byteBufferConsumer;
-    private volatile Pool<ByteBuffer> bufferPool;
+    private volatile MonitoredBufferPool bufferPool;
     /*<buffer-pool name="default" buffer-size="2048" buffers-per-slice="512"/>*/
     private final int bufferSize;
     private final int buffersPerSlice;
@@ -56,14 +62,15 @@ public class BufferPoolService implements Service<Pool<ByteBuffer>> {
 
     @Override
     public void start(final StartContext context) {
-        bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        final boolean leakDetection = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(LEAK_DETECTION_PROPERTY, "false"));
+        bufferPool = new MonitoredBufferPool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize, leakDetection);
         byteBufferConsumer.accept(bufferPool);
     }
 
     @Override
     public void stop(final StopContext context) {
         byteBufferConsumer.accept(null);
-        ((ByteBufferSlicePool) bufferPool).clean();
+        bufferPool.clean();
         bufferPool = null;
     }
 
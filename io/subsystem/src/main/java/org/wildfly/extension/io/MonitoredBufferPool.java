@@ -0,0 +1,261 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.extension.io;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.BufferAllocator;
+import org.xnio.ByteBufferSlicePool;
+import org.xnio.Pool;
+import org.xnio.Pooled;
+
+/**
+ * A {@link ByteBufferSlicePool} that keeps usage statistics. Updating the statistics costs a couple of atomic
+ * operations per allocation, and the counters are only combined when read.
+ * <p>
+ * If leak detection is enabled, the stack trace of each allocation is recorded as well, so that buffers that are
+ * never returned to the pool can be tracked down. A buffer that is garbage collected without having been freed is
+ * reported as leaked; it is lost to the pool, and for direct buffers its memory is only reclaimed when the slice it
+ * belongs to is.
+ */
+final class MonitoredBufferPool implements Pool<ByteBuffer> {
+
+    /** How often the allocation rate is recalculated */
+    private static final long RATE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final ByteBufferSlicePool delegate;
+    private final boolean leakDetection;
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder allocatedMemory = new LongAdder();
+    private final AtomicInteger inUse = new AtomicInteger();
+    private final AtomicInteger peakInUse = new AtomicInteger();
+    private final LongAdder leaked = new LongAdder();
+    private final ReferenceQueue<MonitoredPooled> leakQueue = new ReferenceQueue<>();
+    private final Set<LeakReference> outstanding = ConcurrentHashMap.newKeySet();
+
+    private long rateStartNanos = System.nanoTime();
+    private long rateStartAllocations;
+    private double allocationRate;
+
+    MonitoredBufferPool(final BufferAllocator<ByteBuffer> allocator, final int bufferSize, final int sliceSize, final boolean leakDetection) {
+        this.delegate = new ByteBufferSlicePool(size -> {
+            final ByteBuffer buffer = allocator.allocate(size);
+            allocatedMemory.add(size);
+            return buffer;
+        }, bufferSize, sliceSize);
+        this.leakDetection = leakDetection;
+    }
+
+    @Override
+    public Pooled<ByteBuffer> allocate() {
+        final Pooled<ByteBuffer> pooled = delegate.allocate();
+        allocations.increment();
+        final int current = inUse.incrementAndGet();
+        int peak;
+        while (current > (peak = peakInUse.get())) {
+            if (peakInUse.compareAndSet(peak, current)) {
+                break;
+            }
+        }
+        final MonitoredPooled result = new MonitoredPooled(this, pooled);
+        if (leakDetection) {
+            pollLeaks();
+            result.reference = new LeakReference(result, leakQueue);
+            outstanding.add(result.reference);
+        }
+        return result;
+    }
+
+    void clean() {
+        delegate.clean();
+    }
+
+    long getAllocationCount() {
+        return allocations.sum();
+    }
+
+    int getInUseCount() {
+        return inUse.get();
+    }
+
+    int getPeakInUseCount() {
+        return peakInUse.get();
+    }
+
+    /**
+     * @return the number of bytes allocated by the pool for its slices, which stay allocated until the pool is stopped
+     */
+    long getAllocatedMemory() {
+        return allocatedMemory.sum();
+    }
+
+    long getLeakedCount() {
+        pollLeaks();
+        return leaked.sum();
+    }
+
+    /**
+     * Gets the average number of allocations per second over the last completed minute, or since the pool started
+     * if it has been running for less than a minute.
+     */
+    synchronized double getAllocationRate() {
+        final long now = System.nanoTime();
+        final long elapsed = now - rateStartNanos;
+        final long count = allocations.sum();
+        if (elapsed >= RATE_INTERVAL_NANOS || allocationRate == 0) {
+            if (elapsed > 0) {
+                allocationRate = (count - rateStartAllocations) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            }
+            if (elapsed >= RATE_INTERVAL_NANOS) {
+                rateStartNanos = now;
+                rateStartAllocations = count;
+            }
+        }
+        return allocationRate;
+    }
+
+    /**
+     * Gets the allocation stack traces of the buffers that have not been returned to the pool, grouped by stack trace
+     * with the most frequent first.
+     *
+     * @param minAgeMillis only buffers allocated at least this long ago are included
+     * @return the outstanding allocations, or an empty list if leak detection is not enabled
+     */
+    List<OutstandingAllocation> getOutstandingAllocations(long minAgeMillis) {
+        pollLeaks();
+        final long now = System.nanoTime();
+        final Map<String, OutstandingAllocation> result = new LinkedHashMap<>();
+        for (LeakReference reference : outstanding) {
+            final long age = TimeUnit.NANOSECONDS.toMillis(now - reference.allocationTime);
+            if (age >= minAgeMillis) {
+                final String stackTrace = reference.getStackTrace();
+                final OutstandingAllocation allocation = result.computeIfAbsent(stackTrace, OutstandingAllocation::new);
+                allocation.count++;
+                allocation.maxAge = Math.max(allocation.maxAge, age);
+            }
+        }
+        final List<OutstandingAllocation> list = new ArrayList<>(result.values());
+        list.sort((a, b) -> Integer.compare(b.count, a.count));
+        return list;
+    }
+
+    private void pollLeaks() {
+        LeakReference reference;
+        while ((reference = (LeakReference) leakQueue.poll()) != null) {
+            if (outstanding.remove(reference)) {
+                leaked.increment();
+                inUse.decrementAndGet();
+                IOLogger.ROOT_LOGGER.bufferLeaked(reference.getStackTrace());
+            }
+        }
+    }
+
+    static final class OutstandingAllocation {
+        final String stackTrace;
+        int count;
+        long maxAge;
+
+        private OutstandingAllocation(String stackTrace) {
+            this.stackTrace = stackTrace;
+        }
+    }
+
+    private static final class LeakReference extends WeakReference<MonitoredPooled> {
+        private final long allocationTime = System.nanoTime();
+        private final Throwable allocation = new Throwable();
+
+        private LeakReference(MonitoredPooled referent, ReferenceQueue<MonitoredPooled> queue) {
+            super(referent, queue);
+        }
+
+        private String getStackTrace() {
+            final StringWriter writer = new StringWriter();
+            allocation.printStackTrace(new PrintWriter(writer));
+            return writer.toString();
+        }
+    }
+
+    private static final class MonitoredPooled implements Pooled<ByteBuffer> {
+
+        private static final AtomicIntegerFieldUpdater<MonitoredPooled> releasedUpdater = AtomicIntegerFieldUpdater.newUpdater(MonitoredPooled.class, "released");
+
+        private final MonitoredBufferPool pool;
+        private final Pooled<ByteBuffer> delegate;
+        @SuppressWarnings("unused")
+        private volatile int released;
+        private LeakReference reference;
+
+        private MonitoredPooled(final MonitoredBufferPool pool, final Pooled<ByteBuffer> delegate) {
+            this.pool = pool;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void discard() {
+            release();
+            delegate.discard();
+        }
+
+        @Override
+        public void free() {
+            release();
+            delegate.free();
+        }
+
+        @Override
+        public ByteBuffer getResource() throws IllegalStateException {
+            return delegate.getResource();
+        }
+
+        @Override
+        public void close() {
+            free();
+        }
+
+        private void release() {
+            if (releasedUpdater.compareAndSet(this, 0, 1)) {
+                pool.inUse.decrementAndGet();
+                if (reference != null) {
+                    pool.outstanding.remove(reference);
+                    reference.clear();
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
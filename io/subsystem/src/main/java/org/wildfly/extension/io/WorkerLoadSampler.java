@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.extension.io;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.XnioIoThread;
+import org.xnio.XnioWorker;
+import org.xnio.management.XnioWorkerMXBean;
+
+/**
+ * Periodically samples how responsive the threads of an {@link XnioWorker} are.
+ * <p>
+ * XNIO does not expose how busy its I/O threads are, so each I/O thread is sent a probe task that reschedules itself
+ * on the same thread. The delay between when a probe was due and when it actually ran is the time the I/O thread was
+ * busy with other work, which is what causes latency for every channel handled by that thread. In the same way a
+ * probe is submitted to the worker task pool, and the time it spends waiting in the queue is recorded as the task
+ * wait time.
+ * <p>
+ * Probes run on the worker's own threads, so no extra thread is needed, and the results are recorded with lock-free
+ * counters that are only combined when read. To avoid waking up the threads of an idle server, sampling only starts
+ * once the load metrics are first read.
+ */
+final class WorkerLoadSampler {
+
+    private static final long INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final XnioWorker worker;
+    private final LongAdder ioLatencyTotal = new LongAdder();
+    private final LongAdder ioLatencySamples = new LongAdder();
+    private final LongAccumulator ioLatencyMax = new LongAccumulator(Math::max, 0);
+    private final LongAdder taskWaitTotal = new LongAdder();
+    private final LongAdder taskWaitSamples = new LongAdder();
+    private final LongAccumulator taskWaitMax = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakQueueSize = new LongAccumulator(Math::max, 0);
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    WorkerLoadSampler(final XnioWorker worker) {
+        this.worker = worker;
+    }
+
+    /**
+     * Starts sampling, unless it has already been started.
+     */
+    void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        final int ioThreadCount = worker.getIoThreadCount();
+        for (int i = 0; i < ioThreadCount; i++) {
+            scheduleIoProbe(worker.getIoThread(i));
+        }
+        if (ioThreadCount > 0) {
+            // the task pool probes are submitted from the first I/O thread, so they share its timer
+            scheduleTaskProbe(worker.getIoThread(0));
+        }
+    }
+
+    void stop() {
+        stopped = true;
+    }
+
+    private void scheduleIoProbe(final XnioIoThread thread) {
+        if (stopped) {
+            return;
+        }
+        final long due = System.nanoTime() + INTERVAL_NANOS;
+        try {
+            thread.executeAfter(() -> {
+                record(System.nanoTime() - due, ioLatencyTotal, ioLatencySamples, ioLatencyMax);
+                scheduleIoProbe(thread);
+            }, INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // the worker is shutting down
+            IOLogger.ROOT_LOGGER.tracef(e, "Stopped sampling I/O thread %s", thread);
+        }
+    }
+
+    private void scheduleTaskProbe(final XnioIoThread thread) {
+        if (stopped) {
+            return;
+        }
+        try {
+            thread.executeAfter(() -> {
+                final XnioWorkerMXBean metrics = worker.getMXBean();
+                if (metrics != null) {
+                    peakQueueSize.accumulate(metrics.getWorkerQueueSize());
+                }
+                final long submitted = System.nanoTime();
+                try {
+                    worker.execute(() -> record(System.nanoTime() - submitted, taskWaitTotal, taskWaitSamples, taskWaitMax));
+                } catch (RejectedExecutionException e) {
+                    // either the worker is shutting down or the queue is full, which the caller will notice anyway
+                    IOLogger.ROOT_LOGGER.tracef(e, "Could not submit task pool probe to worker %s", worker.getName());
+                }
+                scheduleTaskProbe(thread);
+            }, INTERVAL_NANOS, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            IOLogger.ROOT_LOGGER.tracef(e, "Stopped sampling the task pool of worker %s", worker.getName());
+        }
+    }
+
+    private static void record(long nanos, LongAdder total, LongAdder samples, LongAccumulator max) {
+        final long value = Math.max(0, nanos);
+        total.add(value);
+        samples.increment();
+        max.accumulate(value);
+    }
+
+    private static long averageMicros(LongAdder total, LongAdder samples) {
+        final long count = samples.sum();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(total.sum() / count);
+    }
+
+    /**
+     * @return the average time in microseconds an I/O thread was late running a task scheduled on it
+     */
+    long getIoThreadAverageLatency() {
+        return averageMicros(ioLatencyTotal, ioLatencySamples);
+    }
+
+    /**
+     * @return the longest time in microseconds an I/O thread was late running a task scheduled on it
+     */
+    long getIoThreadMaxLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(ioLatencyMax.get());
+    }
+
+    /**
+     * @return the average time in microseconds a task spent in the worker queue before a task thread picked it up
+     */
+    long getTaskAverageWaitTime() {
+        return averageMicros(taskWaitTotal, taskWaitSamples);
+    }
+
+    /**
+     * @return the longest time in microseconds a task spent in the worker queue before a task thread picked it up
+     */
+    long getTaskMaxWaitTime() {
+        return TimeUnit.NANOSECONDS.toMicros(taskWaitMax.get());
+    }
+
+    /**
+     * @return the largest number of queued tasks seen when sampling
+     */
+    int getPeakQueueSize() {
+        return (int) peakQueueSize.get();
+    }
+
+    /**
+     * @return the percentage of the maximum task thread count that is currently busy
+     */
+    int getTaskThreadUtilization() {
+        final XnioWorkerMXBean metrics = worker.getMXBean();
+        if (metrics == null || metrics.getMaxWorkerPoolSize() <= 0) {
+            return 0;
+        }
+        return (int) (100L * metrics.getBusyWorkerThreadCount() / metrics.getMaxWorkerPoolSize());
+    }
+}
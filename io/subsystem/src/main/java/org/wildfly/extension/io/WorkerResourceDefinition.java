@@ -46,6 +46,7 @@ import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.LongRangeValidator;
@@ -116,6 +117,17 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
     private static final AttributeDefinition IO_THREAD_COUNT = new SimpleAttributeDefinitionBuilder("io-thread-count", ModelType.INT).build();
     private static final AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder("queue-size", ModelType.INT).build();
     private static final AttributeDefinition BUSY_WORKER_THREAD_COUNT = new SimpleAttributeDefinitionBuilder("busy-task-thread-count", ModelType.INT).build();
+    private static final AttributeDefinition TASK_THREAD_UTILIZATION = new SimpleAttributeDefinitionBuilder("task-thread-utilization", ModelType.INT)
+            .setMeasurementUnit(MeasurementUnit.PERCENTAGE).build();
+    private static final AttributeDefinition PEAK_QUEUE_SIZE = new SimpleAttributeDefinitionBuilder("peak-queue-size", ModelType.INT).build();
+    private static final AttributeDefinition TASK_AVERAGE_WAIT_TIME = new SimpleAttributeDefinitionBuilder("task-average-wait-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS).build();
+    private static final AttributeDefinition TASK_MAX_WAIT_TIME = new SimpleAttributeDefinitionBuilder("task-max-wait-time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS).build();
+    private static final AttributeDefinition IO_THREAD_AVERAGE_LATENCY = new SimpleAttributeDefinitionBuilder("io-thread-average-latency", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS).build();
+    private static final AttributeDefinition IO_THREAD_MAX_LATENCY = new SimpleAttributeDefinitionBuilder("io-thread-max-latency", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS).build();
 
     static final Map<String, OptionAttributeDefinition> ATTRIBUTES_BY_XMLNAME;
 
@@ -195,6 +207,14 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         resourceRegistration.registerMetric(IO_THREAD_COUNT, metricsHandler);
         resourceRegistration.registerMetric(QUEUE_SIZE, metricsHandler);
         resourceRegistration.registerMetric(BUSY_WORKER_THREAD_COUNT, metricsHandler);
+
+        WorkerLoadMetricsHandler loadMetricsHandler = new WorkerLoadMetricsHandler();
+        resourceRegistration.registerMetric(TASK_THREAD_UTILIZATION, loadMetricsHandler);
+        resourceRegistration.registerMetric(PEAK_QUEUE_SIZE, loadMetricsHandler);
+        resourceRegistration.registerMetric(TASK_AVERAGE_WAIT_TIME, loadMetricsHandler);
+        resourceRegistration.registerMetric(TASK_MAX_WAIT_TIME, loadMetricsHandler);
+        resourceRegistration.registerMetric(IO_THREAD_AVERAGE_LATENCY, loadMetricsHandler);
+        resourceRegistration.registerMetric(IO_THREAD_MAX_LATENCY, loadMetricsHandler);
     }
 
     @Override
@@ -302,6 +322,46 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         }
     }
 
+    private static class WorkerLoadMetricsHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            if (PROFILE.equals(context.getCurrentAddress().getElement(0).getKey())) {
+                return;
+            }
+            WorkerLoadSampler sampler = getLoadSampler(context);
+            if (sampler == null) {
+                context.getResult().set(IOExtension.NO_METRICS);
+                return;
+            }
+            String name = operation.require(ModelDescriptionConstants.NAME).asString();
+            if (TASK_THREAD_UTILIZATION.getName().equals(name)) {
+                context.getResult().set(sampler.getTaskThreadUtilization());
+            } else if (PEAK_QUEUE_SIZE.getName().equals(name)) {
+                context.getResult().set(sampler.getPeakQueueSize());
+            } else if (TASK_AVERAGE_WAIT_TIME.getName().equals(name)) {
+                context.getResult().set(sampler.getTaskAverageWaitTime());
+            } else if (TASK_MAX_WAIT_TIME.getName().equals(name)) {
+                context.getResult().set(sampler.getTaskMaxWaitTime());
+            } else if (IO_THREAD_AVERAGE_LATENCY.getName().equals(name)) {
+                context.getResult().set(sampler.getIoThreadAverageLatency());
+            } else if (IO_THREAD_MAX_LATENCY.getName().equals(name)) {
+                context.getResult().set(sampler.getIoThreadMaxLatency());
+            } else {
+                throw new OperationFailedException(IOLogger.ROOT_LOGGER.noMetrics());
+            }
+        }
+
+        private static WorkerLoadSampler getLoadSampler(OperationContext context) {
+            ServiceName serviceName = IO_WORKER_RUNTIME_CAPABILITY.getCapabilityServiceName(context.getCurrentAddressValue(), XnioWorker.class);
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(serviceName);
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return null;
+            }
+            return ((WorkerService) controller.getService()).getLoadSampler();
+        }
+    }
+
     static XnioWorker getXnioWorker(OperationContext context) {
         String name = context.getCurrentAddressValue();
         if (!context.getCurrentAddress().getLastElement().getKey().equals(IOExtension.WORKER_PATH.getKey())) { //we are somewhere deeper, lets find worker name
@@ -49,6 +49,7 @@ public final class WorkerService implements Service<XnioWorker> {
     private final Supplier<ExecutorService> executorSupplier;
     private final Object stopLock = new Object();
     private XnioWorker worker;
+    private volatile WorkerLoadSampler loadSampler;
     private volatile StopContext stopContext;
 
     public WorkerService(final Consumer<XnioWorker> workerConsumer, final Supplier<ExecutorService> executorSupplier, final XnioWorker.Builder builder) {
@@ -61,12 +62,15 @@ public final class WorkerService implements Service<XnioWorker> {
     public void start(final StartContext startContext) {
         builder.setTerminationTask(this::stopDone);
         worker = builder.build();
+        loadSampler = new WorkerLoadSampler(worker);
         workerConsumer.accept(worker);
     }
 
     @Override
     public void stop(final StopContext context) {
         this.stopContext = context;
+        loadSampler.stop();
+        loadSampler = null;
         final ExecutorService executorService = executorSupplier.get();
         Runnable asyncStop = () -> {
             XnioWorker localWorker = worker;
@@ -137,6 +141,19 @@ public final class WorkerService implements Service<XnioWorker> {
         return builder.getBindAddressConfigurations();
     }
 
+    /**
+     * Gets the load sampler of the worker, starting it if this is the first time.
+     *
+     * @return the sampler, or {@code null} if the worker is stopped
+     */
+    WorkerLoadSampler getLoadSampler() {
+        final WorkerLoadSampler sampler = loadSampler;
+        if (sampler != null) {
+            sampler.start();
+        }
+        return sampler;
+    }
+
     @Override
     public XnioWorker getValue() throws IllegalStateException, IllegalArgumentException {
         return worker;
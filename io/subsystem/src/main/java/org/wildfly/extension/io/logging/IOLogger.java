@@ -79,4 +79,8 @@ public interface IOLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 8, value = "The stack-size value of %d bytes for IO worker %s is low and may result in problems. A value of at least 150,000 is recommended.")
     void wrongStackSize(long val, String workerName);
+
+    @LogMessage(level = WARN)
+    @Message(id = 9, value = "A pooled buffer was garbage collected without being returned to its buffer pool. It was allocated at:%n%s")
+    void bufferLeaked(String allocationStackTrace);
 }
@@ -47,13 +47,17 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQ
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.TYPE;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.WRITE_ATTRIBUTE_OPERATION;
 
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.management.AttributeChangeNotification;
 import javax.management.Descriptor;
@@ -89,6 +93,7 @@ import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.NotificationEntry;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.registry.OperationEntry.Flag;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.jmx.logging.JmxLogger;
 import org.jboss.as.jmx.model.ChildAddOperationFinder.ChildAddOperationEntry;
 import org.jboss.as.server.deployment.DeploymentUploadStreamAttachmentHandler;
@@ -115,7 +120,6 @@ public class MBeanInfoFactory {
     private final ConfiguredDomains configuredDomains;
     private final MutabilityChecker mutabilityChecker;
     private final ImmutableManagementResourceRegistration resourceRegistration;
-    private final ModelNode providedDescription;
     private final PathAddress pathAddress;
     private final boolean legacy;
 
@@ -126,23 +130,68 @@ public class MBeanInfoFactory {
         this.mutabilityChecker = mutabilityChecker;
         this.legacy = configuredDomains.isLegacyDomain(name);
         this.resourceRegistration = resourceRegistration;
-        DescriptionProvider provider = resourceRegistration.getModelDescription(PathAddress.EMPTY_ADDRESS);
-        providedDescription = provider != null ? provider.getModelDescription(null) : new ModelNode();
         this.pathAddress = address;
     }
 
-    static MBeanInfo createMBeanInfo(final ObjectName name, final TypeConverters converters, final ConfiguredDomains configuredDomains, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration) throws InstanceNotFoundException{
-        return new MBeanInfoFactory(name, converters, configuredDomains, mutabilityChecker, address, resourceRegistration).createMBeanInfo();
+    static MBeanInfo createMBeanInfo(final ObjectName name, final TypeConverters converters, final ConfiguredDomains configuredDomains, final MutabilityChecker mutabilityChecker, final PathAddress address, final ImmutableManagementResourceRegistration resourceRegistration, final Resource rootResource, final Cache cache) throws InstanceNotFoundException{
+        return new MBeanInfoFactory(name, converters, configuredDomains, mutabilityChecker, address, resourceRegistration).createMBeanInfo(rootResource, cache);
     }
 
-    private MBeanInfo createMBeanInfo() {
+    private MBeanInfo createMBeanInfo(final Resource rootResource, final Cache cache) {
+        Template template = cache.get(resourceRegistration, rootResource);
+        if (template == null) {
+            final RegistrationState state = new RegistrationState(pathAddress, mutabilityChecker, resourceRegistration);
+            template = cache.get(resourceRegistration, state);
+            if (template == null) {
+                template = createTemplate(state);
+            }
+            cache.put(resourceRegistration, template, rootResource);
+        }
+
+        // Only the descriptors depend on the name of the mbean
+        final Descriptor descriptor = createMBeanDescriptor();
+        final Descriptor expressionsAllowed = createAttributeDescriptor(true);
+        final Descriptor expressionsNotAllowed = createAttributeDescriptor(false);
+        final OpenMBeanAttributeInfo[] attributes = new OpenMBeanAttributeInfo[template.attributes.length];
+        for (int i = 0; i < attributes.length; i++) {
+            final AttributeTemplate attribute = template.attributes[i];
+            attributes[i] = new OpenMBeanAttributeInfoSupport(
+                    attribute.name,
+                    attribute.description,
+                    attribute.openType,
+                    true,
+                    attribute.writable,
+                    false,
+                    attribute.expressionsAllowed ? expressionsAllowed : expressionsNotAllowed);
+        }
+        final OpenMBeanOperationInfo[] operations = new OpenMBeanOperationInfo[template.operations.length];
+        for (int i = 0; i < operations.length; i++) {
+            final OperationTemplate operation = template.operations[i];
+            operations[i] = new OpenMBeanOperationInfoSupport(
+                    operation.name,
+                    operation.description,
+                    operation.parameters,
+                    operation.returnType,
+                    operation.impact,
+                    descriptor);
+        }
         return new OpenMBeanInfoSupport(ModelControllerMBeanHelper.CLASS_NAME,
-                getDescription(providedDescription),
-                getAttributes(),
+                template.description,
+                attributes,
                 getConstructors(),
-                getOperations(),
-                getNotifications(),
-                createMBeanDescriptor());
+                operations,
+                template.notifications,
+                descriptor);
+    }
+
+    private Template createTemplate(final RegistrationState state) {
+        DescriptionProvider provider = resourceRegistration.getModelDescription(PathAddress.EMPTY_ADDRESS);
+        ModelNode providedDescription = provider != null ? provider.getModelDescription(null) : new ModelNode();
+        return new Template(state,
+                getDescription(providedDescription),
+                getAttributes(state, providedDescription),
+                getOperations(state),
+                getNotifications());
     }
 
 
@@ -157,36 +206,34 @@ public class MBeanInfoFactory {
         return description;
     }
 
-    private OpenMBeanAttributeInfo[] getAttributes() {
-        List<OpenMBeanAttributeInfo> infos = new LinkedList<OpenMBeanAttributeInfo>();
+    private AttributeTemplate[] getAttributes(RegistrationState state, ModelNode providedDescription) {
+        List<AttributeTemplate> infos = new LinkedList<AttributeTemplate>();
         if (providedDescription.hasDefined(ATTRIBUTES)) {
             for (final String name : providedDescription.require(ATTRIBUTES).keys()) {
-                OpenMBeanAttributeInfo attributeInfo = getAttribute(name);
+                AttributeTemplate attributeInfo = getAttribute(state, providedDescription, name);
                 if (attributeInfo != null) {
-                    infos.add(getAttribute(name));
+                    infos.add(attributeInfo);
                 }
             }
         }
-        return infos.toArray(new OpenMBeanAttributeInfo[infos.size()]);
+        return infos.toArray(new AttributeTemplate[infos.size()]);
     }
 
-    private OpenMBeanAttributeInfo getAttribute(String name) {
+    private AttributeTemplate getAttribute(RegistrationState state, ModelNode providedDescription, String name) {
         final String escapedName = NameConverter.convertToCamelCase(name);
         ModelNode attribute = providedDescription.require(ATTRIBUTES).require(name);
-        AttributeAccess access = resourceRegistration.getAttributeAccess(PathAddress.EMPTY_ADDRESS, name);
+        AttributeAccess access = state.attributes.get(name);
         if (access == null) {
             return null; // access is needed to create a new OpenMBeanAttributeInfoSupport object
         }
-        final boolean writable = mutabilityChecker.mutable(pathAddress) && (access.getAccessType() == AccessType.READ_WRITE);
+        final boolean writable = state.mutable && (access.getAccessType() == AccessType.READ_WRITE);
 
-        return new OpenMBeanAttributeInfoSupport(
+        return new AttributeTemplate(
                 escapedName,
                 getDescription(attribute),
                 converters.convertToMBeanType(access.getAttributeDefinition(), attribute),
-                true,
                 writable,
-                false,
-                createAttributeDescriptor(attribute));
+                attribute.hasDefined(EXPRESSIONS_ALLOWED) && attribute.get(EXPRESSIONS_ALLOWED).asBoolean());
     }
 
     private OpenMBeanConstructorInfo[] getConstructors() {
@@ -194,12 +241,12 @@ public class MBeanInfoFactory {
         return null;
     }
 
-    private OpenMBeanOperationInfo[] getOperations() {
-        final boolean root = pathAddress.size() == 0;
+    private OperationTemplate[] getOperations(RegistrationState state) {
+        final boolean root = state.root;
 
         //TODO include inherited/global operations?
-        List<OpenMBeanOperationInfo> ops = new ArrayList<OpenMBeanOperationInfo>();
-        for (Map.Entry<String, OperationEntry> entry : resourceRegistration.getOperationDescriptions(PathAddress.EMPTY_ADDRESS, false).entrySet()) {
+        List<OperationTemplate> ops = new ArrayList<OperationTemplate>();
+        for (Map.Entry<String, OperationEntry> entry : state.operations.entrySet()) {
             final String opName = entry.getKey();
             if (opName.equals(ADD) || opName.equals(DESCRIBE)) {
                 continue;
@@ -216,16 +263,16 @@ public class MBeanInfoFactory {
                 }
             }
             final OperationEntry opEntry = entry.getValue();
-            if (mutabilityChecker.mutable(pathAddress) || opEntry.getFlags().contains(Flag.READ_ONLY) || opEntry.getFlags().contains(Flag.RUNTIME_ONLY)) {
+            if (state.mutable || opEntry.getFlags().contains(Flag.READ_ONLY) || opEntry.getFlags().contains(Flag.RUNTIME_ONLY)) {
                 ops.add(getOperation(NameConverter.convertToCamelCase(entry.getKey()), null, opEntry));
             }
         }
-        addChildAddOperations(ops, resourceRegistration);
-        return ops.toArray(new OpenMBeanOperationInfo[ops.size()]);
+        addChildAddOperations(ops, state);
+        return ops.toArray(new OperationTemplate[ops.size()]);
     }
 
-    private void addChildAddOperations(List<OpenMBeanOperationInfo> ops, ImmutableManagementResourceRegistration resourceRegistration) {
-        for (Map.Entry<PathElement, ChildAddOperationEntry> entry : ChildAddOperationFinder.findAddChildOperations(pathAddress, mutabilityChecker, resourceRegistration).entrySet()) {
+    private void addChildAddOperations(List<OperationTemplate> ops, RegistrationState state) {
+        for (Map.Entry<PathElement, ChildAddOperationEntry> entry : state.childAddOperations.entrySet()) {
             OpenMBeanParameterInfo addWildcardChildName = null;
             if (entry.getValue().getElement().isWildcard()) {
                 addWildcardChildName = new OpenMBeanParameterInfoSupport("name", "The name of the " + entry.getValue().getElement().getKey() + " to add.", SimpleType.STRING);
@@ -235,7 +282,7 @@ public class MBeanInfoFactory {
         }
     }
 
-    private OpenMBeanOperationInfo getOperation(String name, OpenMBeanParameterInfo addWildcardChildName, OperationEntry entry) {
+    private OperationTemplate getOperation(String name, OpenMBeanParameterInfo addWildcardChildName, OperationEntry entry) {
         ModelNode opNode = entry.getDescriptionProvider().getModelDescription(null);
         OpenMBeanParameterInfo[] params = getParameterInfos(entry.getOperationDefinition(), opNode);
         if (addWildcardChildName != null) {
@@ -244,13 +291,12 @@ public class MBeanInfoFactory {
             System.arraycopy(params, 0, newParams, 1, params.length);
             params = newParams;
         }
-        return new OpenMBeanOperationInfoSupport(
+        return new OperationTemplate(
                 name,
                 getDescription(opNode),
                 params,
                 getReturnType(opNode),
-                entry.getFlags().contains(Flag.READ_ONLY) ? MBeanOperationInfo.INFO : MBeanOperationInfo.UNKNOWN,
-                createOperationDescriptor());
+                entry.getFlags().contains(Flag.READ_ONLY) ? MBeanOperationInfo.INFO : MBeanOperationInfo.UNKNOWN);
     }
 
     private OpenMBeanParameterInfo[] getParameterInfos(OperationDefinition opDef, ModelNode opNode) {
@@ -385,22 +431,15 @@ public class MBeanInfoFactory {
         return new ImmutableDescriptor(descriptions);
     }
 
-    private Descriptor createAttributeDescriptor(ModelNode attribute) {
+    private Descriptor createAttributeDescriptor(boolean allowExpressions) {
         Map<String, String> descriptions = new HashMap<String, String>();
         addMBeanExpressionSupport(descriptions);
-        boolean allowExpressions = attribute.hasDefined(EXPRESSIONS_ALLOWED) && attribute.get(EXPRESSIONS_ALLOWED).asBoolean();
         descriptions.put(DESC_EXPRESSIONS_ALLOWED, Boolean.toString(allowExpressions));
         descriptions.put(DESC_EXPRESSIONS_ALLOWED_DESC, allowExpressions ?
                 JmxLogger.ROOT_LOGGER.descriptorAttributeExpressionsAllowedTrue() : JmxLogger.ROOT_LOGGER.descriptorAttributeExpressionsAllowedFalse());
         return new ImmutableDescriptor(descriptions);
     }
 
-    private Descriptor createOperationDescriptor() {
-        Map<String, String> descriptions = new HashMap<String, String>();
-        addMBeanExpressionSupport(descriptions);
-        return new ImmutableDescriptor(descriptions);
-    }
-
     private void addMBeanExpressionSupport(Map<String, String> descriptions) {
         if (legacy) {
             descriptions.put(DESC_MBEAN_EXPR, "true");
@@ -420,4 +459,129 @@ public class MBeanInfoFactory {
             }
         }
     }
+
+    /**
+     * Caches the parts of the {@code MBeanInfo} of the mbeans for a resource registration that do not depend on the
+     * name of the mbean, which is everything but the descriptors. Building them requires the resource and operation
+     * descriptions and converting each attribute and parameter type to an {@code OpenType}, which is much more
+     * expensive than assembling the {@code MBeanInfo}.
+     * <p>
+     * Registrations can change at runtime, so a cached entry is only used if the attributes, operations,
+     * notifications and child add operations of the registration are the same ones it was built from. Registrations
+     * are changed by the operations adding or removing extensions and deployments, which also publish a new root
+     * resource, so that check is skipped as long as the root resource is the one the entry was last checked against.
+     */
+    static final class Cache {
+        private final Map<ImmutableManagementResourceRegistration, Template> templates = Collections.synchronizedMap(new WeakHashMap<>());
+
+        private Template get(ImmutableManagementResourceRegistration registration, Resource rootResource) {
+            Template template = templates.get(registration);
+            return template != null && template.checkedAgainst.get() == rootResource ? template : null;
+        }
+
+        private Template get(ImmutableManagementResourceRegistration registration, RegistrationState state) {
+            Template template = templates.get(registration);
+            return template != null && template.state.equals(state) ? template : null;
+        }
+
+        private void put(ImmutableManagementResourceRegistration registration, Template template, Resource rootResource) {
+            // Don't keep an old version of the model alive
+            template.checkedAgainst = new WeakReference<>(rootResource);
+            templates.put(registration, template);
+        }
+    }
+
+    /**
+     * What the {@code MBeanInfo} for a registration is built from, other than descriptions.
+     */
+    private static final class RegistrationState {
+        private final boolean root;
+        private final boolean mutable;
+        private final Map<String, AttributeAccess> attributes;
+        private final Map<String, OperationEntry> operations;
+        private final Map<String, NotificationEntry> notifications;
+        private final Map<PathElement, ChildAddOperationEntry> childAddOperations;
+        private final Map<PathElement, OperationEntry> childAddEntries = new HashMap<>();
+
+        private RegistrationState(PathAddress address, MutabilityChecker mutabilityChecker, ImmutableManagementResourceRegistration registration) {
+            this.root = address.size() == 0;
+            this.mutable = mutabilityChecker.mutable(address);
+            this.attributes = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
+            this.operations = registration.getOperationDescriptions(PathAddress.EMPTY_ADDRESS, false);
+            this.notifications = registration.getNotificationDescriptions(PathAddress.EMPTY_ADDRESS, true);
+            this.childAddOperations = ChildAddOperationFinder.findAddChildOperations(address, mutabilityChecker, registration);
+            for (Map.Entry<PathElement, ChildAddOperationEntry> entry : childAddOperations.entrySet()) {
+                childAddEntries.put(entry.getKey(), entry.getValue().getOperationEntry());
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RegistrationState)) return false;
+            RegistrationState that = (RegistrationState) o;
+            return root == that.root
+                    && mutable == that.mutable
+                    && attributes.equals(that.attributes)
+                    && operations.equals(that.operations)
+                    && notifications.equals(that.notifications)
+                    && childAddEntries.equals(that.childAddEntries);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = attributes.keySet().hashCode();
+            result = 31 * result + operations.keySet().hashCode();
+            return result;
+        }
+    }
+
+    private static final class Template {
+        private final RegistrationState state;
+        private final String description;
+        private final AttributeTemplate[] attributes;
+        private final OperationTemplate[] operations;
+        private final MBeanNotificationInfo[] notifications;
+        private volatile Reference<Resource> checkedAgainst = new WeakReference<>(null);
+
+        private Template(RegistrationState state, String description, AttributeTemplate[] attributes, OperationTemplate[] operations, MBeanNotificationInfo[] notifications) {
+            this.state = state;
+            this.description = description;
+            this.attributes = attributes;
+            this.operations = operations;
+            this.notifications = notifications;
+        }
+    }
+
+    private static final class AttributeTemplate {
+        private final String name;
+        private final String description;
+        private final OpenType<?> openType;
+        private final boolean writable;
+        private final boolean expressionsAllowed;
+
+        private AttributeTemplate(String name, String description, OpenType<?> openType, boolean writable, boolean expressionsAllowed) {
+            this.name = name;
+            this.description = description;
+            this.openType = openType;
+            this.writable = writable;
+            this.expressionsAllowed = expressionsAllowed;
+        }
+    }
+
+    private static final class OperationTemplate {
+        private final String name;
+        private final String description;
+        private final OpenMBeanParameterInfo[] parameters;
+        private final OpenType<?> returnType;
+        private final int impact;
+
+        private OperationTemplate(String name, String description, OpenMBeanParameterInfo[] parameters, OpenType<?> returnType, int impact) {
+            this.name = name;
+            this.description = description;
+            this.parameters = parameters;
+            this.returnType = returnType;
+            this.impact = impact;
+        }
+    }
 }
@@ -24,12 +24,16 @@ package org.jboss.as.jmx.model;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ACCESS_MECHANISM;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ADD;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ATTRIBUTES_ONLY;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.FAILURE_DESCRIPTION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_ALIASES;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.INCLUDE_RUNTIME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OPERATION_HEADERS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_ATTRIBUTE_OPERATION;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.READ_RESOURCE_OPERATION;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REPLY_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.REQUEST_PROPERTIES;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
@@ -100,6 +104,8 @@ public class ModelControllerMBeanHelper {
     private final String domain;
     private final ObjectInstance rootObjectInstance;
     private final ManagementModelIntegration.ManagementModelProvider managementModelProvider;
+    private final ObjectNameIndex objectNameIndex;
+    private final MBeanInfoFactory.Cache mbeanInfoCache = new MBeanInfoFactory.Cache();
 
     ModelControllerMBeanHelper(TypeConverters converters, ConfiguredDomains configuredDomains, String domain,
                                ModelController controller, MutabilityChecker mutabilityChecker,
@@ -112,6 +118,7 @@ public class ModelControllerMBeanHelper {
         this.mutabilityChecker = mutabilityChecker;
         this.managementModelProvider = managementModelProvider;
         this.rootObjectInstance = ModelControllerMBeanHelper.createRootObjectInstance(domain);
+        this.objectNameIndex = new ObjectNameIndex(domain, this::isExcludeAddress);
     }
 
     int getMBeanCount() {
@@ -144,26 +151,12 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectInstance> queryMBeans(final MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectInstance> basic = new RootResourceIterator<Set<ObjectInstance>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
-                new ObjectNameMatchResourceAction<Set<ObjectInstance>>(name) {
-
-            Set<ObjectInstance> set = new HashSet<ObjectInstance>();
-
-            @Override
-            public boolean onResource(ObjectName resourceName) {
-                if (name == null || name.apply(resourceName)) {
-                    set.add(new ObjectInstance(resourceName, CLASS_NAME));
-                }
-                return true;
-            }
-
-            @Override
-            public Set<ObjectInstance> getResult() {
-                return set;
-            }
-        }).iterate();
+        Set<ObjectInstance> basic = new HashSet<ObjectInstance>();
+        for (ObjectName resourceName : queryIndex(name)) {
+            basic.add(new ObjectInstance(resourceName, CLASS_NAME));
+        }
 
-        // Handle any 'query' outside the RootResourceIterator so if the query calls back
+        // Handle any 'query' outside the index lookup so if the query calls back
         // into us it's not a recursive kind of thing in the ModelController
         Set<ObjectInstance> result;
         if (query == null || basic.isEmpty()) {
@@ -188,26 +181,9 @@ public class ModelControllerMBeanHelper {
     }
 
     Set<ObjectName> queryNames(MBeanServer mbeanServer, final ObjectName name, final QueryExp query) {
-        Set<ObjectName> basic = new RootResourceIterator<Set<ObjectName>>(accessControlUtil, getRootResourceAndRegistration().getResource(),
-                new ObjectNameMatchResourceAction<Set<ObjectName>>(name) {
-
-            Set<ObjectName> set = new HashSet<ObjectName>();
-
-            @Override
-            public boolean onResource(ObjectName resourceName) {
-                if (name == null || name.apply(resourceName)) {
-                    set.add(resourceName);
-                }
-                return true;
-            }
-
-            @Override
-            public Set<ObjectName> getResult() {
-                return set;
-            }
-        }).iterate();
+        Set<ObjectName> basic = queryIndex(name);
 
-        // Handle any 'query' outside the RootResourceIterator so if the query calls back
+        // Handle any 'query' outside the index lookup so if the query calls back
         // into us it's not a recursive kind of thing in the ModelController
         Set<ObjectName> result;
         if (query == null || basic.isEmpty()) {
@@ -230,6 +206,11 @@ public class ModelControllerMBeanHelper {
         return result;
     }
 
+    private Set<ObjectName> queryIndex(final ObjectName name) {
+        return objectNameIndex.queryNames(getRootResourceAndRegistration().getResource(), name,
+                address -> accessControlUtil.getResourceAccess(address, false).isAccessibleResource());
+    }
+
     /**  Set the mbean server on the QueryExp and try and pass back any previously set one */
     private static MBeanServer setQueryExpServer(QueryExp query, MBeanServer toSet) {
         // We assume the QueryExp is a QueryEval subclass or uses the QueryEval thread local
@@ -268,7 +249,7 @@ public class ModelControllerMBeanHelper {
         }
         // Ensure the resource is addressable; fail if not
         accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, true);
-        return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, getMBeanRegistration(address, reg));
+        return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, address, getMBeanRegistration(address, reg), reg.getResource(), mbeanInfoCache);
     }
 
     Object getAttribute(final ObjectName name, final String attribute)  throws AttributeNotFoundException, InstanceNotFoundException, ReflectionException {
@@ -289,9 +270,15 @@ public class ModelControllerMBeanHelper {
         }
         final ResourceAccessControl accessControl = accessControlUtil.getResourceAccessWithInstanceNotFoundExceptionIfNotAccessible(name, address, false);
         AttributeList list = new AttributeList();
-        for (String attribute : attributes) {
+        if (attributes.length == 1) {
+            try {
+                list.add(new Attribute(attributes[0], getAttribute(reg, address, attributes[0], accessControl)));
+            } catch (AttributeNotFoundException e) {
+                throw new ReflectionException(e);
+            }
+        } else if (attributes.length > 1) {
             try {
-                list.add(new Attribute(attribute, getAttribute(reg, address, attribute, accessControl)));
+                getAttributes(reg, address, attributes, accessControl, list);
             } catch (AttributeNotFoundException e) {
                 throw new ReflectionException(e);
             }
@@ -299,6 +286,48 @@ public class ModelControllerMBeanHelper {
         return list;
     }
 
+    /**
+     * Reads several attributes with a single {@code read-resource} operation rather than a {@code read-attribute}
+     * operation per attribute, so they are all read in one operation context.
+     */
+    private void getAttributes(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final String[] attributes,
+                               final ResourceAccessControl accessControl, final AttributeList list) throws InstanceNotFoundException, AttributeNotFoundException {
+        final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
+        final Map<String, AttributeAccess> attributeAccess = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
+        final String[] attributeNames = new String[attributes.length];
+        boolean includeRuntime = false;
+        for (int i = 0; i < attributes.length; i++) {
+            final String attributeName = findAttributeName(attributeAccess.keySet(), attributes[i]);
+            if (!accessControl.isReadableAttribute(attributeName)) {
+                throw JmxLogger.ROOT_LOGGER.notAuthorizedToReadAttribute(attributeName);
+            }
+            attributeNames[i] = attributeName;
+            includeRuntime |= attributeAccess.get(attributeName).getStorageType() == AttributeAccess.Storage.RUNTIME;
+        }
+
+        ModelNode op = new ModelNode();
+        op.get(OP).set(READ_RESOURCE_OPERATION);
+        op.get(OP_ADDR).set(address.toModelNode());
+        op.get(ATTRIBUTES_ONLY).set(true);
+        // Only pay for the runtime attributes if any of them were asked for
+        op.get(INCLUDE_RUNTIME).set(includeRuntime);
+        // read-attribute reads alias attributes, so they must be included here as well
+        op.get(INCLUDE_ALIASES).set(true);
+        ModelNode result = execute(op);
+        String error = getFailureDescription(result);
+        if (error != null) {
+            throw new AttributeNotFoundException(error);
+        }
+        final ModelNode values = result.get(RESULT);
+        for (int i = 0; i < attributes.length; i++) {
+            final String attributeName = attributeNames[i];
+            ModelNode attrDesc = getAttributeDescription(attributeName, registration, attributeAccess);
+            Object value = converters.fromModelNode(attributeAccess.get(attributeName).getAttributeDefinition(), attrDesc,
+                    values.has(attributeName) ? values.get(attributeName) : null);
+            list.add(new Attribute(attributes[i], value));
+        }
+    }
+
     private Object getAttribute(final ManagementModelIntegration.ResourceAndRegistration reg, final PathAddress address, final String attribute, final ResourceAccessControl accessControl)  throws ReflectionException, AttributeNotFoundException, InstanceNotFoundException {
         final ImmutableManagementResourceRegistration registration = getMBeanRegistration(address, reg);
         final Map<String, AttributeAccess> attributes = registration.getAttributes(PathAddress.EMPTY_ADDRESS);
@@ -638,69 +667,4 @@ public class ModelControllerMBeanHelper {
     TypeConverters getConverters() {
         return converters;
     }
-
-    private abstract class ObjectNameMatchResourceAction<T> implements ResourceAction<T> {
-
-        private final ObjectName baseName;
-        private final Map<String, String> properties;
-        private final ObjectName domainOnlyName;
-        private final boolean propertyListPattern;
-        private final ObjectNameAddressUtil.ObjectNameCreationContext creationContext = ObjectNameAddressUtil.ObjectNameCreationContext.create();
-
-        ObjectNameMatchResourceAction(ObjectName baseName) {
-            this.baseName = baseName;
-            this.properties = baseName == null ? Collections.<String, String>emptyMap() : baseName.getKeyPropertyList();
-            try {
-                this.domainOnlyName = baseName == null ? null : ObjectName.getInstance(baseName.getDomain() + ":*");
-            } catch (MalformedObjectNameException e) {
-                throw new IllegalStateException(e);
-            }
-            this.propertyListPattern = baseName != null && baseName.isPropertyListPattern();
-        }
-
-        @Override
-        public ObjectName onAddress(PathAddress address) {
-            if (isExcludeAddress(address)) {
-                return null;
-            }
-
-            ObjectName result = null;
-            ObjectName toMatch = ObjectNameAddressUtil.createObjectName(domain, address, creationContext);
-            if (baseName == null) {
-                result = toMatch;
-            } else if (address.size() == 0) {
-                // We can't compare the ObjectName properties a la the final 'else' block,
-                // because the special management=server property will not match
-                // Just confirm correct domain
-                if (domainOnlyName.apply(toMatch)) {
-                    result = toMatch;
-                }
-            } else if (!propertyListPattern && address.size() >= properties.size()) {
-                // We have same or more elements than our target has properties; let it do the match
-                if (baseName.apply(toMatch)) {
-                    result = toMatch;
-                }
-            } else {
-                // Address may be a parent of an interesting address, so see if it matches all elements it has
-                boolean matches = domainOnlyName.apply(toMatch);
-                if (matches) {
-                    for (Map.Entry<String, String> entry : toMatch.getKeyPropertyList().entrySet()) {
-
-                        String propertyValue = properties.get(entry.getKey());
-                        if ((propertyValue == null && !propertyListPattern)
-                                || (propertyValue != null
-                                        && !entry.getValue().equals(propertyValue))
-                                        && !baseName.isPropertyValuePattern(entry.getKey())) {
-                            matches = false;
-                            break;
-                        }
-                    }
-                }
-                if (matches) {
-                    result = toMatch;
-                }
-            }
-            return result;
-        }
-    }
 }
@@ -291,6 +291,24 @@ class ObjectNameAddressUtil {
         return null;
     }
 
+    /**
+     * Escapes a {@link PathElement} key the way {@link #createObjectName(String, PathAddress, ObjectNameCreationContext)} does.
+     */
+    static String escapeKey(String key, ObjectNameCreationContext context) {
+        final StringBuilder sb = new StringBuilder();
+        escapeKey(ESCAPED_KEY_CHARACTERS, sb, key, context);
+        return sb.toString();
+    }
+
+    /**
+     * Escapes a {@link PathElement} value the way {@link #createObjectName(String, PathAddress, ObjectNameCreationContext)} does.
+     */
+    static String escapeValue(String value, ObjectNameCreationContext context) {
+        final StringBuilder sb = new StringBuilder();
+        escapeValue(sb, value, context);
+        return sb.toString();
+    }
+
     private static void escapeKey(EscapedCharacter[] escapedCharacters, StringBuilder sb, String value, ObjectNameCreationContext context) {
         String escaped = context == null ? null : context.getCachedKey(value);
         if (escaped == null) {
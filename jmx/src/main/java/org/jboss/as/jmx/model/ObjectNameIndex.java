@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.jmx.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+
+/**
+ * Index of the {@link ObjectName}s of the resources in the management model, used to answer pattern queries
+ * without converting each address to an {@code ObjectName} again.
+ * <p>
+ * The index is a trie with one node per resource, where the children of a node are keyed by the (escaped) key property
+ * and value they add to the parent's {@code ObjectName}. A query for a pattern with concrete key property values can
+ * then go straight to the matching child instead of looking at all of them.
+ * <p>
+ * Resources are not compared by identity to decide what has changed. Committing a change to the management model
+ * publishes a deep copy of the resource tree, and runtime, proxy and other resources compute their children when asked,
+ * so the same instance may have different children. Instead, each node a query visits has its children refreshed from
+ * the resource it was reached through. Children seen before keep their node and name, so only new children are escaped
+ * and converted to an {@code ObjectName}, and nodes of removed children are dropped. Nodes a query does not visit are
+ * refreshed by the next query that does.
+ */
+final class ObjectNameIndex {
+
+    private final String domain;
+    private final Predicate<PathAddress> excluded;
+    private final Node root;
+
+    /**
+     * @param domain the JMX domain of the indexed names
+     * @param excluded addresses of resources that, with their children, should not be indexed
+     */
+    ObjectNameIndex(final String domain, final Predicate<PathAddress> excluded) {
+        this.domain = domain;
+        this.excluded = excluded;
+        this.root = new Node(PathAddress.EMPTY_ADDRESS, null, ObjectNameAddressUtil.createObjectName(domain, PathAddress.EMPTY_ADDRESS));
+    }
+
+    /**
+     * Finds the names of the indexed resources that match a pattern, skipping resources whose children cannot match.
+     *
+     * @param rootResource the root resource of the management model
+     * @param pattern the pattern to match, or {@code null} to match all names
+     * @param accessible check whether a resource is accessible to the caller. Neither an inaccessible resource nor
+     *                   its children are included in the result
+     * @return the matching names
+     */
+    Set<ObjectName> queryNames(final Resource rootResource, final ObjectName pattern, final Predicate<PathAddress> accessible) {
+        final Set<ObjectName> result = new HashSet<>();
+        visit(root, rootResource, new Matcher(pattern), accessible, result, ObjectNameAddressUtil.ObjectNameCreationContext.create());
+        return result;
+    }
+
+    private void visit(final Node node, final Resource resource, final Matcher matcher, final Predicate<PathAddress> accessible,
+                       final Set<ObjectName> result, final ObjectNameAddressUtil.ObjectNameCreationContext creationContext) {
+        if (!matcher.matches(node) || !accessible.test(node.address)) {
+            return;
+        }
+        if (matcher.baseName == null || matcher.baseName.apply(node.objectName)) {
+            result.add(node.objectName);
+        }
+        for (Map.Entry<String, Map<String, Node>> entry : refresh(node, resource, creationContext).entrySet()) {
+            for (Node child : matcher.candidates(entry.getKey(), entry.getValue())) {
+                final Resource childResource = resource.getChild(child.address.getLastElement());
+                // removed since we got the names
+                if (childResource != null) {
+                    visit(child, childResource, matcher, accessible, result, creationContext);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates the children of a node to those of its resource.
+     *
+     * @return the updated children
+     */
+    private Map<String, Map<String, Node>> refresh(final Node node, final Resource resource,
+                                                   final ObjectNameAddressUtil.ObjectNameCreationContext creationContext) {
+        final Map<String, Map<String, Node>> current = node.children;
+        final Map<String, Map<String, Node>> children = new LinkedHashMap<>();
+        for (String type : resource.getChildTypes()) {
+            final Set<String> names = resource.getChildrenNames(type);
+            if (names.isEmpty()) {
+                continue;
+            }
+            final String key = ObjectNameAddressUtil.escapeKey(type, creationContext);
+            final Map<String, Node> currentByName = new HashMap<>();
+            final Map<String, Node> currentOfType = current.get(key);
+            if (currentOfType != null) {
+                for (Node child : currentOfType.values()) {
+                    currentByName.put(child.address.getLastElement().getValue(), child);
+                }
+            }
+            final Map<String, Node> ofType = new LinkedHashMap<>();
+            for (String name : names) {
+                Node child = currentByName.get(name);
+                if (child == null) {
+                    final PathAddress childAddress = node.address.append(PathElement.pathElement(type, name));
+                    if (excluded.test(childAddress)) {
+                        // not visible in this domain
+                        continue;
+                    }
+                    child = new Node(childAddress, ObjectNameAddressUtil.escapeValue(name, creationContext),
+                            ObjectNameAddressUtil.createObjectName(domain, childAddress, creationContext));
+                }
+                ofType.put(child.value, child);
+            }
+            if (!ofType.isEmpty()) {
+                children.put(key, ofType);
+            }
+        }
+        // Concurrent queries may each replace the children, which is fine as either result is current for its query
+        node.children = children;
+        return children;
+    }
+
+    private static final class Node {
+        private final PathAddress address;
+        // The escaped value of the last element of the address
+        private final String value;
+        private final ObjectName objectName;
+        private volatile Map<String, Map<String, Node>> children = Collections.emptyMap();
+
+        private Node(final PathAddress address, final String value, final ObjectName objectName) {
+            this.address = address;
+            this.value = value;
+            this.objectName = objectName;
+        }
+    }
+
+    /**
+     * Decides which nodes to visit for a pattern. Nodes are selected the same way
+     * {@link ModelControllerMBeanHelper} does when walking the resource tree.
+     */
+    private static final class Matcher {
+        private final ObjectName baseName;
+        private final Map<String, String> properties;
+        private final ObjectName domainOnlyName;
+        private final boolean propertyListPattern;
+
+        private Matcher(final ObjectName baseName) {
+            this.baseName = baseName;
+            this.properties = baseName == null ? Collections.<String, String>emptyMap() : baseName.getKeyPropertyList();
+            try {
+                this.domainOnlyName = baseName == null ? null : ObjectName.getInstance(baseName.getDomain() + ":*");
+            } catch (MalformedObjectNameException e) {
+                throw new IllegalStateException(e);
+            }
+            this.propertyListPattern = baseName != null && baseName.isPropertyListPattern();
+        }
+
+        /**
+         * Gets the children for a key property that could match, which is only one of them if the pattern has
+         * a concrete value for the key.
+         */
+        private Iterable<Node> candidates(final String key, final Map<String, Node> children) {
+            if (baseName == null) {
+                return children.values();
+            }
+            final String value = properties.get(key);
+            if (value == null) {
+                return propertyListPattern ? children.values() : Collections.<Node>emptySet();
+            }
+            if (baseName.isPropertyValuePattern(key)) {
+                return children.values();
+            }
+            final Node child = children.get(value);
+            return child == null ? Collections.<Node>emptySet() : Collections.singleton(child);
+        }
+
+        private boolean matches(final Node node) {
+            final ObjectName toMatch = node.objectName;
+            if (baseName == null) {
+                return true;
+            } else if (node.address.size() == 0) {
+                // We can't compare the ObjectName properties a la the final 'else' block,
+                // because the special management=server property will not match
+                // Just confirm correct domain
+                return domainOnlyName.apply(toMatch);
+            } else if (!propertyListPattern && node.address.size() >= properties.size()) {
+                // We have same or more elements than our target has properties; let it do the match
+                return baseName.apply(toMatch);
+            } else {
+                // Address may be a parent of an interesting address, so see if it matches all elements it has
+                if (!domainOnlyName.apply(toMatch)) {
+                    return false;
+                }
+                for (Map.Entry<String, String> entry : toMatch.getKeyPropertyList().entrySet()) {
+                    String propertyValue = properties.get(entry.getKey());
+                    if ((propertyValue == null && !propertyListPattern)
+                            || (propertyValue != null
+                                    && !entry.getValue().equals(propertyValue))
+                                    && !baseName.isPropertyValuePattern(entry.getKey())) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+}
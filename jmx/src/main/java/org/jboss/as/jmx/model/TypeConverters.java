@@ -28,9 +28,14 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.VAL
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.regex.Pattern;
 
 import javax.management.openmbean.ArrayType;
@@ -83,6 +88,10 @@ class TypeConverters {
     private static final SimpleTypeConverter UNDEFINED_NO_EXPR = new SimpleTypeConverter(UndefinedValueAccessor.INSTANCE, false);
     private static final SimpleTypeConverter UNDEFINED_EXPR = new SimpleTypeConverter(UndefinedValueAccessor.INSTANCE, true);
 
+    private static final Set<ModelType> COMPLEX_TYPES = Collections.unmodifiableSet(EnumSet.of(ModelType.LIST, ModelType.OBJECT, ModelType.PROPERTY));
+
+    // Converters for complex attributes, which build their OpenType from the whole type description
+    private final Map<AttributeDefinition, CachedConverter> complexConverters = Collections.synchronizedMap(new WeakHashMap<>());
     private final boolean expressions;
     //Older versions simply used a DMR string for PROPERTY types
     private final boolean legacyWithProperPropertyFormat;
@@ -101,7 +110,7 @@ class TypeConverters {
     }
 
     OpenType<?> convertToMBeanType(AttributeDefinition attributeDefinition, final ModelNode description) {
-        return getConverter(attributeDefinition, description).getOpenType();
+        return getCachedConverter(attributeDefinition, description).getOpenType();
     }
 
     ModelNode toModelNode(AttributeDefinition attributeDefinition, final ModelNode description, final Object value) {
@@ -109,14 +118,32 @@ class TypeConverters {
         if (value == null) {
             return node;
         }
-        return getConverter(attributeDefinition, description).toModelNode(value);
+        return getCachedConverter(attributeDefinition, description).toModelNode(value);
     }
 
     Object fromModelNode(AttributeDefinition attributeDefinition, final ModelNode description, final ModelNode value) {
         if (value == null || !value.isDefined()) {
             return null;
         }
-        return getConverter(attributeDefinition, description).fromModelNode(value);
+        return getCachedConverter(attributeDefinition, description).fromModelNode(value);
+    }
+
+    /**
+     * Gets the converter for the top level type of an attribute or parameter, reusing the one created by an earlier
+     * call for the same complex attribute definition as long as the description still has the same type.
+     */
+    private TypeConverter getCachedConverter(AttributeDefinition attributeDefinition, ModelNode description) {
+        if (attributeDefinition == null || !COMPLEX_TYPES.contains(attributeDefinition.getType())) {
+            return getConverter(attributeDefinition, description);
+        }
+        ModelNode typeNode = description.hasDefined(TYPE) ? description.get(TYPE) : null;
+        ModelNode valueTypeNode = description.hasDefined(VALUE_TYPE) ? description.get(VALUE_TYPE) : null;
+        CachedConverter cached = complexConverters.get(attributeDefinition);
+        if (cached == null || !cached.matches(typeNode, valueTypeNode)) {
+            cached = new CachedConverter(typeNode, valueTypeNode, getConverter(isObjectMap(attributeDefinition), typeNode, valueTypeNode));
+            complexConverters.put(attributeDefinition, cached);
+        }
+        return cached.converter;
     }
 
     private ModelType getType(ModelNode typeNode) {
@@ -133,13 +160,27 @@ class TypeConverters {
     // TODO WFCORE-3551 stop using the full attribute description for this, particularly
     // for non-OBJECT/LIST/PROPERTY where all we need is the ModelType
     TypeConverter getConverter(AttributeDefinition attributeDefinition, ModelNode description) {
+        return getConverter(isObjectMap(attributeDefinition), description);
+    }
+
+    TypeConverter getConverter(AttributeDefinition attributeDefinition, ModelType modelType, ModelNode valueTypeNode) {
+        return getConverter(isObjectMap(attributeDefinition), modelType, valueTypeNode);
+    }
+
+    // Converters only keep whether the attribute is an object map, as cached converters must not keep their
+    // attribute definition from being garbage collected
+    private static boolean isObjectMap(AttributeDefinition attributeDefinition) {
+        return attributeDefinition instanceof ObjectMapAttributeDefinition;
+    }
+
+    private TypeConverter getConverter(boolean objectMap, ModelNode description) {
         return getConverter(
-                attributeDefinition,
+                objectMap,
                 description.hasDefined(TYPE) ? description.get(TYPE) : null,
                 description.hasDefined(VALUE_TYPE) ? description.get(VALUE_TYPE) : null);
     }
 
-    TypeConverter getConverter(AttributeDefinition attributeDefinition, ModelType modelType, ModelNode valueTypeNode) {
+    private TypeConverter getConverter(boolean objectMap, ModelType modelType, ModelNode valueTypeNode) {
         switch (modelType) {
             case BIG_DECIMAL:
                 return expressions ? BIG_DECIMAL_EXPR : BIG_DECIMAL_NO_EXPR;
@@ -157,7 +198,7 @@ class TypeConverters {
             case PROPERTY:
                 //For the legacy setup properties are converted to a dmr string
                 //For the expr setup or legacy with legacyWithProperPropertyFormat=true we use a composite type
-                return expressions || legacyWithProperPropertyFormat ? new PropertyTypeConverter(attributeDefinition, valueTypeNode) : PROPERTY_NO_EXPR;
+                return expressions || legacyWithProperPropertyFormat ? new PropertyTypeConverter(objectMap, valueTypeNode) : PROPERTY_NO_EXPR;
             case INT:
                 return expressions ? INT_EXPR : INT_NO_EXPR;
             case LONG:
@@ -167,20 +208,36 @@ class TypeConverters {
             case UNDEFINED:
                 return expressions ? UNDEFINED_EXPR : UNDEFINED_NO_EXPR;
             case OBJECT:
-                return new ObjectTypeConverter(attributeDefinition, valueTypeNode);
+                return new ObjectTypeConverter(objectMap, valueTypeNode);
             case LIST:
-                return new ListTypeConverter(attributeDefinition, valueTypeNode);
+                return new ListTypeConverter(objectMap, valueTypeNode);
             default:
                 throw JmxLogger.ROOT_LOGGER.unknownType(modelType);
         }
     }
 
-    private TypeConverter getConverter(AttributeDefinition attributeDefinition, ModelNode typeNode, ModelNode valueTypeNode) {
+    private TypeConverter getConverter(boolean objectMap, ModelNode typeNode, ModelNode valueTypeNode) {
         ModelType modelType = getType(typeNode);
         if (modelType == null) {
-            return new ComplexTypeConverter(attributeDefinition, typeNode);
+            return new ComplexTypeConverter(objectMap, typeNode);
+        }
+        return getConverter(objectMap, modelType, valueTypeNode);
+    }
+
+    private static final class CachedConverter {
+        private final ModelNode typeNode;
+        private final ModelNode valueTypeNode;
+        private final TypeConverter converter;
+
+        private CachedConverter(ModelNode typeNode, ModelNode valueTypeNode, TypeConverter converter) {
+            this.typeNode = typeNode == null ? null : typeNode.clone();
+            this.valueTypeNode = valueTypeNode == null ? null : valueTypeNode.clone();
+            this.converter = converter;
+        }
+
+        private boolean matches(ModelNode typeNode, ModelNode valueTypeNode) {
+            return Objects.equals(this.typeNode, typeNode) && Objects.equals(this.valueTypeNode, valueTypeNode);
         }
-        return getConverter(attributeDefinition, modelType, valueTypeNode);
     }
 
     private static ModelNode nullNodeAsUndefined(ModelNode node) {
@@ -286,27 +343,30 @@ class TypeConverters {
 
     private class ObjectTypeConverter implements TypeConverter {
 
-        private final AttributeDefinition attributeDefinition;
         final ModelNode valueTypeNode;
         final ModelType valueType;
         final boolean mapOfMaps;
-        OpenType<?> openType;
+        private volatile OpenType<?> openType;
 
-        ObjectTypeConverter(AttributeDefinition attributeDefinition, ModelNode valueTypeNode) {
-            this.attributeDefinition = attributeDefinition;
+        ObjectTypeConverter(boolean objectMap, ModelNode valueTypeNode) {
             this.valueTypeNode = nullNodeAsUndefined(valueTypeNode);
             ModelType valueType = getType(valueTypeNode);
             this.valueType = valueType == ModelType.UNDEFINED ? null : valueType;
-            mapOfMaps = attributeDefinition instanceof ObjectMapAttributeDefinition;
+            mapOfMaps = objectMap;
         }
 
         @Override
         public OpenType<?>  getOpenType() {
-            if (openType != null) {
-                return openType;
+            OpenType<?> openType = this.openType;
+            if (openType == null) {
+                openType = createOpenType();
+                this.openType = openType;
             }
+            return openType;
+        }
 
-            openType = getConverter(attributeDefinition, valueTypeNode, null).getOpenType();
+        private OpenType<?> createOpenType() {
+            OpenType<?> openType = getConverter(mapOfMaps, valueTypeNode, null).getOpenType();
             if ((valueType == null && !mapOfMaps) && (openType instanceof CompositeType || !valueTypeNode.isDefined())) {
                 //For complex value types that are not maps of maps just return the composite type
                 return openType;
@@ -350,7 +410,7 @@ class TypeConverters {
                 if (mapOfMaps) {
                     return fromMapOfMapsModelNode(node);
                 } else {
-                    TypeConverter converter = getConverter(attributeDefinition, valueTypeNode, null);
+                    TypeConverter converter = getConverter(mapOfMaps, valueTypeNode, null);
                     return converter.fromModelNode(node);
                 }
             }
@@ -367,7 +427,7 @@ class TypeConverters {
                 }
             }
 
-            final TypeConverter converter = getConverter(attributeDefinition, valueTypeNode, null);
+            final TypeConverter converter = getConverter(mapOfMaps, valueTypeNode, null);
             for (Map.Entry<String, ModelNode> prop : values.entrySet()) {
                 Map<String, Object> rowData = new HashMap<String, Object>();
                 rowData.put("key", prop.getKey());
@@ -392,7 +452,7 @@ class TypeConverters {
                 }
             }
 
-            final TypeConverter converter = getConverter(attributeDefinition, valueTypeNode, null);
+            final TypeConverter converter = getConverter(mapOfMaps, valueTypeNode, null);
             for (Map.Entry<String, ModelNode> prop : values.entrySet()) {
                 String key = prop.getKey();
                 ModelNode value = prop.getValue();
@@ -417,7 +477,7 @@ class TypeConverters {
             if (o == null) {
                 return new ModelNode();
             }
-            final TypeConverter converter = getConverter(attributeDefinition, valueTypeNode, null);
+            final TypeConverter converter = getConverter(mapOfMaps, valueTypeNode, null);
             if (valueType == null) {
                 //complex
                 if (mapOfMaps) {
@@ -503,18 +563,25 @@ class TypeConverters {
     }
 
     private class ListTypeConverter implements TypeConverter {
-        private final AttributeDefinition attributeDefinition;
+        private final boolean objectMap;
         final ModelNode valueTypeNode;
+        private volatile OpenType<?> openType;
 
-        ListTypeConverter(AttributeDefinition attributeDefinition, ModelNode valueTypeNode) {
-            this.attributeDefinition = attributeDefinition;
+        ListTypeConverter(boolean objectMap, ModelNode valueTypeNode) {
+            this.objectMap = objectMap;
             this.valueTypeNode = nullNodeAsUndefined(valueTypeNode);
         }
 
         @Override
         public OpenType<?> getOpenType() {
+            OpenType<?> openType = this.openType;
+            if (openType != null) {
+                return openType;
+            }
             try {
-                return ArrayType.getArrayType(getConverter(attributeDefinition, valueTypeNode, null).getOpenType());
+                openType = ArrayType.getArrayType(getConverter(objectMap, valueTypeNode, null).getOpenType());
+                this.openType = openType;
+                return openType;
             } catch (OpenDataException e) {
                 throw new RuntimeException(e);
             }
@@ -526,7 +593,7 @@ class TypeConverters {
                 return null;
             }
             final List<Object> list = new ArrayList<Object>();
-            final TypeConverter converter = getConverter(attributeDefinition, valueTypeNode, null);
+            final TypeConverter converter = getConverter(objectMap, valueTypeNode, null);
             for (ModelNode element : node.asList()) {
                 list.add(converter.fromModelNode(element));
             }
@@ -539,7 +606,7 @@ class TypeConverters {
                 return new ModelNode();
             }
             ModelNode node = new ModelNode();
-            final TypeConverter converter = getConverter(attributeDefinition, valueTypeNode, null);
+            final TypeConverter converter = getConverter(objectMap, valueTypeNode, null);
             for (Object value : (Object[])o) {
                 node.add(converter.toModelNode(value));
             }
@@ -553,16 +620,26 @@ class TypeConverters {
     }
 
     private class ComplexTypeConverter implements TypeConverter {
-        private final AttributeDefinition attributeDefinition;
+        private final boolean objectMap;
         final ModelNode typeNode;
+        private volatile OpenType<?> openType;
 
-        ComplexTypeConverter(AttributeDefinition attributeDefinition, final ModelNode typeNode) {
-            this.attributeDefinition = attributeDefinition;
+        ComplexTypeConverter(boolean objectMap, final ModelNode typeNode) {
+            this.objectMap = objectMap;
             this.typeNode = nullNodeAsUndefined(typeNode);
         }
 
         @Override
         public OpenType<?> getOpenType() {
+            OpenType<?> openType = this.openType;
+            if (openType == null) {
+                openType = createOpenType();
+                this.openType = openType;
+            }
+            return openType;
+        }
+
+        private OpenType<?> createOpenType() {
             List<String> itemNames = new ArrayList<String>();
             List<String> itemDescriptions = new ArrayList<String>();
             List<OpenType<?>> itemTypes = new ArrayList<OpenType<?>>();
@@ -587,7 +664,7 @@ class TypeConverters {
                 }
 
                 itemDescriptions.add(getDescription(current));
-                itemTypes.add(getConverter(attributeDefinition, current).getOpenType());
+                itemTypes.add(getConverter(objectMap, current).getOpenType());
             }
             try {
                 return new CompositeType(JmxLogger.ROOT_LOGGER.complexCompositeEntryTypeName(),
@@ -623,7 +700,7 @@ class TypeConverters {
                 //Create a composite
                 final Map<String, Object> items = new HashMap<String, Object>();
                 for (String attrName : compositeType.keySet()) {
-                    TypeConverter converter = getConverter(attributeDefinition, typeNode.get(attrName, TYPE), typeNode.get(attrName, VALUE_TYPE));
+                    TypeConverter converter = getConverter(objectMap, typeNode.get(attrName, TYPE), typeNode.get(attrName, VALUE_TYPE));
                     items.put(attrName, converter.fromModelNode(node.get(attrName)));
                 }
 
@@ -649,7 +726,7 @@ class TypeConverters {
                     if (!typeNode.hasDefined(key)){
                         throw JmxLogger.ROOT_LOGGER.unknownValue(key);
                     }
-                    TypeConverter converter = getConverter(attributeDefinition, typeNode.get(key, TYPE), typeNode.get(key, VALUE_TYPE));
+                    TypeConverter converter = getConverter(objectMap, typeNode.get(key, TYPE), typeNode.get(key, VALUE_TYPE));
                     node.get(key).set(converter.toModelNode(composite.get(key)));
                 }
                 return node;
@@ -665,23 +742,30 @@ class TypeConverters {
     }
 
     private class PropertyTypeConverter implements TypeConverter {
-        private final AttributeDefinition attributeDefinition;
+        private final boolean objectMap;
         final ModelNode typeNode;
+        private volatile CompositeType openType;
 
-        public PropertyTypeConverter(AttributeDefinition attributeDefinition, ModelNode typeNode) {
-            this.attributeDefinition = attributeDefinition;
+        public PropertyTypeConverter(boolean objectMap, ModelNode typeNode) {
+            this.objectMap = objectMap;
             this.typeNode = typeNode;
         }
 
         @Override
         public CompositeType getOpenType() {
+            CompositeType openType = this.openType;
+            if (openType != null) {
+                return openType;
+            }
             try {
-                return new CompositeType(
+                openType = new CompositeType(
                         "property",
                         JmxLogger.ROOT_LOGGER.propertyCompositeType(),
                         new String[] {"name", "value"},
                         new String[] { JmxLogger.ROOT_LOGGER.propertyName(), JmxLogger.ROOT_LOGGER.propertyValue()},
                         new OpenType[] {SimpleType.STRING, getConverter().getOpenType()});
+                this.openType = openType;
+                return openType;
             } catch (OpenDataException e) {
                 throw new RuntimeException(e);
             }
@@ -719,7 +803,7 @@ class TypeConverters {
             if (typeNode == null) {
                 return expressions ? STRING_EXPR : STRING_NO_EXPR;
             }
-            return TypeConverters.this.getConverter(attributeDefinition, typeNode, null);
+            return TypeConverters.this.getConverter(objectMap, typeNode, null);
         }
     }
 
@@ -847,6 +847,22 @@ public class ModelControllerMBeanTestCase extends AbstractSubsystemTest {
                 Collections.singletonList(109), 110, ModelType.STRING);
     }
 
+    @Test
+    public void testReadAliasAttributeList() throws Exception {
+        MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(ProcessType.STANDALONE_SERVER, new TestExtension()));
+
+        // show-model is an alias attribute, which must be read along with the others
+        String[] attrNames = new String[]{"showModel", "nonCoreMbeanSensitivity"};
+        AttributeList list = connection.getAttributes(LEGACY_SUBSYSTEM_NAME, attrNames);
+        Assert.assertEquals(attrNames.length, list.size());
+        for (int i = 0; i < attrNames.length; i++) {
+            Attribute attribute = (Attribute) list.get(i);
+            Assert.assertEquals(attrNames[i], attribute.getName());
+            Assert.assertEquals(connection.getAttribute(LEGACY_SUBSYSTEM_NAME, attrNames[i]), attribute.getValue());
+        }
+        Assert.assertEquals(Boolean.TRUE, ((Attribute) list.get(0)).getValue());
+    }
+
     @Test
     public void testReadWriteAttributeListDomain() throws Exception {
         MBeanServerConnection connection = setupAndGetConnection(new MBeanInfoAdditionalInitialization(ProcessType.DOMAIN_SERVER, new TestExtension()));
@@ -0,0 +1,130 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.PathElement.pathElement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.ObjectName;
+import javax.management.openmbean.OpenMBeanAttributeInfo;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.ProcessType;
+import org.jboss.as.controller.ResourceBuilder;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.descriptions.NonResolvingResourceDescriptionResolver;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of the {@link MBeanInfoFactory.Cache}.
+ */
+public class MBeanInfoFactoryTestCase {
+
+    private static final String DOMAIN = "jboss.as";
+    private static final PathElement SUBSYSTEM = pathElement("subsystem", "test");
+    private static final AttributeDefinition ONE = SimpleAttributeDefinitionBuilder.create("one", ModelType.STRING, true).build();
+    private static final AttributeDefinition TWO = SimpleAttributeDefinitionBuilder.create("two", ModelType.INT, true).build();
+
+    private final TypeConverters converters = TypeConverters.createLegacyTypeConverters(true);
+    private final ConfiguredDomains configuredDomains = new ConfiguredDomains(DOMAIN, null);
+    private final ObjectName name = ObjectNameAddressUtil.createObjectName(DOMAIN, PathAddress.pathAddress(SUBSYSTEM));
+    private ManagementResourceRegistration registration;
+
+    @Before
+    public void setUp() {
+        ManagementResourceRegistration root = ManagementResourceRegistration.Factory.forProcessType(ProcessType.EMBEDDED_SERVER)
+                .createRegistration(ResourceBuilder.Factory.create(PathElement.pathElement("test"), NonResolvingResourceDescriptionResolver.INSTANCE).build());
+        registration = root.registerSubModel(new SimpleResourceDefinition(SUBSYSTEM, NonResolvingResourceDescriptionResolver.INSTANCE));
+        registration.registerReadWriteAttribute(ONE, null, new ModelOnlyWriteAttributeHandler(ONE));
+    }
+
+    @Test
+    public void testTemplateReused() throws Exception {
+        MBeanInfoFactory.Cache cache = new MBeanInfoFactory.Cache();
+        Resource rootResource = Resource.Factory.create();
+        MBeanInfo first = createMBeanInfo(MutabilityChecker.create(ProcessType.STANDALONE_SERVER, false), rootResource, cache);
+        MBeanInfo second = createMBeanInfo(MutabilityChecker.create(ProcessType.STANDALONE_SERVER, false), rootResource, cache);
+        Assert.assertEquals(attributes(first).keySet(), attributes(second).keySet());
+        // The open types come from the cached template rather than being converted again
+        Assert.assertSame(((OpenMBeanAttributeInfo) attributes(first).get("one")).getOpenType(),
+                ((OpenMBeanAttributeInfo) attributes(second).get("one")).getOpenType());
+    }
+
+    @Test
+    public void testRegistrationChange() throws Exception {
+        MBeanInfoFactory.Cache cache = new MBeanInfoFactory.Cache();
+        MutabilityChecker mutabilityChecker = MutabilityChecker.create(ProcessType.STANDALONE_SERVER, false);
+        Resource rootResource = Resource.Factory.create();
+        Map<String, MBeanAttributeInfo> attributes = attributes(createMBeanInfo(mutabilityChecker, rootResource, cache));
+        Assert.assertEquals(1, attributes.size());
+        Assert.assertTrue(attributes.get("one").isWritable());
+
+        // Changing a registration goes with publishing a new copy of the model
+        registration.registerReadOnlyAttribute(TWO, null);
+        rootResource = rootResource.clone();
+        attributes = attributes(createMBeanInfo(mutabilityChecker, rootResource, cache));
+        Assert.assertEquals(2, attributes.size());
+        Assert.assertTrue(attributes.get("one").isWritable());
+        Assert.assertFalse(attributes.get("two").isWritable());
+
+        registration.unregisterAttribute(ONE.getName());
+        rootResource = rootResource.clone();
+        attributes = attributes(createMBeanInfo(mutabilityChecker, rootResource, cache));
+        Assert.assertEquals(1, attributes.size());
+        Assert.assertTrue(attributes.containsKey("two"));
+    }
+
+    @Test
+    public void testMutabilityChange() throws Exception {
+        MBeanInfoFactory.Cache cache = new MBeanInfoFactory.Cache();
+        Resource rootResource = Resource.Factory.create();
+        Map<String, MBeanAttributeInfo> attributes = attributes(createMBeanInfo(MutabilityChecker.create(ProcessType.STANDALONE_SERVER, false), rootResource, cache));
+        Assert.assertTrue(attributes.get("one").isWritable());
+
+        rootResource = rootResource.clone();
+        attributes = attributes(createMBeanInfo(MutabilityChecker.create(ProcessType.HOST_CONTROLLER, false), rootResource, cache));
+        Assert.assertFalse(attributes.get("one").isWritable());
+    }
+
+    private MBeanInfo createMBeanInfo(MutabilityChecker mutabilityChecker, Resource rootResource, MBeanInfoFactory.Cache cache) throws Exception {
+        return MBeanInfoFactory.createMBeanInfo(name, converters, configuredDomains, mutabilityChecker, PathAddress.pathAddress(SUBSYSTEM),
+                registration, rootResource, cache);
+    }
+
+    private static Map<String, MBeanAttributeInfo> attributes(MBeanInfo info) {
+        Map<String, MBeanAttributeInfo> attributes = new HashMap<>();
+        for (MBeanAttributeInfo attribute : info.getAttributes()) {
+            attributes.put(attribute.getName(), attribute);
+        }
+        return attributes;
+    }
+}
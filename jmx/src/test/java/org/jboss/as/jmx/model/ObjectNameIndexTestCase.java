@@ -0,0 +1,158 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.jmx.model;
+
+import static org.jboss.as.controller.PathElement.pathElement;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.registry.Resource;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link ObjectNameIndex}.
+ */
+public class ObjectNameIndexTestCase {
+
+    private static final String DOMAIN = "jboss.as";
+    private static final PathElement SUBSYSTEM_A = pathElement("subsystem", "a");
+    private static final PathElement SUBSYSTEM_B = pathElement("subsystem", "b");
+    private static final PathElement CHILD_ONE = pathElement("child", "one");
+    private static final PathElement CHILD_TWO = pathElement("child", "two");
+    private static final PathElement EXCLUDED = pathElement("core-service", "excluded");
+    private static final PathElement RUNTIME = pathElement("runtime", "r");
+
+    @Test
+    public void testQueryAll() throws Exception {
+        Resource root = createModel();
+        ObjectNameIndex index = createIndex();
+
+        Set<ObjectName> names = index.queryNames(root, null, address -> true);
+        assertNames(names, PathAddress.EMPTY_ADDRESS,
+                PathAddress.pathAddress(SUBSYSTEM_A),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_ONE),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_TWO),
+                PathAddress.pathAddress(SUBSYSTEM_B));
+    }
+
+    @Test
+    public void testQueryPattern() throws Exception {
+        Resource root = createModel();
+        ObjectNameIndex index = createIndex();
+
+        assertNames(index.queryNames(root, ObjectName.getInstance(DOMAIN + ":subsystem=a,*"), address -> true),
+                PathAddress.pathAddress(SUBSYSTEM_A),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_ONE),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_TWO));
+        assertNames(index.queryNames(root, ObjectName.getInstance(DOMAIN + ":subsystem=a,child=*"), address -> true),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_ONE),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_TWO));
+        assertNames(index.queryNames(root, ObjectName.getInstance(DOMAIN + ":subsystem=a,child=two"), address -> true),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_TWO));
+        assertNames(index.queryNames(root, ObjectName.getInstance(DOMAIN + ":subsystem=c,*"), address -> true));
+        assertNames(index.queryNames(root, ObjectName.getInstance("other:*"), address -> true));
+    }
+
+    @Test
+    public void testInaccessibleResourcesAreSkipped() throws Exception {
+        Resource root = createModel();
+        ObjectNameIndex index = createIndex();
+
+        Set<ObjectName> names = index.queryNames(root, ObjectName.getInstance(DOMAIN + ":*"),
+                address -> !address.equals(PathAddress.pathAddress(SUBSYSTEM_A)));
+        assertNames(names, PathAddress.EMPTY_ADDRESS, PathAddress.pathAddress(SUBSYSTEM_B));
+    }
+
+    @Test
+    public void testModelChanges() throws Exception {
+        Resource root = createModel();
+        ObjectNameIndex index = createIndex();
+        ObjectName pattern = ObjectName.getInstance(DOMAIN + ":subsystem=b,*");
+        assertNames(index.queryNames(root, pattern, address -> true), PathAddress.pathAddress(SUBSYSTEM_B));
+
+        // A change to the model publishes a new copy of it
+        Resource updated = root.clone();
+        updated.getChild(SUBSYSTEM_B).registerChild(CHILD_ONE, Resource.Factory.create());
+        updated.removeChild(SUBSYSTEM_A);
+        assertNames(index.queryNames(updated, pattern, address -> true),
+                PathAddress.pathAddress(SUBSYSTEM_B),
+                PathAddress.pathAddress(SUBSYSTEM_B, CHILD_ONE));
+        assertNames(index.queryNames(updated, ObjectName.getInstance(DOMAIN + ":subsystem=a,*"), address -> true));
+    }
+
+    @Test
+    public void testRuntimeChildOfUnchangedParent() throws Exception {
+        Resource root = createModel();
+        ObjectNameIndex index = createIndex();
+        ObjectName pattern = ObjectName.getInstance(DOMAIN + ":subsystem=a,*");
+        assertNames(index.queryNames(root, pattern, address -> true),
+                PathAddress.pathAddress(SUBSYSTEM_A),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_ONE),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_TWO));
+
+        // Runtime resources are registered without publishing a new copy of the model
+        Resource runtime = Resource.Factory.create(true);
+        root.getChild(SUBSYSTEM_A).getChild(CHILD_ONE).registerChild(RUNTIME, runtime);
+        assertNames(index.queryNames(root, pattern, address -> true),
+                PathAddress.pathAddress(SUBSYSTEM_A),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_ONE),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_ONE, RUNTIME),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_TWO));
+        assertNames(index.queryNames(root, ObjectName.getInstance(DOMAIN + ":subsystem=a,child=one,runtime=*"), address -> true),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_ONE, RUNTIME));
+
+        root.getChild(SUBSYSTEM_A).getChild(CHILD_ONE).removeChild(RUNTIME);
+        assertNames(index.queryNames(root, pattern, address -> true),
+                PathAddress.pathAddress(SUBSYSTEM_A),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_ONE),
+                PathAddress.pathAddress(SUBSYSTEM_A, CHILD_TWO));
+    }
+
+    private static Resource createModel() {
+        Resource root = Resource.Factory.create();
+        Resource a = Resource.Factory.create();
+        root.registerChild(SUBSYSTEM_A, a);
+        a.registerChild(CHILD_ONE, Resource.Factory.create());
+        a.registerChild(CHILD_TWO, Resource.Factory.create());
+        root.registerChild(SUBSYSTEM_B, Resource.Factory.create());
+        Resource excluded = Resource.Factory.create();
+        excluded.registerChild(CHILD_ONE, Resource.Factory.create());
+        root.registerChild(EXCLUDED, excluded);
+        return root;
+    }
+
+    private static ObjectNameIndex createIndex() {
+        PathAddress excluded = PathAddress.pathAddress(EXCLUDED);
+        return new ObjectNameIndex(DOMAIN, excluded::equals);
+    }
+
+    private static void assertNames(Set<ObjectName> names, PathAddress... addresses) {
+        Set<ObjectName> expected = new HashSet<>();
+        for (PathAddress address : addresses) {
+            expected.add(ObjectNameAddressUtil.createObjectName(DOMAIN, address));
+        }
+        Assert.assertEquals(expected, names);
+    }
+}
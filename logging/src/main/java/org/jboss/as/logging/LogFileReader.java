@@ -0,0 +1,353 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads lines from a log file for the {@code read-log-file} operations.
+ * <p>
+ * Lines are found by scanning the bytes of the file in blocks for line feeds, and only the lines that are returned are
+ * decoded. Reading from the end of the file scans backwards from the end, so the cost does not depend on the size of
+ * the file. Reading from the start of the file with lines to skip uses an index of the offset of every
+ * {@value #INDEX_INTERVAL}th line, which is built as far as needed the first time and kept for later reads. Log files
+ * are only appended to, so the index is kept while the file keeps growing and the last indexed line still ends with a
+ * line feed, and built again when the file is replaced or truncated on rotation.
+ * </p>
+ * <p>
+ * Encodings which do not encode a line feed as a single {@code 0x0A} byte, like UTF-16, fall back to decoding the file
+ * from the start or end with a {@link BufferedReader}.
+ * </p>
+ */
+final class LogFileReader {
+
+    private static final int INDEX_INTERVAL = 1024;
+    private static final int MAX_INDEXED_FILES = 64;
+    private static final int BLOCK_SIZE = 8192;
+    private static final Map<Path, LineIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private LogFileReader() {
+    }
+
+    /**
+     * Reads lines from the file.
+     *
+     * @param file          the file to read
+     * @param encoding      the encoding of the file or {@code null} for the platform default
+     * @param tail          {@code true} to read the lines at the end of the file, {@code false} for the lines at the
+     *                      start
+     * @param skip          the number of lines to skip from the start or end of the file
+     * @param numberOfLines the maximum number of lines to read or {@code -1} to read all lines
+     *
+     * @return the lines in the order they appear in the file
+     *
+     * @throws IOException if the file could not be read or the encoding is not supported
+     */
+    static List<String> readLines(final Path file, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        if (numberOfLines == 0) {
+            return Collections.emptyList();
+        }
+        final Charset charset;
+        try {
+            //system default used on purpose, the file handler does not default to UTF-8 either
+            charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+        if (!Arrays.equals("\r\n".getBytes(charset), new byte[] {'\r', '\n'})) {
+            return decodeLines(file, charset, tail, skip, numberOfLines);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (tail) {
+                return readLastLines(channel, size, charset, skip, numberOfLines);
+            }
+            final long start = findLine(file, channel, size, skip);
+            return start < 0L ? Collections.emptyList() : readRegion(channel, start, size, charset, numberOfLines, false);
+        }
+    }
+
+    private static List<String> readLastLines(final FileChannel channel, final long size, final Charset charset,
+                                              final int skip, final int numberOfLines) throws IOException {
+        if (size == 0L) {
+            return Collections.emptyList();
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        // The line feed at the end of the file ends the last line rather than starting another one
+        long end = size;
+        if (readByte(channel, buffer, size - 1L) == '\n') {
+            end = size - 1L;
+        }
+        // Find the lines to return, which are the lines in the region between regionStart and regionEnd
+        long regionEnd = -1L;
+        long regionStart = 0L;
+        long lineEnd = end;
+        long count = 0L;
+        long position = end;
+        boolean found = false;
+        search:
+        while (position > 0L) {
+            final int length = (int) Math.min(BLOCK_SIZE, position);
+            position -= length;
+            read(channel, buffer, position, length);
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    final long lineStart = position + i + 1L;
+                    count++;
+                    if (count == skip + 1L) {
+                        regionEnd = lineEnd;
+                    }
+                    if (numberOfLines > 0 && count == (long) skip + numberOfLines) {
+                        regionStart = lineStart;
+                        found = true;
+                        break search;
+                    }
+                    lineEnd = lineStart - 1L;
+                }
+            }
+        }
+        if (!found) {
+            // The first line of the file
+            count++;
+            if (count == skip + 1L) {
+                regionEnd = lineEnd;
+            }
+        }
+        if (regionEnd < 0L) {
+            return Collections.emptyList();
+        }
+        return readRegion(channel, regionStart, regionEnd, charset, numberOfLines, true);
+    }
+
+    /**
+     * Finds the offset of the start of a line, using and extending the index of the file.
+     *
+     * @return the offset or {@code -1} if the file has fewer lines
+     */
+    private static long findLine(final Path path, final FileChannel channel, final long size, final int line) throws IOException {
+        if (line == 0) {
+            return 0L;
+        }
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        LineIndex index = INDEXES.get(path);
+        if (index == null) {
+            if (INDEXES.size() >= MAX_INDEXED_FILES) {
+                INDEXES.clear();
+            }
+            index = INDEXES.computeIfAbsent(path, p -> new LineIndex());
+        }
+        synchronized (index) {
+            return index.findLine(channel, attributes, size, line);
+        }
+    }
+
+    /**
+     * Reads and decodes the lines from a region of the file.
+     *
+     * @param endsLine {@code true} if the end of the region is the end of a line, so the bytes after the last line
+     *                 feed form a line even if there are none
+     */
+    private static List<String> readRegion(final FileChannel channel, final long start, final long end, final Charset charset,
+                                           final int numberOfLines, final boolean endsLine) throws IOException {
+        final List<String> lines = numberOfLines < 0 ? new ArrayList<>() : new ArrayList<>(numberOfLines);
+        final ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        byte[] line = new byte[256];
+        int lineLength = 0;
+        long position = start;
+        while (position < end) {
+            final int length = (int) Math.min(BLOCK_SIZE, end - position);
+            read(channel, buffer, position, length);
+            position += length;
+            for (int i = 0; i < length; i++) {
+                final byte b = buffer.get(i);
+                if (b == '\n') {
+                    lines.add(decode(line, lineLength, charset));
+                    if (lines.size() == numberOfLines) {
+                        return lines;
+                    }
+                    lineLength = 0;
+                } else {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, lineLength * 2);
+                    }
+                    line[lineLength++] = b;
+                }
+            }
+        }
+        if (lineLength > 0 || endsLine) {
+            lines.add(decode(line, lineLength, charset));
+        }
+        return lines;
+    }
+
+    private static String decode(final byte[] bytes, final int length, final Charset charset) {
+        // Line feeds are handled like BufferedReader.readLine(), which also ends a line on a carriage return
+        final int end = length > 0 && bytes[length - 1] == '\r' ? length - 1 : length;
+        return new String(bytes, 0, end, charset);
+    }
+
+    private static byte readByte(final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+        read(channel, buffer, position, 1);
+        return buffer.get(0);
+    }
+
+    private static void read(final FileChannel channel, final ByteBuffer buffer, final long position, final int length) throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                // The file was truncated while reading, treat the rest as empty
+                while (buffer.hasRemaining()) {
+                    buffer.put((byte) 0);
+                }
+            }
+        }
+        buffer.flip();
+    }
+
+    private static List<String> decodeLines(final Path file, final Charset charset, final boolean tail, final int skip,
+                                            final int numberOfLines) throws IOException {
+        final List<String> lines = numberOfLines < 0 ? new ArrayList<>() : new ArrayList<>(numberOfLines);
+        try (
+                final InputStream in = (tail ? new LogFileResourceDefinition.LifoFileInputStream(file.toFile()) : Files.newInputStream(file));
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset))
+        ) {
+            int lineCount = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (++lineCount <= skip) continue;
+                if (lines.size() == numberOfLines) break;
+                lines.add(line);
+            }
+            if (tail) {
+                Collections.reverse(lines);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * The offsets of every {@value #INDEX_INTERVAL}th line of the complete lines, the ones ending with a line feed, at
+     * the start of a file.
+     */
+    private static final class LineIndex {
+        private Object fileKey;
+        private long size;
+        private FileTime lastModified;
+        private long[] offsets = new long[16];
+        private int offsetCount = 1;
+        // The number of complete lines indexed and the offset after the last of them
+        private long indexedLines;
+        private long indexedBytes;
+
+        private long findLine(final FileChannel channel, final BasicFileAttributes attributes, final long size, final int line) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+            if (!isValid(channel, buffer, attributes, size)) {
+                fileKey = attributes.fileKey();
+                offsets = new long[16];
+                offsetCount = 1;
+                indexedLines = 0L;
+                indexedBytes = 0L;
+            }
+            this.size = size;
+            lastModified = attributes.lastModifiedTime();
+            if (line > indexedLines) {
+                index(channel, buffer, size, line);
+                if (line > indexedLines) {
+                    return -1L;
+                }
+                if (line == indexedLines) {
+                    return indexedBytes;
+                }
+            }
+            final int checkpoint = line / INDEX_INTERVAL;
+            long position = offsets[checkpoint];
+            int remaining = line - checkpoint * INDEX_INTERVAL;
+            while (remaining > 0) {
+                final int length = (int) Math.min(BLOCK_SIZE, indexedBytes - position);
+                read(channel, buffer, position, length);
+                for (int i = 0; i < length; i++) {
+                    if (buffer.get(i) == '\n' && --remaining == 0) {
+                        return position + i + 1L;
+                    }
+                }
+                position += length;
+            }
+            return position;
+        }
+
+        private boolean isValid(final FileChannel channel, final ByteBuffer buffer, final BasicFileAttributes attributes,
+                                final long size) throws IOException {
+            // A rotated file is either replaced by a new file or truncated, and a truncated file may have grown past
+            // the size it had when it was last read. The file key is not available on every platform, so also check
+            // that the last indexed line still ends where it did.
+            if (lastModified == null || !Objects.equals(fileKey, attributes.fileKey()) || size < this.size) {
+                return false;
+            }
+            if (size == this.size && !lastModified.equals(attributes.lastModifiedTime())) {
+                return false;
+            }
+            return indexedBytes == 0L || readByte(channel, buffer, indexedBytes - 1L) == '\n';
+        }
+
+        private void index(final FileChannel channel, final ByteBuffer buffer, final long size, final int line) throws IOException {
+            long position = indexedBytes;
+            while (indexedLines < line && position < size) {
+                final int length = (int) Math.min(BLOCK_SIZE, size - position);
+                read(channel, buffer, position, length);
+                for (int i = 0; i < length; i++) {
+                    if (buffer.get(i) == '\n') {
+                        indexedLines++;
+                        indexedBytes = position + i + 1L;
+                        if (indexedLines % INDEX_INTERVAL == 0L) {
+                            if (offsetCount == offsets.length) {
+                                offsets = Arrays.copyOf(offsets, offsetCount * 2);
+                            }
+                            offsets[offsetCount++] = indexedBytes;
+                        }
+                        if (indexedLines == line) {
+                            return;
+                        }
+                    }
+                }
+                position += length;
+            }
+        }
+    }
+}
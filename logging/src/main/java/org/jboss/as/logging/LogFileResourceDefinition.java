@@ -24,11 +24,9 @@ package org.jboss.as.logging;
 
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.RandomAccessFile;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
@@ -38,7 +36,6 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -248,7 +245,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
                 if (numberOfLines == 0) {
                     lines = Collections.emptyList();
                 } else {
-                    lines = readLines(path, encoding, tail, skip, numberOfLines);
+                    lines = LogFileReader.readLines(path.toPath(), encoding, tail, skip, numberOfLines);
                 }
                 final ModelNode result = context.getResult().setEmptyList();
                 for (String line : lines) {
@@ -259,37 +256,6 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             }
             context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
         }
-
-        private List<String> readLines(final File file, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
-            final List<String> lines;
-            if (numberOfLines < 0) {
-                lines = new ArrayList<>();
-            } else {
-                lines = new ArrayList<>(numberOfLines);
-            }
-            try (
-                    final InputStream in = (tail ? new LifoFileInputStream(file) : Files.newInputStream(file.toPath()));
-                    /* we should stick with the default here and not use UTF-8.
-                    The encoding on the file handler does not default to UTF-8 but the system default.
-                    I think here we should stick with the system default unless explicitly defined.
-                    I could see a UTF-8 default possibly being problematic on IBM bases systems.
-                     */
-                    final InputStreamReader isr = (encoding == null ? new InputStreamReader(in) : new InputStreamReader(in, encoding));
-                    final BufferedReader reader = new BufferedReader(isr)
-            ) {
-                int lineCount = 0;
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (++lineCount <= skip) continue;
-                    if (lines.size() == numberOfLines) break;
-                    lines.add(line);
-                }
-                if (tail) {
-                    Collections.reverse(lines);
-                }
-                return lines;
-            }
-        }
     }
 
     static final class LifoFileInputStream extends InputStream {
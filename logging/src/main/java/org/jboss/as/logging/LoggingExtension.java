@@ -235,6 +235,7 @@ public class LoggingExtension implements Extension {
         if (context.isRuntimeOnlyRegistrationValid()) {
             final SimpleResourceDefinition deploymentSubsystem = new SimpleResourceDefinition(new Parameters(LoggingResourceDefinition.SUBSYSTEM_PATH, getResourceDescriptionResolver("deployment")).setFeature(false).setRuntime());
             final ManagementResourceRegistration deployments = subsystem.registerDeploymentModel(deploymentSubsystem);
+            LoggingDeploymentResources.registerMetrics(deployments);
             final ManagementResourceRegistration configurationResource = deployments.registerSubModel(LoggingDeploymentResources.CONFIGURATION);
             configurationResource.registerSubModel(LoggingDeploymentResources.HANDLER);
             configurationResource.registerSubModel(LoggingDeploymentResources.LOGGER);
@@ -0,0 +1,234 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging.deployments;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+import org.jboss.as.logging.CommonAttributes;
+import org.jboss.as.logging.logging.LoggingLogger;
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.config.HandlerConfiguration;
+import org.jboss.logmanager.config.LogContextConfiguration;
+import org.jboss.logmanager.config.LoggerConfiguration;
+
+/**
+ * A handler which counts the records, by level, logged through a deployment's log context before passing the records
+ * on to the handlers it replaced.
+ * <p>
+ * A volume handler is {@linkplain #install(LogContextConfiguration, String, int) installed} on each logger of the
+ * deployment's configuration which has handlers, and all of them share the counters of the deployment. A record which
+ * reaches the handlers of more than one logger is only counted once.
+ * </p>
+ * <p>
+ * It can also limit the number of records passed on per second, to keep a single deployment from flooding the disk.
+ * Records below {@code ERROR} over the limit are counted and dropped. A warning is logged when records start being
+ * dropped, and again after a second in which the deployment stayed under the limit. Counting only uses lock-free
+ * counters which are summed when read.
+ * </p>
+ */
+public final class LogVolumeHandler extends ExtHandler {
+
+    private static final String NAME = "LOG_VOLUME";
+    private static final String LOGGING_MODULE = "org.jboss.as.logging";
+    private static final String[] LEVEL_NAMES = {"TRACE", "DEBUG", "INFO", "WARN", "ERROR", "FATAL"};
+    private static final int ERROR_INDEX = 4;
+
+    private volatile Volume volume;
+
+    /**
+     * Creates a new volume handler. The handler is created by the log manager and passes records on uncounted until it
+     * is installed.
+     */
+    public LogVolumeHandler() {
+    }
+
+    /**
+     * Moves the handlers of each logger of the configuration under a new volume handler, which then becomes the only
+     * handler of the logger, and commits the configuration. The volume handlers are part of the configuration, so
+     * later changes to it keep them in place.
+     *
+     * @param configuration       the logging configuration of the deployment
+     * @param deploymentName      the name of the deployment, for the warning logged when records are dropped
+     * @param maxRecordsPerSecond the number of records passed on per second or {@code 0} for no limit
+     */
+    static void install(final LogContextConfiguration configuration, final String deploymentName, final int maxRecordsPerSecond) {
+        final List<String> handlerNames = new ArrayList<>();
+        for (String loggerName : configuration.getLoggerNames()) {
+            final LoggerConfiguration loggerConfiguration = configuration.getLoggerConfiguration(loggerName);
+            final List<String> wrapped = loggerConfiguration.getHandlerNames();
+            if (!wrapped.isEmpty()) {
+                final String name = CommonAttributes.ROOT_LOGGER_NAME.equals(loggerName) ? NAME : NAME + "." + loggerName;
+                final HandlerConfiguration handlerConfiguration = configuration.addHandlerConfiguration(LOGGING_MODULE, LogVolumeHandler.class.getName(), name);
+                handlerConfiguration.setHandlerNames(wrapped);
+                loggerConfiguration.setHandlerNames(name);
+                handlerNames.add(name);
+            }
+        }
+        configuration.commit();
+        final Volume volume = new Volume(deploymentName, maxRecordsPerSecond);
+        for (String name : handlerNames) {
+            final Handler instance = configuration.getHandlerConfiguration(name).getInstance();
+            if (instance instanceof LogVolumeHandler) {
+                ((LogVolumeHandler) instance).volume = volume;
+            }
+        }
+    }
+
+    /**
+     * Finds a volume handler installed on the configuration.
+     *
+     * @param configuration the logging configuration to check
+     *
+     * @return the handler or {@code null} if the configuration does not have one
+     */
+    public static LogVolumeHandler find(final LogContextConfiguration configuration) {
+        for (String name : configuration.getHandlerNames()) {
+            final Handler instance = configuration.getHandlerConfiguration(name).getInstance();
+            if (instance instanceof LogVolumeHandler && ((LogVolumeHandler) instance).volume != null) {
+                return (LogVolumeHandler) instance;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void doPublish(final ExtLogRecord record) {
+        final Volume volume = this.volume;
+        if (volume == null || volume.accept(record)) {
+            publishToNestedHandlers(record);
+        }
+    }
+
+    /**
+     * Returns the names of the levels the records are counted by. A record is counted by the highest of these levels
+     * that is not higher than the level of the record.
+     *
+     * @return the level names, from the lowest to the highest level
+     */
+    public static String[] getLevelNames() {
+        return LEVEL_NAMES.clone();
+    }
+
+    /**
+     * @return the number of records passed on by level, in the order of the {@linkplain #getLevelNames() level names}
+     */
+    public long[] getRecordCounts() {
+        final Volume volume = this.volume;
+        return volume == null ? new long[LEVEL_NAMES.length] : volume.getRecordCounts();
+    }
+
+    /**
+     * @return the number of records dropped because they went over the limit of records per second
+     */
+    public long getDroppedCount() {
+        final Volume volume = this.volume;
+        return volume == null ? 0L : volume.droppedCount.sum();
+    }
+
+    private static int levelIndex(final Level level) {
+        final int value = level.intValue();
+        if (value >= org.jboss.logmanager.Level.FATAL.intValue()) {
+            return 5;
+        } else if (value >= org.jboss.logmanager.Level.ERROR.intValue()) {
+            return ERROR_INDEX;
+        } else if (value >= org.jboss.logmanager.Level.WARN.intValue()) {
+            return 3;
+        } else if (value >= org.jboss.logmanager.Level.INFO.intValue()) {
+            return 2;
+        } else if (value >= org.jboss.logmanager.Level.DEBUG.intValue()) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * The counters and limit of a deployment, shared by its volume handlers.
+     */
+    private static class Volume {
+        private final LongAdder[] recordCounts = new LongAdder[LEVEL_NAMES.length];
+        private final LongAdder droppedCount = new LongAdder();
+        private final AtomicBoolean dropping = new AtomicBoolean();
+        private final String deploymentName;
+        private final int maxRecordsPerSecond;
+        private final AtomicLong currentSecond = new AtomicLong();
+        private final AtomicInteger currentSecondCount = new AtomicInteger();
+        // The sequence number of the last record seen by the thread and whether it was passed on
+        private final ThreadLocal<long[]> lastRecord = ThreadLocal.withInitial(() -> new long[] {-1L, 0L});
+
+        Volume(final String deploymentName, final int maxRecordsPerSecond) {
+            this.deploymentName = deploymentName;
+            this.maxRecordsPerSecond = maxRecordsPerSecond;
+            for (int i = 0; i < recordCounts.length; i++) {
+                recordCounts[i] = new LongAdder();
+            }
+        }
+
+        boolean accept(final ExtLogRecord record) {
+            // A record is published to the handlers of its logger and of the parent loggers on the same thread
+            final long[] last = lastRecord.get();
+            if (last[0] == record.getSequenceNumber()) {
+                return last[1] != 0L;
+            }
+            last[0] = record.getSequenceNumber();
+            final int index = levelIndex(record.getLevel());
+            // Errors are always passed on and do not count towards the limit
+            if (maxRecordsPerSecond > 0 && index < ERROR_INDEX && !acquire()) {
+                droppedCount.increment();
+                if (!dropping.get() && dropping.compareAndSet(false, true)) {
+                    LoggingLogger.ROOT_LOGGER.droppingDeploymentRecords(deploymentName, maxRecordsPerSecond);
+                }
+                last[1] = 0L;
+                return false;
+            }
+            recordCounts[index].increment();
+            last[1] = 1L;
+            return true;
+        }
+
+        private boolean acquire() {
+            final long second = System.currentTimeMillis() / 1000L;
+            final long current = currentSecond.get();
+            // Losing the race to start the next second only lets a few more records through
+            if (current != second && currentSecond.compareAndSet(current, second)) {
+                final int previousCount = currentSecondCount.getAndSet(0);
+                // The drop period ends once a second passes under the limit, so the next one is reported again
+                if (second != current + 1L || previousCount <= maxRecordsPerSecond) {
+                    dropping.set(false);
+                }
+            }
+            return currentSecondCount.incrementAndGet() <= maxRecordsPerSecond;
+        }
+
+        long[] getRecordCounts() {
+            final long[] result = new long[recordCounts.length];
+            for (int i = 0; i < recordCounts.length; i++) {
+                result[i] = recordCounts[i].sum();
+            }
+            return result;
+        }
+    }
+}
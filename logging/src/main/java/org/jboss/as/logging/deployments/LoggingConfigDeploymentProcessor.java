@@ -59,6 +59,12 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
     @Deprecated
     public static final String PER_DEPLOYMENT_LOGGING = "org.jboss.as.logging.per-deployment";
 
+    /**
+     * The system property for the number of records per second a deployment with its own logging configuration may
+     * log before further records in that second are dropped. Not set, or {@code 0}, means no limit.
+     */
+    public static final String MAX_RECORDS_PER_SECOND = "org.jboss.as.logging.deployment-max-records-per-second";
+
     private static final Charset ENCODING = StandardCharsets.UTF_8;
     private static final String DEFAULT_PROPERTIES = "logging.properties";
     private static final String JBOSS_PROPERTIES = "jboss-logging.properties";
@@ -105,6 +111,7 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
                 // Configure the deployments logging based on the top-level configuration file
                 loggingConfigurationService = configure(root, configFile, module.getClassLoader(), logContext);
                 if (loggingConfigurationService != null) {
+                    LogVolumeHandler.install(loggingConfigurationService.getValue(), deploymentUnit.getName(), getMaxRecordsPerSecond());
                     registerLogContext(deploymentUnit, module, logContext);
                 } else {
                     processSubdeployments = false;
@@ -230,6 +237,18 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
         return null;
     }
 
+    private static int getMaxRecordsPerSecond() {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(MAX_RECORDS_PER_SECOND, null);
+        if (value != null) {
+            try {
+                return Math.max(0, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                LoggingLogger.ROOT_LOGGER.debugf(e, "Ignoring invalid value '%s' for system property %s", value, MAX_RECORDS_PER_SECOND);
+            }
+        }
+        return 0;
+    }
+
     private static boolean isJulConfiguration(final Properties properties) {
         // First check for .levels as it's the cheapest
         if (properties.containsKey(".level")) {
@@ -33,8 +33,9 @@ import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.logging.LoggingExtension;
-import org.jboss.as.logging.loggers.RootLoggerResourceDefinition;
+import org.jboss.as.logging.deployments.LogVolumeHandler;
 import org.jboss.as.logging.deployments.LoggingConfigurationService;
+import org.jboss.as.logging.loggers.RootLoggerResourceDefinition;
 import org.jboss.as.server.deployment.DeploymentResourceSupport;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -101,6 +102,35 @@ public class LoggingDeploymentResources {
         }
     };
 
+    static final SimpleMapAttributeDefinition LOG_RECORD_COUNTS = new SimpleMapAttributeDefinition.Builder("log-record-counts", ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition DROPPED_LOG_RECORDS = SimpleAttributeDefinitionBuilder.create("dropped-log-records", ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    /**
+     * Registers the log volume metrics on the logging resource of a deployment. The metrics are only defined for
+     * deployments which have their own logging configuration.
+     *
+     * @param resourceRegistration the registration of the deployment's logging resource
+     */
+    public static void registerMetrics(final ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerMetric(LOG_RECORD_COUNTS, new LogVolumeReadStepHandler() {
+            @Override
+            protected void updateModel(final LogVolumeHandler handler, final ModelNode model) {
+                addLevelValues(handler.getRecordCounts(), model);
+            }
+        });
+        resourceRegistration.registerMetric(DROPPED_LOG_RECORDS, new LogVolumeReadStepHandler() {
+            @Override
+            protected void updateModel(final LogVolumeHandler handler, final ModelNode model) {
+                model.set(handler.getDroppedCount());
+            }
+        });
+    }
+
     /**
      * Registers the deployment resources needed.
      *
@@ -178,4 +208,25 @@ public class LoggingDeploymentResources {
 
         protected abstract ObjectConfigurable getObjectConfigurable(LogContextConfiguration logContextConfiguration, String name);
     }
+
+    private abstract static class LogVolumeReadStepHandler extends LoggingConfigurationReadStepHandler {
+
+        @Override
+        protected void updateModel(final LogContextConfiguration logContextConfiguration, final String name, final ModelNode model) {
+            final LogVolumeHandler handler = LogVolumeHandler.find(logContextConfiguration);
+            // Deployments using the subsystem's or a logging profile's configuration share their log context
+            if (handler != null) {
+                updateModel(handler, model);
+            }
+        }
+
+        protected abstract void updateModel(LogVolumeHandler handler, ModelNode model);
+
+        static void addLevelValues(final long[] values, final ModelNode model) {
+            final String[] levelNames = LogVolumeHandler.getLevelNames();
+            for (int i = 0; i < levelNames.length; i++) {
+                model.get(levelNames[i]).set(values[i]);
+            }
+        }
+    }
 }
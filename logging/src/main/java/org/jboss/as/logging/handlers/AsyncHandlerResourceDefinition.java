@@ -25,6 +25,7 @@ import static org.jboss.as.logging.CommonAttributes.LEVEL;
 import static org.jboss.as.logging.CommonAttributes.REMOVE_HANDLER_OPERATION_NAME;
 
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
@@ -35,6 +36,7 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
@@ -48,7 +50,6 @@ import org.jboss.as.logging.capabilities.Capabilities;
 import org.jboss.as.logging.resolvers.OverflowActionResolver;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
-import org.jboss.logmanager.handlers.AsyncHandler;
 import org.jboss.logmanager.handlers.AsyncHandler.OverflowAction;
 
 /**
@@ -104,9 +105,57 @@ public class AsyncHandlerResourceDefinition extends AbstractHandlerDefinition {
 
     private static final AttributeDefinition[] ATTRIBUTES = {ENABLED, LEVEL, FILTER_SPEC, QUEUE_LENGTH, OVERFLOW_ACTION, SUBHANDLERS};
 
+    static final SimpleAttributeDefinition QUEUE_SIZE = SimpleAttributeDefinitionBuilder.create("queue-size", ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition MAX_QUEUE_SIZE = SimpleAttributeDefinitionBuilder.create("max-queue-size", ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition DISCARDED_COUNT = SimpleAttributeDefinitionBuilder.create("discarded-count", ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition AVERAGE_PUBLISH_LATENCY = SimpleAttributeDefinitionBuilder.create("average-publish-latency", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
 
     public AsyncHandlerResourceDefinition(final boolean includeLegacyAttributes) {
-        super(ASYNC_HANDLER_PATH, AsyncHandler.class, (includeLegacyAttributes ? Logging.join(ATTRIBUTES, LEGACY_ATTRIBUTES) : ATTRIBUTES), QUEUE_LENGTH);
+        super(ASYNC_HANDLER_PATH, MeteredAsyncHandler.class, (includeLegacyAttributes ? Logging.join(ATTRIBUTES, LEGACY_ATTRIBUTES) : ATTRIBUTES), QUEUE_LENGTH);
+    }
+
+    @Override
+    public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        if (resourceRegistration.isRuntimeOnlyRegistrationValid()) {
+            resourceRegistration.registerMetric(QUEUE_SIZE, new HandlerOperations.HandlerMetricReadHandler<MeteredAsyncHandler>(MeteredAsyncHandler.class) {
+                @Override
+                protected void updateModel(final MeteredAsyncHandler handler, final ModelNode model) {
+                    model.set(handler.getQueueSize());
+                }
+            });
+            resourceRegistration.registerMetric(MAX_QUEUE_SIZE, new HandlerOperations.HandlerMetricReadHandler<MeteredAsyncHandler>(MeteredAsyncHandler.class) {
+                @Override
+                protected void updateModel(final MeteredAsyncHandler handler, final ModelNode model) {
+                    model.set(handler.getMaxQueueSize());
+                }
+            });
+            resourceRegistration.registerMetric(DISCARDED_COUNT, new HandlerOperations.HandlerMetricReadHandler<MeteredAsyncHandler>(MeteredAsyncHandler.class) {
+                @Override
+                protected void updateModel(final MeteredAsyncHandler handler, final ModelNode model) {
+                    model.set(handler.getDiscardedCount());
+                }
+            });
+            resourceRegistration.registerMetric(AVERAGE_PUBLISH_LATENCY, new HandlerOperations.HandlerMetricReadHandler<MeteredAsyncHandler>(MeteredAsyncHandler.class) {
+                @Override
+                protected void updateModel(final MeteredAsyncHandler handler, final ModelNode model) {
+                    model.set(TimeUnit.NANOSECONDS.toMicros(handler.getAveragePublishLatency()));
+                }
+            });
+        }
     }
 
     @Override
@@ -0,0 +1,418 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging.handlers;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.wildfly.event.logger.FileChannelWriter;
+
+/**
+ * A file handler which writes formatted records through a {@link FileChannelWriter}, which encodes them into a direct
+ * buffer and writes the buffer to the file through a {@link java.nio.channels.FileChannel FileChannel}.
+ * <p>
+ * With the default {@linkplain #setFlushInterval(long) flush interval} of {@code 0} each record is written with a
+ * single channel write. With a flush interval records are collected in the buffer and only written once the interval
+ * has passed or the buffer holds more than the {@linkplain #setFlushThreshold(int) flush threshold}, so a burst of
+ * records costs a single write. The auto-flush setting of the handler is not used.
+ * </p>
+ * <p>
+ * The file can be rotated when it reaches a {@linkplain #setRotateSize(long) size}, like the
+ * {@code size-rotating-file-handler}, and at the start of each period defined by a {@linkplain #setSuffix(String)
+ * suffix}, like the {@code periodic-rotating-file-handler}. The handler is configured as a {@code custom-handler}
+ * with the {@code org.jboss.as.logging} module, and the file is opened the first time a record is published.
+ * </p>
+ */
+public class ChannelFileHandler extends ExtHandler {
+
+    private Path file;
+    private boolean append = true;
+    private int bufferSize = 65536;
+    private long flushInterval;
+    private int flushThreshold = -1;
+    private long rotateSize;
+    private int maxBackupIndex = 1;
+    private String suffix;
+    private ChronoUnit period;
+    private Charset charset = StandardCharsets.UTF_8;
+
+    private volatile FileChannelWriter writer;
+    // Totals of the writers of files which have been closed
+    private long closedBytesWritten;
+    private long closedWriteCount;
+    private volatile long recordCount;
+
+    /**
+     * Sets the file to write to. The current file, if any, is closed and the new file is opened when the next record
+     * is published.
+     *
+     * @param fileName the name of the file or {@code null} to stop writing
+     */
+    public void setFileName(final String fileName) {
+        checkAccess(this);
+        synchronized (this) {
+            closeWriter();
+            file = fileName == null ? null : Paths.get(fileName).toAbsolutePath();
+        }
+    }
+
+    /**
+     * Sets whether records are appended to an existing file. The default is {@code true}.
+     *
+     * @param append {@code true} to append to the file or {@code false} to truncate it when it is opened
+     */
+    public void setAppend(final boolean append) {
+        checkAccess(this);
+        synchronized (this) {
+            this.append = append;
+        }
+    }
+
+    /**
+     * Sets the size of the buffer records are encoded into before they are written to the file. The default is 64 KiB.
+     * The new size is used the next time the file is opened.
+     *
+     * @param bufferSize the buffer size in bytes
+     */
+    public void setBufferSize(final int bufferSize) {
+        checkAccess(this);
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("The buffer size must be at least 16 bytes: " + bufferSize);
+        }
+        synchronized (this) {
+            this.bufferSize = bufferSize;
+        }
+    }
+
+    /**
+     * Sets the longest time in milliseconds records may stay in the buffer before they are written to the file. The
+     * default is {@code 0}, which writes each record as it is published.
+     *
+     * @param flushInterval the interval in milliseconds
+     */
+    public void setFlushInterval(final long flushInterval) {
+        checkAccess(this);
+        synchronized (this) {
+            this.flushInterval = flushInterval;
+            if (writer != null) {
+                writer.setFlushInterval(flushInterval);
+            }
+        }
+    }
+
+    /**
+     * Sets the number of buffered bytes after which the buffer is written to the file even if the
+     * {@linkplain #setFlushInterval(long) flush interval} has not passed. The default is half of the
+     * {@linkplain #setBufferSize(int) buffer size}.
+     *
+     * @param flushThreshold the threshold in bytes
+     */
+    public void setFlushThreshold(final int flushThreshold) {
+        checkAccess(this);
+        synchronized (this) {
+            this.flushThreshold = flushThreshold;
+            if (writer != null) {
+                writer.setFlushThreshold(flushThreshold);
+            }
+        }
+    }
+
+    /**
+     * Rotates the file when writing a record would make it larger than the size. The rotated files are named after
+     * the file with a {@code .1} to {@code .maxBackupIndex} suffix, {@code .1} being the newest. The default is
+     * {@code 0}, which does not rotate by size.
+     *
+     * @param rotateSize the maximum size of the file in bytes
+     */
+    public void setRotateSize(final long rotateSize) {
+        checkAccess(this);
+        synchronized (this) {
+            this.rotateSize = rotateSize;
+            if (writer != null) {
+                writer.setRotateSize(rotateSize, maxBackupIndex);
+            }
+        }
+    }
+
+    /**
+     * Sets the number of files kept when rotating by size. The default is {@code 1}.
+     *
+     * @param maxBackupIndex the number of rotated files to keep
+     */
+    public void setMaxBackupIndex(final int maxBackupIndex) {
+        checkAccess(this);
+        if (maxBackupIndex < 1) {
+            throw new IllegalArgumentException("The maximum backup index must be at least 1: " + maxBackupIndex);
+        }
+        synchronized (this) {
+            this.maxBackupIndex = maxBackupIndex;
+            if (writer != null) {
+                writer.setRotateSize(rotateSize, maxBackupIndex);
+            }
+        }
+    }
+
+    /**
+     * Rotates the file at the start of each period. As with the {@code periodic-rotating-file-handler} the suffix is a
+     * {@link SimpleDateFormat} pattern, the smallest unit in the pattern is the rotation period and the rotated file
+     * is named after the file with the start of its period, formatted with the suffix, appended.
+     *
+     * @param suffix the suffix pattern, for example {@code .yyyy-MM-dd}, or {@code null} to not rotate periodically
+     */
+    public void setSuffix(final String suffix) {
+        checkAccess(this);
+        final ChronoUnit period = suffix == null ? null : findPeriod(suffix);
+        if (suffix != null && period == null) {
+            throw new IllegalArgumentException("The suffix does not contain a date or time field: " + suffix);
+        }
+        synchronized (this) {
+            this.suffix = suffix;
+            this.period = period;
+            if (writer != null) {
+                setRotatePeriod(writer);
+            }
+        }
+    }
+
+    @Override
+    public void setEncoding(final String encoding) throws SecurityException, UnsupportedEncodingException {
+        final Charset charset;
+        try {
+            charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+        synchronized (this) {
+            super.setEncoding(encoding);
+            this.charset = charset;
+            if (writer != null) {
+                writer.setEncoding(charset);
+            }
+        }
+    }
+
+    /**
+     * @return the number of records written by this handler
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return the number of bytes written to the file, including rotated files
+     */
+    public synchronized long getBytesWritten() {
+        final FileChannelWriter writer = this.writer;
+        return closedBytesWritten + (writer == null ? 0L : writer.getBytesWritten());
+    }
+
+    /**
+     * @return the number of writes to the file. Compared to the {@linkplain #getRecordCount() record count} this shows
+     * how many records are written at once
+     */
+    public synchronized long getWriteCount() {
+        final FileChannelWriter writer = this.writer;
+        return closedWriteCount + (writer == null ? 0L : writer.getWriteCount());
+    }
+
+    @Override
+    protected void doPublish(final ExtLogRecord record) {
+        final Formatter formatter = getFormatter();
+        final String formatted;
+        try {
+            formatted = formatter.format(record);
+        } catch (Exception e) {
+            reportError("Could not format message", e, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+        if (formatted.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                if (writer == null && !open()) {
+                    return;
+                }
+                writer.append(formatted);
+                recordCount++;
+                writer.commit();
+            } catch (Exception e) {
+                reportError("Could not write to file " + file, e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+        // super.doPublish() is not invoked as it flushes each record with auto-flush, the flush interval is used instead
+    }
+
+    @Override
+    public void flush() {
+        synchronized (this) {
+            if (writer != null) {
+                try {
+                    writer.flush();
+                } catch (Exception e) {
+                    reportError("Could not flush file " + file, e, ErrorManager.FLUSH_FAILURE);
+                }
+            }
+        }
+        super.flush();
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        checkAccess(this);
+        synchronized (this) {
+            closeWriter();
+        }
+        super.close();
+    }
+
+    private boolean open() throws IOException {
+        if (file == null) {
+            return false;
+        }
+        final FileChannelWriter writer = new FileChannelWriter(file, bufferSize, Clock.systemDefaultZone());
+        writer.setEncoding(charset);
+        writer.setFlushInterval(flushInterval);
+        writer.setFlushThreshold(flushThreshold);
+        writer.setRotateSize(rotateSize, maxBackupIndex);
+        setRotatePeriod(writer);
+        writer.setHeaderAndFooter(this::getHead, this::getTail);
+        writer.open(append);
+        this.writer = writer;
+        return true;
+    }
+
+    private void closeWriter() {
+        final FileChannelWriter writer = this.writer;
+        if (writer == null) {
+            return;
+        }
+        this.writer = null;
+        try {
+            writer.close();
+        } catch (Exception e) {
+            reportError("Could not close file " + file, e, ErrorManager.CLOSE_FAILURE);
+        }
+        closedBytesWritten += writer.getBytesWritten();
+        closedWriteCount += writer.getWriteCount();
+    }
+
+    private void setRotatePeriod(final FileChannelWriter writer) {
+        if (period == null) {
+            writer.setRotatePeriod(null, null, null);
+        } else {
+            final String suffix = this.suffix;
+            writer.setRotatePeriod(period, start -> formatSuffix(suffix, start), ZoneId.systemDefault());
+        }
+    }
+
+    private String getHead() {
+        final Formatter formatter = getFormatter();
+        return formatter == null ? null : formatter.getHead(this);
+    }
+
+    private String getTail() {
+        final Formatter formatter = getFormatter();
+        return formatter == null ? null : formatter.getTail(this);
+    }
+
+    private static String formatSuffix(final String suffix, final ZonedDateTime start) {
+        final SimpleDateFormat format = new SimpleDateFormat(suffix);
+        format.setTimeZone(TimeZone.getTimeZone(start.getZone()));
+        return format.format(Date.from(start.toInstant()));
+    }
+
+    /**
+     * Finds the smallest unit in a {@link SimpleDateFormat} pattern, the same way the periodic rotating file handler
+     * does.
+     */
+    private static ChronoUnit findPeriod(final String pattern) {
+        // Validates the pattern
+        new SimpleDateFormat(pattern);
+        ChronoUnit result = null;
+        boolean inQuote = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                inQuote = !inQuote;
+                continue;
+            }
+            if (inQuote) {
+                continue;
+            }
+            final ChronoUnit unit;
+            switch (c) {
+                case 'y':
+                    unit = ChronoUnit.YEARS;
+                    break;
+                case 'M':
+                    unit = ChronoUnit.MONTHS;
+                    break;
+                case 'w':
+                case 'W':
+                    unit = ChronoUnit.WEEKS;
+                    break;
+                case 'D':
+                case 'd':
+                case 'F':
+                case 'E':
+                    unit = ChronoUnit.DAYS;
+                    break;
+                case 'a':
+                    unit = ChronoUnit.HALF_DAYS;
+                    break;
+                case 'H':
+                case 'k':
+                case 'K':
+                case 'h':
+                    unit = ChronoUnit.HOURS;
+                    break;
+                case 'm':
+                    unit = ChronoUnit.MINUTES;
+                    break;
+                case 's':
+                case 'S':
+                    throw new IllegalArgumentException("Rotating by second or millisecond is not supported: " + pattern);
+                default:
+                    continue;
+            }
+            if (result == null || unit.compareTo(result) < 0) {
+                result = unit;
+            }
+        }
+        return result;
+    }
+}
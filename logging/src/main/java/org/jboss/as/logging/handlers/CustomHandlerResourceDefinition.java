@@ -24,8 +24,19 @@ import static org.jboss.as.logging.CommonAttributes.MODULE;
 import static org.jboss.as.logging.CommonAttributes.PROPERTIES;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.logging.Logging;
+import org.jboss.as.logging.LoggingExtension;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a>
@@ -38,10 +49,102 @@ public class CustomHandlerResourceDefinition extends AbstractHandlerDefinition {
     private static final AttributeDefinition[] ATTRIBUTES = Logging.join(DEFAULT_ATTRIBUTES, CLASS, MODULE, NAMED_FORMATTER, PROPERTIES);
 
     public CustomHandlerResourceDefinition(final boolean includeLegacyAttributes) {
-        super(CUSTOM_HANDLE_PATH, null,
-                (includeLegacyAttributes ? Logging.join(ATTRIBUTES, LEGACY_ATTRIBUTES) : ATTRIBUTES));
+        this(includeLegacyAttributes ? Logging.join(ATTRIBUTES, LEGACY_ATTRIBUTES) : ATTRIBUTES);
     }
 
+    private CustomHandlerResourceDefinition(final AttributeDefinition[] attributes) {
+        super(createParameters(CUSTOM_HANDLE_PATH, null, attributes).setAddHandler(new CustomHandlerAddOperationStepHandler(attributes)),
+                true, null, attributes);
+    }
+
+    @Override
+    public void registerChildren(final ManagementResourceRegistration resourceRegistration) {
+        super.registerChildren(resourceRegistration);
+        if (resourceRegistration.isRuntimeOnlyRegistrationValid()) {
+            resourceRegistration.registerSubModel(new ChannelFileStatisticsResourceDefinition());
+        }
+    }
+
+    /**
+     * Adds a custom handler. A handler of the {@link ChannelFileHandler} class gets a runtime resource with its
+     * statistics.
+     */
+    private static class CustomHandlerAddOperationStepHandler extends HandlerOperations.HandlerAddOperationStepHandler {
+
+        CustomHandlerAddOperationStepHandler(final AttributeDefinition[] attributes) {
+            super(null, attributes);
+        }
+
+        @Override
+        protected void populateModel(final OperationContext context, final ModelNode operation, final Resource resource) throws OperationFailedException {
+            super.populateModel(context, operation, resource);
+            // The class requires a restart to change, so the statistics resource lives as long as the handler resource
+            if (ChannelFileHandler.class.getName().equals(resource.getModel().get(CLASS.getName()).asString())
+                    && context.getResourceRegistration().getSubModel(PathAddress.pathAddress(ChannelFileStatisticsResourceDefinition.PATH)) != null) {
+                resource.registerChild(ChannelFileStatisticsResourceDefinition.PATH, Resource.Factory.create(true));
+            }
+        }
+    }
+
+    /**
+     * The statistics of a {@link ChannelFileHandler}.
+     */
+    static class ChannelFileStatisticsResourceDefinition extends SimpleResourceDefinition {
+        static final PathElement PATH = PathElement.pathElement("statistics", "channel-file");
+
+        static final SimpleAttributeDefinition RECORD_COUNT = SimpleAttributeDefinitionBuilder.create("record-count", ModelType.LONG, true)
+                .setStorageRuntime()
+                .build();
+
+        static final SimpleAttributeDefinition BYTES_WRITTEN = SimpleAttributeDefinitionBuilder.create("bytes-written", ModelType.LONG, true)
+                .setStorageRuntime()
+                .build();
+
+        static final SimpleAttributeDefinition WRITE_COUNT = SimpleAttributeDefinitionBuilder.create("write-count", ModelType.LONG, true)
+                .setStorageRuntime()
+                .build();
+
+        ChannelFileStatisticsResourceDefinition() {
+            super(new Parameters(PATH, LoggingExtension.getResourceDescriptionResolver(NAME, "statistics")).setRuntime());
+        }
+
+        @Override
+        public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
+            resourceRegistration.registerMetric(RECORD_COUNT, new ChannelFileMetricReadHandler() {
+                @Override
+                protected void updateModel(final ChannelFileHandler handler, final ModelNode model) {
+                    model.set(handler.getRecordCount());
+                }
+            });
+            resourceRegistration.registerMetric(BYTES_WRITTEN, new ChannelFileMetricReadHandler() {
+                @Override
+                protected void updateModel(final ChannelFileHandler handler, final ModelNode model) {
+                    model.set(handler.getBytesWritten());
+                }
+            });
+            resourceRegistration.registerMetric(WRITE_COUNT, new ChannelFileMetricReadHandler() {
+                @Override
+                protected void updateModel(final ChannelFileHandler handler, final ModelNode model) {
+                    model.set(handler.getWriteCount());
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads a metric from the handler of the parent {@code custom-handler} resource.
+     */
+    private abstract static class ChannelFileMetricReadHandler extends HandlerOperations.HandlerMetricReadHandler<ChannelFileHandler> {
+
+        ChannelFileMetricReadHandler() {
+            super(ChannelFileHandler.class);
+        }
+
+        @Override
+        String getHandlerName(final OperationContext context) {
+            return context.getCurrentAddress().getParent().getLastElement().getValue();
+        }
+    }
 
     public static final class TransformerDefinition extends AbstractHandlerTransformerDefinition {
 
@@ -60,6 +60,7 @@ import org.jboss.as.logging.LoggingOperations;
 import org.jboss.as.logging.filters.Filters;
 import org.jboss.as.logging.loggers.RootLoggerResourceDefinition;
 import org.jboss.as.logging.logging.LoggingLogger;
+import org.jboss.as.logging.logmanager.ConfigurationPersistence;
 import org.jboss.as.logging.resolvers.ModelNodeResolver;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
@@ -84,6 +85,7 @@ import org.jboss.modules.ModuleLoader;
  */
 final class HandlerOperations {
 
+    private static final String LOGGING_MODULE = "org.jboss.as.logging";
     private static final AttachmentKey<Map<String, String>> DISABLED_HANDLERS_KEY = new AttachmentKey<>();
     private static final Object HANDLER_LOCK = new Object();
 
@@ -171,7 +173,8 @@ final class HandlerOperations {
                 moduleName = MODULE.resolveModelAttribute(context, model).asString();
             } else {
                 className = type.getName();
-                moduleName = null;
+                // Handlers of this subsystem are not visible to the log manager and need to be loaded from its module
+                moduleName = type.getClassLoader() == HandlerOperations.class.getClassLoader() ? LOGGING_MODULE : null;
             }
 
             final String name = context.getCurrentAddressValue();
@@ -198,7 +201,10 @@ final class HandlerOperations {
             }
 
             if (replaceHandler) {
-                LoggingLogger.ROOT_LOGGER.replacingNamedHandler(name);
+                // Async handlers written by earlier versions use the log manager's handler and are replaced silently
+                if (!isAsyncHandlerUpgrade(configuration, className)) {
+                    LoggingLogger.ROOT_LOGGER.replacingNamedHandler(name);
+                }
                 LoggingLogger.ROOT_LOGGER.debugf("Removing handler %s of type '%s' in module '%s' and replacing with type '%s' in module '%s'",
                         name, configuration.getClassName(), configuration.getModuleName(), className, moduleName);
                 // Remove the original configuration and set-up the new one. This overrides anything in the original
@@ -233,6 +239,12 @@ final class HandlerOperations {
             }
         }
 
+        private static boolean isAsyncHandlerUpgrade(final HandlerConfiguration configuration, final String className) {
+            return MeteredAsyncHandler.class.getName().equals(className)
+                    && AsyncHandler.class.getName().equals(configuration.getClassName())
+                    && configuration.getModuleName() == null;
+        }
+
         HandlerConfiguration createHandlerConfiguration(final String className,
                                                         final String moduleName, final String name,
                                                         final LogContextConfiguration logContextConfiguration) throws OperationFailedException {
@@ -262,10 +274,10 @@ final class HandlerOperations {
                 } else {
                     configuration = logContextConfiguration.addHandlerConfiguration(null, className, name, constructionProperties);
                 }
-                // If this is an AsyncHandler we need to setCloseChildren() to false
-                if (AsyncHandler.class.getName().equals(className)) {
-                    configuration.setPropertyValueString("closeChildren", "false");
-                }
+            }
+            // If this is an AsyncHandler we need to setCloseChildren() to false
+            if (AsyncHandler.class.getName().equals(className) || MeteredAsyncHandler.class.getName().equals(className)) {
+                configuration.setPropertyValueString("closeChildren", "false");
             }
             return configuration;
         }
@@ -406,6 +418,55 @@ final class HandlerOperations {
         }
     }
 
+    /**
+     * A step handler which reads a runtime metric from the handler of the current resource. The result is left
+     * undefined if the handler has not been created yet, or is not of the expected type.
+     *
+     * @param <T> the type of the handler the metric is read from
+     */
+    abstract static class HandlerMetricReadHandler<T extends Handler> implements OperationStepHandler {
+        private final Class<T> type;
+
+        HandlerMetricReadHandler(final Class<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) {
+            final ConfigurationPersistence configurationPersistence = LoggingOperations.getConfigurationPersistence(context);
+            if (configurationPersistence != null) {
+                final HandlerConfiguration configuration = configurationPersistence.getLogContextConfiguration()
+                        .getHandlerConfiguration(getHandlerName(context));
+                if (configuration != null) {
+                    final Handler instance = configuration.getInstance();
+                    if (type.isInstance(instance)) {
+                        updateModel(type.cast(instance), context.getResult());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the name of the handler the metric is read from, which is the name of the current resource by
+         * default.
+         *
+         * @param context the operation context
+         *
+         * @return the name of the handler
+         */
+        String getHandlerName(final OperationContext context) {
+            return context.getCurrentAddressValue();
+        }
+
+        /**
+         * Sets the value of the metric on the result.
+         *
+         * @param handler the handler to read the metric from
+         * @param model   the result to update
+         */
+        protected abstract void updateModel(T handler, ModelNode model);
+    }
+
     /**
      * A step handler to remove a handler
      */
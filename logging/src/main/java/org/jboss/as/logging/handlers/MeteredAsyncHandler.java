@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging.handlers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.LogRecord;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.handlers.AsyncHandler;
+
+/**
+ * An {@link AsyncHandler} which keeps track of the records waiting in its queue, the records it discarded and how long
+ * records waited before being handed to the nested handlers. This is the handler the {@code async-handler} resource
+ * creates.
+ * <p>
+ * The queue of the {@link AsyncHandler} is not visible, so a record is counted when it is added to the queue and
+ * uncounted as soon as the worker thread takes it off the queue, before the nested handlers are invoked. A record which
+ * is being written by a slow nested handler does not hold a place in the queue. With the
+ * {@link OverflowAction#DISCARD DISCARD} overflow action a record which would not fit in the queue is discarded before
+ * it reaches the queue, which keeps the count of waiting records from exceeding the queue length.
+ * </p>
+ */
+public class MeteredAsyncHandler extends AsyncHandler {
+
+    private final int queueLength;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger maxQueueSize = new AtomicInteger();
+    private final AtomicLong discardedCount = new AtomicLong();
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private volatile boolean closed;
+
+    public MeteredAsyncHandler() {
+        this(DEFAULT_QUEUE_LENGTH);
+    }
+
+    public MeteredAsyncHandler(final int queueLength) {
+        super(queueLength);
+        this.queueLength = queueLength;
+    }
+
+    @Override
+    protected void doPublish(final ExtLogRecord record) {
+        if (closed) {
+            // A closed handler does not queue the record
+            super.doPublish(record);
+            return;
+        }
+        final int size = pending.incrementAndGet();
+        if (size > queueLength && getOverflowAction() == OverflowAction.DISCARD) {
+            pending.decrementAndGet();
+            discardedCount.incrementAndGet();
+            return;
+        }
+        boolean queued = false;
+        try {
+            super.doPublish(record);
+            // The record is not queued if the thread was interrupted while waiting for room in the queue
+            queued = !Thread.currentThread().isInterrupted();
+        } finally {
+            if (queued) {
+                maxQueueSize.accumulateAndGet(Math.min(size, queueLength), Math::max);
+            } else {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    protected void publishToNestedHandlers(final LogRecord record) {
+        // The record has been taken off the queue, so its place is free while the nested handlers write it
+        pending.decrementAndGet();
+        final Duration latency = Duration.between(record.getInstant(), Instant.now());
+        totalLatency.addAndGet(Math.max(0L, latency.toNanos()));
+        publishedCount.incrementAndGet();
+        super.publishToNestedHandlers(record);
+    }
+
+    @Override
+    public void close() throws SecurityException {
+        // Records still queued are handed on by the worker thread while it shuts down
+        closed = true;
+        super.close();
+    }
+
+    /**
+     * Returns the number of records waiting to be handed to the nested handlers.
+     *
+     * @return the number of records in the queue
+     */
+    public int getQueueSize() {
+        return Math.max(0, Math.min(pending.get(), queueLength));
+    }
+
+    /**
+     * Returns the largest number of records which have been waiting in the queue at the same time.
+     *
+     * @return the largest queue size observed
+     */
+    public int getMaxQueueSize() {
+        return maxQueueSize.get();
+    }
+
+    /**
+     * Returns the number of records discarded because the queue was full.
+     *
+     * @return the number of discarded records
+     */
+    public long getDiscardedCount() {
+        return discardedCount.get();
+    }
+
+    /**
+     * Returns the number of records handed to the nested handlers.
+     *
+     * @return the number of published records
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * Returns the average time between a record being created and it being handed to the nested handlers.
+     *
+     * @return the average latency in nanoseconds, or {@code 0} if no record has been handed on yet
+     */
+    public long getAveragePublishLatency() {
+        final long count = publishedCount.get();
+        return count == 0L ? 0L : totalLatency.get() / count;
+    }
+}
@@ -1049,4 +1049,16 @@ public interface LoggingLogger extends BasicLogger {
             "configuration files in deployments has been deprecated and will be removed in a future release.")
     @LogMessage(level = WARN)
     void usageOfLog4j1Config(String fileName, String deploymentName);
+
+    /**
+     * Logs a warning message indicating records logged by a deployment are being dropped as they went over the limit
+     * of records per second.
+     *
+     * @param deploymentName      the deployment name
+     * @param maxRecordsPerSecond the limit of records per second
+     */
+    @Message(id = 101, value = "Deployment %s logged more than %d records in a second. Records below ERROR over the " +
+            "limit are dropped.")
+    @LogMessage(level = WARN)
+    void droppingDeploymentRecords(String deploymentName, int maxRecordsPerSecond);
 }
@@ -22,20 +22,39 @@
 
 package org.jboss.as.logging.logmanager;
 
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.jboss.logmanager.ClassLoaderLogContextSelector;
 import org.jboss.logmanager.LogContext;
 import org.jboss.logmanager.LogContextSelector;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
 class WildFlyLogContextSelectorImpl implements WildFlyLogContextSelector {
 
+    private static final StackWalker STACK_WALKER = WildFlySecurityManager.doUnchecked(
+            (PrivilegedAction<StackWalker>) () -> StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE));
+    // Neither this selector nor the log manager calling it is ever the class which is logging
+    private static final ClassLoader SELECTOR_CLASS_LOADER = WildFlyLogContextSelectorImpl.class.getClassLoader();
+    private static final ClassLoader LOG_MANAGER_CLASS_LOADER = LogContext.class.getClassLoader();
+
     private final LogContextSelector defaultLogContextSelector;
+    // Registrations go through the class loader selector so they are checked the same way, the maps below mirror them
     private final ClassLoaderLogContextSelector contextSelector;
+    private final Map<ClassLoader, LogContext> registeredContexts = new ConcurrentHashMap<>();
+    private final Set<ClassLoader> logApiClassLoaders = ConcurrentHashMap.newKeySet();
+    // The log context of each calling class, or null for the default one. This is replaced, not cleared, whenever the
+    // registrations change, and as a ClassValue it is read without locking and does not keep the classes reachable.
+    private volatile ClassValue<LogContext> callerContexts = new CallerContexts();
 
     private final ThreadLocal<LogContext> localContext = new ThreadLocal<>();
-    private int counter;
+    // Only written while holding the lock on this selector, but read without it on every log context lookup
+    private volatile int counter;
     private int dftCounter;
 
     WildFlyLogContextSelectorImpl(final LogContext defaultLogContext) {
@@ -65,14 +84,52 @@ class WildFlyLogContextSelectorImpl implements WildFlyLogContextSelector {
         if (localContext != null) {
             return localContext;
         }
-        final int counter;
-        synchronized (this) {
-            counter = this.counter;
-        }
         // If we have no registered contexts we can just use the default selector. This should improve performance
         // in most cases as the call stack will not be walked. This does depend on the on what was used for the
         // default selector, however in most cases it should perform better.
-        return counter > 0 ? contextSelector.getLogContext() : defaultLogContextSelector.getLogContext();
+        if (counter == 0) {
+            return defaultLogContextSelector.getLogContext();
+        }
+        // The stack is still walked to find the calling class, but the log context of that class is only looked up
+        // through its class loader and the parents of it once
+        final Class<?> caller = WildFlySecurityManager.isChecking()
+                ? WildFlySecurityManager.doUnchecked((PrivilegedAction<Class<?>>) this::findCaller)
+                : findCaller();
+        final LogContext result = caller == null ? null : callerContexts.get(caller);
+        return result == null ? defaultLogContextSelector.getLogContext() : result;
+    }
+
+    private Class<?> findCaller() {
+        return STACK_WALKER.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(this::isCaller)
+                .findFirst()
+                .orElse(null));
+    }
+
+    private boolean isCaller(final Class<?> type) {
+        final ClassLoader classLoader = type.getClassLoader();
+        return classLoader != null && classLoader != SELECTOR_CLASS_LOADER && classLoader != LOG_MANAGER_CLASS_LOADER
+                && !logApiClassLoaders.contains(classLoader);
+    }
+
+    private LogContext findLogContext(final ClassLoader classLoader) {
+        ClassLoader current = classLoader;
+        while (current != null) {
+            final LogContext logContext = registeredContexts.get(current);
+            if (logContext != null) {
+                return logContext;
+            }
+            current = current.getParent();
+            if (current != null && logApiClassLoaders.contains(current)) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void registrationsChanged() {
+        callerContexts = new CallerContexts();
     }
 
     @Override
@@ -93,6 +150,8 @@ class WildFlyLogContextSelectorImpl implements WildFlyLogContextSelector {
         // We want to register regardless of the current counter for cases when a different log context is registered
         // later.
         contextSelector.registerLogContext(classLoader, logContext);
+        registeredContexts.put(classLoader, logContext);
+        registrationsChanged();
         synchronized (this) {
             if (counter > 0) {
                 counter++;
@@ -110,6 +169,8 @@ class WildFlyLogContextSelectorImpl implements WildFlyLogContextSelector {
     @Override
     public boolean unregisterLogContext(final ClassLoader classLoader, final LogContext logContext) {
         if (contextSelector.unregisterLogContext(classLoader, logContext)) {
+            registeredContexts.remove(classLoader, logContext);
+            registrationsChanged();
             synchronized (this) {
                 if (counter > 0) {
                     counter--;
@@ -126,18 +187,36 @@ class WildFlyLogContextSelectorImpl implements WildFlyLogContextSelector {
 
     @Override
     public boolean addLogApiClassLoader(final ClassLoader apiClassLoader) {
-        return contextSelector.addLogApiClassLoader(apiClassLoader);
+        if (contextSelector.addLogApiClassLoader(apiClassLoader)) {
+            logApiClassLoaders.add(apiClassLoader);
+            registrationsChanged();
+            return true;
+        }
+        return false;
     }
 
     @Override
     public boolean removeLogApiClassLoader(final ClassLoader apiClassLoader) {
-        return contextSelector.removeLogApiClassLoader(apiClassLoader);
+        if (contextSelector.removeLogApiClassLoader(apiClassLoader)) {
+            logApiClassLoaders.remove(apiClassLoader);
+            registrationsChanged();
+            return true;
+        }
+        return false;
     }
 
     @Override
     public int registeredCount() {
-        synchronized (this) {
-            return counter;
+        return counter;
+    }
+
+    private class CallerContexts extends ClassValue<LogContext> {
+        @Override
+        protected LogContext computeValue(final Class<?> type) {
+            // Class loader parents may not be visible to this class
+            return WildFlySecurityManager.isChecking()
+                    ? WildFlySecurityManager.doUnchecked((PrivilegedAction<LogContext>) () -> findLogContext(type.getClassLoader()))
+                    : findLogContext(type.getClassLoader());
         }
     }
 }
@@ -45,7 +45,9 @@ import org.jboss.as.controller.services.path.PathResourceDefinition;
 import org.jboss.as.logging.formatters.PatternFormatterResourceDefinition;
 import org.jboss.as.logging.handlers.AbstractHandlerDefinition;
 import org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.ChannelFileHandler;
 import org.jboss.as.logging.handlers.ConsoleHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.CustomHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.FileHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.PeriodicHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition;
@@ -206,6 +208,61 @@ public class HandlerOperationsTestCase extends AbstractOperationsTestCase {
 
     }
 
+    @Test
+    public void testChannelFileHandlerStatistics() throws Exception {
+        final Path logFile = LoggingTestEnvironment.get().getLogDir().resolve("channel-file.log");
+        // Delete the file if it exists
+        Files.deleteIfExists(logFile);
+
+        // Create a custom handler of the ChannelFileHandler class
+        final String handlerName = "channel-file-handler";
+        final ModelNode handlerAddress = createAddress(CustomHandlerResourceDefinition.NAME, handlerName).toModelNode();
+        ModelNode op = SubsystemOperations.createAddOperation(handlerAddress);
+        op.get(CommonAttributes.CLASS.getName()).set(ChannelFileHandler.class.getName());
+        op.get(CommonAttributes.MODULE.getName()).set("org.jboss.as.logging");
+        op.get(CommonAttributes.PROPERTIES.getName()).get("fileName").set(logFile.toAbsolutePath().toString());
+        op.get(AbstractHandlerDefinition.FORMATTER.getName()).set("%s%n");
+        executeOperation(kernelServices, op);
+
+        // Create a custom handler of another class, which has no statistics
+        final ModelNode otherHandlerAddress = createAddress(CustomHandlerResourceDefinition.NAME, "other-handler").toModelNode();
+        op = SubsystemOperations.createAddOperation(otherHandlerAddress);
+        op.get(CommonAttributes.CLASS.getName()).set("org.jboss.logmanager.handlers.ConsoleHandler");
+        op.get(CommonAttributes.MODULE.getName()).set("org.jboss.logmanager");
+        executeOperation(kernelServices, op);
+        op = SubsystemOperations.createOperation("read-children-names", otherHandlerAddress);
+        op.get("child-type").set("statistics");
+        assertTrue("Expected no statistics for the other handler", SubsystemOperations.readResult(executeOperation(kernelServices, op)).asList().isEmpty());
+
+        // Create a logger
+        final Logger logger = LogContext.getSystemLogContext().getLogger(HandlerOperationsTestCase.class.getName());
+        final ModelNode loggerAddress = createLoggerAddress(logger.getName()).toModelNode();
+        op = SubsystemOperations.createAddOperation(loggerAddress);
+        op.get(LoggerResourceDefinition.USE_PARENT_HANDLERS.getName()).set(false);
+        op.get(LoggerAttributes.HANDLERS.getName()).setEmptyList().add(handlerName);
+        executeOperation(kernelServices, op);
+
+        // Log a few records
+        logger.log(Level.INFO, "Test message 1");
+        logger.log(Level.INFO, "Test message 2");
+
+        final ModelNode statisticsAddress = handlerAddress.clone().add("statistics", "channel-file");
+        op = SubsystemOperations.createReadAttributeOperation(statisticsAddress, "record-count");
+        assertEquals(2L, SubsystemOperations.readResult(executeOperation(kernelServices, op)).asLong());
+        op = SubsystemOperations.createReadAttributeOperation(statisticsAddress, "write-count");
+        assertEquals(2L, SubsystemOperations.readResult(executeOperation(kernelServices, op)).asLong());
+        op = SubsystemOperations.createReadAttributeOperation(statisticsAddress, "bytes-written");
+        assertEquals(Files.size(logFile), SubsystemOperations.readResult(executeOperation(kernelServices, op)).asLong());
+
+        // Finally clean everything up
+        op = SubsystemOperations.CompositeOperationBuilder.create()
+                .addStep(SubsystemOperations.createRemoveOperation(loggerAddress))
+                .addStep(SubsystemOperations.createRemoveOperation(handlerAddress))
+                .addStep(SubsystemOperations.createRemoveOperation(otherHandlerAddress))
+                .build().getOperation();
+        executeOperation(kernelServices, op);
+    }
+
     /**
      * Tests a composite operation of undefining a {@code formatter} attribute and defining a {@code named-formatter}
      * attribute in a composite operation. These two specific attributes have strange behavior. If the
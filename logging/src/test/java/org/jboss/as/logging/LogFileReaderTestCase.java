@@ -0,0 +1,138 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link LogFileReader}.
+ */
+public class LogFileReaderTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadLines() throws Exception {
+        final Path file = write("test.log", "line 0\nline 1\r\n\nline 3\nline 4\n");
+        Assert.assertEquals(Arrays.asList("line 3", "line 4"), read(file, true, 0, 2));
+        Assert.assertEquals(Arrays.asList("", "line 3"), read(file, true, 1, 2));
+        Assert.assertEquals(Arrays.asList("line 0", "line 1", "", "line 3", "line 4"), read(file, true, 0, -1));
+        Assert.assertEquals(Arrays.asList("line 0", "line 1"), read(file, true, 3, -1));
+        Assert.assertEquals(Collections.emptyList(), read(file, true, 5, -1));
+
+        Assert.assertEquals(Arrays.asList("line 0", "line 1"), read(file, false, 0, 2));
+        Assert.assertEquals(Arrays.asList("line 1", ""), read(file, false, 1, 2));
+        Assert.assertEquals(Arrays.asList("line 3", "line 4"), read(file, false, 3, -1));
+        Assert.assertEquals(Collections.emptyList(), read(file, false, 5, -1));
+        Assert.assertEquals(Collections.emptyList(), read(file, false, 0, 0));
+    }
+
+    @Test
+    public void testPartialLastLine() throws Exception {
+        final Path file = write("partial.log", "line 0\n\nline 2");
+        Assert.assertEquals(Arrays.asList("", "line 2"), read(file, true, 0, 2));
+        Assert.assertEquals(Collections.singletonList("line 0"), read(file, true, 2, 10));
+        Assert.assertEquals(Collections.singletonList("line 2"), read(file, false, 2, 10));
+        Assert.assertEquals(Collections.emptyList(), read(write("empty.log", ""), true, 0, 10));
+        Assert.assertEquals(Collections.singletonList(""), read(write("newline.log", "\n"), true, 0, 10));
+    }
+
+    @Test
+    public void testLargeFile() throws Exception {
+        final List<String> expected = new ArrayList<>();
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            final String line = "message " + i + " \u00e9";
+            expected.add(line);
+            content.append(line).append('\n');
+        }
+        final Path file = write("large.log", content.toString());
+        Assert.assertEquals(expected.subList(4990, 5000), read(file, true, 0, 10));
+        Assert.assertEquals(expected.subList(2990, 3000), read(file, true, 2000, 10));
+        Assert.assertEquals(expected.subList(3000, 3010), read(file, false, 3000, 10));
+        // Uses the index built by the previous read
+        Assert.assertEquals(expected.subList(1023, 1026), read(file, false, 1023, 3));
+        Assert.assertEquals(expected.subList(4096, 5000), read(file, false, 4096, -1));
+
+        // Lines appended to the file are found with the existing index
+        Files.write(file, "appended\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Assert.assertEquals(Collections.singletonList("appended"), read(file, false, 5000, 10));
+
+        // A truncated file is indexed again
+        Files.write(file, "rotated 0\nrotated 1\n".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(Collections.singletonList("rotated 1"), read(file, false, 1, 10));
+        Assert.assertEquals(Collections.emptyList(), read(file, false, 3000, 10));
+    }
+
+    @Test
+    public void testTruncatedAndRegrown() throws Exception {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append("message ").append(i).append('\n');
+        }
+        final Path file = write("regrown.log", content.toString());
+        Assert.assertEquals(Collections.singletonList("message 3000"), read(file, false, 3000, 1));
+        final FileTime lastModified = Files.getLastModifiedTime(file);
+
+        // The file is truncated and written past its old size again before the next read, so the indexed lines no
+        // longer end where they did. The time is kept as file systems without a birth time report it instead.
+        final StringBuilder regrown = new StringBuilder();
+        for (int i = 0; i < content.length(); i++) {
+            regrown.append('x');
+        }
+        regrown.append('\n');
+        for (int i = 0; i < 4000; i++) {
+            regrown.append("regrown ").append(i).append('\n');
+        }
+        Files.write(file, regrown.toString().getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, lastModified);
+        Assert.assertEquals(Arrays.asList("regrown 2999", "regrown 3000"), read(file, false, 3000, 2));
+    }
+
+    @Test
+    public void testUtf16() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("utf16.log");
+        Files.write(file, "line 0\nline 1\nline 2\n".getBytes(StandardCharsets.UTF_16BE));
+        Assert.assertEquals(Arrays.asList("line 1", "line 2"), LogFileReader.readLines(file, "UTF-16BE", false, 1, 10));
+    }
+
+    private Path write(final String name, final String content) throws Exception {
+        final Path file = folder.getRoot().toPath().resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static List<String> read(final Path file, final boolean tail, final int skip, final int lines) throws Exception {
+        return LogFileReader.readLines(file, "UTF-8", tail, skip, lines);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging.deployments;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.LogContext;
+import org.jboss.logmanager.Logger;
+import org.jboss.logmanager.config.LogContextConfiguration;
+import org.jboss.logmanager.config.LoggerConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link LogVolumeHandler}.
+ */
+public class LogVolumeHandlerTestCase {
+
+    @Test
+    public void testCounts() {
+        final LogContext logContext = LogContext.create();
+        final LogContextConfiguration configuration = LogContextConfiguration.Factory.create(logContext);
+        configuration.addHandlerConfiguration(null, CollectingHandler.class.getName(), "COLLECTOR");
+        configuration.addLoggerConfiguration("").setHandlerNames("COLLECTOR");
+        configuration.commit();
+        Assert.assertNull(LogVolumeHandler.find(configuration));
+
+        LogVolumeHandler.install(configuration, "test.war", 0);
+        final LogVolumeHandler handler = LogVolumeHandler.find(configuration);
+        Assert.assertNotNull(handler);
+        Assert.assertEquals(Collections.singletonList("COLLECTOR"), configuration.getHandlerConfiguration("LOG_VOLUME").getHandlerNames());
+
+        final Logger logger = logContext.getLogger(LogVolumeHandlerTestCase.class.getName());
+        logger.info("one");
+        logger.info("two");
+        logger.warning("three");
+        logger.severe("four");
+
+        Assert.assertEquals(4, getCollector(configuration, "COLLECTOR").messages.size());
+        Assert.assertArrayEquals(new String[] {"TRACE", "DEBUG", "INFO", "WARN", "ERROR", "FATAL"}, LogVolumeHandler.getLevelNames());
+        Assert.assertArrayEquals(new long[] {0L, 0L, 2L, 1L, 1L, 0L}, handler.getRecordCounts());
+        Assert.assertEquals(0L, handler.getDroppedCount());
+
+        // Later changes to the configuration keep the volume handler in place
+        configuration.getLoggerConfiguration("").setLevel("DEBUG");
+        configuration.commit();
+        Assert.assertEquals(Collections.singletonList("LOG_VOLUME"), configuration.getLoggerConfiguration("").getHandlerNames());
+        logger.fine("five");
+        Assert.assertArrayEquals(new long[] {0L, 1L, 2L, 1L, 1L, 0L}, handler.getRecordCounts());
+    }
+
+    @Test
+    public void testLoggerHandlers() {
+        final LogContext logContext = LogContext.create();
+        final LogContextConfiguration configuration = LogContextConfiguration.Factory.create(logContext);
+        configuration.addHandlerConfiguration(null, CollectingHandler.class.getName(), "ROOT");
+        configuration.addHandlerConfiguration(null, CollectingHandler.class.getName(), "PARENT");
+        configuration.addHandlerConfiguration(null, CollectingHandler.class.getName(), "NO_PARENT");
+        configuration.addLoggerConfiguration("").setHandlerNames("ROOT");
+        configuration.addLoggerConfiguration("parent").setHandlerNames("PARENT");
+        final LoggerConfiguration noParent = configuration.addLoggerConfiguration("no.parent");
+        noParent.setHandlerNames("NO_PARENT");
+        noParent.setUseParentHandlers(false);
+        configuration.commit();
+        LogVolumeHandler.install(configuration, "test.war", 0);
+        final LogVolumeHandler handler = LogVolumeHandler.find(configuration);
+
+        logContext.getLogger("parent").info("parent");
+        logContext.getLogger("no.parent").info("no parent");
+        logContext.getLogger("other").info("other");
+
+        Assert.assertEquals(2, getCollector(configuration, "ROOT").messages.size());
+        Assert.assertEquals(1, getCollector(configuration, "PARENT").messages.size());
+        Assert.assertEquals(1, getCollector(configuration, "NO_PARENT").messages.size());
+        // A record passed on to the handlers of several loggers is only counted once
+        Assert.assertEquals(3L, handler.getRecordCounts()[2]);
+    }
+
+    @Test
+    public void testRateLimit() {
+        final LogContext logContext = LogContext.create();
+        final LogContextConfiguration configuration = LogContextConfiguration.Factory.create(logContext);
+        configuration.addHandlerConfiguration(null, CollectingHandler.class.getName(), "COLLECTOR");
+        configuration.addLoggerConfiguration("").setHandlerNames("COLLECTOR");
+        configuration.commit();
+        LogVolumeHandler.install(configuration, "test.war", 10);
+        final LogVolumeHandler handler = LogVolumeHandler.find(configuration);
+
+        final Logger logger = logContext.getLogger(LogVolumeHandlerTestCase.class.getName());
+        for (int i = 0; i < 1000; i++) {
+            logger.info("message");
+            if (i % 100 == 0) {
+                logger.severe("error");
+            }
+        }
+        // The records may be logged across the start of a new second
+        final long passed = handler.getRecordCounts()[2];
+        Assert.assertTrue(String.valueOf(passed), passed >= 10 && passed <= 20);
+        Assert.assertEquals(1000L, passed + handler.getDroppedCount());
+        // Errors are never dropped
+        Assert.assertEquals(10L, handler.getRecordCounts()[4]);
+        Assert.assertEquals(passed + 10L, getCollector(configuration, "COLLECTOR").messages.size());
+    }
+
+    @Test
+    public void testDropWarnings() throws Exception {
+        final CollectingHandler warnings = new CollectingHandler();
+        final Logger loggingLogger = LogContext.getSystemLogContext().getLogger("org.jboss.as.logging");
+        loggingLogger.addHandler(warnings);
+        try {
+            final LogContext logContext = LogContext.create();
+            final LogContextConfiguration configuration = LogContextConfiguration.Factory.create(logContext);
+            configuration.addHandlerConfiguration(null, CollectingHandler.class.getName(), "COLLECTOR");
+            configuration.addLoggerConfiguration("").setHandlerNames("COLLECTOR");
+            configuration.commit();
+            LogVolumeHandler.install(configuration, "warnings.war", 5);
+
+            final Logger logger = logContext.getLogger(LogVolumeHandlerTestCase.class.getName());
+            for (int i = 0; i < 100; i++) {
+                logger.info("message");
+            }
+            Assert.assertEquals(1, countDropWarnings(warnings));
+
+            // A second under the limit ends the drop period, so the next one is reported again
+            Thread.sleep(2100L);
+            for (int i = 0; i < 100; i++) {
+                logger.info("message");
+            }
+            Assert.assertEquals(2, countDropWarnings(warnings));
+        } finally {
+            loggingLogger.removeHandler(warnings);
+        }
+    }
+
+    private static int countDropWarnings(final CollectingHandler handler) {
+        int count = 0;
+        for (String message : handler.messages) {
+            if (message.contains("warnings.war")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static CollectingHandler getCollector(final LogContextConfiguration configuration, final String name) {
+        return (CollectingHandler) configuration.getHandlerConfiguration(name).getInstance();
+    }
+
+    public static class CollectingHandler extends ExtHandler {
+        final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        protected void doPublish(final ExtLogRecord record) {
+            messages.add(record.getFormattedMessage());
+        }
+    }
+}
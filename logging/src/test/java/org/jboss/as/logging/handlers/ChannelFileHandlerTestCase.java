@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging.handlers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.text.SimpleDateFormat;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.jboss.logmanager.formatters.PatternFormatter;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of {@link ChannelFileHandler}. The buffering and rotation of the file are tested with the
+ * {@link org.wildfly.event.logger.FileChannelWriter}.
+ */
+public class ChannelFileHandlerTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWrite() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("logs").resolve("server.log");
+        ChannelFileHandler handler = createHandler(file);
+        handler.publish(record("0"));
+        Assert.assertEquals(Collections.singletonList("0"), Files.readAllLines(file));
+        handler.publish(record("1"));
+        handler.close();
+        Assert.assertEquals(Arrays.asList("0", "1"), Files.readAllLines(file));
+        Assert.assertEquals(2L, handler.getRecordCount());
+        Assert.assertEquals(2L, handler.getWriteCount());
+        Assert.assertEquals(Files.size(file), handler.getBytesWritten());
+
+        // Appends by default
+        handler = createHandler(file);
+        handler.publish(record("2"));
+        handler.close();
+        Assert.assertEquals(Arrays.asList("0", "1", "2"), Files.readAllLines(file));
+    }
+
+    @Test
+    public void testFlushInterval() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("server.log");
+        final ChannelFileHandler handler = createHandler(file);
+        // Auto-flush is enabled by default, the flush interval decides when records are written
+        Assert.assertTrue(handler.isAutoFlush());
+        handler.setFlushInterval(3600000L);
+        try {
+            handler.publish(record("1"));
+            handler.publish(record("2"));
+            Assert.assertEquals(0L, Files.size(file));
+            handler.flush();
+            Assert.assertEquals(Arrays.asList("1", "2"), Files.readAllLines(file));
+            Assert.assertEquals(1L, handler.getWriteCount());
+            handler.publish(record("3"));
+        } finally {
+            handler.close();
+        }
+        // Closing writes what is left in the buffer
+        Assert.assertEquals(Arrays.asList("1", "2", "3"), Files.readAllLines(file));
+        Assert.assertEquals(3L, handler.getRecordCount());
+    }
+
+    @Test
+    public void testSuffix() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("server.log");
+        Files.write(file, Collections.singletonList("old"));
+        final Date yesterday = Date.from(Files.getLastModifiedTime(file).toInstant().minus(1, ChronoUnit.DAYS));
+        Files.setLastModifiedTime(file, FileTime.from(yesterday.toInstant()));
+        final ChannelFileHandler handler = createHandler(file);
+        handler.setSuffix(".yyyy-MM-dd");
+        // The existing file belongs to the previous day and is rotated before the record is written
+        handler.publish(record("new"));
+        handler.close();
+        Assert.assertEquals(Collections.singletonList("new"), Files.readAllLines(file));
+        final Path rotated = file.resolveSibling(file.getFileName() + new SimpleDateFormat(".yyyy-MM-dd").format(yesterday));
+        Assert.assertEquals(Collections.singletonList("old"), Files.readAllLines(rotated));
+    }
+
+    @Test
+    public void testInvalidSuffix() {
+        final ChannelFileHandler handler = new ChannelFileHandler();
+        try {
+            handler.setSuffix(".'literal'");
+            Assert.fail("Expected a suffix without a date field to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            handler.setSuffix(".yyyy-MM-dd-HH-mm-ss");
+            Assert.fail("Expected a suffix with seconds to be rejected");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    private static ChannelFileHandler createHandler(final Path file) {
+        final ChannelFileHandler handler = new ChannelFileHandler();
+        handler.setFormatter(new PatternFormatter("%s%n"));
+        handler.setFileName(file.toString());
+        return handler;
+    }
+
+    private static ExtLogRecord record(final String message) {
+        return new ExtLogRecord(Level.INFO, message, ChannelFileHandlerTestCase.class.getName());
+    }
+}
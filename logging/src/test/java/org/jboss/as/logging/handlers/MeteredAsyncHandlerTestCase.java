@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging.handlers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.Level;
+import org.jboss.logmanager.handlers.AsyncHandler.OverflowAction;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link MeteredAsyncHandler}.
+ */
+public class MeteredAsyncHandlerTestCase {
+
+    @Test
+    public void testMetrics() throws Exception {
+        final BlockingHandler subhandler = new BlockingHandler();
+        final MeteredAsyncHandler handler = new MeteredAsyncHandler(2);
+        handler.setOverflowAction(OverflowAction.DISCARD);
+        handler.addHandler(subhandler);
+        try {
+            handler.publish(record("0"));
+            // The first record is taken from the queue and blocks the subhandler
+            Assert.assertTrue(subhandler.entered.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(0, handler.getQueueSize());
+            handler.publish(record("1"));
+            handler.publish(record("2"));
+            handler.publish(record("3"));
+            Assert.assertEquals(2, handler.getQueueSize());
+            Assert.assertEquals(2, handler.getMaxQueueSize());
+            Assert.assertEquals(1L, handler.getDiscardedCount());
+
+            Thread.sleep(20L);
+            subhandler.release.countDown();
+            Assert.assertTrue(subhandler.published.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(0, handler.getQueueSize());
+            Assert.assertEquals(2, handler.getMaxQueueSize());
+            Assert.assertEquals(3L, handler.getPublishedCount());
+            // Two of the three records waited in the queue while the subhandler was blocked
+            Assert.assertTrue(handler.getAveragePublishLatency() >= TimeUnit.MILLISECONDS.toNanos(10L));
+        } finally {
+            subhandler.release.countDown();
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        final BlockingHandler subhandler = new BlockingHandler();
+        final MeteredAsyncHandler handler = new MeteredAsyncHandler(2);
+        handler.addHandler(subhandler);
+        subhandler.release.countDown();
+        try {
+            handler.publish(record("0"));
+            handler.publish(record("1"));
+            handler.publish(record("2"));
+            Assert.assertTrue(subhandler.published.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(0, handler.getQueueSize());
+            Assert.assertEquals(0L, handler.getDiscardedCount());
+            Assert.assertEquals(3L, handler.getPublishedCount());
+        } finally {
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testInterruptedWhileBlocked() throws Exception {
+        final BlockingHandler subhandler = new BlockingHandler();
+        final MeteredAsyncHandler handler = new MeteredAsyncHandler(1);
+        handler.addHandler(subhandler);
+        try {
+            handler.publish(record("0"));
+            Assert.assertTrue(subhandler.entered.await(10, TimeUnit.SECONDS));
+            handler.publish(record("1"));
+            Assert.assertEquals(1, handler.getQueueSize());
+
+            // A record which is not added to the full queue is not counted
+            Thread.currentThread().interrupt();
+            handler.publish(record("2"));
+            Assert.assertTrue(Thread.interrupted());
+            Assert.assertEquals(1, handler.getQueueSize());
+            Assert.assertEquals(0L, handler.getDiscardedCount());
+
+            subhandler.release.countDown();
+            handler.publish(record("3"));
+            Assert.assertTrue(subhandler.published.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(0, handler.getQueueSize());
+            Assert.assertEquals(3L, handler.getPublishedCount());
+        } finally {
+            subhandler.release.countDown();
+            handler.close();
+        }
+    }
+
+    private static ExtLogRecord record(final String msg) {
+        return new ExtLogRecord(Level.INFO, msg, MeteredAsyncHandlerTestCase.class.getName());
+    }
+
+    private static class BlockingHandler extends ExtHandler {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch published = new CountDownLatch(3);
+
+        @Override
+        protected void doPublish(final ExtLogRecord record) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            published.countDown();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+import org.jboss.logmanager.LogContext;
+import org.jboss.logmanager.LogContextSelector;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the log context lookup of {@link WildFlyLogContextSelectorImpl}, and that the log contexts it caches for the
+ * calling classes follow the registrations.
+ */
+public class WildFlyLogContextSelectorTestCase {
+
+    private final LogContext defaultContext = LogContext.create();
+
+    @Test
+    public void testCallingClassLoader() throws Exception {
+        final WildFlyLogContextSelectorImpl selector = new WildFlyLogContextSelectorImpl(defaultContext);
+        final DeploymentClassLoader deployment = new DeploymentClassLoader(getClass().getClassLoader());
+        final DeploymentClassLoader subDeployment = new DeploymentClassLoader(deployment);
+        final Function<LogContextSelector, LogContext> deploymentCaller = deployment.createCaller();
+        final Function<LogContextSelector, LogContext> subDeploymentCaller = subDeployment.createCaller();
+        Assert.assertSame(defaultContext, deploymentCaller.apply(selector));
+
+        final LogContext deploymentContext = LogContext.create();
+        selector.registerLogContext(deployment, deploymentContext);
+        Assert.assertSame(deploymentContext, deploymentCaller.apply(selector));
+        Assert.assertSame(deploymentContext, deploymentCaller.apply(selector));
+        // the parents of the class loader are checked too
+        Assert.assertSame(deploymentContext, subDeploymentCaller.apply(selector));
+        // classes of this test are loaded by the class loader of the log manager, so they are skipped
+        Assert.assertSame(defaultContext, selector.getLogContext());
+
+        final LogContext subDeploymentContext = LogContext.create();
+        selector.registerLogContext(subDeployment, subDeploymentContext);
+        Assert.assertSame(subDeploymentContext, subDeploymentCaller.apply(selector));
+        Assert.assertSame(deploymentContext, deploymentCaller.apply(selector));
+
+        Assert.assertTrue(selector.unregisterLogContext(subDeployment, subDeploymentContext));
+        Assert.assertSame(deploymentContext, subDeploymentCaller.apply(selector));
+        Assert.assertTrue(selector.unregisterLogContext(deployment, deploymentContext));
+        Assert.assertSame(defaultContext, deploymentCaller.apply(selector));
+        Assert.assertSame(defaultContext, subDeploymentCaller.apply(selector));
+        Assert.assertEquals(0, selector.registeredCount());
+    }
+
+    @Test
+    public void testLogApiClassLoader() throws Exception {
+        final WildFlyLogContextSelectorImpl selector = new WildFlyLogContextSelectorImpl(defaultContext);
+        final DeploymentClassLoader deployment = new DeploymentClassLoader(getClass().getClassLoader());
+        final DeploymentClassLoader logApi = new DeploymentClassLoader(getClass().getClassLoader());
+        final Function<LogContextSelector, LogContext> deploymentCaller = deployment.createCaller();
+        final LogContext deploymentContext = LogContext.create();
+        selector.registerLogContext(deployment, deploymentContext);
+        selector.registerLogContext(logApi, LogContext.create());
+        final Function<LogContextSelector, LogContext> logApiCaller = logApi.createCaller();
+
+        // the deployment calls the log API, which looks up the log context
+        Assert.assertNotSame(deploymentContext, deploymentCaller.apply(new CallThrough(logApiCaller, selector)));
+        Assert.assertTrue(selector.addLogApiClassLoader(logApi));
+        Assert.assertSame(deploymentContext, deploymentCaller.apply(new CallThrough(logApiCaller, selector)));
+        Assert.assertTrue(selector.removeLogApiClassLoader(logApi));
+        Assert.assertNotSame(deploymentContext, deploymentCaller.apply(new CallThrough(logApiCaller, selector)));
+    }
+
+    @Test
+    public void testThreadLocalContext() {
+        final WildFlyLogContextSelectorImpl selector = new WildFlyLogContextSelectorImpl(defaultContext);
+        final LogContext localContext = LogContext.create();
+        Assert.assertNull(selector.setLocalContext(localContext));
+        Assert.assertSame(localContext, selector.getLogContext());
+        Assert.assertSame(localContext, selector.setLocalContext(null));
+        Assert.assertSame(defaultContext, selector.getLogContext());
+    }
+
+    /**
+     * Looks up the log context from a caller in another class loader.
+     */
+    private static class CallThrough implements LogContextSelector {
+        private final Function<LogContextSelector, LogContext> caller;
+        private final LogContextSelector selector;
+
+        CallThrough(final Function<LogContextSelector, LogContext> caller, final LogContextSelector selector) {
+            this.caller = caller;
+            this.selector = selector;
+        }
+
+        @Override
+        public LogContext getLogContext() {
+            return caller.apply(selector);
+        }
+    }
+
+    /**
+     * Defines its own copy of {@link Caller}, so the log context is looked up from a class of this class loader.
+     */
+    private static class DeploymentClassLoader extends ClassLoader {
+
+        DeploymentClassLoader(final ClassLoader parent) {
+            super(parent);
+        }
+
+        @SuppressWarnings("unchecked")
+        Function<LogContextSelector, LogContext> createCaller() throws IOException, ReflectiveOperationException {
+            final String name = Caller.class.getName();
+            final byte[] bytes;
+            try (InputStream in = Caller.class.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+                bytes = in.readAllBytes();
+            }
+            final Class<?> type = defineClass(name, bytes, 0, bytes.length);
+            return (Function<LogContextSelector, LogContext>) type.getConstructor().newInstance();
+        }
+    }
+
+    public static class Caller implements Function<LogContextSelector, LogContext> {
+        @Override
+        public LogContext apply(final LogContextSelector selector) {
+            return selector.getLogContext();
+        }
+    }
+}
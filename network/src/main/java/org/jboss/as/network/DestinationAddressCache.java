@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.network;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Caches the resolved address of a destination host name. Once the address has been cached for the time to live it is
+ * still returned while the host name is resolved again in the background, so a caller does not wait for name
+ * resolution unless the address has never been resolved. If resolving keeps failing, the stale address is returned for
+ * at most the maximum staleness past its expiry; after that the host name is resolved on the calling thread, and an
+ * {@link UnknownHostException} is thrown until it resolves again.
+ */
+final class DestinationAddressCache {
+
+    private static final Logger log = Logger.getLogger(DestinationAddressCache.class);
+
+    interface Resolver {
+        InetAddress resolve(String host) throws UnknownHostException;
+    }
+
+    private final String host;
+    private final long ttl;
+    private final long maxStale;
+    private final Resolver resolver;
+    private final LongSupplier nanoTime;
+    private final Executor executor;
+
+    private volatile CachedAddress cached;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * @param host     the host name to resolve
+     * @param ttl      how long, in nanoseconds, a resolved address is used before it is resolved again
+     * @param maxStale how long, in nanoseconds, an expired address is still used while it cannot be resolved again
+     * @param resolver resolves the host name
+     * @param nanoTime the source of the current time, in nanoseconds
+     * @param executor runs the resolutions of expired addresses
+     */
+    DestinationAddressCache(final String host, final long ttl, final long maxStale, final Resolver resolver,
+                            final LongSupplier nanoTime, final Executor executor) {
+        this.host = host;
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.resolver = resolver;
+        this.nanoTime = nanoTime;
+        this.executor = executor;
+    }
+
+    InetAddress get() throws UnknownHostException {
+        final CachedAddress cached = this.cached;
+        if (cached == null) {
+            return resolve();
+        }
+        final long now = nanoTime.getAsLong();
+        if (now - cached.resolved - ttl - maxStale >= 0) {
+            return resolve();
+        }
+        if (now - cached.expiry >= 0) {
+            refresh(cached);
+        }
+        return cached.address;
+    }
+
+    /**
+     * Resolves the host name in the background if it has not been resolved yet. Failures are ignored, as the host name
+     * is resolved again when the address is needed.
+     */
+    void prepare() {
+        if (this.cached == null) {
+            refresh(null);
+        }
+    }
+
+    private InetAddress resolve() throws UnknownHostException {
+        final InetAddress address = resolver.resolve(host);
+        final long now = nanoTime.getAsLong();
+        this.cached = new CachedAddress(address, now, now + ttl);
+        return address;
+    }
+
+    private void refresh(final CachedAddress stale) {
+        if (!this.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    resolve();
+                } catch (UnknownHostException | RuntimeException e) {
+                    log.debugf(e, "Failed to resolve %s", host);
+                    if (stale != null && this.cached == stale) {
+                        // retry once the time to live has passed again rather than on every call, but keep the time
+                        // the address was last resolved so it is not served stale for longer than allowed
+                        this.cached = new CachedAddress(stale.address, stale.resolved, nanoTime.getAsLong() + ttl);
+                    }
+                } finally {
+                    this.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.refreshing.set(false);
+        }
+    }
+
+    private static final class CachedAddress {
+        private final InetAddress address;
+        private final long resolved;
+        private final long expiry;
+
+        private CachedAddress(final InetAddress address, final long resolved, final long expiry) {
+            this.address = address;
+            this.resolved = resolved;
+            this.expiry = expiry;
+        }
+    }
+}
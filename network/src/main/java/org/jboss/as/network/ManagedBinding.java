@@ -56,6 +56,16 @@ public interface ManagedBinding extends Closeable {
      */
     void close() throws IOException;
 
+    /**
+     * Get the number of connections accepted through this binding.
+     *
+     * @return the number of accepted connections, or {@code -1} if the binding does not accept connections or
+     *         does not count them
+     */
+    default long getAcceptCount() {
+        return -1;
+    }
+
     final class Factory {
         public static ManagedBinding createSimpleManagedBinding(final String name, final InetSocketAddress socketAddress, final Closeable closeable) {
             checkNotNullParam("socketAddress", socketAddress);
@@ -83,9 +83,7 @@ public class ManagedServerSocketBinding extends ServerSocket implements ManagedB
     public Socket accept() throws IOException {
         final Socket socket = metrics ? new ManagedSocketBinding(socketBindings.getUnnamedRegistry()) : new Socket();
         implAccept(socket);
-        if(metrics) {
-            acceptCount.incrementAndGet();
-        }
+        acceptCount.incrementAndGet();
         return socket;
     }
 
@@ -102,6 +100,7 @@ public class ManagedServerSocketBinding extends ServerSocket implements ManagedB
         }
     }
 
+    @Override
     public long getAcceptCount() {
         return acceptCount.get();
     }
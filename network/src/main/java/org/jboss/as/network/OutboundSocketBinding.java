@@ -22,7 +22,9 @@
 
 package org.jboss.as.network;
 
+import org.jboss.logging.Logger;
 import org.wildfly.common.Assert;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 import java.io.IOException;
 import java.net.InetAddress;
@@ -30,6 +32,10 @@ import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An outbound socket binding represents the client end of a socket. It represents binding from a local "host"
@@ -41,6 +47,48 @@ import java.net.UnknownHostException;
  */
 public class OutboundSocketBinding {
 
+    /**
+     * How long, in milliseconds, a resolved destination address is used before it is resolved again. Once it has
+     * expired the address is still used while it is resolved again in the background, so a connect does not wait
+     * for name resolution unless the address has never been resolved. The cache is disabled by default, or when the
+     * value is 0 or less.
+     */
+    private static final long RESOLUTION_TTL;
+
+    /**
+     * How long, in milliseconds, an expired destination address is still used while it cannot be resolved again.
+     * Past that, the address is resolved on the calling thread, and the connect fails if it cannot be.
+     */
+    private static final long RESOLUTION_MAX_STALE;
+
+    private static final Logger log = Logger.getLogger(OutboundSocketBinding.class);
+
+    static {
+        RESOLUTION_TTL = getMillisProperty("org.jboss.as.network.outbound-resolution-ttl", 0);
+        RESOLUTION_MAX_STALE = getMillisProperty("org.jboss.as.network.outbound-resolution-max-stale", 300000);
+    }
+
+    private static long getMillisProperty(final String name, final long defaultValue) {
+        final String value = WildFlySecurityManager.getPropertyPrivileged(name, Long.toString(defaultValue));
+        long millis;
+        try {
+            millis = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            log.debugf(e, "Invalid value %s for %s", value, name);
+            millis = defaultValue;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+    }
+
+    /**
+     * Resolves destination addresses in the background. Its only thread is a daemon that stops when idle.
+     */
+    private static final Executor RESOLVER = new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        final Thread thread = new Thread(r, "outbound-socket-binding-resolver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final String name;
     private final SocketBindingManager socketBindingManager;
     private final boolean fixedSourcePort;
@@ -50,10 +98,15 @@ public class OutboundSocketBinding {
     private final int destinationPort;
 
     /**
-     * The destination address is lazily resolved whenever a request is made {@link #getResolvedDestinationAddress()}
-     * or for {@link #connect()}.
+     * The destination address, if it was given as an address instead of a host name.
+     */
+    private final InetAddress resolvedDestinationAddress;
+
+    /**
+     * Caches the destination address resolved whenever a request is made {@link #getResolvedDestinationAddress()}
+     * or for {@link #connect()}, if {@link #RESOLUTION_TTL} enables caching and the destination is a host name.
      */
-    private InetAddress resolvedDestinationAddress;
+    private final DestinationAddressCache destinationAddressCache;
 
     /**
      * Creates an outbound socket binding
@@ -71,18 +124,7 @@ public class OutboundSocketBinding {
                                  final String destinationAddress, final int destinationPort,
                                  final NetworkInterfaceBinding sourceNetworkInterface, final Integer sourcePort,
                                  final boolean fixedSourcePort) {
-        Assert.checkNotNullParam("name", name);
-        Assert.checkNotEmptyParam("name", name);
-        Assert.checkNotNullParam("socketBindingManager", socketBindingManager);
-        Assert.checkNotNullParam("destinationAddress", destinationAddress);
-        Assert.checkMinimumParameter("destinationPort", 0, destinationPort);
-        this.name = name;
-        this.socketBindingManager = socketBindingManager;
-        this.unresolvedDestinationAddress = destinationAddress;
-        this.destinationPort = destinationPort;
-        this.sourceNetworkInterface = sourceNetworkInterface;
-        this.sourcePort = sourcePort;
-        this.fixedSourcePort = fixedSourcePort;
+        this(name, socketBindingManager, destinationAddress, null, destinationPort, sourceNetworkInterface, sourcePort, fixedSourcePort);
     }
 
     /**
@@ -101,8 +143,29 @@ public class OutboundSocketBinding {
                                  final InetAddress destinationAddress, final int destinationPort,
                                  final NetworkInterfaceBinding sourceNetworkInterface, final Integer sourcePort,
                                  final boolean fixedSourcePort) {
-        this(name, socketBindingManager, destinationAddress.getHostAddress(), destinationPort, sourceNetworkInterface, sourcePort, fixedSourcePort);
-        this.resolvedDestinationAddress = destinationAddress;
+        this(name, socketBindingManager, destinationAddress.getHostAddress(), destinationAddress, destinationPort, sourceNetworkInterface, sourcePort, fixedSourcePort);
+    }
+
+    private OutboundSocketBinding(final String name, final SocketBindingManager socketBindingManager,
+                                  final String destinationAddress, final InetAddress resolvedDestinationAddress, final int destinationPort,
+                                  final NetworkInterfaceBinding sourceNetworkInterface, final Integer sourcePort,
+                                  final boolean fixedSourcePort) {
+        Assert.checkNotNullParam("name", name);
+        Assert.checkNotEmptyParam("name", name);
+        Assert.checkNotNullParam("socketBindingManager", socketBindingManager);
+        Assert.checkNotNullParam("destinationAddress", destinationAddress);
+        Assert.checkMinimumParameter("destinationPort", 0, destinationPort);
+        this.name = name;
+        this.socketBindingManager = socketBindingManager;
+        this.unresolvedDestinationAddress = destinationAddress;
+        this.resolvedDestinationAddress = resolvedDestinationAddress;
+        this.destinationAddressCache = resolvedDestinationAddress == null && RESOLUTION_TTL > 0
+                ? new DestinationAddressCache(destinationAddress, RESOLUTION_TTL, RESOLUTION_MAX_STALE, InetAddress::getByName, System::nanoTime, RESOLVER)
+                : null;
+        this.destinationPort = destinationPort;
+        this.sourceNetworkInterface = sourceNetworkInterface;
+        this.sourcePort = sourcePort;
+        this.fixedSourcePort = fixedSourcePort;
     }
 
     /**
@@ -143,15 +206,30 @@ public class OutboundSocketBinding {
     /**
      * Returns the <em>resolved</em> destination address of this outbound socket binding. If the destination address
      * is already resolved then this method return that address or else it tries to resolve the
-     * address before return.
+     * address before return. If caching is enabled, a resolved address is cached; once the cache entry expires the
+     * cached address is still returned, for a limited time, while the address is resolved again in the background.
      *
      * @throws UnknownHostException If the destination address cannot be resolved
      */
-    public synchronized InetAddress getResolvedDestinationAddress() throws UnknownHostException {
+    public InetAddress getResolvedDestinationAddress() throws UnknownHostException {
         if (this.resolvedDestinationAddress != null) {
             return this.resolvedDestinationAddress;
         }
-        return InetAddress.getByName(this.unresolvedDestinationAddress);
+        if (this.destinationAddressCache == null) {
+            return InetAddress.getByName(this.unresolvedDestinationAddress);
+        }
+        return this.destinationAddressCache.get();
+    }
+
+    /**
+     * Resolves the destination address in the background if it is cached and has not been resolved yet, so that the
+     * first {@link #connect()} does not have to wait for it. Failures are ignored, as the address is resolved again
+     * when it is needed.
+     */
+    public void prepareDestinationAddress() {
+        if (this.destinationAddressCache != null) {
+            this.destinationAddressCache.prepare();
+        }
     }
 
     /**
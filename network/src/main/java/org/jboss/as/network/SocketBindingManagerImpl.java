@@ -387,6 +387,10 @@ public abstract class SocketBindingManagerImpl implements SocketBindingManager {
             return wrapped.getBindAddress();
         }
         @Override
+        public long getAcceptCount() {
+            return wrapped.getAcceptCount();
+        }
+        @Override
         public void close() throws IOException {
             try {
                 registry.unregisterBinding(this);
@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.network;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests of {@link DestinationAddressCache}.
+ */
+public class DestinationAddressCacheTestCase {
+
+    private static final long TTL = 1000;
+    private static final long MAX_STALE = 5000;
+
+    private final Deque<InetAddress> addresses = new ArrayDeque<>();
+    private int resolutions;
+    private long now;
+
+    private final DestinationAddressCache cache = new DestinationAddressCache("example", TTL, MAX_STALE, host -> {
+        resolutions++;
+        final InetAddress address = addresses.poll();
+        if (address == null) {
+            throw new UnknownHostException(host);
+        }
+        return address;
+    }, () -> now, Runnable::run);
+
+    @Test
+    public void testCachedUntilExpiry() throws Exception {
+        final InetAddress first = address(1);
+        addresses.add(first);
+        Assert.assertSame(first, cache.get());
+        now += TTL - 1;
+        Assert.assertSame(first, cache.get());
+        Assert.assertEquals(1, resolutions);
+    }
+
+    @Test
+    public void testRefreshAfterExpiry() throws Exception {
+        final InetAddress first = address(1);
+        final InetAddress second = address(2);
+        addresses.add(first);
+        addresses.add(second);
+        Assert.assertSame(first, cache.get());
+        now += TTL;
+        // the expired address is returned while it is resolved again
+        Assert.assertSame(first, cache.get());
+        Assert.assertEquals(2, resolutions);
+        Assert.assertSame(second, cache.get());
+        Assert.assertEquals(2, resolutions);
+    }
+
+    @Test
+    public void testStaleAddressUntilCap() throws Exception {
+        final InetAddress first = address(1);
+        addresses.add(first);
+        Assert.assertSame(first, cache.get());
+        now += TTL;
+        Assert.assertSame(first, cache.get());
+        Assert.assertEquals(2, resolutions);
+        // a failed refresh is only retried once the time to live has passed again
+        Assert.assertSame(first, cache.get());
+        Assert.assertEquals(2, resolutions);
+        now += TTL;
+        Assert.assertSame(first, cache.get());
+        Assert.assertEquals(3, resolutions);
+
+        now = TTL + MAX_STALE - 1;
+        Assert.assertSame(first, cache.get());
+        now = TTL + MAX_STALE;
+        try {
+            cache.get();
+            Assert.fail("stale address returned past the cap");
+        } catch (UnknownHostException expected) {
+        }
+        try {
+            cache.get();
+            Assert.fail("stale address returned past the cap");
+        } catch (UnknownHostException expected) {
+        }
+
+        final InetAddress second = address(2);
+        addresses.add(second);
+        Assert.assertSame(second, cache.get());
+    }
+
+    @Test
+    public void testPrepare() throws Exception {
+        final InetAddress first = address(1);
+        addresses.add(first);
+        cache.prepare();
+        Assert.assertEquals(1, resolutions);
+        Assert.assertSame(first, cache.get());
+        Assert.assertEquals(1, resolutions);
+    }
+
+    private static InetAddress address(final int last) throws UnknownHostException {
+        return InetAddress.getByAddress(new byte[] {10, 0, 0, (byte) last});
+    }
+}
@@ -64,6 +64,8 @@ public class PlatformMBeanConstants {
     public static final String BUFFER_POOL = "buffer-pool";
     public static final String LOGGING = "logging";
 
+    public static final String THREAD_PROFILER = "thread-profiler";
+
     public static final String PLATFORM_LOGGING_MXBEAN_NAME = "java.util.logging:type=Logging";
     public static final String BUFFER_POOL_MXBEAN_DOMAIN_TYPE = "java.nio:type=BufferPool";
     public static final ObjectName PLATFORM_LOGGING_OBJECT_NAME;
@@ -230,6 +232,29 @@ public class PlatformMBeanConstants {
     public static final String MEMORY_USED_NAME = "memory-used";
     public static final String TOTAL_CAPACITY = "total-capacity";
 
+    // Snapshot
+    public static final String READ_SNAPSHOT = "read-snapshot";
+    public static final String SINCE = "since";
+    public static final String TOKEN = "token";
+    public static final String DELTA = "delta";
+    public static final String TIMESTAMP = "timestamp";
+    public static final String PROCESS_CPU_LOAD = "process-cpu-load";
+    public static final String SYSTEM_CPU_LOAD = "system-cpu-load";
+    public static final String PROCESS_CPU_TIME = "process-cpu-time";
+
+    // Thread profiler
+    public static final String ENABLED = "enabled";
+    public static final String SAMPLING_INTERVAL = "sampling-interval";
+    public static final String STACK_DEPTH = "stack-depth";
+    public static final String BUFFER_SIZE = "buffer-size";
+    public static final String SAMPLE_COUNT = "sample-count";
+    public static final String GET_HOT_THREADS = "get-hot-threads";
+    public static final String GET_HOT_FRAMES = "get-hot-frames";
+    public static final String WINDOW = "window";
+    public static final String CPU_TIME = "cpu-time";
+    public static final String STACKS = "stacks";
+    public static final String FRAME = "frame";
+
     // PlatformLoggingMXBean
 
     public static final String LOGGER_NAMES = "logger-names";
@@ -262,12 +287,14 @@ public class PlatformMBeanConstants {
     public static final PathElement THREADING_PATH = PathElement.pathElement(ModelDescriptionConstants.TYPE, THREADING);
     public static final PathElement BUFFER_POOL_PATH = PathElement.pathElement(ModelDescriptionConstants.TYPE, BUFFER_POOL);
     public static final PathElement LOGGING_PATH = PathElement.pathElement(ModelDescriptionConstants.TYPE, LOGGING);
+    public static final PathElement THREAD_PROFILER_PATH = PathElement.pathElement(ModelDescriptionConstants.TYPE, THREAD_PROFILER);
 
 
     static {
         final List<String> JDK6 = ManagementFactory.getCompilationMXBean() == null ? JDK_NOCOMPILATION_TYPES : JDK6_BASE_TYPES;
         List<String> list = new ArrayList<String>(JDK6);
         list.add(BUFFER_POOL);
+        list.add(THREAD_PROFILER);
         // list.add(LOGGING); AS7-2185
         BASE_TYPES = Collections.unmodifiableList(list);
 
@@ -16,6 +16,12 @@ public class PlatformMBeanResourceDefinition extends SimpleResourceDefinition {
                 PlatformMBeanUtil.getResolver("platform-mbeans")).setRuntime());
     }
 
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        resourceRegistration.registerOperationHandler(PlatformMBeanSnapshotHandler.DEFINITION, PlatformMBeanSnapshotHandler.INSTANCE);
+    }
+
     @Override
     public void registerChildren(ManagementResourceRegistration resourceRegistration) {
         super.registerChildren(resourceRegistration);
@@ -32,5 +38,6 @@ public class PlatformMBeanResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(ThreadResourceDefinition.INSTANCE);
 
         resourceRegistration.registerSubModel(BufferPoolRootResourceDefinition.INSTANCE);
+        resourceRegistration.registerSubModel(ThreadProfilerResourceDefinition.INSTANCE);
     }
 }
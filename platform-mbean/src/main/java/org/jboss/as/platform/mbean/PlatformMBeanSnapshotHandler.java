@@ -0,0 +1,204 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Reads a sample of the main JVM health metrics (memory, memory pools, garbage collection, threads, CPU and buffer
+ * pools) in a single operation, instead of a read per attribute of each platform MBean resource.
+ * <p>
+ * Every sample is returned with a token. Passing the token of an earlier sample as the {@code since} parameter
+ * returns only the values that changed since that sample, which keeps the response small for frequent polling.
+ * Only the most recent samples are retained, so if the token is unknown a full sample is returned.
+ */
+public class PlatformMBeanSnapshotHandler implements OperationStepHandler {
+
+    static final SimpleAttributeDefinition SINCE = new SimpleAttributeDefinitionBuilder(PlatformMBeanConstants.SINCE, ModelType.STRING, true)
+            .build();
+
+    static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(PlatformMBeanConstants.READ_SNAPSHOT, PlatformMBeanUtil.getResolver("platform-mbeans"))
+            .setParameters(SINCE)
+            .setReplyType(ModelType.OBJECT)
+            .setRuntimeOnly()
+            .setReadOnly()
+            .build();
+
+    public static final PlatformMBeanSnapshotHandler INSTANCE = new PlatformMBeanSnapshotHandler();
+
+    private static final int RETAINED_SAMPLES = 16;
+    // com.sun.management.OperatingSystemMXBean attributes, read through the MBean server as they are not in java.lang.management
+    private static final String[] CPU_ATTRIBUTES = {"ProcessCpuLoad", "SystemCpuLoad", "ProcessCpuTime"};
+    private static final String[] CPU_KEYS = {PlatformMBeanConstants.PROCESS_CPU_LOAD, PlatformMBeanConstants.SYSTEM_CPU_LOAD, PlatformMBeanConstants.PROCESS_CPU_TIME};
+
+    // distinguishes tokens from those issued before a restart
+    private final String tokenPrefix = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX) + '-';
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, ModelNode> samples = new LinkedHashMap<String, ModelNode>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ModelNode> eldest) {
+            return size() > RETAINED_SAMPLES;
+        }
+    };
+
+    private PlatformMBeanSnapshotHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final String since = SINCE.resolveModelAttribute(context, operation).asStringOrNull();
+
+        final ModelNode sample = takeSample();
+        final String token = tokenPrefix + sequence.incrementAndGet();
+        final ModelNode previous;
+        synchronized (samples) {
+            previous = since == null ? null : samples.get(since);
+            samples.put(token, sample);
+        }
+
+        final ModelNode result = context.getResult();
+        result.get(PlatformMBeanConstants.TOKEN).set(token);
+        result.get(PlatformMBeanConstants.DELTA).set(previous != null);
+        if (previous == null) {
+            for (String key : sample.keys()) {
+                result.get(key).set(sample.get(key));
+            }
+        } else {
+            addChanges(previous, sample, result);
+        }
+    }
+
+    private static ModelNode takeSample() {
+        final ModelNode sample = new ModelNode();
+        sample.get(PlatformMBeanConstants.TIMESTAMP).set(System.currentTimeMillis());
+        sample.get(PlatformMBeanConstants.RUNTIME, PlatformMBeanConstants.UPTIME).set(ManagementFactory.getRuntimeMXBean().getUptime());
+
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        setUsage(sample.get(PlatformMBeanConstants.MEMORY, PlatformMBeanConstants.HEAP_MEMORY_USAGE), memory.getHeapMemoryUsage());
+        setUsage(sample.get(PlatformMBeanConstants.MEMORY, PlatformMBeanConstants.NON_HEAP_MEMORY_USAGE), memory.getNonHeapMemoryUsage());
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final MemoryUsage usage = pool.isValid() ? pool.getUsage() : null;
+            if (usage != null) {
+                setUsage(sample.get(PlatformMBeanConstants.MEMORY_POOL, PlatformMBeanUtil.escapeMBeanName(pool.getName())), usage);
+            }
+        }
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            final ModelNode node = sample.get(PlatformMBeanConstants.GARBAGE_COLLECTOR, PlatformMBeanUtil.escapeMBeanName(collector.getName()));
+            node.get(PlatformMBeanConstants.COLLECTION_COUNT).set(collector.getCollectionCount());
+            node.get(PlatformMBeanConstants.COLLECTION_TIME).set(collector.getCollectionTime());
+        }
+
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final ModelNode threading = sample.get(PlatformMBeanConstants.THREADING);
+        threading.get(PlatformMBeanConstants.THREAD_COUNT).set(threads.getThreadCount());
+        threading.get(PlatformMBeanConstants.DAEMON_THREAD_COUNT).set(threads.getDaemonThreadCount());
+        threading.get(PlatformMBeanConstants.PEAK_THREAD_COUNT).set(threads.getPeakThreadCount());
+        threading.get(PlatformMBeanConstants.TOTAL_STARTED_THREAD_COUNT).set(threads.getTotalStartedThreadCount());
+
+        final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        final ModelNode operatingSystem = sample.get(PlatformMBeanConstants.OPERATING_SYSTEM);
+        operatingSystem.get(PlatformMBeanConstants.AVAILABLE_PROCESSORS).set(os.getAvailableProcessors());
+        operatingSystem.get(PlatformMBeanConstants.SYSTEM_LOAD_AVERAGE).set(os.getSystemLoadAverage());
+        setCpuUsage(operatingSystem, os.getObjectName());
+
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            final ModelNode node = sample.get(PlatformMBeanConstants.BUFFER_POOL, PlatformMBeanUtil.escapeMBeanName(pool.getName()));
+            node.get(PlatformMBeanConstants.COUNT).set(pool.getCount());
+            node.get(PlatformMBeanConstants.MEMORY_USED_NAME).set(pool.getMemoryUsed());
+            node.get(PlatformMBeanConstants.TOTAL_CAPACITY).set(pool.getTotalCapacity());
+        }
+        return sample;
+    }
+
+    private static void setUsage(final ModelNode node, final MemoryUsage usage) {
+        node.get(PlatformMBeanConstants.USED).set(usage.getUsed());
+        node.get(PlatformMBeanConstants.COMMITTED).set(usage.getCommitted());
+        node.get(PlatformMBeanConstants.MAX).set(usage.getMax());
+    }
+
+    private static void setCpuUsage(final ModelNode node, final ObjectName objectName) {
+        final AttributeList attributes;
+        try {
+            attributes = ManagementFactory.getPlatformMBeanServer().getAttributes(objectName, CPU_ATTRIBUTES);
+        } catch (JMException e) {
+            // not available on this JVM
+            return;
+        }
+        for (Attribute attribute : attributes.asList()) {
+            for (int i = 0; i < CPU_ATTRIBUTES.length; i++) {
+                if (CPU_ATTRIBUTES[i].equals(attribute.getName()) && attribute.getValue() instanceof Number) {
+                    final Number value = (Number) attribute.getValue();
+                    if (value instanceof Double) {
+                        node.get(CPU_KEYS[i]).set(value.doubleValue());
+                    } else {
+                        node.get(CPU_KEYS[i]).set(value.longValue());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the values of {@code current} that are not the same in {@code previous} to {@code target}.
+     */
+    private static void addChanges(final ModelNode previous, final ModelNode current, final ModelNode target) {
+        for (String key : current.keys()) {
+            final ModelNode value = current.get(key);
+            final ModelNode previousValue = previous.has(key) ? previous.get(key) : null;
+            if (previousValue == null) {
+                target.get(key).set(value);
+            } else if (value.getType() == ModelType.OBJECT) {
+                final ModelNode changes = new ModelNode();
+                addChanges(previousValue, value, changes);
+                if (changes.isDefined()) {
+                    target.get(key).set(changes);
+                }
+            } else if (!value.equals(previousValue)) {
+                target.get(key).set(value);
+            }
+        }
+    }
+}
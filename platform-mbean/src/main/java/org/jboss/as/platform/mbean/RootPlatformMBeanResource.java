@@ -72,6 +72,8 @@ public class RootPlatformMBeanResource extends AbstractPlatformMBeanResource {
             return new LeafPlatformMBeanResource(PlatformMBeanConstants.THREADING_PATH);
         } else if (PlatformMBeanConstants.BUFFER_POOL.equals(name)) {
             return new BufferPoolMXBeanResource();
+        } else if (PlatformMBeanConstants.THREAD_PROFILER.equals(name)) {
+            return new LeafPlatformMBeanResource(PlatformMBeanConstants.THREAD_PROFILER_PATH);
         } else if (PlatformMBeanConstants.LOGGING.equals(name)) {
             return new LeafPlatformMBeanResource(PlatformMBeanConstants.LOGGING_PATH);
         } else {
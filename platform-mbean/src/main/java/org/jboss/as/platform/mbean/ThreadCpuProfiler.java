@@ -0,0 +1,355 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.platform.mbean.logging.PlatformMBeanLogger;
+
+/**
+ * Samples the CPU time used by each thread of the JVM at a fixed interval, and the stack of each thread that used CPU
+ * since the previous sample, into a ring buffer that can be summarized as the threads and stack frames that used the
+ * most CPU over a recent window.
+ * <p>
+ * Only the threads that were actually running have their stacks taken, so the cost of a sample is mostly one
+ * {@link ThreadMXBean#getThreadCpuTime(long)} call per thread. Sampling only runs while the
+ * {@link ThreadCpuProfilerService} is installed, so it does not survive a reload of the process.
+ */
+final class ThreadCpuProfiler {
+
+    static final ThreadCpuProfiler INSTANCE = new ThreadCpuProfiler();
+
+    static final long DEFAULT_SAMPLING_INTERVAL = 1000;
+    static final int DEFAULT_STACK_DEPTH = 8;
+    static final int DEFAULT_BUFFER_SIZE = 600;
+    // Every sample holds a stack of up to the stack depth for each thread that was running, so both are bounded
+    static final int MAX_STACK_DEPTH = 128;
+    static final int MAX_BUFFER_SIZE = 3600;
+    private static final int STACKS_PER_THREAD = 3;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    // guarded by this
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> task;
+    private boolean disableCpuTimeOnStop;
+    private long samplingInterval = DEFAULT_SAMPLING_INTERVAL;
+    private int stackDepth = DEFAULT_STACK_DEPTH;
+    private Sample[] samples = new Sample[DEFAULT_BUFFER_SIZE];
+    private int next;
+    private int count;
+
+    private ThreadCpuProfiler() {
+    }
+
+    synchronized boolean isEnabled() {
+        return executor != null;
+    }
+
+    boolean isSupported() {
+        return threads.isThreadCpuTimeSupported();
+    }
+
+    /**
+     * Starts sampling on the given executor, which is owned by the {@link ThreadCpuProfilerService}. Starting clears
+     * the samples of any earlier run, and enables thread CPU time measurement for as long as sampling runs if it is not
+     * enabled already.
+     *
+     * @throws UnsupportedOperationException if the JVM does not support thread CPU time measurement
+     */
+    synchronized void start(final ScheduledExecutorService executor) {
+        if (!isSupported()) {
+            throw PlatformMBeanLogger.ROOT_LOGGER.threadCpuTimeNotSupported();
+        }
+        if (!threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+            disableCpuTimeOnStop = true;
+        }
+        Arrays.fill(samples, null);
+        next = 0;
+        count = 0;
+        this.executor = executor;
+        schedule();
+    }
+
+    /**
+     * Stops sampling. The executor passed to {@link #start(ScheduledExecutorService)} is left to its owner to shut down.
+     */
+    synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+        task.cancel(false);
+        executor = null;
+        task = null;
+        if (disableCpuTimeOnStop) {
+            threads.setThreadCpuTimeEnabled(false);
+            disableCpuTimeOnStop = false;
+        }
+    }
+
+    private void schedule() {
+        task = executor.scheduleAtFixedRate(new Sampler(), 0, samplingInterval, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized long getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    synchronized void setSamplingInterval(final long samplingInterval) {
+        if (this.samplingInterval == samplingInterval) {
+            return;
+        }
+        this.samplingInterval = samplingInterval;
+        if (executor != null) {
+            task.cancel(false);
+            schedule();
+        }
+    }
+
+    synchronized int getStackDepth() {
+        return stackDepth;
+    }
+
+    synchronized void setStackDepth(final int stackDepth) {
+        this.stackDepth = stackDepth;
+    }
+
+    synchronized int getBufferSize() {
+        return samples.length;
+    }
+
+    /**
+     * Changes the number of samples that are retained, keeping the most recent ones.
+     */
+    synchronized void setBufferSize(final int bufferSize) {
+        if (bufferSize == samples.length) {
+            return;
+        }
+        final List<Sample> retained = getSamples(0);
+        samples = new Sample[bufferSize];
+        next = 0;
+        count = 0;
+        for (Sample sample : retained.subList(Math.max(0, retained.size() - bufferSize), retained.size())) {
+            record(sample);
+        }
+    }
+
+    synchronized int getSampleCount() {
+        return count;
+    }
+
+    /**
+     * Takes the samples for one scheduling of the profiler.
+     */
+    private final class Sampler implements Runnable {
+        private Map<Long, Long> previousCpuTimes = new HashMap<>();
+
+        @Override
+        public void run() {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                PlatformMBeanLogger.ROOT_LOGGER.debugf(e, "Failed to sample thread CPU usage");
+            }
+        }
+
+        private void sample() {
+            final int stackDepth = getStackDepth();
+            final long time = System.currentTimeMillis();
+            final long self = Thread.currentThread().getId();
+            final long[] ids = threads.getAllThreadIds();
+            final Map<Long, Long> cpuTimes = new HashMap<>(ids.length * 2);
+            final long[] runningIds = new long[ids.length];
+            final long[] runningCpuTimes = new long[ids.length];
+            int running = 0;
+            for (long id : ids) {
+                if (id == self) {
+                    continue;
+                }
+                final long cpuTime = threads.getThreadCpuTime(id);
+                if (cpuTime < 0) {
+                    // no longer alive
+                    continue;
+                }
+                cpuTimes.put(id, cpuTime);
+                // a thread seen for the first time has no known interval to attribute its CPU time to
+                final Long previous = previousCpuTimes.get(id);
+                if (previous != null && cpuTime > previous) {
+                    runningIds[running] = id;
+                    runningCpuTimes[running] = cpuTime - previous;
+                    running++;
+                }
+            }
+            previousCpuTimes = cpuTimes;
+
+            final List<ThreadSample> threadSamples = new ArrayList<>(running);
+            if (running > 0) {
+                final ThreadInfo[] infos = threads.getThreadInfo(Arrays.copyOf(runningIds, running), stackDepth);
+                for (int i = 0; i < running; i++) {
+                    if (infos[i] != null) {
+                        threadSamples.add(new ThreadSample(runningIds[i], infos[i].getThreadName(), runningCpuTimes[i], infos[i].getStackTrace()));
+                    }
+                }
+            }
+            synchronized (ThreadCpuProfiler.this) {
+                // drop the sample if sampling was stopped while it was taken
+                if (executor != null) {
+                    record(new Sample(time, threadSamples));
+                }
+            }
+        }
+    }
+
+    private void record(final Sample sample) {
+        samples[next] = sample;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * Gets the retained samples taken at or after the given time, oldest first.
+     */
+    private synchronized List<Sample> getSamples(final long since) {
+        final List<Sample> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Sample sample = samples[(next - count + i + samples.length) % samples.length];
+            if (sample.time >= since) {
+                result.add(sample);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the threads that used the most CPU time in the samples taken within the given window.
+     *
+     * @param window the length of the window in milliseconds, ending now
+     * @param limit the maximum number of threads to return
+     * @return the threads, most CPU time first
+     */
+    List<HotThread> getHotThreads(final long window, final int limit) {
+        final Map<Long, HotThread> hotThreads = new HashMap<>();
+        for (Sample sample : getSamples(System.currentTimeMillis() - window)) {
+            for (ThreadSample threadSample : sample.threads) {
+                final HotThread hotThread = hotThreads.computeIfAbsent(threadSample.id, id -> new HotThread(id, threadSample.name));
+                hotThread.cpuTime += threadSample.cpuTime;
+                hotThread.sampleCount++;
+                hotThread.stacks.merge(Arrays.asList(threadSample.stack), 1, Integer::sum);
+            }
+        }
+        return top(hotThreads.values(), Comparator.comparingLong((HotThread t) -> t.cpuTime), limit);
+    }
+
+    /**
+     * Gets the stack frames at the top of the stacks of the threads that used the most CPU time in the samples taken
+     * within the given window. The CPU time a thread used between two samples is attributed to the frame it was
+     * executing in the later one.
+     *
+     * @param window the length of the window in milliseconds, ending now
+     * @param limit the maximum number of frames to return
+     * @return the frames, most CPU time first
+     */
+    List<HotFrame> getHotFrames(final long window, final int limit) {
+        final Map<StackTraceElement, HotFrame> hotFrames = new HashMap<>();
+        for (Sample sample : getSamples(System.currentTimeMillis() - window)) {
+            for (ThreadSample threadSample : sample.threads) {
+                if (threadSample.stack.length > 0) {
+                    final HotFrame hotFrame = hotFrames.computeIfAbsent(threadSample.stack[0], HotFrame::new);
+                    hotFrame.cpuTime += threadSample.cpuTime;
+                    hotFrame.sampleCount++;
+                }
+            }
+        }
+        return top(hotFrames.values(), Comparator.comparingLong((HotFrame f) -> f.cpuTime), limit);
+    }
+
+    private static <T> List<T> top(final Iterable<T> values, final Comparator<T> comparator, final int limit) {
+        final List<T> result = new ArrayList<>();
+        values.forEach(result::add);
+        result.sort(comparator.reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static final class Sample {
+        private final long time;
+        private final List<ThreadSample> threads;
+
+        private Sample(final long time, final List<ThreadSample> threads) {
+            this.time = time;
+            this.threads = threads;
+        }
+    }
+
+    private static final class ThreadSample {
+        private final long id;
+        private final String name;
+        private final long cpuTime;
+        private final StackTraceElement[] stack;
+
+        private ThreadSample(final long id, final String name, final long cpuTime, final StackTraceElement[] stack) {
+            this.id = id;
+            this.name = name;
+            this.cpuTime = cpuTime;
+            this.stack = stack;
+        }
+    }
+
+    static final class HotThread {
+        final long id;
+        final String name;
+        long cpuTime;
+        int sampleCount;
+        private final Map<List<StackTraceElement>, Integer> stacks = new LinkedHashMap<>();
+
+        private HotThread(final long id, final String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        /**
+         * @return the stacks this thread was sampled with most often, with the number of samples for each
+         */
+        List<Map.Entry<List<StackTraceElement>, Integer>> getTopStacks() {
+            return top(stacks.entrySet(), Map.Entry.comparingByValue(), STACKS_PER_THREAD);
+        }
+    }
+
+    static final class HotFrame {
+        final StackTraceElement frame;
+        long cpuTime;
+        int sampleCount;
+
+        private HotFrame(final StackTraceElement frame) {
+            this.frame = frame;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.jboss.msc.Service;
+import org.jboss.msc.service.ServiceName;
+import org.jboss.msc.service.ServiceTarget;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.jboss.msc.service.StopContext;
+
+/**
+ * Owns the thread that takes the samples of the {@link ThreadCpuProfiler}, which runs from the start of this service
+ * until it is stopped.
+ */
+class ThreadCpuProfilerService implements Service {
+
+    static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("platform-mbean", "thread-profiler");
+
+    private ScheduledExecutorService executor;
+
+    static void install(final ServiceTarget target) {
+        target.addService(SERVICE_NAME)
+                .setInstance(new ThreadCpuProfilerService())
+                .install();
+    }
+
+    @Override
+    public void start(final StartContext context) throws StartException {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "platform-mbean-thread-profiler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            ThreadCpuProfiler.INSTANCE.start(executor);
+        } catch (SecurityException | UnsupportedOperationException e) {
+            executor.shutdownNow();
+            executor = null;
+            throw new StartException(e);
+        }
+    }
+
+    @Override
+    public void stop(final StopContext context) {
+        ThreadCpuProfiler.INSTANCE.stop();
+        executor.shutdownNow();
+        executor = null;
+    }
+}
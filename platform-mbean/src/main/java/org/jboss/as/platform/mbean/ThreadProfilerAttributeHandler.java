@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.platform.mbean.logging.PlatformMBeanLogger;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * Handles read-attribute and write-attribute for the resource representing the {@link ThreadCpuProfiler}.
+ */
+class ThreadProfilerAttributeHandler extends AbstractPlatformMBeanAttributeHandler {
+
+    static final ThreadProfilerAttributeHandler INSTANCE = new ThreadProfilerAttributeHandler();
+
+    private ThreadProfilerAttributeHandler() {
+    }
+
+    @Override
+    protected void executeReadAttribute(OperationContext context, ModelNode operation) throws OperationFailedException {
+
+        final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ThreadCpuProfiler profiler = ThreadCpuProfiler.INSTANCE;
+
+        if (PlatformMBeanConstants.ENABLED.equals(name)) {
+            context.getResult().set(profiler.isEnabled());
+        } else if (PlatformMBeanConstants.SAMPLING_INTERVAL.equals(name)) {
+            context.getResult().set(profiler.getSamplingInterval());
+        } else if (PlatformMBeanConstants.STACK_DEPTH.equals(name)) {
+            context.getResult().set(profiler.getStackDepth());
+        } else if (PlatformMBeanConstants.BUFFER_SIZE.equals(name)) {
+            context.getResult().set(profiler.getBufferSize());
+        } else if (PlatformMBeanConstants.SAMPLE_COUNT.equals(name)) {
+            context.getResult().set(profiler.getSampleCount());
+        } else {
+            // Shouldn't happen; the global handler should reject
+            throw unknownAttribute(operation);
+        }
+    }
+
+    @Override
+    protected void executeWriteAttribute(OperationContext context, ModelNode operation) throws OperationFailedException {
+
+        final String name = operation.require(ModelDescriptionConstants.NAME).asString();
+        final ThreadCpuProfiler profiler = ThreadCpuProfiler.INSTANCE;
+
+        try {
+            if (PlatformMBeanConstants.ENABLED.equals(name)) {
+                final ModelNode value = validateValue(ThreadProfilerResourceDefinition.ENABLED, operation);
+                final boolean running = context.getServiceRegistry(true).getService(ThreadCpuProfilerService.SERVICE_NAME) != null;
+                if (value.asBoolean() && !running) {
+                    if (!profiler.isSupported()) {
+                        throw PlatformMBeanLogger.ROOT_LOGGER.threadCpuTimeNotSupported();
+                    }
+                    ThreadCpuProfilerService.install(context.getServiceTarget());
+                    context.completeStep((ctx, op) -> ctx.removeService(ThreadCpuProfilerService.SERVICE_NAME));
+                } else if (!value.asBoolean() && running) {
+                    context.removeService(ThreadCpuProfilerService.SERVICE_NAME);
+                    context.completeStep((ctx, op) -> ThreadCpuProfilerService.install(ctx.getServiceTarget()));
+                }
+            } else if (PlatformMBeanConstants.SAMPLING_INTERVAL.equals(name)) {
+                final ModelNode value = validateValue(ThreadProfilerResourceDefinition.SAMPLING_INTERVAL, operation);
+                context.getServiceRegistry(true); //to trigger auth
+                profiler.setSamplingInterval(value.asLong());
+            } else if (PlatformMBeanConstants.STACK_DEPTH.equals(name)) {
+                final ModelNode value = validateValue(ThreadProfilerResourceDefinition.STACK_DEPTH, operation);
+                context.getServiceRegistry(true); //to trigger auth
+                profiler.setStackDepth(value.asInt());
+            } else if (PlatformMBeanConstants.BUFFER_SIZE.equals(name)) {
+                final ModelNode value = validateValue(ThreadProfilerResourceDefinition.BUFFER_SIZE, operation);
+                context.getServiceRegistry(true); //to trigger auth
+                profiler.setBufferSize(value.asInt());
+            } else {
+                // Shouldn't happen; the global handler should reject
+                throw unknownAttribute(operation);
+            }
+        } catch (SecurityException | UnsupportedOperationException e) {
+            throw new OperationFailedException(e.toString());
+        }
+    }
+
+    /**
+     * Validates the new value of an attribute, falling back to its default if it is undefined.
+     */
+    private static ModelNode validateValue(final SimpleAttributeDefinition attribute, final ModelNode operation) throws OperationFailedException {
+        final ModelNode value = operation.get(ModelDescriptionConstants.VALUE);
+        attribute.getValidator().validateParameter(ModelDescriptionConstants.VALUE, value);
+        return value.isDefined() ? value : attribute.getDefaultValue();
+    }
+}
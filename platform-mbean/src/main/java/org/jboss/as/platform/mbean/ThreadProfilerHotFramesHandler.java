@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Reads the stack frames the {@link ThreadCpuProfiler} found at the top of the stack of threads that were using the
+ * CPU, i.e. the methods that were actually executing.
+ */
+public class ThreadProfilerHotFramesHandler implements OperationStepHandler {
+
+    static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(PlatformMBeanConstants.GET_HOT_FRAMES, PlatformMBeanUtil.getResolver(PlatformMBeanConstants.THREAD_PROFILER))
+            .setParameters(ThreadProfilerHotThreadsHandler.WINDOW, ThreadProfilerHotThreadsHandler.COUNT)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .setRuntimeOnly()
+            .setReadOnly()
+            .build();
+
+    public static final ThreadProfilerHotFramesHandler INSTANCE = new ThreadProfilerHotFramesHandler();
+
+    private ThreadProfilerHotFramesHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final long window = TimeUnit.SECONDS.toMillis(ThreadProfilerHotThreadsHandler.WINDOW.resolveModelAttribute(context, operation).asLong());
+        final int count = ThreadProfilerHotThreadsHandler.COUNT.resolveModelAttribute(context, operation).asInt();
+
+        final ModelNode result = context.getResult().setEmptyList();
+        for (ThreadCpuProfiler.HotFrame hotFrame : ThreadCpuProfiler.INSTANCE.getHotFrames(window, count)) {
+            final ModelNode frame = result.add();
+            frame.get(PlatformMBeanConstants.FRAME).set(hotFrame.frame.toString());
+            frame.get(PlatformMBeanConstants.CPU_TIME).set(hotFrame.cpuTime);
+            frame.get(PlatformMBeanConstants.SAMPLE_COUNT).set(hotFrame.sampleCount);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationDefinition;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Reads the threads that used the most CPU time in the samples taken by the {@link ThreadCpuProfiler}, with the
+ * stacks they were most often sampled in.
+ */
+public class ThreadProfilerHotThreadsHandler implements OperationStepHandler {
+
+    static final SimpleAttributeDefinition WINDOW = new SimpleAttributeDefinitionBuilder(PlatformMBeanConstants.WINDOW, ModelType.LONG, true)
+            .setDefaultValue(new ModelNode(60))
+            .setValidator(new LongRangeValidator(1, true))
+            .setMeasurementUnit(MeasurementUnit.SECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition COUNT = new SimpleAttributeDefinitionBuilder(PlatformMBeanConstants.COUNT, ModelType.INT, true)
+            .setDefaultValue(new ModelNode(10))
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+
+    static final OperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder(PlatformMBeanConstants.GET_HOT_THREADS, PlatformMBeanUtil.getResolver(PlatformMBeanConstants.THREAD_PROFILER))
+            .setParameters(WINDOW, COUNT)
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .setRuntimeOnly()
+            .setReadOnly()
+            .build();
+
+    public static final ThreadProfilerHotThreadsHandler INSTANCE = new ThreadProfilerHotThreadsHandler();
+
+    private ThreadProfilerHotThreadsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final long window = TimeUnit.SECONDS.toMillis(WINDOW.resolveModelAttribute(context, operation).asLong());
+        final int count = COUNT.resolveModelAttribute(context, operation).asInt();
+
+        final ModelNode result = context.getResult().setEmptyList();
+        for (ThreadCpuProfiler.HotThread hotThread : ThreadCpuProfiler.INSTANCE.getHotThreads(window, count)) {
+            final ModelNode thread = result.add();
+            thread.get(PlatformMBeanConstants.THREAD_ID).set(hotThread.id);
+            thread.get(PlatformMBeanConstants.THREAD_NAME).set(hotThread.name);
+            thread.get(PlatformMBeanConstants.CPU_TIME).set(hotThread.cpuTime);
+            thread.get(PlatformMBeanConstants.SAMPLE_COUNT).set(hotThread.sampleCount);
+            final ModelNode stacks = thread.get(PlatformMBeanConstants.STACKS).setEmptyList();
+            for (Map.Entry<List<StackTraceElement>, Integer> entry : hotThread.getTopStacks()) {
+                final ModelNode stack = stacks.add();
+                stack.get(PlatformMBeanConstants.SAMPLE_COUNT).set(entry.getValue());
+                final ModelNode frames = stack.get(PlatformMBeanConstants.STACK_TRACE).setEmptyList();
+                for (StackTraceElement frame : entry.getKey()) {
+                    frames.add(frame.toString());
+                }
+            }
+        }
+    }
+}
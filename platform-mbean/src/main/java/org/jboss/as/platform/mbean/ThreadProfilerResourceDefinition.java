@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.platform.mbean;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Resource for the {@link ThreadCpuProfiler}, which is not backed by a platform MBean.
+ */
+class ThreadProfilerResourceDefinition extends SimpleResourceDefinition {
+
+    static final SimpleAttributeDefinition ENABLED = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.ENABLED, ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleAttributeDefinition SAMPLING_INTERVAL = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.SAMPLING_INTERVAL, ModelType.LONG, true)
+            .setDefaultValue(new ModelNode(ThreadCpuProfiler.DEFAULT_SAMPLING_INTERVAL))
+            .setValidator(new LongRangeValidator(10, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleAttributeDefinition STACK_DEPTH = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.STACK_DEPTH, ModelType.INT, true)
+            .setDefaultValue(new ModelNode(ThreadCpuProfiler.DEFAULT_STACK_DEPTH))
+            .setValidator(new IntRangeValidator(1, ThreadCpuProfiler.MAX_STACK_DEPTH, true, false))
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleAttributeDefinition BUFFER_SIZE = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.BUFFER_SIZE, ModelType.INT, true)
+            .setDefaultValue(new ModelNode(ThreadCpuProfiler.DEFAULT_BUFFER_SIZE))
+            .setValidator(new IntRangeValidator(1, ThreadCpuProfiler.MAX_BUFFER_SIZE, true, false))
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
+    static final SimpleAttributeDefinition SAMPLE_COUNT = SimpleAttributeDefinitionBuilder.create(PlatformMBeanConstants.SAMPLE_COUNT, ModelType.INT, false)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .setMeasurementUnit(MeasurementUnit.NONE)
+            .build();
+
+    static final List<SimpleAttributeDefinition> READ_WRITE_ATTRIBUTES = Arrays.asList(ENABLED, SAMPLING_INTERVAL, STACK_DEPTH, BUFFER_SIZE);
+
+    static final ThreadProfilerResourceDefinition INSTANCE = new ThreadProfilerResourceDefinition();
+
+    private ThreadProfilerResourceDefinition() {
+        super(new Parameters(PlatformMBeanConstants.THREAD_PROFILER_PATH,
+                PlatformMBeanUtil.getResolver(PlatformMBeanConstants.THREAD_PROFILER)).setRuntime());
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration registration) {
+        super.registerAttributes(registration);
+        for (SimpleAttributeDefinition attribute : READ_WRITE_ATTRIBUTES) {
+            registration.registerReadWriteAttribute(attribute, ThreadProfilerAttributeHandler.INSTANCE, ThreadProfilerAttributeHandler.INSTANCE);
+        }
+        registration.registerMetric(SAMPLE_COUNT, ThreadProfilerAttributeHandler.INSTANCE);
+    }
+
+    @Override
+    public void registerOperations(ManagementResourceRegistration registration) {
+        super.registerOperations(registration);
+        registration.registerOperationHandler(ThreadProfilerHotThreadsHandler.DEFINITION, ThreadProfilerHotThreadsHandler.INSTANCE);
+        registration.registerOperationHandler(ThreadProfilerHotFramesHandler.DEFINITION, ThreadProfilerHotFramesHandler.INSTANCE);
+    }
+}
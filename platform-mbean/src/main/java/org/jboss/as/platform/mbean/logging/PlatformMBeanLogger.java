@@ -75,4 +75,7 @@ public interface PlatformMBeanLogger extends BasicLogger {
 
     @Message(id = 10, value = "No MemoryPoolMXBean with name %s currently exists")
     OperationFailedException unknownMemoryPool(String mmName);
+
+    @Message(id = 11, value = "The Java virtual machine does not support thread CPU time measurement")
+    UnsupportedOperationException threadCpuTimeNotSupported();
 }
@@ -135,7 +135,7 @@ public class PlatformMBeanResourceUnitTestCase {
         if (ManagementFactory.getCompilationMXBean() != null) {
             baseTypeCount++;
         }
-        baseTypeCount += 1;
+        baseTypeCount += 2;
         final ModelNode childTypes = result.get(CHILDREN, TYPE, MODEL_DESCRIPTION);
         Assert.assertEquals(baseTypeCount, childTypes.asPropertyList().size());
 
@@ -167,6 +167,27 @@ public class PlatformMBeanResourceUnitTestCase {
         Assert.assertTrue(result.isDefined());
     }
 
+    @Test
+    public void testReadSnapshot() throws IOException {
+        ModelNode op = getOperation(PlatformMBeanConstants.READ_SNAPSHOT, null, null);
+        ModelNode full = executeOp(op, false);
+        Assert.assertFalse(full.get(PlatformMBeanConstants.DELTA).asBoolean());
+        String token = full.get(PlatformMBeanConstants.TOKEN).asString();
+        Assert.assertTrue(full.get(PlatformMBeanConstants.MEMORY, PlatformMBeanConstants.HEAP_MEMORY_USAGE, PlatformMBeanConstants.USED).isDefined());
+        Assert.assertTrue(full.get(PlatformMBeanConstants.THREADING, PlatformMBeanConstants.THREAD_COUNT).asInt() > 0);
+        Assert.assertEquals(ManagementFactory.getGarbageCollectorMXBeans().size(), full.get(PlatformMBeanConstants.GARBAGE_COLLECTOR).keys().size());
+
+        op.get(PlatformMBeanConstants.SINCE).set(token);
+        ModelNode delta = executeOp(op, false);
+        Assert.assertTrue(delta.get(PlatformMBeanConstants.DELTA).asBoolean());
+        Assert.assertNotEquals(token, delta.get(PlatformMBeanConstants.TOKEN).asString());
+        // static values are left out of a delta
+        Assert.assertFalse(delta.hasDefined(PlatformMBeanConstants.OPERATING_SYSTEM, PlatformMBeanConstants.AVAILABLE_PROCESSORS));
+
+        op.get(PlatformMBeanConstants.SINCE).set("unknown");
+        Assert.assertFalse(executeOp(op, false).get(PlatformMBeanConstants.DELTA).asBoolean());
+    }
+
     @Test
     public void testBufferPoolMXBean() throws IOException {
         if (PlatformMBeanUtil.JVM_MAJOR_VERSION < 7) {
@@ -185,6 +206,58 @@ public class PlatformMBeanResourceUnitTestCase {
         // TODO validate values
     }
 
+    @Test
+    public void testThreadProfiler() throws IOException {
+        if (!ManagementFactory.getThreadMXBean().isThreadCpuTimeSupported()) {
+            return;
+        }
+        DescribedResource describedResource = basicResourceTest("thread-profiler", null);
+        Assert.assertFalse(describedResource.resource.get("enabled").asBoolean());
+
+        ModelNode op = getOperation("write-attribute", "thread-profiler", null);
+        op.get("name").set("sampling-interval");
+        op.get("value").set(5);
+        executeOp(op, true);
+        op.get("value").set(10);
+        executeOp(op, false);
+        ModelNode bounded = getOperation("write-attribute", "thread-profiler", null);
+        bounded.get("name").set("buffer-size");
+        bounded.get("value").set(ThreadCpuProfiler.MAX_BUFFER_SIZE + 1);
+        executeOp(bounded, true);
+        bounded.get("name").set("stack-depth");
+        bounded.get("value").set(ThreadCpuProfiler.MAX_STACK_DEPTH + 1);
+        executeOp(bounded, true);
+        op.get("name").set("enabled");
+        op.get("value").set(true);
+        executeOp(op, false);
+        try {
+            ModelNode read = getOperation("read-attribute", "thread-profiler", null);
+            read.get("name").set("sample-count");
+            long end = System.currentTimeMillis() + 5000;
+            while (executeOp(read, false).asInt() < 2 && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(executeOp(read, false).asInt() >= 2);
+
+            ModelNode hotThreads = executeOp(getOperation("get-hot-threads", "thread-profiler", null), false);
+            Assert.assertEquals(ModelType.LIST, hotThreads.getType());
+            for (ModelNode thread : hotThreads.asList()) {
+                Assert.assertTrue(thread.hasDefined("thread-id"));
+                Assert.assertTrue(thread.get("cpu-time").asLong() > 0);
+            }
+            ModelNode hotFrames = executeOp(getOperation("get-hot-frames", "thread-profiler", null), false);
+            Assert.assertEquals(ModelType.LIST, hotFrames.getType());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            op.get("value").set(false);
+            executeOp(op, false);
+            op.get("name").set("sampling-interval");
+            op.get("value").set(ThreadCpuProfiler.DEFAULT_SAMPLING_INTERVAL);
+            executeOp(op, false);
+        }
+    }
+
     @Test
     public void testClassLoadingMXBean() throws IOException {
         DescribedResource describedResource = basicResourceTest("class-loading", null);
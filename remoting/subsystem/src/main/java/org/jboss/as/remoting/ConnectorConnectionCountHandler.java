@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.remoting;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.xnio.StreamConnection;
+import org.xnio.XnioWorker;
+import org.xnio.channels.AcceptingChannel;
+import org.xnio.management.XnioServerMXBean;
+import org.xnio.management.XnioWorkerMXBean;
+
+/**
+ * Reads the number of connections currently open on a {@code connector}, from the metrics the XNIO worker keeps for
+ * the connector's server channel.
+ */
+class ConnectorConnectionCountHandler implements OperationStepHandler {
+
+    static final SimpleAttributeDefinition CONNECTION_COUNT = new SimpleAttributeDefinitionBuilder("connection-count", ModelType.INT)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    static final ConnectorConnectionCountHandler INSTANCE = new ConnectorConnectionCountHandler();
+
+    private ConnectorConnectionCountHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(RemotingServices.serverServiceName(context.getCurrentAddressValue()));
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        final AcceptingChannel<StreamConnection> server = (AcceptingChannel<StreamConnection>) controller.getValue();
+        final XnioWorker worker = server.getWorker();
+        final XnioWorkerMXBean metrics = worker == null ? null : worker.getMXBean();
+        if (metrics == null) {
+            return;
+        }
+        // only the servers of the connector's own worker are candidates, and of these the one bound to its address
+        final InetSocketAddress localAddress = server.getLocalAddress(InetSocketAddress.class);
+        for (XnioServerMXBean serverMetrics : metrics.getServerMXBeans()) {
+            if (isBoundTo(localAddress, serverMetrics.getBindAddress())) {
+                context.getResult().set(serverMetrics.getConnectionCount());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets whether the bind address that the metrics of an XNIO server report is the given address. The metrics report
+     * the address as text, which depending on how the address was configured starts with a host name, and has IPv6
+     * addresses with or without brackets, so the address and port are compared rather than the text.
+     */
+    static boolean isBoundTo(final InetSocketAddress address, final String bindAddress) {
+        final int portIndex = bindAddress == null ? -1 : bindAddress.lastIndexOf(':');
+        if (address == null || portIndex < 0) {
+            return false;
+        }
+        String host = bindAddress.substring(bindAddress.lastIndexOf('/', portIndex) + 1, portIndex);
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        try {
+            return Integer.parseInt(bindAddress.substring(portIndex + 1)) == address.getPort()
+                    && InetAddress.getByName(host).equals(address.getAddress());
+        } catch (NumberFormatException | UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.remoting;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.undertow.conduits.BytesReceivedStreamSourceConduit;
+import io.undertow.conduits.BytesSentStreamSinkConduit;
+import org.jboss.as.network.NetworkUtils;
+import org.jboss.dmr.ModelNode;
+import org.xnio.StreamConnection;
+import org.xnio.conduits.ConduitStreamSinkChannel;
+import org.xnio.conduits.ConduitStreamSourceChannel;
+
+/**
+ * The connections a connector handed to the remoting endpoint, with the bytes each of them received and sent. The
+ * bytes are counted on the connection's conduits by its I/O thread without locking, and closed connections are
+ * dropped whenever a connection is added or the connections are read.
+ */
+final class ConnectorConnections {
+
+    private final Set<Statistics> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts counting the bytes of a connection, which must not have been handed to the endpoint yet.
+     */
+    void add(final StreamConnection connection) {
+        removeClosed();
+        final Statistics statistics = new Statistics(connection);
+        final ConduitStreamSourceChannel source = connection.getSourceChannel();
+        source.setConduit(new BytesReceivedStreamSourceConduit(source.getConduit(), statistics.bytesReceived::add));
+        final ConduitStreamSinkChannel sink = connection.getSinkChannel();
+        sink.setConduit(new BytesSentStreamSinkConduit(sink.getConduit(), statistics.bytesSent::add));
+        connections.add(statistics);
+    }
+
+    int getCount() {
+        removeClosed();
+        return connections.size();
+    }
+
+    /**
+     * Describes the open connections, with the {@code peer-address}, {@code bytes-received} and {@code bytes-sent}
+     * of each of them.
+     */
+    ModelNode toModelNode() {
+        removeClosed();
+        final ModelNode result = new ModelNode().setEmptyList();
+        for (Statistics statistics : connections) {
+            final ModelNode connection = result.add();
+            connection.get(HttpConnectorConnectionsHandler.PEER_ADDRESS.getName()).set(statistics.peerAddress);
+            connection.get(HttpConnectorConnectionsHandler.BYTES_RECEIVED.getName()).set(statistics.bytesReceived.sum());
+            connection.get(HttpConnectorConnectionsHandler.BYTES_SENT.getName()).set(statistics.bytesSent.sum());
+        }
+        return result;
+    }
+
+    private void removeClosed() {
+        connections.removeIf(statistics -> !statistics.connection.isOpen());
+    }
+
+    private static final class Statistics {
+        private final StreamConnection connection;
+        private final String peerAddress;
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+
+        private Statistics(final StreamConnection connection) {
+            this.connection = connection;
+            final SocketAddress address = connection.getPeerAddress();
+            this.peerAddress = address instanceof InetSocketAddress ? NetworkUtils.formatAddress((InetSocketAddress) address) : String.valueOf(address);
+        }
+    }
+}
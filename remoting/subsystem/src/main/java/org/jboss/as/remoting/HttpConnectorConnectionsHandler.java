@@ -0,0 +1,78 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.remoting;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the connections currently open on an {@code http-connector}, which the connector tracks itself as it hands
+ * each upgraded connection to the remoting endpoint.
+ */
+class HttpConnectorConnectionsHandler implements OperationStepHandler {
+
+    static final SimpleAttributeDefinition PEER_ADDRESS = new SimpleAttributeDefinitionBuilder("peer-address", ModelType.STRING)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition BYTES_RECEIVED = new SimpleAttributeDefinitionBuilder("bytes-received", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition BYTES_SENT = new SimpleAttributeDefinitionBuilder("bytes-sent", ModelType.LONG)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition CONNECTIONS = ObjectListAttributeDefinition.Builder.of("connections",
+            ObjectTypeAttributeDefinition.Builder.of("connection", PEER_ADDRESS, BYTES_RECEIVED, BYTES_SENT)
+                    .setStorageRuntime()
+                    .build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
+    static final HttpConnectorConnectionsHandler INSTANCE = new HttpConnectorConnectionsHandler();
+
+    private HttpConnectorConnectionsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final ServiceController<?> controller = context.getServiceRegistry(false).getService(RemotingHttpUpgradeService.UPGRADE_SERVICE_NAME.append(context.getCurrentAddressValue()));
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return;
+        }
+        final ConnectorConnections connections = ((RemotingHttpUpgradeService) controller.getValue()).getConnections();
+        if (CONNECTIONS.getName().equals(operation.get(ModelDescriptionConstants.NAME).asString())) {
+            context.getResult().set(connections.toModelNode());
+        } else {
+            context.getResult().set(connections.getCount());
+        }
+    }
+}
@@ -100,12 +100,19 @@ public class RemotingExtension implements Extension {
         subsystem.registerSubModel(RemotingEndpointResource.INSTANCE);
 
         final ManagementResourceRegistration connector = subsystem.registerSubModel(ConnectorResource.INSTANCE);
+        if (context.isRuntimeOnlyRegistrationValid()) {
+            connector.registerMetric(ConnectorConnectionCountHandler.CONNECTION_COUNT, ConnectorConnectionCountHandler.INSTANCE);
+        }
         connector.registerSubModel(PropertyResource.INSTANCE_CONNECTOR);
         final ManagementResourceRegistration sasl = connector.registerSubModel(SaslResource.INSTANCE_CONNECTOR);
         sasl.registerSubModel(SaslPolicyResource.INSTANCE_CONNECTOR);
         sasl.registerSubModel(PropertyResource.INSTANCE_CONNECTOR);
 
         final ManagementResourceRegistration httpConnector = subsystem.registerSubModel(HttpConnectorResource.INSTANCE);
+        if (context.isRuntimeOnlyRegistrationValid()) {
+            httpConnector.registerMetric(ConnectorConnectionCountHandler.CONNECTION_COUNT, HttpConnectorConnectionsHandler.INSTANCE);
+            httpConnector.registerReadOnlyAttribute(HttpConnectorConnectionsHandler.CONNECTIONS, HttpConnectorConnectionsHandler.INSTANCE);
+        }
         httpConnector.registerSubModel(PropertyResource.INSTANCE_HTTP_CONNECTOR);
         final ManagementResourceRegistration httpSasl = httpConnector.registerSubModel(SaslResource.INSTANCE_HTTP_CONNECTOR);
         httpSasl.registerSubModel(SaslPolicyResource.INSTANCE_HTTP_CONNECTOR);
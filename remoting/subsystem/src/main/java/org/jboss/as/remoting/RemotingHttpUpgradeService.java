@@ -101,6 +101,8 @@ public class RemotingHttpUpgradeService implements Service {
     private final Supplier<SaslAuthenticationFactory> saslAuthenticationFactorySupplier;
     private final OptionMap connectorPropertiesOptionMap;
 
+    private final ConnectorConnections connections = new ConnectorConnections();
+
     private ListenerRegistry.HttpUpgradeMetadata httpUpgradeMetadata;
 
     public RemotingHttpUpgradeService(final Consumer<RemotingHttpUpgradeService> serviceConsumer,
@@ -177,6 +179,7 @@ public class RemotingHttpUpgradeService implements Service {
             upgradeRegistrySupplier.get().addProtocol(JBOSS_REMOTING, new ChannelListener<StreamConnection>() {
                 @Override
                 public void handleEvent(final StreamConnection channel) {
+                    connections.add(channel);
                     adaptor.accept(channel);
                     /*if (channel instanceof SslConnection) {
                         adaptor.accept(new AssembledConnectedSslStreamChannel((SslConnection) channel, channel.getSourceChannel(), channel.getSinkChannel()));
@@ -201,6 +204,13 @@ public class RemotingHttpUpgradeService implements Service {
         upgradeRegistrySupplier.get().removeProtocol(JBOSS_REMOTING);
     }
 
+    /**
+     * Gets the connections this connector handed to the endpoint.
+     */
+    ConnectorConnections getConnections() {
+        return connections;
+    }
+
     private static PermissionVerifier createPermissionVerifier() {
         PermissionVerifier permissionVerifier = LoginPermission.getInstance();
         for (String permissionName : ADDITIONAL_PERMISSION) {
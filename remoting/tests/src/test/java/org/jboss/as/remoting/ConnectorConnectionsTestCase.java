@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.remoting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.ChannelPipe;
+import org.xnio.OptionMap;
+import org.xnio.StreamConnection;
+import org.xnio.Xnio;
+import org.xnio.XnioWorker;
+import org.xnio.channels.Channels;
+
+/**
+ * Tests of the connection metrics of connectors.
+ */
+public class ConnectorConnectionsTestCase {
+
+    private XnioWorker worker;
+
+    @Before
+    public void createWorker() throws Exception {
+        worker = Xnio.getInstance().createWorker(OptionMap.EMPTY);
+    }
+
+    @After
+    public void shutdownWorker() {
+        worker.shutdownNow();
+    }
+
+    @Test
+    public void testConnections() throws Exception {
+        ChannelPipe<StreamConnection, StreamConnection> pipe = worker.createFullDuplexPipeConnection();
+        StreamConnection connection = pipe.getLeftSide();
+        StreamConnection peer = pipe.getRightSide();
+        ConnectorConnections connections = new ConnectorConnections();
+        connections.add(connection);
+        assertEquals(1, connections.getCount());
+
+        Channels.writeBlocking(peer.getSinkChannel(), ByteBuffer.wrap(new byte[10]));
+        Channels.flushBlocking(peer.getSinkChannel());
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        while (buffer.hasRemaining()) {
+            Channels.readBlocking(connection.getSourceChannel(), buffer);
+        }
+        Channels.writeBlocking(connection.getSinkChannel(), ByteBuffer.wrap(new byte[4]));
+        Channels.flushBlocking(connection.getSinkChannel());
+
+        ModelNode model = connections.toModelNode();
+        assertEquals(1, model.asList().size());
+        assertTrue(model.get(0).hasDefined("peer-address"));
+        assertEquals(10, model.get(0).get("bytes-received").asLong());
+        assertEquals(4, model.get(0).get("bytes-sent").asLong());
+
+        // closed connections are no longer reported
+        connection.close();
+        peer.close();
+        assertEquals(0, connections.getCount());
+        assertEquals(0, connections.toModelNode().asList().size());
+    }
+
+    @Test
+    public void testServerBindAddress() throws Exception {
+        InetSocketAddress wildcard = new InetSocketAddress(InetAddress.getByName("0.0.0.0"), 4447);
+        assertTrue(ConnectorConnectionCountHandler.isBoundTo(wildcard, String.valueOf(wildcard)));
+        assertTrue(ConnectorConnectionCountHandler.isBoundTo(wildcard, "/0.0.0.0:4447"));
+        assertFalse(ConnectorConnectionCountHandler.isBoundTo(wildcard, "/127.0.0.1:4447"));
+        assertFalse(ConnectorConnectionCountHandler.isBoundTo(wildcard, "/0.0.0.0:4448"));
+
+        InetSocketAddress ipv6 = new InetSocketAddress(InetAddress.getByName("::1"), 4447);
+        assertTrue(ConnectorConnectionCountHandler.isBoundTo(ipv6, String.valueOf(ipv6)));
+        assertTrue(ConnectorConnectionCountHandler.isBoundTo(ipv6, "/0:0:0:0:0:0:0:1:4447"));
+        assertTrue(ConnectorConnectionCountHandler.isBoundTo(ipv6, "/[0:0:0:0:0:0:0:1]:4447"));
+        assertFalse(ConnectorConnectionCountHandler.isBoundTo(ipv6, "/[::2]:4447"));
+
+        InetSocketAddress named = new InetSocketAddress(InetAddress.getByAddress("remoting.example.com", new byte[] {10, 0, 0, 1}), 4447);
+        assertTrue(ConnectorConnectionCountHandler.isBoundTo(named, String.valueOf(named)));
+        assertTrue(ConnectorConnectionCountHandler.isBoundTo(named, "/10.0.0.1:4447"));
+        assertFalse(ConnectorConnectionCountHandler.isBoundTo(named, "other.example.com/10.0.0.2:4447"));
+
+        assertFalse(ConnectorConnectionCountHandler.isBoundTo(named, null));
+        assertFalse(ConnectorConnectionCountHandler.isBoundTo(null, "/10.0.0.1:4447"));
+    }
+}
@@ -37,6 +37,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.Socket;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -125,6 +126,36 @@ public class RemotingSubsystemTestCase extends AbstractRemotingSubsystemBaseTest
         assertNotNull("Remoting connector was null", remotingConnector);
     }
 
+    /**
+     * Tests that the connection-count metric of a connector follows the connections accepted by its server channel.
+     */
+    @Test
+    public void testConnectionCount() throws Exception {
+        KernelServices services = createKernelServicesBuilder(createRuntimeAdditionalInitialization())
+                .setSubsystemXml(getSubsystemXml())
+                .build();
+
+        ServiceName connectorSN = RemotingServices.serverServiceName("remoting-connector");
+        assertNotNull(DependenciesRetrievalService.create(services, connectorSN).getService(connectorSN));
+
+        ModelNode read = Util.getReadAttributeOperation(CONNECTOR_ADDRESS, "connection-count");
+        awaitConnectionCount(services, read, 0);
+        try (Socket socket = new Socket("localhost", 27258)) {
+            awaitConnectionCount(services, read, 1);
+        }
+        awaitConnectionCount(services, read, 0);
+    }
+
+    private static void awaitConnectionCount(KernelServices services, ModelNode read, int expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + 10000;
+        int count = services.executeForResult(read).asInt(-1);
+        while (count != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            count = services.executeForResult(read).asInt(-1);
+        }
+        assertEquals(expected, count);
+    }
+
     @Override
     protected String getSubsystemXml() throws IOException {
         return readResource("remoting.xml");
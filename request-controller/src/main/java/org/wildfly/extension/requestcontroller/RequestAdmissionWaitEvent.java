@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for the time a task spent queued in the {@link RequestController} before it was
+ * admitted, either because the maximum number of requests was reached or because the server was suspended.
+ */
+@Name("org.wildfly.RequestAdmissionWait")
+@Label("Request Admission Wait")
+@Description("Time a queued request spent waiting to be admitted by the request controller")
+@Category({"WildFly", "Request Controller"})
+@StackTrace(false)
+final class RequestAdmissionWaitEvent extends Event {
+
+    @Label("Deployment")
+    String deployment;
+
+    @Label("Entry Point")
+    String entryPoint;
+
+    @Label("Timed Out")
+    boolean timedOut;
+
+    void complete(final ControlPoint controlPoint, final boolean timedOut) {
+        end();
+        if (shouldCommit()) {
+            if (controlPoint != null) {
+                this.deployment = controlPoint.getDeployment();
+                this.entryPoint = controlPoint.getEntryPoint();
+            }
+            this.timedOut = timedOut;
+            commit();
+        }
+    }
+}
@@ -341,6 +341,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         return this;
     }
 
+    @Override
     public int getActiveRequestCount() {
         return activeRequestCount;
     }
@@ -450,6 +451,7 @@ public class RequestController implements Service<RequestController>, ServerActi
         private final Runnable cancelTask;
         private final ControlPoint controlPoint;
         private final boolean forceRun;
+        private final RequestAdmissionWaitEvent waitEvent = new RequestAdmissionWaitEvent();
 
         //0 == queued
         //1 == run
@@ -462,11 +464,13 @@ public class RequestController implements Service<RequestController>, ServerActi
             this.cancelTask = cancelTask;
             this.controlPoint = controlPoint;
             this.forceRun = forceRun;
+            waitEvent.begin();
         }
 
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                waitEvent.complete(controlPoint, true);
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -480,6 +484,7 @@ public class RequestController implements Service<RequestController>, ServerActi
 
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
+                waitEvent.complete(controlPoint, false);
                 cancel();
                 executor.execute(new ControlPointTask(task, controlPoint));
                 return true;
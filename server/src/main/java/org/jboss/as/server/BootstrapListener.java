@@ -28,6 +28,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 
+import org.jboss.as.controller.BootTimeline;
 import org.jboss.as.network.NetworkUtils;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.mgmt.UndertowHttpManagementService;
@@ -53,6 +54,7 @@ public final class BootstrapListener {
     private final String prettyVersion;
     private final FutureServiceContainer futureContainer;
     private final File tempDir;
+    private volatile BootTimeline bootTimeline;
     private  String startedCleanMessage;
     private  String startedWitErrorsMessage;
 
@@ -70,14 +72,34 @@ public final class BootstrapListener {
         return monitor;
     }
 
+    /**
+     * Records in the given timeline when services installed from now on come up, until
+     * {@link #generateBootStatistics(String)} finds the container stable.
+     *
+     * @param bootTimeline the timeline of the current boot. Cannot be {@code null}
+     */
+    public void recordServiceStartTimes(BootTimeline bootTimeline) {
+        this.bootTimeline = bootTimeline;
+        serviceTarget.addListener(bootTimeline.getServiceListener());
+    }
+
     public void generateBootStatistics(String message) {
         final StabilityStatistics statistics = new StabilityStatistics();
+        final long start = System.nanoTime();
         try {
             monitor.awaitStability(statistics);
+            if (bootTimeline != null) {
+                bootTimeline.servicesStable(serviceContainer, start);
+            }
         } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
             return;
         } finally {
+            if (bootTimeline != null) {
+                serviceTarget.removeListener(bootTimeline.getServiceListener());
+                bootTimeline.stopRecording();
+                bootTimeline = null;
+            }
             serviceTarget.removeMonitor(monitor);
             final long bootstrapTime = System.currentTimeMillis() - startTime;
             done(bootstrapTime, statistics, message);
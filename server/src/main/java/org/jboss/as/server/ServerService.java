@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
@@ -47,6 +48,7 @@ import java.util.function.Supplier;
 
 import org.jboss.as.controller.AbstractControllerService;
 import org.jboss.as.controller.BootContext;
+import org.jboss.as.controller.BootTimeline;
 import org.jboss.as.controller.CapabilityRegistry;
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.DelegatingResourceDefinition;
@@ -58,6 +60,7 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.ProcessType;
 import org.jboss.as.controller.ResourceDefinition;
 import org.jboss.as.controller.RunningModeControl;
+import org.jboss.as.controller.VirtualThreadSupport;
 import org.jboss.as.controller.access.management.DelegatingConfigurableAuthorizer;
 import org.jboss.as.controller.access.management.ManagementSecurityIdentitySupplier;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
@@ -76,6 +79,7 @@ import org.jboss.as.controller.registry.PlaceholderResource;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.controller.services.path.PathManagerService;
+import org.jboss.as.domain.management.CoreManagementResourceDefinition;
 import org.jboss.as.domain.management.access.AccessAuthorizationResourceDefinition;
 import org.jboss.as.platform.mbean.PlatformMBeanConstants;
 import org.jboss.as.platform.mbean.RootPlatformMBeanResource;
@@ -329,6 +333,7 @@ public final class ServerService extends AbstractControllerService {
             }
             context.getServiceTarget().addService(SUSPEND_CONTROLLER_CAPABILITY.getCapabilityServiceName(), suspendController)
                     .addDependency(JBOSS_SERVER_NOTIFICATION_REGISTRY, NotificationHandlerRegistry.class, suspendController.getNotificationHandlerRegistry())
+                    .addDependency(MANAGEMENT_EXECUTOR, Executor.class, suspendController.getExecutor())
                     .install();
 
             GracefulShutdownService gracefulShutdownService = new GracefulShutdownService();
@@ -399,7 +404,11 @@ public final class ServerService extends AbstractControllerService {
                 boolean failOnRuntime = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged("jboss.unsupported.fail-boot-on-runtime-failure", "false"));
 
                 // Load the ops
+                final BootTimeline bootTimeline = getBootTimeline();
+                bootstrapListener.recordServiceStartTimes(bootTimeline);
+                final long parseStart = System.nanoTime();
                 List<ModelNode> bootOps = extensibleConfigurationPersister.load();
+                bootTimeline.recordPhase(BootTimeline.CONFIGURATION_PARSE, parseStart, System.nanoTime(), null);
                 //Add the controller initialization operation to the boot ops
                 ModelNode controllerInitOp = registerModelControllerServiceInitializationBootStep(context);
                 if (controllerInitOp != null) {
@@ -520,6 +529,9 @@ public final class ServerService extends AbstractControllerService {
         rootRegistration.registerCapability(EXTERNAL_MODULE_CAPABILITY);
         rootRegistration.registerCapability(CONSOLE_AVAILABILITY_CAPABILITY);
         rootRegistration.registerCapability(SERVER_ENVIRONMENT_CAPABILITY);
+
+        rootRegistration.getSubModel(PathAddress.pathAddress(CoreManagementResourceDefinition.PATH_ELEMENT))
+                .registerOperationHandler(BootTimeline.ReadBootTimelineHandler.DEFINITION, getBootTimeline().getReadBootTimelineHandler());
     }
 
     @Override
@@ -542,6 +554,7 @@ public final class ServerService extends AbstractControllerService {
         private static final String CORE_POOL_SIZE_SYS_PROP = "org.jboss.as.server-service.core.threads";
         private static final String MAX_POOL_SIZE_SYS_PROP = "org.jboss.as.server-service.max.threads";
         private static final String ENHANCED_EXECUTOR_MBEAN_NAME = "ServerService";
+        private static final String VIRTUAL_THREAD_NAME_PREFIX = "ServerService Virtual Thread -- ";
 
         private final ThreadFactory threadFactory;
         private final boolean forDomain;
@@ -554,7 +567,10 @@ public final class ServerService extends AbstractControllerService {
 
         @Override
         public synchronized void start(StartContext context) throws StartException {
-            if (EnhancedQueueExecutor.DISABLE_HINT) {
+            final ExecutorService virtualThreadExecutor = VirtualThreadSupport.newVirtualThreadExecutorIfEnabled(VIRTUAL_THREAD_NAME_PREFIX);
+            if (virtualThreadExecutor != null) {
+                executorService = virtualThreadExecutor;
+            } else if (EnhancedQueueExecutor.DISABLE_HINT) {
                 executorService = new ThreadPoolExecutor(getCorePoolSize(forDomain), Integer.MAX_VALUE, 20L, TimeUnit.SECONDS,
                         new SynchronousQueue<Runnable>(), threadFactory);
             } else {
@@ -124,6 +124,7 @@ import org.jboss.as.server.operations.ServerShutdownHandler;
 import org.jboss.as.server.operations.ServerSuspendHandler;
 import org.jboss.as.server.operations.ServerVersionOperations.DefaultEmptyListAttributeHandler;
 import org.jboss.as.server.operations.SetServerGroupHostHandler;
+import org.jboss.as.server.operations.SuspendProgressReadHandler;
 import org.jboss.as.server.operations.SuspendStateReadHandler;
 import org.jboss.as.server.operations.WriteConfigHandler;
 import org.jboss.as.server.services.net.InterfaceResourceDefinition;
@@ -430,6 +431,7 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
             resourceRegistration.registerOperationHandler(ServerSuspendHandler.DEFINITION, ServerSuspendHandler.INSTANCE);
             resourceRegistration.registerOperationHandler(ServerResumeHandler.DEFINITION, ServerResumeHandler.INSTANCE);
         }
+        resourceRegistration.registerOperationHandler(SuspendProgressReadHandler.DEFINITION, SuspendProgressReadHandler.INSTANCE);
 
         // The System.exit() based shutdown command is only valid for a server process directly launched from the command line
         if (serverEnvironment.getLaunchType() == ServerEnvironment.LaunchType.STANDALONE) {
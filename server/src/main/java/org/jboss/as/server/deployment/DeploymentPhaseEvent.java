@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.server.deployment;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for running the deployment unit processors of one {@link Phase} of a deployment.
+ */
+@Name("org.wildfly.DeploymentPhase")
+@Label("Deployment Phase")
+@Description("Execution of the deployment unit processors of a deployment phase")
+@Category({"WildFly", "Deployment"})
+@StackTrace(false)
+final class DeploymentPhaseEvent extends Event {
+
+    @Label("Deployment")
+    String deployment;
+
+    @Label("Parent Deployment")
+    String parentDeployment;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Processor Count")
+    int processorCount;
+
+    @Label("Failed")
+    boolean failed;
+}
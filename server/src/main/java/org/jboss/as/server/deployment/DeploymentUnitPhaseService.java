@@ -181,10 +181,14 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        final DeploymentPhaseEvent event = new DeploymentPhaseEvent();
+        event.begin();
+        int processorCount = 0;
         while (iterator.hasNext()) {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
+                    processorCount++;
                     processor.getProcessor().deploy(processorContext);
                 }
             } catch (Throwable e) {
@@ -192,9 +196,11 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
                     final RegisteredDeploymentUnitProcessor prev = iterator.previous();
                     safeUndeploy(deploymentUnit, phase, prev);
                 }
+                commitPhaseEvent(event, processorCount, true);
                 throw ServerLogger.ROOT_LOGGER.deploymentPhaseFailed(phase, deploymentUnit, e);
             }
         }
+        commitPhaseEvent(event, processorCount, false);
 
         final Phase nextPhase = phase.next();
         if (nextPhase != null) {
@@ -271,6 +277,18 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
         return deployerChainsInjector;
     }
 
+    private void commitPhaseEvent(final DeploymentPhaseEvent event, final int processorCount, final boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.deployment = deploymentUnit.getName();
+            event.parentDeployment = deploymentUnit.getParent() == null ? null : deploymentUnit.getParent().getName();
+            event.phase = phase.name();
+            event.processorCount = processorCount;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+
     private static boolean shouldRun(final DeploymentUnit unit, final RegisteredDeploymentUnitProcessor deployer) {
         Set<String> shouldNotRun = unit.getAttachment(Attachments.EXCLUDED_SUBSYSTEMS);
         if (shouldNotRun == null) {
@@ -1457,6 +1457,14 @@ public interface ServerLogger extends BasicLogger {
     @Message(id = 307, value = "No authentication mechanism login name was given")
     AuthenticationMechanismException mechNoLoginNameGiven();
 
+    @LogMessage(level = ERROR)
+    @Message(id = 308, value = "Failed to suspend %s")
+    void failedToSuspend(ServerActivity activity, @Cause Exception cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 309, value = "Suspend timed out before %s completed; in-flight requests remaining: %d")
+    void activityNotSuspended(String activity, int activeRequests);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
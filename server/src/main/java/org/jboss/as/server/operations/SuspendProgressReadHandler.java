@@ -0,0 +1,73 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.server.operations;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.NAME;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RUNNING_SERVER;
+import static org.jboss.as.server.Services.JBOSS_SUSPEND_CONTROLLER;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleOperationDefinition;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.server.controller.descriptions.ServerDescriptions;
+import org.jboss.as.server.suspend.SuspendController;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reports the suspend progress of each {@link org.jboss.as.server.suspend.ServerActivity}, i.e. which activities are
+ * still draining their in-flight requests while the server is suspending.
+ */
+public class SuspendProgressReadHandler implements OperationStepHandler {
+
+    public static final SuspendProgressReadHandler INSTANCE = new SuspendProgressReadHandler();
+
+    public static final SimpleOperationDefinition DEFINITION = new SimpleOperationDefinitionBuilder("read-suspend-progress",
+                ServerDescriptions.getResourceDescriptionResolver(RUNNING_SERVER))
+            .setReadOnly()
+            .setRuntimeOnly()
+            .setReplyType(ModelType.LIST)
+            .setReplyValueType(ModelType.OBJECT)
+            .build();
+
+    private SuspendProgressReadHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        @SuppressWarnings("unchecked")
+        ServiceController<SuspendController> sc = (ServiceController<SuspendController>) context.getServiceRegistry(false).getService(JBOSS_SUSPEND_CONTROLLER);
+        final ModelNode result = context.getResult().setEmptyList();
+        if (sc != null) {
+            for (SuspendController.ActivityProgress progress : sc.getValue().getActivityProgress()) {
+                final ModelNode activity = new ModelNode();
+                activity.get(NAME).set(progress.getName());
+                activity.get("state").set(progress.getState().name());
+                if (progress.getActiveRequestCount() >= 0) {
+                    activity.get("active-requests").set(progress.getActiveRequestCount());
+                }
+                activity.get("elapsed-time").set(progress.getElapsedMillis());
+                result.add(activity);
+            }
+        }
+    }
+}
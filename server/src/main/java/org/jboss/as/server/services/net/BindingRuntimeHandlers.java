@@ -166,6 +166,38 @@ public final class BindingRuntimeHandlers {
         }
     }
 
+    public static class AcceptedConnectionsHandler extends AbstractBindingRuntimeHandler {
+
+        public static final String ATTRIBUTE_NAME = "accepted-connections";
+        public static final AttributeDefinition ATTRIBUTE_DEFINITION = SimpleAttributeDefinitionBuilder.create(ATTRIBUTE_NAME, ModelType.LONG)
+                .setRequired(false)
+                .setStorageRuntime()
+                .setRuntimeServiceNotRequired()
+                .build();
+
+        public static final OperationStepHandler INSTANCE = new AcceptedConnectionsHandler();
+
+        private AcceptedConnectionsHandler() {
+            //
+        }
+
+        @Override
+        void execute(final ModelNode operation, final SocketBinding binding, final ModelNode result) {
+            ManagedBinding managedBinding = binding.getManagedBinding();
+            if (managedBinding != null) {
+                long acceptCount = managedBinding.getAcceptCount();
+                // only server sockets created by the socket binding manager count the connections they accept
+                if (acceptCount >= 0) {
+                    result.set(acceptCount);
+                }
+            }
+        }
+
+        ModelNode getNoMetrics() {
+            return new ModelNode();
+        }
+    }
+
     private BindingRuntimeHandlers() {
         //
     }
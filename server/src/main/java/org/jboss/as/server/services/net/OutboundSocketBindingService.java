@@ -64,6 +64,8 @@ public abstract class OutboundSocketBindingService implements Service<OutboundSo
     @Override
     public synchronized void start(final StartContext context) {
         outboundSocketBinding = this.createOutboundSocketBinding();
+        // resolve the destination while the services using the binding start, rather than on their first connect
+        outboundSocketBinding.prepareDestinationAddress();
         outboundSocketBindingConsumer.accept(outboundSocketBinding);
     }
 
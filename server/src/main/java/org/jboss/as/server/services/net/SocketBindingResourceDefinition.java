@@ -61,6 +61,7 @@ public class SocketBindingResourceDefinition extends AbstractSocketBindingResour
         resourceRegistration.registerReadOnlyAttribute(BindingRuntimeHandlers.BoundHandler.ATTRIBUTE_DEFINITION, BindingRuntimeHandlers.BoundHandler.INSTANCE);
         resourceRegistration.registerReadOnlyAttribute(BindingRuntimeHandlers.BoundAddressHandler.ATTRIBUTE_DEFINITION, BindingRuntimeHandlers.BoundAddressHandler.INSTANCE);
         resourceRegistration.registerReadOnlyAttribute(BindingRuntimeHandlers.BoundPortHandler.ATTRIBUTE_DEFINITION, BindingRuntimeHandlers.BoundPortHandler.INSTANCE);
+        resourceRegistration.registerMetric(BindingRuntimeHandlers.AcceptedConnectionsHandler.ATTRIBUTE_DEFINITION, BindingRuntimeHandlers.AcceptedConnectionsHandler.INSTANCE);
     }
 
     @Override
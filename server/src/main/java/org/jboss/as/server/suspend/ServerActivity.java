@@ -28,4 +28,14 @@ public interface ServerActivity {
      */
     void resume();
 
+    /**
+     * Gets the number of requests currently being processed by this activity, which is reported while
+     * the server is draining its in-flight work during suspend.
+     *
+     * @return the number of active requests, or {@code -1} if the activity does not track them
+     */
+    default int getActiveRequestCount() {
+        return -1;
+    }
+
 }
@@ -1,9 +1,15 @@
 package org.jboss.as.server.suspend;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.jboss.as.controller.notification.NotificationHandlerRegistry;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.msc.service.Service;
@@ -20,6 +26,10 @@ import org.jboss.msc.value.InjectedValue;
  * In most cases this work is delegated to the request controller subsystem.
  * however for workflows that do no correspond directly to a request model a {@link ServerActivity} instance
  * can be registered directly with this controller.
+ * <p/>
+ * If an executor is injected, the activities are notified concurrently so one slow activity does not delay the
+ * others. The completion of each activity is tracked individually and can be read using
+ * {@link #getActivityProgress()} while the server drains its in-flight requests.
  *
  * @author Stuart Douglas
  */
@@ -30,7 +40,7 @@ public class SuspendController implements Service<SuspendController> {
      */
     private Timer timer;
 
-    private State state = State.SUSPENDED;
+    private volatile State state = State.SUSPENDED;
 
     private final List<ServerActivity> activities = new ArrayList<>();
 
@@ -38,11 +48,14 @@ public class SuspendController implements Service<SuspendController> {
 
     private final InjectedValue<NotificationHandlerRegistry> notificationHandlerRegistry = new InjectedValue<>();
 
-    private int outstandingCount;
+    private final InjectedValue<Executor> executor = new InjectedValue<>();
 
-    private boolean startSuspended;
+    /**
+     * The progress of the current suspend, or {@code null} if the server has not been suspended since it was last resumed.
+     */
+    private volatile Suspension suspension;
 
-    private final ServerActivityCallback listener = this::activityPaused;
+    private boolean startSuspended;
 
     public SuspendController() {
         this.startSuspended = false;
@@ -70,25 +83,24 @@ public class SuspendController implements Service<SuspendController> {
         for(OperationListener listener: new ArrayList<>(operationListeners)) {
             listener.suspendStarted();
         }
-        outstandingCount = activities.size();
-        if (outstandingCount == 0) {
+        final Suspension suspension = new Suspension(activities);
+        this.suspension = suspension;
+        if (suspension.trackers.isEmpty()) {
             handlePause();
         } else {
-            CountingRequestCountCallback cb = new CountingRequestCountCallback(outstandingCount, () -> {
-                state = State.SUSPENDING;
-                for (ServerActivity activity : activities) {
-                    activity.suspended(SuspendController.this.listener);
-                }
-            });
-
-            for (ServerActivity activity : activities) {
-                activity.preSuspend(cb);
+            for (ActivityTracker tracker : suspension.trackers) {
+                dispatch(tracker::preSuspend);
             }
             if (timeoutMillis > 0) {
                 timer = new Timer();
                 timer.schedule(new TimerTask() {
                     @Override
                     public void run() {
+                        for (ActivityProgress progress : suspension.getProgress()) {
+                            if (progress.getState() != State.SUSPENDED) {
+                                ServerLogger.ROOT_LOGGER.activityNotSuspended(progress.getName(), progress.getActiveRequestCount());
+                            }
+                        }
                         timeout();
                     }
                 }, timeoutMillis);
@@ -120,6 +132,8 @@ public class SuspendController implements Service<SuspendController> {
             timer.cancel();
             timer = null;
         }
+        // Any callback still outstanding from the cancelled suspend is ignored from now on
+        suspension = null;
         for(OperationListener listener: new ArrayList<>(operationListeners)) {
             listener.cancelled();
         }
@@ -163,25 +177,59 @@ public class SuspendController implements Service<SuspendController> {
         return state;
     }
 
-    private synchronized void activityPaused() {
-        --outstandingCount;
-        handlePause();
+    /**
+     * Gets the suspend progress of each activity that was registered when the current suspend started.
+     *
+     * @return the progress of each activity, or an empty list if the server has not been suspended
+     *         since it was last resumed
+     */
+    public List<ActivityProgress> getActivityProgress() {
+        final Suspension suspension = this.suspension;
+        return suspension == null ? Collections.emptyList() : suspension.getProgress();
     }
 
-    private void handlePause() {
-        if (outstandingCount == 0) {
-            state = State.SUSPENDED;
-            if (timer != null) {
-                timer.cancel();
-                timer = null;
+    private void dispatch(Runnable task) {
+        final Executor executor = this.executor.getOptionalValue();
+        if (executor != null) {
+            try {
+                executor.execute(task);
+                return;
+            } catch (RejectedExecutionException e) {
+                // fall through and notify the activity from this thread
             }
+        }
+        task.run();
+    }
 
-            for(OperationListener listener: new ArrayList<>(operationListeners)) {
-                listener.complete();
+    private synchronized void activitiesPreSuspended(Suspension suspension) {
+        // A resume may have happened since the last activity completed its pre-suspend
+        if (this.suspension == suspension && state == State.PRE_SUSPEND) {
+            // Only stop accepting requests once every activity has had the chance to e.g. notify a load balancer
+            state = State.SUSPENDING;
+            for (ActivityTracker tracker : suspension.trackers) {
+                dispatch(tracker::suspend);
             }
         }
     }
 
+    private synchronized void activitiesPaused(Suspension suspension) {
+        if (this.suspension == suspension && state == State.SUSPENDING) {
+            handlePause();
+        }
+    }
+
+    private void handlePause() {
+        state = State.SUSPENDED;
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
+        }
+
+        for(OperationListener listener: new ArrayList<>(operationListeners)) {
+            listener.complete();
+        }
+    }
+
     private synchronized void timeout() {
         if (timer != null) {
             timer.cancel();
@@ -210,10 +258,162 @@ public class SuspendController implements Service<SuspendController> {
         return notificationHandlerRegistry;
     }
 
+    /**
+     * Gets the injected value for the optional executor used to notify the activities concurrently.
+     *
+     * @return the injected value. Will not be {@code null}
+     */
+    public InjectedValue<Executor> getExecutor() {
+        return executor;
+    }
+
     public enum State {
         RUNNING,
         PRE_SUSPEND,
         SUSPENDING,
         SUSPENDED
     }
+
+    /**
+     * A snapshot of the suspend progress of a single {@link ServerActivity}.
+     */
+    public static final class ActivityProgress {
+
+        private final String name;
+        private final State state;
+        private final int activeRequestCount;
+        private final long elapsedMillis;
+
+        ActivityProgress(String name, State state, int activeRequestCount, long elapsedMillis) {
+            this.name = name;
+            this.state = state;
+            this.activeRequestCount = activeRequestCount;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * @return the name of the activity's class
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return {@link State#PRE_SUSPEND} until the activity completed its pre-suspend phase, {@link State#SUSPENDING}
+         *         while it drains its in-flight requests and {@link State#SUSPENDED} once it is done
+         */
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * @return the number of in-flight requests of the activity, or {@code -1} if the activity does not track them
+         */
+        public int getActiveRequestCount() {
+            return activeRequestCount;
+        }
+
+        /**
+         * @return the time in ms between the start of the suspend and the activity completing it, or now if it
+         *         has not completed yet
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+
+    /**
+     * The state of a single suspend of the server. Activity callbacks only touch the atomic counters, so the
+     * controller's lock is only acquired once every activity has completed its pre-suspend, and again once every
+     * activity has been suspended.
+     */
+    private final class Suspension {
+
+        private final long startNanos = System.nanoTime();
+        private final List<ActivityTracker> trackers;
+        private final AtomicInteger preSuspendRemaining;
+        private final AtomicInteger suspendRemaining;
+
+        private Suspension(List<ServerActivity> activities) {
+            final List<ActivityTracker> trackers = new ArrayList<>(activities.size());
+            for (ServerActivity activity : activities) {
+                trackers.add(new ActivityTracker(this, activity));
+            }
+            this.trackers = trackers;
+            this.preSuspendRemaining = new AtomicInteger(trackers.size());
+            this.suspendRemaining = new AtomicInteger(trackers.size());
+        }
+
+        private void preSuspended() {
+            if (preSuspendRemaining.decrementAndGet() == 0) {
+                activitiesPreSuspended(this);
+            }
+        }
+
+        private void suspended() {
+            if (suspendRemaining.decrementAndGet() == 0) {
+                activitiesPaused(this);
+            }
+        }
+
+        private List<ActivityProgress> getProgress() {
+            final long now = System.nanoTime();
+            final List<ActivityProgress> result = new ArrayList<>(trackers.size());
+            for (ActivityTracker tracker : trackers) {
+                final State state = tracker.state;
+                final long end = state == State.SUSPENDED ? tracker.suspendedNanos : now;
+                result.add(new ActivityProgress(tracker.activity.getClass().getName(), state,
+                        tracker.activity.getActiveRequestCount(), TimeUnit.NANOSECONDS.toMillis(end - startNanos)));
+            }
+            return result;
+        }
+    }
+
+    private static final class ActivityTracker {
+
+        private final Suspension suspension;
+        private final ServerActivity activity;
+        private final AtomicInteger phase = new AtomicInteger();
+        private volatile State state = State.PRE_SUSPEND;
+        private volatile long suspendedNanos;
+
+        private ActivityTracker(Suspension suspension, ServerActivity activity) {
+            this.suspension = suspension;
+            this.activity = activity;
+        }
+
+        private void preSuspend() {
+            try {
+                activity.preSuspend(this::preSuspendDone);
+            } catch (RuntimeException e) {
+                ServerLogger.ROOT_LOGGER.failedToSuspend(activity, e);
+                preSuspendDone();
+            }
+        }
+
+        private void preSuspendDone() {
+            // guard against activities invoking the callback more than once
+            if (phase.compareAndSet(0, 1)) {
+                state = State.SUSPENDING;
+                suspension.preSuspended();
+            }
+        }
+
+        private void suspend() {
+            try {
+                activity.suspended(this::suspendDone);
+            } catch (RuntimeException e) {
+                ServerLogger.ROOT_LOGGER.failedToSuspend(activity, e);
+                suspendDone();
+            }
+        }
+
+        private void suspendDone() {
+            if (phase.compareAndSet(1, 2)) {
+                suspendedNanos = System.nanoTime();
+                state = State.SUSPENDED;
+                suspension.suspended();
+            }
+        }
+    }
 }
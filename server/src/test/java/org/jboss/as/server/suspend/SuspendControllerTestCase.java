@@ -0,0 +1,211 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.server.suspend;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of {@link SuspendController}.
+ */
+public class SuspendControllerTestCase {
+
+    private static final int ACTIVITIES = 10;
+    private static final long ACTIVITY_SUSPEND_MILLIS = 200;
+
+    private ExecutorService executor;
+    private SuspendController controller;
+
+    @Before
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+        controller = new SuspendController();
+        controller.getExecutor().inject(executor);
+        controller.nonGracefulStart();
+    }
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Activities that block while suspending are suspended concurrently, rather than one after the other.
+     */
+    @Test
+    public void testActivitiesSuspendedConcurrently() throws Exception {
+        for (int i = 0; i < ACTIVITIES; i++) {
+            controller.registerActivity(new BlockingActivity());
+        }
+        final CountDownLatch complete = addCompletionListener();
+        final long start = System.nanoTime();
+        controller.suspend(-1);
+        Assert.assertTrue(complete.await(ACTIVITIES * ACTIVITY_SUSPEND_MILLIS, TimeUnit.MILLISECONDS));
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertEquals(SuspendController.State.SUSPENDED, controller.getState());
+        Assert.assertTrue("Suspend took " + elapsed + " ms", elapsed < ACTIVITIES * ACTIVITY_SUSPEND_MILLIS / 2);
+        for (SuspendController.ActivityProgress progress : controller.getActivityProgress()) {
+            Assert.assertEquals(SuspendController.State.SUSPENDED, progress.getState());
+        }
+    }
+
+    @Test
+    public void testProgress() throws Exception {
+        final DrainingActivity draining = new DrainingActivity();
+        controller.registerActivity(draining);
+        controller.registerActivity(new BlockingActivity());
+        final CountDownLatch complete = addCompletionListener();
+        Assert.assertTrue(controller.getActivityProgress().isEmpty());
+
+        controller.suspend(-1);
+        Assert.assertTrue(draining.suspended.await(10, TimeUnit.SECONDS));
+        List<SuspendController.ActivityProgress> progress = controller.getActivityProgress();
+        Assert.assertEquals(2, progress.size());
+        Assert.assertEquals(DrainingActivity.class.getName(), progress.get(0).getName());
+        Assert.assertEquals(SuspendController.State.SUSPENDING, progress.get(0).getState());
+        Assert.assertEquals(3, progress.get(0).getActiveRequestCount());
+        Assert.assertEquals(-1, progress.get(1).getActiveRequestCount());
+        Assert.assertEquals(SuspendController.State.SUSPENDING, controller.getState());
+
+        draining.callback.done();
+        Assert.assertTrue(complete.await(10, TimeUnit.SECONDS));
+        progress = controller.getActivityProgress();
+        Assert.assertEquals(SuspendController.State.SUSPENDED, progress.get(0).getState());
+        Assert.assertEquals(SuspendController.State.SUSPENDED, progress.get(1).getState());
+
+        controller.resume();
+        Assert.assertTrue(controller.getActivityProgress().isEmpty());
+    }
+
+    /**
+     * A callback from a suspend that was cancelled by a resume must not mark the running server suspended.
+     */
+    @Test
+    public void testCallbackAfterResumeIgnored() throws Exception {
+        final DrainingActivity draining = new DrainingActivity();
+        controller.registerActivity(draining);
+        controller.suspend(-1);
+        Assert.assertTrue(draining.suspended.await(10, TimeUnit.SECONDS));
+        controller.resume();
+        draining.callback.done();
+        Assert.assertEquals(SuspendController.State.RUNNING, controller.getState());
+    }
+
+    @Test
+    public void testFailingActivityDoesNotBlockSuspend() throws Exception {
+        controller.registerActivity(new ServerActivity() {
+            @Override
+            public void preSuspend(ServerActivityCallback listener) {
+                listener.done();
+            }
+
+            @Override
+            public void suspended(ServerActivityCallback listener) {
+                throw new IllegalStateException();
+            }
+
+            @Override
+            public void resume() {
+            }
+        });
+        final CountDownLatch complete = addCompletionListener();
+        controller.suspend(-1);
+        Assert.assertTrue(complete.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(SuspendController.State.SUSPENDED, controller.getState());
+    }
+
+    private CountDownLatch addCompletionListener() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        controller.addListener(new OperationListener() {
+            @Override
+            public void suspendStarted() {
+            }
+
+            @Override
+            public void complete() {
+                latch.countDown();
+            }
+
+            @Override
+            public void cancelled() {
+            }
+
+            @Override
+            public void timeout() {
+            }
+        });
+        return latch;
+    }
+
+    private static class BlockingActivity implements ServerActivity {
+
+        @Override
+        public void preSuspend(ServerActivityCallback listener) {
+            listener.done();
+        }
+
+        @Override
+        public void suspended(ServerActivityCallback listener) {
+            try {
+                Thread.sleep(ACTIVITY_SUSPEND_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            listener.done();
+        }
+
+        @Override
+        public void resume() {
+        }
+    }
+
+    private static class DrainingActivity implements ServerActivity {
+
+        private final CountDownLatch suspended = new CountDownLatch(1);
+        private volatile ServerActivityCallback callback;
+
+        @Override
+        public void preSuspend(ServerActivityCallback listener) {
+            listener.done();
+        }
+
+        @Override
+        public void suspended(ServerActivityCallback listener) {
+            callback = listener;
+            suspended.countDown();
+        }
+
+        @Override
+        public void resume() {
+        }
+
+        @Override
+        public int getActiveRequestCount() {
+            return 3;
+        }
+    }
+}